@@ -0,0 +1,180 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.python.SearchListResDto;
+import com.kh.back.service.python.AsyncSearchClient;
+import com.kh.back.service.python.ElasticService;
+import com.kh.back.service.python.FlaskDeadline;
+import com.kh.back.service.python.FlaskJsonReader;
+import com.kh.back.service.python.FlaskResilience;
+import com.kh.back.service.python.RecipeDetailCache;
+import com.kh.back.service.python.SearchResultCache;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 느린 Flask 검색이 섞여 있을 때 빠른 검색(RecipeService.searchAllRecipes의 한쪽)이 deadline 안에 응답하는지
+ * - Flask는 로컬 HTTP 서버로 대신함 (q가 slow- 로 시작하면 slowMillis 뒤 응답, 나머지는 바로 응답)
+ * - client=legacy: 이전 AsyncSearchClient (completeOnTimeout으로 null만 돌려주고 호출은 read timeout 3초까지 계속 실행)
+ * - client=deadline: 현재 AsyncSearchClient (deadline이 지나면 작업 취소 + FlaskDeadline으로 read timeout을 남은 시간으로 제한)
+ * - mixed 그룹: slow 스레드 4개가 느린 검색을 계속 보내는 동안 fast 스레드 1개의 검색 시간 측정
+ *   legacy는 버린 느린 호출이 flask-async 풀(8개)을 붙잡아서 빠른 검색도 큐에서 기다리다 deadline에 null로 끝남
+ * - 빠른 검색 중 결과 없이(null) 끝난 비율은 TearDown에서 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AsyncSearchDeadlineBenchmark {
+	private static final long DEADLINE_MS = 100; // flask.async.deadline-ms
+	private static final int READ_TIMEOUT_MS = 3000; // flask.client.search.read-timeout-ms
+	private static final String RESPONSE = "[{\"id\":\"c-1\",\"name\":\"모히토\",\"category\":\"Cocktail\"}]";
+
+	@Param({"legacy", "deadline"})
+	public String client;
+
+	@Param({"1000"})
+	public long slowMillis;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicLong fastCalls = new AtomicLong();
+	private final AtomicLong fastPartial = new AtomicLong();
+	private HttpServer flask;
+	private ExecutorService flaskWorkers;
+	private CloseableHttpClient httpClient;
+	private ThreadPoolTaskExecutor executor;
+	private ElasticService elasticService;
+	private AsyncSearchClient asyncSearchClient;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		flaskWorkers = Executors.newCachedThreadPool();
+		flask = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		flask.createContext("/search", exchange -> {
+			try {
+				if (exchange.getRequestURI().getQuery().startsWith("q=slow-")) {
+					Thread.sleep(slowMillis);
+				}
+				byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (IOException ignored) {
+				// 클라이언트가 read timeout으로 먼저 끊은 경우
+			} finally {
+				exchange.close();
+			}
+		});
+		flask.setExecutor(flaskWorkers);
+		flask.start();
+
+		httpClient = HttpClients.custom().setMaxConnTotal(100).setMaxConnPerRoute(100).build();
+		HttpComponentsClientHttpRequestFactory factory = "deadline".equals(client)
+				? new FlaskDeadline.RequestFactory(httpClient)
+				: new HttpComponentsClientHttpRequestFactory(httpClient);
+		factory.setReadTimeout(READ_TIMEOUT_MS);
+		RestTemplate searchRestTemplate = new RestTemplate(factory);
+		// ElasticService의 Flask 주소(localhost:5001)를 로컬 서버 포트로 바꿔서 보냄
+		int port = flask.getAddress().getPort();
+		searchRestTemplate.getInterceptors().add((request, body, execution) -> execution.execute(new HttpRequestWrapper(request) {
+			@Override
+			public URI getURI() {
+				return UriComponentsBuilder.fromUri(request.getURI()).port(port).build(true).toUri();
+			}
+		}, body));
+
+		executor = new ThreadPoolTaskExecutor(); // FlaskClientConfig.flaskAsyncExecutor와 같은 구성 (풀 크기만 줄임)
+		executor.setCorePoolSize(8);
+		executor.setMaxPoolSize(8);
+		executor.setQueueCapacity(200);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		// 느린 호출 실패로 서킷이 열려서 Flask 호출 자체가 없어지지 않도록 실패율 100%에서만 open, 동시 호출 제한도 넉넉하게
+		FlaskResilience flaskResilience = new FlaskResilience(meterRegistry, 100, 60_000, 10_000, 3, 1000, 1000, 1000);
+		elasticService = new ElasticService(searchRestTemplate, null, null, objectMapper, null,
+				new RecipeDetailCache(null, null, meterRegistry, 100, 0, false, 1800, 3600, 60),
+				new SearchResultCache(meterRegistry, 100, 0, 0, READ_TIMEOUT_MS),
+				flaskResilience, new FlaskJsonReader(objectMapper), meterRegistry);
+		asyncSearchClient = new AsyncSearchClient(elasticService, null, executor, DEADLINE_MS);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.out.printf("%n[client=%s] 빠른 검색 %d건 중 결과 없음(null) %.1f%%%n", client,
+				fastCalls.get(), 100.0 * fastPartial.get() / Math.max(1, fastCalls.get()));
+		executor.shutdown();
+		httpClient.close();
+		flask.stop(0);
+		flaskWorkers.shutdownNow();
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(4)
+	public List<SearchListResDto> slow() {
+		return search("slow-" + sequence.incrementAndGet()).join();
+	}
+
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public List<SearchListResDto> fast() {
+		List<SearchListResDto> result = search("fast-" + sequence.incrementAndGet()).join();
+		fastCalls.incrementAndGet();
+		if (result == null) {
+			fastPartial.incrementAndGet();
+		}
+		return result;
+	}
+
+	// 검색어마다 다른 키 → SearchResultCache single-flight로 묶이지 않음
+	private CompletableFuture<List<SearchListResDto>> search(String q) {
+		if ("deadline".equals(client)) {
+			return asyncSearchClient.search(q, "cocktail", "", "", 1, 20);
+		}
+		return legacySupply(() -> elasticService.search(q, "cocktail", "", "", 1, 20));
+	}
+
+	// 이전 AsyncSearchClient.supply
+	private <T> CompletableFuture<T> legacySupply(Supplier<T> task) {
+		CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(task, executor);
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return future
+				.exceptionally(e -> null)
+				.completeOnTimeout(null, DEADLINE_MS, TimeUnit.MILLISECONDS);
+	}
+}
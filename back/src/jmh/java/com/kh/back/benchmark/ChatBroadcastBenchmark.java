@@ -0,0 +1,79 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import com.kh.back.service.ChatService;
+import com.kh.back.service.chat.ChatBroadcaster;
+import com.kh.back.service.chat.ChatWireCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatService.sendMsgToAll 직렬화 비용
+ * - perSessionSerialize: 기존 방식, 세션마다 sendMsg → 매번 메시지를 JSON으로 직렬화
+ * - sendMsgToAll: ChatBroadcaster 경로, 한 번 직렬화 후 세션 큐에 적재 (호출한 스레드에서 바로 전송하도록 설정)
+ * - 실제 전송 비용을 빼기 위해 sendMessage가 아무것도 하지 않는 세션을 사용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatBroadcastBenchmark {
+
+	@Param({"10", "100", "1000"})
+	public int sessions;
+
+	private ChatService chatService;
+	private ChatBroadcaster chatBroadcaster;
+	private List<WebSocketSession> roomSessions;
+	private ChatReqDto msg;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		// sendMsg는 objectMapper만 사용하므로 나머지 의존성은 null
+		chatBroadcaster = new ChatBroadcaster(objectMapper, new ChatWireCodec(objectMapper, 10000), Runnable::run, new SimpleMeterRegistry(),
+				256, ChatBroadcaster.OverflowPolicy.DROP, 10000, 32);
+		chatService = new ChatService(objectMapper, null, null, chatBroadcaster, null, null, null, null, null, null);
+
+		roomSessions = new ArrayList<>();
+		for (int i = 0; i < sessions; i++) {
+			roomSessions.add(noopSession("session-" + i));
+		}
+		msg = new ChatReqDto(ChatReqDto.MsgType.TALK, 1L, "room-1", "https://example.com/profile.png",
+				"닉네임", "닉네임", "오늘 저녁 메뉴 추천해 주세요!", LocalDateTime.now());
+	}
+
+	// 기존 sendMsgToAll의 세션 루프와 동일
+	@Benchmark
+	public void perSessionSerialize() {
+		for (WebSocketSession session : roomSessions) {
+			chatService.sendMsg(session, msg);
+		}
+	}
+
+	@Benchmark
+	public boolean sendMsgToAll() {
+		return chatBroadcaster.broadcast("room-1", roomSessions, msg);
+	}
+
+	private static WebSocketSession noopSession(String id) {
+		return (WebSocketSession) Proxy.newProxyInstance(
+				WebSocketSession.class.getClassLoader(),
+				new Class<?>[]{WebSocketSession.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getId" -> id;
+					case "isOpen" -> true;
+					case "hashCode" -> id.hashCode();
+					case "equals" -> proxy == args[0];
+					default -> null;
+				});
+	}
+}
@@ -0,0 +1,165 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.entity.chat.ChatRoom;
+import com.kh.back.entity.member.Member;
+import com.kh.back.repository.chat.ChatMemberRepository;
+import com.kh.back.repository.chat.ChatRoomRepository;
+import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.ChatService;
+import com.kh.back.service.chat.ChatBroadcaster;
+import com.kh.back.service.chat.ChatClusterBus;
+import com.kh.back.service.chat.ChatMembershipWriter;
+import com.kh.back.service.chat.ChatMessageWriter;
+import com.kh.back.service.chat.ChatPresence;
+import com.kh.back.service.chat.ChatRoomDirectory;
+import com.kh.back.service.chat.ChatSessionIdentity;
+import com.kh.back.service.chat.ChatWireCodec;
+import com.kh.back.service.chat.RecentChatBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 재접속이 몰릴 때(reconnect storm) 채팅방 입장+퇴장 한 번에 걸리는 시간
+ * - 8개 스레드가 서로 다른 회원으로 같은 방에 입장/퇴장을 반복 (방에는 계속 남아 있는 회원 1명)
+ * - DB 호출은 한 번에 roundTripMicros 만큼 걸리는 가짜 저장소로 대체
+ * - legacyEnterExit: 기존 처리의 DB 왕복 수 (입장: 회원/방/참여 조회 + 저장 = 4, 퇴장: 회원/방/참여 조회 + 삭제 + 방 조회 + COUNT = 6)
+ * - presenceEnterExit: ChatService 실제 경로 (핸드셰이크에서 받은 회원 정보 + ChatPresence 카운터),
+ *   참여 정보 저장은 ChatMembershipWriter 스레드에서 비동기로 처리되고 같은 회원의 변경은 합쳐짐
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+public class ChatEnterExitBenchmark {
+	private static final String ROOM_ID = "room-1";
+
+	@Param({"500"})
+	public long roundTripMicros;
+
+	private ThreadPoolTaskExecutor membershipExecutor;
+	private ChatService chatService;
+	private final AtomicLong memberIds = new AtomicLong(1);
+
+	@State(Scope.Thread)
+	public static class Client {
+		WebSocketSession session;
+
+		@Setup
+		public void setUp(ChatEnterExitBenchmark benchmark) {
+			session = benchmark.session(benchmark.memberIds.incrementAndGet());
+		}
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ChatRoom chatRoom = new ChatRoom();
+		chatRoom.setRoomId(ROOM_ID);
+		chatRoom.setRoomName("저녁 메뉴");
+		chatRoom.setPersonCnt(30);
+		ChatRoomRepository chatRoomRepository = repository(ChatRoomRepository.class, Map.of(
+				"findAllByOrderByRegDateAsc", List.of(chatRoom),
+				"findById", Optional.of(chatRoom),
+				"existsById", true,
+				"getReferenceById", chatRoom));
+		ChatMemberRepository chatMemberRepository = repository(ChatMemberRepository.class, Map.of(
+				"existsByChatRoomRoomIdAndMemberMemberId", false,
+				"deleteByRoomIdAndMemberId", 1));
+		MemberRepository memberRepository = repository(MemberRepository.class, Map.of(
+				"getReferenceById", new Member()));
+
+		membershipExecutor = new ThreadPoolTaskExecutor();
+		membershipExecutor.setCorePoolSize(1);
+		membershipExecutor.setMaxPoolSize(1);
+		membershipExecutor.initialize();
+		ChatPresence chatPresence = new ChatPresence(null, false, false, 30000);
+		ChatBroadcaster chatBroadcaster = new ChatBroadcaster(objectMapper, new ChatWireCodec(objectMapper, 10000), Runnable::run, meterRegistry,
+				256, ChatBroadcaster.OverflowPolicy.DROP, 10000, 32);
+		chatService = new ChatService(objectMapper, chatRoomRepository, null, chatBroadcaster,
+				new ChatMessageWriter(null, null, meterRegistry, 1, 1, 1, 1),
+				new ChatClusterBus(null, null, objectMapper, chatBroadcaster, false),
+				new RecentChatBuffer(null, objectMapper, meterRegistry, 100, false),
+				chatPresence,
+				new ChatMembershipWriter(chatMemberRepository, chatRoomRepository, memberRepository,
+						membershipExecutor, meterRegistry),
+				new ChatRoomDirectory(chatPresence));
+		Method init = ChatService.class.getDeclaredMethod("init");
+		init.setAccessible(true);
+		init.invoke(chatService);
+
+		// 방이 비어서 삭제되지 않도록 계속 남아 있는 회원
+		chatService.addSessionAndHandlerEnter(ROOM_ID, session(1L));
+	}
+
+	@TearDown
+	public void tearDown() {
+		membershipExecutor.shutdown();
+	}
+
+	@Benchmark
+	public void legacyEnterExit() {
+		pause(4);
+		pause(6);
+	}
+
+	@Benchmark
+	public void presenceEnterExit(Client client) {
+		chatService.addSessionAndHandlerEnter(ROOM_ID, client.session);
+		chatService.removeSessionAndHandleExit(ROOM_ID, client.session);
+	}
+
+	private void pause(int roundTrips) {
+		LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros * roundTrips));
+	}
+
+	// 메서드 이름별 반환값, 호출마다 DB 왕복 1번만큼 지연
+	@SuppressWarnings("unchecked")
+	private <T> T repository(Class<T> type, Map<String, Object> results) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return type.getSimpleName();
+						default:
+							pause(1);
+							return results.get(method.getName());
+					}
+				});
+	}
+
+	private WebSocketSession session(long memberId) {
+		String id = "session-" + memberId;
+		Map<String, Object> attributes = new ConcurrentHashMap<>();
+		attributes.put(ChatSessionIdentity.ATTRIBUTE, new ChatSessionIdentity(memberId, "닉네임" + memberId, ""));
+		return (WebSocketSession) Proxy.newProxyInstance(
+				WebSocketSession.class.getClassLoader(),
+				new Class<?>[]{WebSocketSession.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getId" -> id;
+					case "isOpen" -> true;
+					case "getAttributes" -> attributes;
+					case "hashCode" -> id.hashCode();
+					case "equals" -> proxy == args[0];
+					default -> null;
+				});
+	}
+}
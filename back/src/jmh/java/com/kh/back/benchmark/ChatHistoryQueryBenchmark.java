@@ -0,0 +1,141 @@
+package com.kh.back.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 100만 건인 채팅방에서 채팅 내역 조회 쿼리 비교 (로컬 MySQL 필요)
+ * - 접속 정보: 환경 변수 CHAT_BENCH_JDBC_URL(기본 jdbc:mysql://localhost:3306/chat_bench), CHAT_BENCH_USER, CHAT_BENCH_PASSWORD
+ * - chat 테이블과 같은 구조의 bench_chat 테이블을 만들고, 처음 한 번만 100만 건을 넣음 (이후 실행은 재사용)
+ * - oldRecentMsg: 기존 findRecentMsg (room_id 조건 + sent_at 정렬 → 방 전체 filesort, 게다가 가장 오래된 50건)
+ * - keysetLatest: findLatestMsg (idx_chat_room_chat_id 역순으로 50건만 읽음)
+ * - keysetMiddlePage: findMsgBefore (방 중간 지점 이전 50건, OFFSET 없이 인덱스에서 바로 시작)
+ * - 실행: ./gradlew jmh -PjmhIncludes=ChatHistoryQuery
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatHistoryQueryBenchmark {
+	private static final String ROOM_ID = "bench-room";
+	private static final int MESSAGES = 1_000_000;
+	private static final int PAGE_SIZE = 50;
+
+	private Connection connection;
+	private PreparedStatement oldRecentMsg;
+	private PreparedStatement keysetLatest;
+	private PreparedStatement keysetBefore;
+	private long middleChatId;
+
+	@Setup
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection(
+				env("CHAT_BENCH_JDBC_URL", "jdbc:mysql://localhost:3306/chat_bench?rewriteBatchedStatements=true"),
+				env("CHAT_BENCH_USER", "root"),
+				env("CHAT_BENCH_PASSWORD", ""));
+		try (Statement st = connection.createStatement()) {
+			st.execute("CREATE TABLE IF NOT EXISTS bench_chat ("
+					+ "chat_id BIGINT AUTO_INCREMENT PRIMARY KEY, room_id VARCHAR(255), sender VARCHAR(255), "
+					+ "profile VARCHAR(255), nickName VARCHAR(255), msg VARCHAR(255), sent_at DATETIME(6), "
+					+ "INDEX idx_chat_room_chat_id (room_id, chat_id))");
+		}
+		if (count() < MESSAGES) {
+			fill();
+		}
+		try (Statement st = connection.createStatement();
+			 ResultSet rs = st.executeQuery("SELECT MIN(chat_id), MAX(chat_id) FROM bench_chat")) {
+			rs.next();
+			middleChatId = (rs.getLong(1) + rs.getLong(2)) / 2;
+		}
+		oldRecentMsg = connection.prepareStatement(
+				"SELECT * FROM bench_chat WHERE room_id = ? ORDER BY sent_at ASC LIMIT 50");
+		keysetLatest = connection.prepareStatement(
+				"SELECT chat_id, room_id, profile, nickName, sender, msg, sent_at FROM bench_chat "
+						+ "WHERE room_id = ? ORDER BY chat_id DESC LIMIT ?");
+		keysetBefore = connection.prepareStatement(
+				"SELECT chat_id, room_id, profile, nickName, sender, msg, sent_at FROM bench_chat "
+						+ "WHERE room_id = ? AND chat_id < ? ORDER BY chat_id DESC LIMIT ?");
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public void oldRecentMsg(Blackhole bh) throws SQLException {
+		oldRecentMsg.setString(1, ROOM_ID);
+		consume(oldRecentMsg, bh);
+	}
+
+	@Benchmark
+	public void keysetLatest(Blackhole bh) throws SQLException {
+		keysetLatest.setString(1, ROOM_ID);
+		keysetLatest.setInt(2, PAGE_SIZE);
+		consume(keysetLatest, bh);
+	}
+
+	@Benchmark
+	public void keysetMiddlePage(Blackhole bh) throws SQLException {
+		keysetBefore.setString(1, ROOM_ID);
+		keysetBefore.setLong(2, middleChatId);
+		keysetBefore.setInt(3, PAGE_SIZE);
+		consume(keysetBefore, bh);
+	}
+
+	private static void consume(PreparedStatement ps, Blackhole bh) throws SQLException {
+		try (ResultSet rs = ps.executeQuery()) {
+			while (rs.next()) {
+				bh.consume(rs.getLong("chat_id"));
+				bh.consume(rs.getString("msg"));
+			}
+		}
+	}
+
+	private long count() throws SQLException {
+		try (PreparedStatement ps = connection.prepareStatement("SELECT COUNT(*) FROM bench_chat WHERE room_id = ?")) {
+			ps.setString(1, ROOM_ID);
+			try (ResultSet rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getLong(1);
+			}
+		}
+	}
+
+	private void fill() throws SQLException {
+		try (Statement st = connection.createStatement()) {
+			st.execute("TRUNCATE TABLE bench_chat");
+		}
+		LocalDateTime start = LocalDateTime.now().minusDays(365);
+		try (PreparedStatement ps = connection.prepareStatement(
+				"INSERT INTO bench_chat (room_id, sender, profile, nickName, msg, sent_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < MESSAGES; i++) {
+				ps.setString(1, ROOM_ID);
+				ps.setString(2, "닉네임" + (i % 30));
+				ps.setString(3, "https://example.com/profile.png");
+				ps.setString(4, "닉네임" + (i % 30));
+				ps.setString(5, "오늘 저녁 메뉴 추천해 주세요! " + i);
+				ps.setTimestamp(6, Timestamp.valueOf(start.plusSeconds(i * 30L)));
+				ps.addBatch();
+				if ((i + 1) % 5000 == 0) {
+					ps.executeBatch();
+				}
+			}
+			ps.executeBatch();
+		}
+	}
+
+	private static String env(String name, String defaultValue) {
+		String value = System.getenv(name);
+		return value != null ? value : defaultValue;
+	}
+}
@@ -0,0 +1,125 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.service.chat.ChatMessageWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 채팅 메시지 저장 처리량 (messages/sec)
+ * - DB는 왕복 지연(roundTripMicros) + 행당 지연(rowMicros)을 흉내 내는 JdbcTemplate으로 대체
+ * - perMessage: 기존 saveMsg처럼 메시지마다 채팅방 조회 + insert (DB 왕복 2번)
+ * - writeBehind: ChatMessageWriter 큐에 적재, 큐가 차면 호출 스레드에서 직접 저장하므로 DB 속도 이상으로는 올라가지 않음
+ * - 4개 스레드가 동시에 메시지를 보내는 상황 (여러 채팅방 웹소켓 스레드)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class ChatPersistBenchmark {
+
+	@Param({"500"})
+	public long roundTripMicros;
+
+	@Param({"5"})
+	public long rowMicros;
+
+	private SimulatedJdbcTemplate jdbcTemplate;
+	private ChatMessageWriter writer;
+
+	@Setup
+	public void setUp() {
+		jdbcTemplate = new SimulatedJdbcTemplate(roundTripMicros, rowMicros);
+		writer = new ChatMessageWriter(jdbcTemplate, "INSERT INTO chat VALUES (?, ?, ?, ?, ?, ?)",
+				new SimpleMeterRegistry(), 10000, 200, 200, 100);
+		writer.start();
+	}
+
+	@TearDown
+	public void tearDown() {
+		writer.shutdown();
+	}
+
+	@Benchmark
+	public void perMessage() {
+		jdbcTemplate.queryForObject("SELECT room_id FROM chat_room WHERE room_id = ?", String.class, "room-1");
+		jdbcTemplate.update("INSERT INTO chat VALUES (?, ?, ?, ?, ?, ?)", "room-1", "닉네임", "", "닉네임", "안녕하세요", LocalDateTime.now());
+	}
+
+	@Benchmark
+	public void writeBehind() {
+		writer.write("room-1", "닉네임", "안녕하세요", "", LocalDateTime.now());
+	}
+
+	// 실제 DB 없이 호출마다 지연만 주는 JdbcTemplate
+	private static final class SimulatedJdbcTemplate extends JdbcTemplate {
+		private final long roundTripMicros;
+		private final long rowMicros;
+
+		private SimulatedJdbcTemplate(long roundTripMicros, long rowMicros) {
+			this.roundTripMicros = roundTripMicros;
+			this.rowMicros = rowMicros;
+		}
+
+		// ChatMessageWriter의 JDBC batch 저장, executeBatch 시 addBatch 건수만큼 지연 (생성 키는 없음)
+		@Override
+		public <T> T execute(ConnectionCallback<T> action) {
+			int[] rows = new int[1];
+			ResultSet noKeys = proxy(ResultSet.class, (proxy, method, args) ->
+					"next".equals(method.getName()) ? false : null);
+			PreparedStatement ps = proxy(PreparedStatement.class, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "addBatch":
+						rows[0]++;
+						return null;
+					case "executeBatch":
+						pause(roundTripMicros + rowMicros * rows[0]);
+						return new int[rows[0]];
+					case "getGeneratedKeys":
+						return noKeys;
+					default:
+						return null;
+				}
+			});
+			Connection con = proxy(Connection.class, (proxy, method, args) ->
+					"prepareStatement".equals(method.getName()) ? ps : null);
+			try {
+				return action.doInConnection(con);
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public int update(String sql, Object... args) {
+			pause(roundTripMicros + rowMicros);
+			return 1;
+		}
+
+		@Override
+		public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+			pause(roundTripMicros);
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+		}
+
+		private static void pause(long micros) {
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.constant.ChatRoomType;
+import com.kh.back.dto.chat.res.ChatRoomResDto;
+import com.kh.back.entity.chat.ChatRoom;
+import com.kh.back.service.chat.ChatPresence;
+import com.kh.back.service.chat.ChatRoomDirectory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방 10,000개일 때 채팅방 목록 조회 시간
+ * - legacyFindRoomList: 기존 findRoomList의 엔티티 → DTO 변환만 (findAllByOrderByRegDateAsc 쿼리 시간은 제외한 하한값)
+ * - directoryAll: ChatRoomDirectory 전체 목록 (사본 + 접속 인원)
+ * - directoryPage: 20개씩 10번째 페이지
+ * - directoryFiltered: GROUP 방 중 입장 가능한 방 20개
+ * - concurrent 그룹: 목록 조회 3 스레드 + 방 생성/삭제 1 스레드 (조회가 쓰기를 막지 않는지 확인)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatRoomListBenchmark {
+	private static final int ROOMS = 10_000;
+
+	private List<ChatRoom> entities;
+	private ChatRoomDirectory chatRoomDirectory;
+	private final AtomicLong writes = new AtomicLong();
+
+	@Setup
+	public void setUp() {
+		ChatPresence chatPresence = new ChatPresence(null, false, false, 30000);
+		chatRoomDirectory = new ChatRoomDirectory(chatPresence);
+		entities = new ArrayList<>(ROOMS);
+		LocalDateTime start = LocalDateTime.now().minusDays(30);
+		for (int i = 0; i < ROOMS; i++) {
+			ChatRoom chatRoom = new ChatRoom();
+			chatRoom.setRoomId(UUID.randomUUID().toString());
+			chatRoom.setRoomName("채팅방 " + i);
+			chatRoom.setRegDate(start.plusMinutes(i));
+			chatRoom.setRoomType(i % 4 == 0 ? ChatRoomType.PRIVATE : ChatRoomType.GROUP);
+			chatRoom.setPersonCnt(i % 4 == 0 ? 2 : 30);
+			entities.add(chatRoom);
+			chatRoomDirectory.put(toDto(chatRoom));
+			for (long member = 0; member < i % 31; member++) { // 접속 인원 0 ~ 30명
+				chatPresence.join(chatRoom.getRoomId(), member);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<ChatRoomResDto> legacyFindRoomList() {
+		List<ChatRoomResDto> result = new ArrayList<>();
+		for (ChatRoom chatRoom : entities) {
+			result.add(toDto(chatRoom));
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<ChatRoomResDto> directoryAll() {
+		return chatRoomDirectory.list(null, 0, false, 0, 0);
+	}
+
+	@Benchmark
+	public List<ChatRoomResDto> directoryPage() {
+		return chatRoomDirectory.list(null, 0, false, 10, 20);
+	}
+
+	@Benchmark
+	public List<ChatRoomResDto> directoryFiltered() {
+		return chatRoomDirectory.list(ChatRoomType.GROUP, 0, true, 0, 20);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(3)
+	public List<ChatRoomResDto> concurrentPage() {
+		return chatRoomDirectory.list(null, 0, false, 10, 20);
+	}
+
+	@Benchmark
+	@Group("concurrent")
+	@GroupThreads(1)
+	public ChatRoomResDto concurrentCreateRemove() {
+		String roomId = "bench-" + writes.incrementAndGet();
+		ChatRoomResDto room = ChatRoomResDto.builder()
+				.roomId(roomId)
+				.name("새 채팅방")
+				.regDate(LocalDateTime.now())
+				.personCnt(30)
+				.build();
+		chatRoomDirectory.put(room);
+		return chatRoomDirectory.remove(roomId);
+	}
+
+	// ChatService.convertEntityToRoomDto와 동일
+	private static ChatRoomResDto toDto(ChatRoom chatRoom) {
+		ChatRoomResDto chatRoomResDto = new ChatRoomResDto();
+		chatRoomResDto.setRoomId(chatRoom.getRoomId());
+		chatRoomResDto.setName(chatRoom.getRoomName());
+		chatRoomResDto.setRegDate(chatRoom.getRegDate());
+		chatRoomResDto.setRoomType(chatRoom.getRoomType());
+		chatRoomResDto.setPersonCnt(chatRoom.getPersonCnt());
+		return chatRoomResDto;
+	}
+}
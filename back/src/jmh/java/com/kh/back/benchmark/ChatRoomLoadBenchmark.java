@@ -0,0 +1,112 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import com.kh.back.service.chat.ChatBroadcaster;
+import com.kh.back.service.chat.ChatWireCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 30명 채팅방(ChatController.createRoom의 최대 personCnt) + 느린 클라이언트 1명 부하 테스트
+ * - 느린 클라이언트는 sendMessage 한 번에 slowClientMillis 만큼 걸림
+ * - blockingLoop: 기존 sendMsgToAll처럼 핸들러 스레드에서 세션을 차례로 전송 → 느린 클라이언트만큼 방 전체가 지연
+ * - queuedBroadcast: ChatBroadcaster로 적재한 뒤 나머지 29명이 모두 받을 때까지 걸린 시간
+ *   (느린 클라이언트 큐가 넘치면 DROP 정책으로 버려짐 → 다른 세션 지연에 영향 없음)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatRoomLoadBenchmark {
+	private static final int ROOM_SIZE = 30;
+
+	@Param({"20"})
+	public long slowClientMillis;
+
+	private ObjectMapper objectMapper;
+	private ThreadPoolTaskExecutor executor;
+	private ChatBroadcaster chatBroadcaster;
+	private List<WebSocketSession> roomSessions;
+	private AtomicLong fastDelivered;
+	private ChatReqDto msg;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(8);
+		executor.setMaxPoolSize(8);
+		executor.setThreadNamePrefix("chat-broadcast-");
+		executor.initialize();
+		chatBroadcaster = new ChatBroadcaster(objectMapper, new ChatWireCodec(objectMapper, 10000), executor, new SimpleMeterRegistry(),
+				16, ChatBroadcaster.OverflowPolicy.DROP, 10000, 32);
+
+		fastDelivered = new AtomicLong();
+		roomSessions = new ArrayList<>();
+		roomSessions.add(session("slow", slowClientMillis, new AtomicLong()));
+		for (int i = 1; i < ROOM_SIZE; i++) {
+			roomSessions.add(session("fast-" + i, 0, fastDelivered));
+		}
+		msg = new ChatReqDto(ChatReqDto.MsgType.TALK, 1L, "room-1", "https://example.com/profile.png",
+				"닉네임", "닉네임", "오늘 저녁 메뉴 추천해 주세요!", LocalDateTime.now());
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Benchmark
+	public void blockingLoop() throws Exception {
+		for (WebSocketSession session : roomSessions) {
+			session.sendMessage(new TextMessage(objectMapper.writeValueAsString(msg)));
+		}
+	}
+
+	@Benchmark
+	public long queuedBroadcast() {
+		long target = fastDelivered.get() + (ROOM_SIZE - 1);
+		chatBroadcaster.broadcast("room-1", roomSessions, msg);
+		while (fastDelivered.get() < target) {
+			Thread.onSpinWait();
+		}
+		return target;
+	}
+
+	private static WebSocketSession session(String id, long sendMillis, AtomicLong delivered) {
+		return (WebSocketSession) Proxy.newProxyInstance(
+				WebSocketSession.class.getClassLoader(),
+				new Class<?>[]{WebSocketSession.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getId":
+							return id;
+						case "isOpen":
+							return true;
+						case "hashCode":
+							return id.hashCode();
+						case "equals":
+							return proxy == args[0];
+						case "sendMessage":
+							if (sendMillis > 0) {
+								Thread.sleep(sendMillis);
+							}
+							delivered.incrementAndGet();
+							return null;
+						default:
+							return null;
+					}
+				});
+	}
+}
@@ -0,0 +1,84 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import com.kh.back.service.chat.ChatWireCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * 채팅 메시지 한 건의 JSON / compact 형식 비교 (메시지당 CPU 시간, 크기는 setUp에서 출력)
+ * - jsonEncode / compactEncode: 방송 시 한 번 하는 직렬화
+ * - jsonDecode / compactDecode: 클라이언트가 보낸 메시지 파싱
+ * - jsonDeflate / compactDeflate: per-message-deflate(컨텍스트 유지 없음)를 켰을 때 인코딩 + 압축
+ * - compact 크기는 intern 문자열을 이미 받은 세션 기준 (DEFINE 프레임은 세션마다 처음 한 번, roomId는 항상 문자열)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ChatWireFormatBenchmark {
+	private ObjectMapper objectMapper;
+	private ChatWireCodec chatWireCodec;
+	private ChatReqDto msg;
+	private String json;
+	private byte[] compact;
+	private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+	private final byte[] deflateBuffer = new byte[4096];
+
+	@Setup
+	public void setUp() throws Exception {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		chatWireCodec = new ChatWireCodec(objectMapper, 10000);
+		msg = new ChatReqDto(ChatReqDto.MsgType.TALK, 123456L, "5f0c6a2e-8d1b-4c55-9a43-2b7e0f1d9c11",
+				"https://firebasestorage.googleapis.com/v0/b/final-project.appspot.com/o/profile%2F42.png?alt=media",
+				"닉네임", "닉네임", "오늘 저녁 메뉴 추천해 주세요!", LocalDateTime.now());
+		json = objectMapper.writeValueAsString(msg);
+		compact = chatWireCodec.encode(msg).getBytes();
+		System.out.printf("%n메시지 크기(bytes) json=%d, compact=%d, json+deflate=%d, compact+deflate=%d%n",
+				json.getBytes(StandardCharsets.UTF_8).length, compact.length,
+				deflate(json.getBytes(StandardCharsets.UTF_8)), deflate(compact));
+	}
+
+	@Benchmark
+	public String jsonEncode() throws Exception {
+		return objectMapper.writeValueAsString(msg);
+	}
+
+	@Benchmark
+	public byte[] compactEncode() {
+		return chatWireCodec.encode(msg).getBytes();
+	}
+
+	@Benchmark
+	public ChatReqDto jsonDecode() throws Exception {
+		return objectMapper.readValue(json, ChatReqDto.class);
+	}
+
+	@Benchmark
+	public ChatReqDto compactDecode() {
+		return chatWireCodec.decode(ByteBuffer.wrap(compact));
+	}
+
+	@Benchmark
+	public int jsonDeflate() throws Exception {
+		return deflate(objectMapper.writeValueAsString(msg).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public int compactDeflate() {
+		return deflate(chatWireCodec.encode(msg).getBytes());
+	}
+
+	private int deflate(byte[] input) {
+		deflater.reset();
+		deflater.setInput(input);
+		int length = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+		return length - 4; // permessage-deflate는 끝의 00 00 FF FF를 빼고 전송
+	}
+}
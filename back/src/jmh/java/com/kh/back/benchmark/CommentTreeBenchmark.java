@@ -0,0 +1,57 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.dto.comment.CommentResDto;
+import com.kh.back.entity.Comment;
+import com.kh.back.entity.member.Member;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommentResDto.fromEntity 재귀 변환 비용 (레시피 댓글 목록 조회)
+ * - depth: 대댓글 깊이, fanout: 댓글 하나당 대댓글 수
+ * - 엔티티는 메모리에서 직접 만든 것이라 지연 로딩(N+1) 비용은 포함되지 않음 → 순수 변환 비용만 측정
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CommentTreeBenchmark {
+
+	@Param({"2", "4", "6"})
+	public int depth;
+
+	@Param({"3"})
+	public int fanout;
+
+	private Comment root;
+	private long nextId;
+
+	@Setup
+	public void setUp() {
+		nextId = 1;
+		root = comment(null, depth);
+	}
+
+	@Benchmark
+	public CommentResDto fromEntity() {
+		return CommentResDto.fromEntity(root);
+	}
+
+	private Comment comment(Comment parent, int remainingDepth) {
+		Member member = new Member();
+		member.setMemberId(nextId % 50);
+		member.setNickName("회원" + (nextId % 50));
+
+		Comment comment = new Comment();
+		comment.setCommentId(nextId++);
+		comment.setMember(member);
+		comment.setContent("맛있어 보이네요! 다음에 꼭 만들어 볼게요.");
+		comment.setParentComment(parent);
+		if (remainingDepth > 0) {
+			for (int i = 0; i < fanout; i++) {
+				comment.getReplies().add(comment(comment, remainingDepth - 1));
+			}
+		}
+		return comment;
+	}
+}
@@ -0,0 +1,99 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.forum.response.ForumPostResponseDto;
+import com.kh.back.dto.python.SearchListResDto;
+import com.kh.back.dto.recipe.res.CocktailListResDto;
+import com.kh.back.service.python.FlaskJsonReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flask 응답 역직렬화 비교
+ * - string*: 기존 방식 (응답 본문 → String → objectMapper.readValue + 매번 컬렉션 타입 생성)
+ * - stream*: FlaskJsonReader 방식 (미리 만든 ObjectReader로 InputStream에서 바로 DTO로)
+ * - gc 프로파일러의 gc.alloc.rate.norm 값으로 호출당 할당량 비교
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FlaskJsonReadBenchmark {
+
+	@Param({"20", "100", "500"})
+	public int items;
+
+	private ObjectMapper objectMapper;
+	private FlaskJsonReader flaskJsonReader;
+	private byte[] cocktailListBody;
+	private byte[] forumPostListBody;
+
+	@Setup
+	public void setUp() throws Exception {
+		// 스프링 부트 기본 ObjectMapper와 같은 설정 (JavaTimeModule, 모르는 필드 무시)
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		flaskJsonReader = new FlaskJsonReader(objectMapper);
+
+		List<Map<String, Object>> cocktails = new ArrayList<>();
+		List<Map<String, Object>> posts = new ArrayList<>();
+		for (int i = 0; i < items; i++) {
+			Map<String, Object> cocktail = new LinkedHashMap<>();
+			cocktail.put("id", "cocktail-" + i);
+			cocktail.put("name", "모히토 스타일 칵테일 " + i);
+			cocktail.put("like", (long) i * 3);
+			cocktail.put("report", (long) i % 5);
+			cocktail.put("category", i % 2 == 0 ? "Cocktail" : "Ordinary Drink");
+			cocktails.add(cocktail);
+
+			Map<String, Object> post = new LinkedHashMap<>();
+			post.put("id", "post-" + i);
+			post.put("title", "오늘 만든 레시피 후기 " + i);
+			post.put("content", "<p>" + "재료 손질부터 플레이팅까지 정리했습니다. ".repeat(20) + "</p>");
+			post.put("authorName", "작성자" + i);
+			post.put("memberId", (long) i);
+			post.put("sticky", false);
+			post.put("viewsCount", i * 7);
+			post.put("likesCount", i);
+			post.put("hidden", false);
+			post.put("createdAt", "2025-02-01T12:34:56.789+09:00");
+			post.put("updatedAt", "2025-02-02T08:00:00.000+09:00");
+			post.put("fileUrls", List.of("https://example.com/a.png", "https://example.com/b.png"));
+			post.put("reportCount", 0);
+			post.put("contentJSON", "{\"type\":\"doc\",\"content\":[{\"type\":\"paragraph\"}]}");
+			post.put("category", "category-" + (i % 4));
+			posts.add(post);
+		}
+		cocktailListBody = objectMapper.writeValueAsBytes(cocktails);
+		forumPostListBody = objectMapper.writeValueAsBytes(posts);
+	}
+
+	@Benchmark
+	public List<SearchListResDto> stringCocktailList() throws Exception {
+		String body = new String(cocktailListBody, StandardCharsets.UTF_8);
+		return objectMapper.readValue(body,
+				objectMapper.getTypeFactory().constructCollectionType(List.class, CocktailListResDto.class));
+	}
+
+	@Benchmark
+	public List<SearchListResDto> streamCocktailList() throws Exception {
+		return flaskJsonReader.getCocktailListReader().readValue(new ByteArrayInputStream(cocktailListBody));
+	}
+
+	@Benchmark
+	public ForumPostResponseDto[] stringForumPostList() throws Exception {
+		String body = new String(forumPostListBody, StandardCharsets.UTF_8);
+		return objectMapper.readValue(body, ForumPostResponseDto[].class);
+	}
+
+	@Benchmark
+	public List<ForumPostResponseDto> streamForumPostList() throws Exception {
+		return flaskJsonReader.getForumPostListReader().readValue(new ByteArrayInputStream(forumPostListBody));
+	}
+}
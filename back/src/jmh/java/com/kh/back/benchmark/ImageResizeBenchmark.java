@@ -0,0 +1,61 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.service.FirebaseService;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FirebaseService 이미지 리사이징 비용 (업로드 전 400x400 변환)
+ * - 디코딩 → 리사이징 → 인코딩 전체 (FirebaseService.resizeImage), Storage 업로드는 제외
+ * - recipe: uploadImage와 같은 ARGB + png, profile: uploadProfileImage와 같은 RGB + jpg
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ImageResizeBenchmark {
+
+	@Param({"1024", "3000"})
+	public int sourceSize;
+
+	private byte[] pngSource;
+	private byte[] jpgSource;
+
+	@Setup
+	public void setUp() throws Exception {
+		// 사진처럼 압축이 잘 안 되도록 노이즈가 섞인 원본 이미지 생성
+		BufferedImage source = new BufferedImage(sourceSize, sourceSize, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = source.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, Color.ORANGE, sourceSize, sourceSize, Color.DARK_GRAY));
+		g.fillRect(0, 0, sourceSize, sourceSize);
+		g.dispose();
+		Random random = new Random(42);
+		for (int i = 0; i < sourceSize * 10; i++) {
+			source.setRGB(random.nextInt(sourceSize), random.nextInt(sourceSize), random.nextInt());
+		}
+		pngSource = encode(source, "png");
+		jpgSource = encode(source, "jpg");
+	}
+
+	@Benchmark
+	public byte[] recipe() throws Exception {
+		return FirebaseService.resizeImage(new ByteArrayInputStream(pngSource), BufferedImage.TYPE_INT_ARGB, "png");
+	}
+
+	@Benchmark
+	public byte[] profile() throws Exception {
+		return FirebaseService.resizeImage(new ByteArrayInputStream(jpgSource), BufferedImage.TYPE_INT_RGB, "jpg");
+	}
+
+	private static byte[] encode(BufferedImage image, String format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, format, out);
+		return out.toByteArray();
+	}
+}
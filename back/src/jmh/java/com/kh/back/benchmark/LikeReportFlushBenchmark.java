@@ -0,0 +1,209 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.service.python.ElasticService;
+import com.kh.back.service.python.FlaskJsonReader;
+import com.kh.back.service.python.FlaskResilience;
+import com.kh.back.service.python.RecipeDetailCache;
+import com.kh.back.service.python.SearchResultCache;
+import com.kh.back.service.redis.RedisService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 좋아요/신고 반영 주기(ElasticService.updateLikesAndReports) 한 번에 걸리는 시간
+ * - dirtyKeys 개의 카운터를 flushBatchSize 개씩 묶어서 /update/likes-reports/bulk 로 보내고 결과 반영까지
+ *   (flushBatch → sendLikeReportDeltas → LikeReportBulkResult 변환 → 상세 캐시 무효화)
+ * - Flask는 로컬 HTTP 서버로 대신함 (요청 JSON을 읽어 delta 수만큼 updated로 응답, 묶음마다 bulkMillis 지연 = ES _bulk 한 번)
+ * - Redis(RedisService)는 메모리 stub: 꺼낸 키마다 delta 하나({id, type, like=1, report=0}), pending/완료 처리는 바로 성공
+ * - 연산당 Flask 요청 수와 전달된 delta 수는 TearDown에서 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LikeReportFlushBenchmark {
+
+	@Param({"1000", "10000"})
+	public int dirtyKeys;
+
+	@Param({"100", "500"})
+	public int flushBatchSize;
+
+	@Param({"2"})
+	public long bulkMillis;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong deltas = new AtomicLong();
+	private final AtomicLong operations = new AtomicLong();
+	private final Deque<String> dirty = new ArrayDeque<>();
+	private List<String> keys;
+	private HttpServer flask;
+	private ExecutorService flaskWorkers;
+	private CloseableHttpClient httpClient;
+	private ElasticService elasticService;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		flaskWorkers = Executors.newFixedThreadPool(4);
+		flask = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		flask.createContext("/update/likes-reports/bulk", exchange -> {
+			try (InputStream in = exchange.getRequestBody()) {
+				JsonNode request = objectMapper.readTree(in);
+				int count = request.path("deltas").size();
+				requests.incrementAndGet();
+				deltas.addAndGet(count);
+				Thread.sleep(bulkMillis);
+				byte[] body = ("{\"updated\":" + count + ",\"duplicates\":0,\"failed\":[],\"notFound\":[],\"skipped\":[]}")
+						.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("Content-Type", "application/json");
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				exchange.close();
+			}
+		});
+		flask.setExecutor(flaskWorkers);
+		flask.start();
+
+		// FlaskClientConfig와 같이 커넥션 풀을 쓰는 쓰기용 RestTemplate (read timeout 10초)
+		httpClient = HttpClients.custom().setMaxConnTotal(50).setMaxConnPerRoute(50).build();
+		HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+		factory.setReadTimeout(10_000);
+		RestTemplate writeRestTemplate = new RestTemplate(factory);
+		// ElasticService의 Flask 주소(localhost:5001)를 로컬 서버 포트로 바꿔서 보냄
+		int port = flask.getAddress().getPort();
+		writeRestTemplate.getInterceptors().add((request, body, execution) -> execution.execute(new HttpRequestWrapper(request) {
+			@Override
+			public URI getURI() {
+				return UriComponentsBuilder.fromUri(request.getURI()).port(port).build(true).toUri();
+			}
+		}, body));
+
+		keys = new ArrayList<>(dirtyKeys);
+		for (int i = 0; i < dirtyKeys; i++) {
+			keys.add((i % 2 == 0 ? "likes:" : "reports:") + "recipe-" + i + (i % 3 == 0 ? ":food" : ":cocktail"));
+		}
+
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		elasticService = new ElasticService(null, null, writeRestTemplate, objectMapper, new InMemoryRedisService(),
+				new RecipeDetailCache(null, null, meterRegistry, 5000, 600, false, 1800, 3600, 60),
+				new SearchResultCache(meterRegistry, 100, 0, 0, 500),
+				new FlaskResilience(meterRegistry, 50, 2000, 10_000, 3, 30, 30, 10),
+				new FlaskJsonReader(objectMapper), meterRegistry);
+		// @Value 필드 (likes-reports.flush.*)
+		set("flushBatchSize", flushBatchSize);
+		set("pendingRetryAfterMillis", 30_000L);
+	}
+
+	// 매 연산 전에 dirty 집합을 다시 채움 (flush 한 번에 전부 꺼내서 보냄)
+	@Setup(Level.Invocation)
+	public void fillDirty() {
+		dirty.clear();
+		dirty.addAll(keys);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		System.out.printf("%n[dirtyKeys=%d, flushBatchSize=%d] 연산당 Flask 요청 %.1f, delta %.0f%n", dirtyKeys, flushBatchSize,
+				(double) requests.get() / operations.get(), (double) deltas.get() / operations.get());
+		httpClient.close();
+		flask.stop(0);
+		flaskWorkers.shutdownNow();
+	}
+
+	@Benchmark
+	public void flush() {
+		operations.incrementAndGet();
+		elasticService.updateLikesAndReports();
+	}
+
+	private void set(String name, Object value) throws ReflectiveOperationException {
+		Field field = ElasticService.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(elasticService, value);
+	}
+
+	// dirty 집합과 pending batch만 흉내 낸 RedisService (Redis 왕복 비용은 제외)
+	private final class InMemoryRedisService extends RedisService {
+
+		private InMemoryRedisService() {
+			super(null, null, null);
+		}
+
+		@Override
+		public List<String> popDirtyCounterKeys(int count) {
+			List<String> popped = new ArrayList<>(Math.min(count, dirty.size()));
+			while (popped.size() < count && !dirty.isEmpty()) {
+				popped.add(dirty.poll());
+			}
+			return popped;
+		}
+
+		@Override
+		public List<Map<String, Object>> drainCounters(String batchId, List<String> counterKeys) {
+			List<Map<String, Object>> drained = new ArrayList<>(counterKeys.size());
+			for (String key : counterKeys) {
+				String[] parts = key.split(":");
+				Map<String, Object> delta = new HashMap<>();
+				delta.put("id", parts[1]);
+				delta.put("type", parts[2]);
+				delta.put("like", "likes".equals(parts[0]) ? 1L : 0L);
+				delta.put("report", "likes".equals(parts[0]) ? 0L : 1L);
+				drained.add(delta);
+			}
+			return drained;
+		}
+
+		@Override
+		public List<String> stalePendingBatches(long olderThanMillis, int count) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean completeBatch(String batchId) {
+			return true;
+		}
+
+		@Override
+		public void markCountersDirty(List<String> counterKeys) {
+			dirty.addAll(counterKeys);
+		}
+
+		@Override
+		public void restoreCounters(List<Map<String, Object>> restored) {
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.constant.Authority;
+import com.kh.back.entity.member.Member;
+import com.kh.back.repository.PurchaseRecordRepository;
+import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.PremiumEntitlementService;
+import com.kh.back.service.PurchaseService;
+import com.kh.back.service.member.MemberContext;
+import com.kh.back.service.member.MemberService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 게시글 작성(ForumPostService.createPost, sticky=true, 일반 회원)의 회원 관련 DB 쿼리 수
+ * - 요청 하나 = 닉네임 조회 → 관리자 확인 → 프리미엄 확인
+ * - legacyCreatePath: 기존 코드 (findById, findById, findByMemberId + existsByMember → 4번)
+ * - contextCreatePath: MemberContext + PremiumEntitlementService 사용
+ *   (cache=cold: 요청 간 캐시 없음 → findById 1번, 프리미엄 여부는 시작 시 적재한 메모리 Set
+ *    cache=warm: TTL 안의 다음 요청 → 0번)
+ * - 쿼리 한 번은 roundTripMicros 만큼 지연, 요청당 쿼리 수는 TearDown에서 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class MemberContextBenchmark {
+	private static final Long MEMBER_ID = 42L;
+
+	@Param({"cold", "warm"})
+	public String cache;
+
+	@Param({"300"})
+	public long roundTripMicros;
+
+	private final AtomicLong queries = new AtomicLong();
+	private final AtomicLong requests = new AtomicLong();
+	private MemberRepository memberRepository;
+	private PurchaseRecordRepository purchaseRecordRepository;
+	private MemberService memberService;
+	private PurchaseService purchaseService;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Member member = new Member();
+		member.setMemberId(MEMBER_ID);
+		member.setNickName("닉네임");
+		member.setAuthority(Authority.ROLE_USER);
+		memberRepository = repository(MemberRepository.class, Map.of(
+				"findById", Optional.of(member),
+				"findByMemberId", Optional.of(member)));
+		purchaseRecordRepository = repository(PurchaseRecordRepository.class, Map.of(
+				"existsByMember", true,
+				"existsByMemberMemberId", true,
+				"findPurchasedMemberIds", List.of(MEMBER_ID)));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		MemberContext memberContext = new MemberContext(memberRepository, meterRegistry,
+				"warm".equals(cache) ? 10_000 : 0, 30);
+		PremiumEntitlementService premiumEntitlementService = new PremiumEntitlementService(
+				purchaseRecordRepository, null, meterRegistry, 50_000, 300, false);
+		Method warmUp = PremiumEntitlementService.class.getDeclaredMethod("warmUp");
+		warmUp.setAccessible(true);
+		warmUp.invoke(premiumEntitlementService); // 시작 시 적재 (측정에서 제외)
+		queries.set(0);
+		memberService = new MemberService(memberRepository, null, null, memberContext, null);
+		purchaseService = new PurchaseService(memberRepository, purchaseRecordRepository, memberContext,
+				premiumEntitlementService, event -> { });
+	}
+
+	// 매 호출을 새 HTTP 요청으로 취급
+	@Setup(Level.Invocation)
+	public void newRequest() {
+		Map<String, Object> attributes = new ConcurrentHashMap<>();
+		HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+				HttpServletRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getAttribute" -> attributes.get((String) args[0]);
+					case "setAttribute" -> attributes.put((String) args[0], args[1]);
+					case "removeAttribute" -> attributes.remove((String) args[0]);
+					default -> null;
+				});
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		requests.incrementAndGet();
+	}
+
+	@TearDown(Level.Invocation)
+	public void endRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@TearDown(Level.Trial)
+	public void report() {
+		System.out.printf("%n[cache=%s] 요청당 회원 관련 쿼리 수 : %.2f%n", cache, (double) queries.get() / requests.get());
+	}
+
+	@Benchmark
+	public boolean legacyCreatePath() {
+		String nickName = memberRepository.findById(MEMBER_ID).orElseThrow().getNickName();
+		boolean admin = memberRepository.findById(MEMBER_ID).orElseThrow().getAuthority() == Authority.ROLE_ADMIN;
+		Member member = memberRepository.findByMemberId(MEMBER_ID).orElseThrow();
+		return nickName != null && (admin || purchaseRecordRepository.existsByMember(member));
+	}
+
+	@Benchmark
+	public boolean contextCreatePath() {
+		String nickName = memberService.getNickname(MEMBER_ID);
+		return nickName != null && (memberService.isAdmin(MEMBER_ID) || purchaseService.isMemberPremium(MEMBER_ID));
+	}
+
+	// 메서드 이름별 반환값, 호출마다 쿼리 1번으로 계산
+	@SuppressWarnings("unchecked")
+	private <T> T repository(Class<T> type, Map<String, Object> results) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return type.getSimpleName();
+						default:
+							queries.incrementAndGet();
+							LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+							return results.get(method.getName());
+					}
+				});
+	}
+}
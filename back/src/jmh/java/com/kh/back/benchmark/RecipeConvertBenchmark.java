@@ -0,0 +1,81 @@
+package com.kh.back.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.python.SearchListResDto;
+import com.kh.back.dto.python.SearchResDto;
+import com.kh.back.service.python.ElasticService;
+import com.kh.back.service.python.FlaskJsonReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ElasticService.convertResToList / convertResToDto 비용
+ * - 검색 결과 캐시, 레시피 상세 캐시 hit 시에도 매번 수행되는 변환 (캐시는 응답 JSON 문자열을 저장)
+ * - 변환에 쓰이지 않는 RestTemplate, Redis, 캐시 등은 null로 생성
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RecipeConvertBenchmark {
+
+	@Param({"20", "100"})
+	public int items;
+
+	private ElasticService elasticService;
+	private String cocktailListBody;
+	private String cocktailDetailBody;
+
+	@Setup
+	public void setUp() throws Exception {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		elasticService = new ElasticService(null, null, null, objectMapper, null, null, null, null,
+				new FlaskJsonReader(objectMapper), null);
+
+		List<Map<String, Object>> cocktails = new ArrayList<>();
+		for (int i = 0; i < items; i++) {
+			Map<String, Object> cocktail = new LinkedHashMap<>();
+			cocktail.put("id", "cocktail-" + i);
+			cocktail.put("name", "모히토 스타일 칵테일 " + i);
+			cocktail.put("like", (long) i * 3);
+			cocktail.put("report", (long) i % 5);
+			cocktail.put("category", "Cocktail");
+			cocktails.add(cocktail);
+		}
+		cocktailListBody = objectMapper.writeValueAsString(cocktails);
+
+		List<Map<String, Object>> ingredients = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			ingredients.add(Map.of("ingredient", "재료" + i, "unit", "ml", "amount", 15.0 * (i + 1), "special", ""));
+		}
+		Map<String, Object> detail = new LinkedHashMap<>();
+		detail.put("id", "cocktail-1");
+		detail.put("name", "모히토");
+		detail.put("glass", "Highball glass");
+		detail.put("preparation", "라임과 민트를 으깬 뒤 럼과 소다를 붓습니다. ".repeat(5));
+		detail.put("image", "https://example.com/mojito.png");
+		detail.put("category", "Cocktail");
+		detail.put("abv", 13.5);
+		detail.put("garnish", "민트 잎");
+		detail.put("like", 120L);
+		detail.put("report", 0L);
+		detail.put("author", 7L);
+		detail.put("ingredients", ingredients);
+		cocktailDetailBody = objectMapper.writeValueAsString(detail);
+	}
+
+	@Benchmark
+	public List<SearchListResDto> convertResToList() throws Exception {
+		return elasticService.convertResToList(cocktailListBody, "cocktail");
+	}
+
+	@Benchmark
+	public SearchResDto convertResToDto() throws Exception {
+		return elasticService.convertResToDto(cocktailDetailBody, "cocktail");
+	}
+}
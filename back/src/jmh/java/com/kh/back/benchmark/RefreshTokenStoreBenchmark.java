@@ -0,0 +1,197 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.entity.auth.RefreshToken;
+import com.kh.back.entity.member.Member;
+import com.kh.back.repository.auth.RefreshTokenRepository;
+import com.kh.back.service.auth.JpaRefreshTokenStore;
+import com.kh.back.service.auth.RedisRefreshTokenStore;
+import com.kh.back.service.auth.RefreshTokenStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 로그인 몰림(16 스레드) 상황에서 리프레시 토큰 저장/확인 시간과 DB 쿼리 수
+ * - store=legacy: 기존 AuthService 코드 (로그인 existsByMember x2 + deleteByMember + save, 재발급 existsByRefreshToken x2)
+ * - store=jpa: JpaRefreshTokenStore (로그인 deleteByMember + save, 재발급 existsByRefreshToken 1번)
+ * - store=redis: RedisRefreshTokenStore (로그인 파이프라인 1번, 재발급 EXISTS 1번, DB 쿼리 없음)
+ * - DB 쿼리 한 번은 dbRoundTripMicros, Redis 왕복 한 번은 redisRoundTripMicros 만큼 지연
+ *   (refresh_token 컬럼 인덱스가 없으면 실제 existsByRefreshToken은 더 느림)
+ * - 연산당 DB 쿼리 / Redis 왕복 수는 TearDown에서 출력
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+public class RefreshTokenStoreBenchmark {
+	private static final int MEMBERS = 10_000;
+	private static final int TOKENS = 1_000;
+	private static final long EXPIRE_TIME = 1000 * 60 * 60 * 24 * 7L; // TokenProvider.REFRESH_TOKEN_EXPIRE_TIME
+
+	@Param({"legacy", "jpa", "redis"})
+	public String store;
+
+	@Param({"500"})
+	public long dbRoundTripMicros;
+
+	@Param({"150"})
+	public long redisRoundTripMicros;
+
+	private final AtomicLong queries = new AtomicLong();
+	private final AtomicLong redisTrips = new AtomicLong();
+	private final AtomicLong operations = new AtomicLong();
+	private RefreshTokenRepository refreshTokenRepository;
+	private RefreshTokenStore refreshTokenStore;
+	private Member[] members;
+	private String[] tokens;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		refreshTokenRepository = repository();
+		refreshTokenStore = "redis".equals(store)
+				? new RedisRefreshTokenStore(new FakeRedisTemplate(), new JpaRefreshTokenStore(refreshTokenRepository),
+						new SimpleMeterRegistry(), 5)
+				: new JpaRefreshTokenStore(refreshTokenRepository);
+		members = new Member[MEMBERS];
+		for (int i = 0; i < MEMBERS; i++) {
+			members[i] = new Member();
+			members[i].setMemberId((long) i);
+		}
+		tokens = new String[TOKENS];
+		for (int i = 0; i < TOKENS; i++) {
+			tokens[i] = token();
+			refreshTokenStore.save(members[i], tokens[i], System.currentTimeMillis() + EXPIRE_TIME);
+		}
+		queries.set(0);
+		redisTrips.set(0);
+	}
+
+	@TearDown(Level.Trial)
+	public void report() {
+		System.out.printf("%n[store=%s] 연산당 DB 쿼리 %.2f, Redis 왕복 %.2f%n", store,
+				(double) queries.get() / operations.get(), (double) redisTrips.get() / operations.get());
+	}
+
+	@Benchmark
+	public void login() {
+		operations.incrementAndGet();
+		Member member = members[ThreadLocalRandom.current().nextInt(MEMBERS)];
+		String token = token();
+		long expiresAt = System.currentTimeMillis() + EXPIRE_TIME;
+		if ("legacy".equals(store)) {
+			refreshTokenRepository.existsByMember(member); // 로그 출력용 조회
+			if (refreshTokenRepository.existsByMember(member)) {
+				refreshTokenRepository.deleteByMember(member);
+			}
+			RefreshToken refreshToken = new RefreshToken();
+			refreshToken.setRefreshToken(token);
+			refreshToken.setRefreshTokenExpiresIn(expiresAt);
+			refreshToken.setMember(member);
+			refreshTokenRepository.save(refreshToken);
+			return;
+		}
+		refreshTokenStore.save(member, token, expiresAt);
+	}
+
+	@Benchmark
+	public boolean refresh() {
+		operations.incrementAndGet();
+		String token = tokens[ThreadLocalRandom.current().nextInt(TOKENS)];
+		if ("legacy".equals(store)) {
+			refreshTokenRepository.existsByRefreshToken(token); // 로그 출력용 조회
+			return refreshTokenRepository.existsByRefreshToken(token);
+		}
+		return refreshTokenStore.exists(token);
+	}
+
+	// JWT와 비슷한 길이의 토큰
+	private static String token() {
+		StringBuilder sb = new StringBuilder(200);
+		while (sb.length() < 200) {
+			sb.append(UUID.randomUUID());
+		}
+		return sb.toString();
+	}
+
+	// 모든 토큰이 저장돼 있는 것으로 응답, 호출마다 쿼리 1번으로 계산
+	private RefreshTokenRepository repository() {
+		return (RefreshTokenRepository) Proxy.newProxyInstance(RefreshTokenRepository.class.getClassLoader(),
+				new Class<?>[]{RefreshTokenRepository.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return proxy == args[0];
+						case "toString":
+							return "RefreshTokenRepository";
+						default:
+							queries.incrementAndGet();
+							LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbRoundTripMicros));
+							return method.getReturnType() == boolean.class ? true : args != null ? args[0] : null;
+					}
+				});
+	}
+
+	/**
+	 * 메모리 Redis (RedisRefreshTokenStore가 쓰는 명령만), 명령 또는 파이프라인 1번 = 왕복 1번
+	 * 회원별 Sorted Set은 5개까지만 유지 (최대 로그인 수 초과 정리 왕복은 측정 대상이 아님)
+	 */
+	private class FakeRedisTemplate extends StringRedisTemplate {
+		private final Map<String, String> values = new ConcurrentHashMap<>();
+		private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+
+		@Override
+		public List<Object> executePipelined(RedisCallback<?> action) {
+			roundTrip();
+			List<Object> results = new ArrayList<>();
+			StringRedisConnection connection = (StringRedisConnection) Proxy.newProxyInstance(
+					StringRedisConnection.class.getClassLoader(), new Class<?>[]{StringRedisConnection.class},
+					(proxy, method, args) -> {
+						switch (method.getName()) {
+							case "set" -> {
+								values.put((String) args[0], (String) args[1]);
+								results.add(true);
+							}
+							case "zAdd" -> {
+								Set<String> set = sets.computeIfAbsent((String) args[0], key -> ConcurrentHashMap.newKeySet());
+								if (set.size() >= 5) {
+									set.remove(set.iterator().next()); // 최대 로그인 수 정리 (왕복 없이 흉내)
+								}
+								results.add(set.add((String) args[2]));
+							}
+							case "zCard" -> results.add((long) sets.getOrDefault((String) args[0], Set.of()).size());
+							default -> results.add(null);
+						}
+						return null;
+					});
+			action.doInRedis(connection);
+			return results;
+		}
+
+		@Override
+		public Boolean hasKey(String key) {
+			roundTrip();
+			return values.containsKey(key);
+		}
+
+		private void roundTrip() {
+			redisTrips.incrementAndGet();
+			LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(redisRoundTripMicros));
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.kh.back.benchmark;
+
+import org.jsoup.Jsoup;
+import org.jsoup.safety.Safelist;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ForumPostService.sanitizeHtml 비용 (게시글 생성/수정 시 호출)
+ * - sanitizeHtml은 private 메서드라서 같은 Safelist 구성과 Jsoup.clean 호출을 그대로 옮겨서 측정
+ * - perCallSafelist: 현재 코드처럼 호출마다 Safelist.relaxed()를 새로 구성
+ * - sharedSafelist: Safelist를 한 번만 만들어 재사용했을 때 (비교 기준)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SanitizeHtmlBenchmark {
+
+	@Param({"1", "20", "200"})
+	public int paragraphs;
+
+	private String content;
+	private Safelist sharedSafelist;
+
+	@Setup
+	public void setUp() {
+		StringBuilder html = new StringBuilder();
+		for (int i = 0; i < paragraphs; i++) {
+			html.append("<h2>단계 ").append(i).append("</h2>")
+					.append("<p>재료를 <strong>손질</strong>하고 <em>양념</em>에 재워 둡니다. ")
+					.append("<a href=\"https://example.com/recipe/").append(i).append("\" target=\"_blank\" onclick=\"alert(1)\">링크</a></p>")
+					.append("<blockquote class=\"tip\">팁: 불 조절이 중요합니다.</blockquote>")
+					.append("<img src=\"https://example.com/").append(i).append(".png\" onerror=\"x()\">")
+					.append("<script>steal()</script>");
+		}
+		content = html.toString();
+		sharedSafelist = safelist();
+	}
+
+	@Benchmark
+	public String perCallSafelist() {
+		return Jsoup.clean(content, safelist());
+	}
+
+	@Benchmark
+	public String sharedSafelist() {
+		return Jsoup.clean(content, sharedSafelist);
+	}
+
+	// ForumPostService.sanitizeHtml과 같은 구성
+	private static Safelist safelist() {
+		return Safelist.relaxed()
+				.addAttributes("blockquote", "class")
+				.addAttributes("a", "href", "rel", "target")
+				.addProtocols("a", "href", "#", "http", "https", "mailto", "tel", "ftp");
+	}
+}
@@ -0,0 +1,60 @@
+package com.kh.back.benchmark;
+
+import com.kh.back.jwt.TokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter가 요청마다 수행하는 토큰 처리 비용
+ * - validateToken, getAuthentication 각각 서명 검증 + 파싱을 한 번씩 수행
+ * - doubleParse: 기존 JwtFilter처럼 두 메서드를 연달아 호출 (서명 검증 2번)
+ * - resolveAuthentication: 현재 JwtFilter 경로, authCacheSize=0이면 캐시 없이 파싱 1번, 그 외에는 캐시 hit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+	@Param({"0", "10000"})
+	public long authCacheSize;
+
+	private TokenProvider tokenProvider;
+	private String accessToken;
+
+	@Setup
+	public void setUp() {
+		tokenProvider = new TokenProvider("benchmark-secret", false, authCacheSize, new SimpleMeterRegistry());
+		Authentication authentication = new UsernamePasswordAuthenticationToken(
+				"1", "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		accessToken = tokenProvider.generateAccessTokenDto(authentication).getAccessToken();
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return tokenProvider.validateToken(accessToken);
+	}
+
+	@Benchmark
+	public Authentication getAuthentication() {
+		return tokenProvider.getAuthentication(accessToken);
+	}
+
+	@Benchmark
+	public Authentication doubleParse() {
+		if (tokenProvider.validateToken(accessToken)) {
+			return tokenProvider.getAuthentication(accessToken);
+		}
+		return null;
+	}
+
+	@Benchmark
+	public Authentication resolveAuthentication() {
+		return tokenProvider.resolveAuthentication(accessToken);
+	}
+}
@@ -4,12 +4,18 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
 @EnableScheduling
 @SpringBootApplication
 public class BackApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BackApplication.class, args);
+		SpringApplication application = new SpringApplication(BackApplication.class);
+		// 프록시 뒤에서는 Tomcat(RemoteIpValve)이 내부망 프록시가 붙인 X-Forwarded-For만 반영 → request.getRemoteAddr()가 실제 클라이언트 IP
+		// 클라이언트가 직접 보낸 X-Forwarded-For는 무시됨 (application.properties 에서 바꿀 수 있는 기본값)
+		application.setDefaultProperties(Map.of("server.forward-headers-strategy", "native"));
+		application.run(args);
 	}
 
 }
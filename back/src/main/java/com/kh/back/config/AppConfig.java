@@ -2,12 +2,14 @@ package com.kh.back.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
 	
 	@Bean
+	@Primary // Flask 전용 RestTemplate(FlaskClientConfig)과 구분되는 기본 RestTemplate
 	public RestTemplate restTemplate() {
 		return new RestTemplate();
 	}
@@ -0,0 +1,49 @@
+package com.kh.back.config;
+
+import com.kh.back.repository.auth.RefreshTokenRepository;
+import com.kh.back.service.auth.InMemoryVerificationCodeStore;
+import com.kh.back.service.auth.JpaRefreshTokenStore;
+import com.kh.back.service.auth.RedisRefreshTokenStore;
+import com.kh.back.service.auth.RedisVerificationCodeStore;
+import com.kh.back.service.auth.RefreshTokenStore;
+import com.kh.back.service.auth.VerificationCodeStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 인증 관련 설정
+ */
+@Slf4j
+@Configuration
+public class AuthConfig {
+
+	// 리프레시 토큰 저장소 (auth.refresh-token.store = jpa | redis, 기본 jpa)
+	@Bean
+	public RefreshTokenStore refreshTokenStore(RefreshTokenRepository refreshTokenRepository,
+											   StringRedisTemplate stringRedisTemplate,
+											   MeterRegistry meterRegistry,
+											   @Value("${auth.refresh-token.store:jpa}") String store,
+											   @Value("${auth.refresh-token.max-sessions:5}") int maxSessions) {
+		RefreshTokenStore jpa = new JpaRefreshTokenStore(refreshTokenRepository);
+		if ("redis".equalsIgnoreCase(store)) {
+			log.info("리프레시 토큰 저장소 : Redis (회원당 최대 {}개)", maxSessions);
+			return new RedisRefreshTokenStore(stringRedisTemplate, jpa, meterRegistry, maxSessions);
+		}
+		return jpa;
+	}
+
+	// SMS/이메일 인증번호 저장소 (auth.verification.store = redis | memory, 기본 redis)
+	@Bean
+	public VerificationCodeStore verificationCodeStore(StringRedisTemplate stringRedisTemplate,
+													   @Value("${auth.verification.store:redis}") String store) {
+		if ("memory".equalsIgnoreCase(store)) {
+			log.info("인증번호 저장소 : 메모리 (서버 한 대에서만 사용)");
+			return new InMemoryVerificationCodeStore();
+		}
+		return new RedisVerificationCodeStore(stringRedisTemplate);
+	}
+}
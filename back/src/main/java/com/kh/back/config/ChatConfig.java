@@ -0,0 +1,59 @@
+package com.kh.back.config;
+
+import com.kh.back.service.chat.ChatMessageWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * 채팅(웹소켓) 관련 설정
+ * WebSocketConfig는 WebSocketHandler → ChatService를 주입받으므로, 그쪽에서 쓰는 빈은 순환 참조가 생기지 않도록 여기에 둠
+ */
+@Configuration
+public class ChatConfig {
+
+	// 채팅 메시지를 세션별 전송 큐에서 꺼내 실제로 보내는 스레드 풀 (ChatBroadcaster)
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor chatBroadcastExecutor(@Value("${chat.broadcast.pool-size:8}") int poolSize,
+														@Value("${chat.broadcast.executor-queue-capacity:10000}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		// 세션마다 동시에 하나의 작업만 올라가므로 대기 작업 수는 접속 중인 세션 수를 넘지 않음
+		// 그래도 상한을 둠 → 넘치면 거절되고 ChatBroadcaster가 다음 확인 때 다시 넣음
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("chat-broadcast-");
+		executor.initialize();
+		return executor;
+	}
+
+	// 채팅방 참여 정보 DB 반영 (ChatMembershipWriter), 변경 순서를 지키기 위해 스레드 1개
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor chatMembershipExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setThreadNamePrefix("chat-membership-");
+		executor.setWaitForTasksToCompleteOnShutdown(true); // 종료 시 남은 참여 정보 저장
+		executor.initialize();
+		return executor;
+	}
+
+	// 채팅 메시지 write-behind 저장 (ChatService.saveMsg)
+	@Bean
+	public ChatMessageWriter chatMessageWriter(JdbcTemplate jdbcTemplate,
+											   EntityManagerFactory entityManagerFactory,
+											   MeterRegistry meterRegistry,
+											   @Value("${chat.persist.queue-capacity:10000}") int queueCapacity,
+											   @Value("${chat.persist.batch-size:200}") int batchSize,
+											   @Value("${chat.persist.flush-interval-ms:200}") long flushIntervalMillis,
+											   @Value("${chat.persist.offer-timeout-ms:100}") long offerTimeoutMillis) {
+		return new ChatMessageWriter(jdbcTemplate, ChatMessageWriter.insertSql(entityManagerFactory), meterRegistry,
+				queueCapacity, batchSize, flushIntervalMillis, offerTimeoutMillis);
+	}
+}
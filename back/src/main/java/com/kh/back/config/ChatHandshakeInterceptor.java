@@ -0,0 +1,83 @@
+package com.kh.back.config;
+
+import com.kh.back.jwt.TokenProvider;
+import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.chat.ChatSessionIdentity;
+import com.kh.back.service.chat.ChatWireCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 채팅 웹소켓 핸드셰이크 시 JWT로 회원 확인
+ * - 브라우저 WebSocket은 헤더를 넣을 수 없으므로 ?token= 쿼리 파라미터도 허용 (Authorization: Bearer 헤더 우선)
+ * - 회원 정보(ChatSessionIdentity)를 세션 속성에 저장 → 입장/퇴장/메시지마다 회원 조회를 하지 않음
+ * - 토큰이 없거나 유효하지 않으면 401로 연결 거부
+ * - ?format=compact 면 compact(바이너리) 형식 사용 (서브프로토콜을 지정할 수 없는 클라이언트용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatHandshakeInterceptor implements HandshakeInterceptor {
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final TokenProvider tokenProvider;
+	private final MemberRepository memberRepository;
+
+	@Override
+	public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+								   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+		MultiValueMap<String, String> queryParams = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+		String token = resolveToken(request, queryParams);
+		Authentication authentication = token != null ? tokenProvider.resolveAuthentication(token) : null;
+		if (authentication == null) {
+			log.warn("채팅 웹소켓 인증 실패 : {}", request.getRemoteAddress());
+			response.setStatusCode(HttpStatus.UNAUTHORIZED);
+			return false;
+		}
+		try {
+			Long memberId = Long.valueOf(authentication.getName());
+			return memberRepository.findById(memberId)
+					.map(member -> {
+						attributes.put(ChatSessionIdentity.ATTRIBUTE,
+								new ChatSessionIdentity(member.getMemberId(), member.getNickName(), member.getMemberImg()));
+						if ("compact".equals(queryParams.getFirst("format"))) {
+							attributes.put(ChatWireCodec.COMPACT_REQUESTED, true);
+						}
+						return true;
+					})
+					.orElseGet(() -> {
+						response.setStatusCode(HttpStatus.UNAUTHORIZED);
+						return false;
+					});
+		} catch (NumberFormatException e) {
+			log.warn("채팅 웹소켓 토큰의 회원 ID 오류 : {}", authentication.getName());
+			response.setStatusCode(HttpStatus.UNAUTHORIZED);
+			return false;
+		}
+	}
+
+	@Override
+	public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+							   WebSocketHandler wsHandler, Exception exception) {
+	}
+
+	private String resolveToken(ServerHttpRequest request, MultiValueMap<String, String> queryParams) {
+		String bearerToken = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (bearerToken != null && bearerToken.startsWith(BEARER_PREFIX)) {
+			return bearerToken.substring(BEARER_PREFIX.length());
+		}
+		return queryParams.getFirst("token");
+	}
+}
@@ -0,0 +1,139 @@
+package com.kh.back.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.kh.back.service.python.FlaskDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Flask 검색 서버(localhost:5001) 전용 HTTP 클라이언트 설정
+ * - 하나의 커넥션 풀(keep-alive 재사용)을 검색/상세/쓰기 RestTemplate이 공유
+ * - 용도별로 read timeout을 분리해서 Flask가 느려져도 톰캣 스레드가 무한정 묶이지 않도록 함
+ *   AsyncSearchClient로 보낸 호출은 요청 단위 deadline까지 남은 시간으로 timeout을 더 줄임 (FlaskDeadline)
+ * - 풀 상태는 flask.client.pool.* 메트릭으로 노출
+ */
+@Slf4j
+@Configuration
+public class FlaskClientConfig {
+
+	@Value("${flask.client.max-total:50}")
+	private int maxTotal; // 전체 최대 커넥션 수
+
+	@Value("${flask.client.max-per-route:50}")
+	private int maxPerRoute; // Flask는 단일 호스트이므로 max-total과 동일하게 사용
+
+	@Value("${flask.client.connect-timeout-ms:1000}")
+	private int connectTimeout;
+
+	@Value("${flask.client.pool-timeout-ms:500}")
+	private int poolTimeout; // 풀에서 커넥션을 빌려오기까지 대기 시간
+
+	@Value("${flask.client.keep-alive-ms:30000}")
+	private long keepAlive;
+
+	@Value("${flask.client.search.read-timeout-ms:3000}")
+	private int searchReadTimeout;
+
+	@Value("${flask.client.detail.read-timeout-ms:2000}")
+	private int detailReadTimeout;
+
+	@Value("${flask.client.write.read-timeout-ms:10000}")
+	private int writeReadTimeout;
+
+	@Bean
+	public PoolingHttpClientConnectionManager flaskConnectionManager(MeterRegistry meterRegistry) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(keepAlive, TimeUnit.MILLISECONDS);
+		connectionManager.setMaxTotal(maxTotal);
+		connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+		connectionManager.setValidateAfterInactivity(2000); // 오래 쉰 커넥션은 재사용 전 검증
+
+		// 커넥션 풀 상태를 메트릭으로 등록
+		registerPoolGauge(meterRegistry, connectionManager, "flask.client.pool.leased", cm -> cm.getTotalStats().getLeased());
+		registerPoolGauge(meterRegistry, connectionManager, "flask.client.pool.available", cm -> cm.getTotalStats().getAvailable());
+		registerPoolGauge(meterRegistry, connectionManager, "flask.client.pool.pending", cm -> cm.getTotalStats().getPending());
+		registerPoolGauge(meterRegistry, connectionManager, "flask.client.pool.max", cm -> cm.getTotalStats().getMax());
+		log.info("Flask 커넥션 풀 생성 (maxTotal={}, maxPerRoute={}, keepAlive={}ms)", maxTotal, maxPerRoute, keepAlive);
+		return connectionManager;
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient flaskHttpClient(PoolingHttpClientConnectionManager flaskConnectionManager) {
+		RequestConfig defaultConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeout)
+				.setConnectionRequestTimeout(poolTimeout)
+				.setSocketTimeout(searchReadTimeout)
+				.build();
+		return HttpClients.custom()
+				.setConnectionManager(flaskConnectionManager)
+				.setDefaultRequestConfig(defaultConfig)
+				.setKeepAliveStrategy((response, context) -> keepAlive)
+				.evictExpiredConnections()
+				.evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS)
+				.build();
+	}
+
+	// 검색(/search, 프로필 레시피 목록)용
+	@Bean
+	public RestTemplate flaskSearchRestTemplate(@Qualifier("flaskHttpClient") CloseableHttpClient flaskHttpClient) {
+		return createRestTemplate(flaskHttpClient, searchReadTimeout);
+	}
+
+	// 상세 조회(/detail, /forum/post/{id}, 댓글/카테고리 조회)용
+	@Bean
+	public RestTemplate flaskDetailRestTemplate(@Qualifier("flaskHttpClient") CloseableHttpClient flaskHttpClient) {
+		return createRestTemplate(flaskHttpClient, detailReadTimeout);
+	}
+
+	// 업로드/수정/삭제 및 좋아요·신고 반영 등 쓰기 요청용
+	@Bean
+	public RestTemplate flaskWriteRestTemplate(@Qualifier("flaskHttpClient") CloseableHttpClient flaskHttpClient) {
+		return createRestTemplate(flaskHttpClient, writeReadTimeout);
+	}
+
+	// Flask 호출을 동시에 여러 개 보낼 때(AsyncSearchClient) 사용하는 스레드 풀
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor flaskAsyncExecutor(@Value("${flask.async.core-pool-size:16}") int corePoolSize,
+													 @Value("${flask.async.max-pool-size:32}") int maxPoolSize,
+													 @Value("${flask.async.queue-capacity:200}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("flask-async-");
+		// 큐가 가득 차면 바로 거절 → AsyncSearchClient가 timeout과 같은 "부분 결과 없음(null)"으로 처리
+		// (호출한 톰캣 스레드에서 직접 실행하면 deadline 없이 Flask 응답을 기다리게 됨)
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+		executor.initialize();
+		return executor;
+	}
+
+	private RestTemplate createRestTemplate(CloseableHttpClient httpClient, int readTimeout) {
+		// 팩토리별 timeout이 클라이언트 기본 설정 위에 덮어써지므로 풀은 공유하고 timeout만 다르게 가져감
+		FlaskDeadline.RequestFactory factory = new FlaskDeadline.RequestFactory(httpClient);
+		factory.setConnectTimeout(connectTimeout);
+		factory.setConnectionRequestTimeout(poolTimeout);
+		factory.setReadTimeout(readTimeout);
+		return new RestTemplate(factory);
+	}
+
+	private void registerPoolGauge(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager connectionManager,
+								   String name, ToDoubleFunction<PoolingHttpClientConnectionManager> value) {
+		Gauge.builder(name, connectionManager, value)
+				.description("Flask 검색 서버 HTTP 커넥션 풀 상태")
+				.register(meterRegistry);
+	}
+}
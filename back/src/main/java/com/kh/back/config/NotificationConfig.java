@@ -0,0 +1,52 @@
+package com.kh.back.config;
+
+import com.kh.back.service.notification.FakeNotificationSender;
+import com.kh.back.service.notification.NotificationSender;
+import com.kh.back.service.notification.ProviderNotificationSender;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 문자/메일 발송 설정 (NotificationDispatcher)
+ */
+@Slf4j
+@Configuration
+public class NotificationConfig {
+
+	// 발송기 (notification.sender = provider | fake, 기본 provider)
+	// provider 는 coolsms.api-key, coolsms.api-secret, coolsms.sender-number 가 필요 (환경 변수 등으로 주입, 소스에 두지 않음)
+	@Bean
+	public NotificationSender notificationSender(JavaMailSender mailSender,
+												 @Value("${notification.sender:provider}") String sender,
+												 @Value("${coolsms.api-key:}") String apiKey,
+												 @Value("${coolsms.api-secret:}") String apiSecret,
+												 @Value("${coolsms.domain:https://api.coolsms.co.kr}") String domain,
+												 @Value("${coolsms.sender-number:}") String senderNumber) {
+		if ("fake".equalsIgnoreCase(sender)) {
+			log.warn("알림 발송기 : fake (문자/메일을 실제로 보내지 않음)");
+			return new FakeNotificationSender();
+		}
+		if (apiKey.isBlank() || apiSecret.isBlank() || senderNumber.isBlank()) {
+			throw new IllegalStateException("coolsms.api-key, coolsms.api-secret, coolsms.sender-number 설정이 필요합니다 (notification.sender=provider)");
+		}
+		return new ProviderNotificationSender(mailSender, apiKey, apiSecret, domain, senderNumber);
+	}
+
+	// 발송 스레드 풀, 대기열이 가득 차면 선점한 알림을 풀어 두고 다음 확인 때 발송
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolTaskExecutor notificationExecutor(@Value("${notification.pool-size:4}") int poolSize,
+													   @Value("${notification.queue-capacity:20}") int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("notification-");
+		executor.setWaitForTasksToCompleteOnShutdown(true); // 종료 시 선점한 알림은 보내고 종료
+		executor.initialize();
+		return executor;
+	}
+}
@@ -1,5 +1,6 @@
 package com.kh.back.config;
 
+import com.kh.back.service.chat.ChatWireCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +8,7 @@ import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 @Configuration
 @Slf4j
@@ -14,10 +16,17 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @EnableWebSocket // 의존성 추가 했기 때문에 보여짐
 public class WebSocketConfig implements WebSocketConfigurer {
 	private final WebSocketHandler webSocketHandler;
+	private final ChatHandshakeInterceptor chatHandshakeInterceptor; // 핸드셰이크 때 JWT로 회원 확인
 
 	@Override
 	public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
 		log.info("소켓 핸들러 생성~~~~~~");
-		registry.addHandler(webSocketHandler, "/ws/chat").setAllowedOrigins("*");
+		// 서브프로토콜 chat.compact.v1을 요청한 클라이언트만 compact(바이너리) 형식, 요청이 없으면 기존 JSON
+		DefaultHandshakeHandler handshakeHandler = new DefaultHandshakeHandler();
+		handshakeHandler.setSupportedProtocols(ChatWireCodec.PROTOCOL);
+		registry.addHandler(webSocketHandler, "/ws/chat")
+				.setHandshakeHandler(handshakeHandler)
+				.addInterceptors(chatHandshakeInterceptor)
+				.setAllowedOrigins("*");
 	}
 }
\ No newline at end of file
@@ -3,14 +3,22 @@ package com.kh.back.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kh.back.dto.chat.request.ChatReqDto;
 import com.kh.back.service.ChatService;
+import com.kh.back.service.chat.ChatBroadcaster;
+import com.kh.back.service.chat.ChatHeartbeat;
+import com.kh.back.service.chat.ChatSessionIdentity;
+import com.kh.back.service.chat.ChatTypingNotifier;
+import com.kh.back.service.chat.ChatWireCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
+import javax.annotation.PostConstruct;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -18,79 +26,152 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 @Component
 //WebSocketHandler 를 상속받아 WebSocketHandler 를 구현
-public class WebSocketHandler extends TextWebSocketHandler {
+public class WebSocketHandler extends AbstractWebSocketHandler {
 	private final ObjectMapper objectMapper; //JSON 문자열로 변환하기 위한 객체
 	private final ChatService chatService; // 채팅방 관련 비즈니스 로직을 처리할 서비스
+	private final ChatBroadcaster chatBroadcaster; // 세션별 전송 큐 정리용
+	private final ChatHeartbeat chatHeartbeat; // ping 전송, 응답 없는 세션 정리
+	private final ChatTypingNotifier chatTypingNotifier; // 입력 중 표시 (주기마다 모아서 전송)
+	private final ChatWireCodec chatWireCodec; // compact(바이너리) 형식 세션 인코딩/디코딩
 	private final Map<WebSocketSession, String> sessionRoomIdMap = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	private void init() {
+		chatHeartbeat.onEvict(this::leaveRoom); // 응답 없는 세션은 연결 종료 이벤트를 기다리지 않고 퇴장 처리
+	}
+
+	@Override
+	public void afterConnectionEstablished(WebSocketSession session) {
+		chatHeartbeat.register(session);
+		chatWireCodec.negotiate(session);
+	}
+
+	@Override
+	protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+		chatHeartbeat.touch(session);
+	}
+
 	@Override
 	//클라이언트가 서버로 연결을 시도할 때 호출
 	protected void handleTextMessage(WebSocketSession session, TextMessage msg) throws Exception {
 		try {
+			chatHeartbeat.touch(session);
 			String payload = msg.getPayload();
-			log.warn("payload : {}", payload);
+			log.debug("payload : {}", payload);
 			// JSON 문자열을 ChatMessageDto 변환 작업
 			ChatReqDto chatMsg = objectMapper.readValue(payload, ChatReqDto.class);
-			String roomId = chatMsg.getRoomId();
-
-			/*ChatRoomResDto chatRoom = chatService.findRoomById(roomId);
-			if (chatRoom != null) {
-				log.warn("session : {}", session);
-				log.info("채팅룸의 getRegDate() : {}", chatRoom.getRegDate());
-				sessionRoomIdMap.put(session, roomId);
-				log.info("채팅룸 세션 확인해야함 : {}", sessionRoomIdMap);
+			handleChatMessage(session, chatMsg);
+		} catch (Exception e) {
+			log.error("handleTextMessage에서 에러 발생", e);
+		}
+	}
 
-				if (chatMsg.getType() == ChatMsgDto.MsgType.ENTER) {
-					chatRoom.handlerActions(session, chatMsg, chatService);
-					log.info("입장 메시지 전송");
-					roomMembersMap.computeIfAbsent(roomId, k -> new HashSet<>()).add(chatMsg.getSender());
-				} else if (chatMsg.getType() == ChatMsgDto.MsgType.TALK) {
-					chatRoom.handlerActions(session, chatMsg, chatService);
-				} else if (chatMsg.getType() == ChatMsgDto.MsgType.CLOSE) {
-					chatRoom.handleSessionClosed(session, chatService);
-				}
-			} else {
-				log.error("채팅룸을 ID로 찾을 수 없습니다. RoomId: {}", roomId);
-			}*/
-			if (chatMsg.getType() == ChatReqDto.MsgType.ENTER) {
-				sessionRoomIdMap.put(session, chatMsg.getRoomId());
-				chatService.addSessionAndHandlerEnter(roomId, session, chatMsg);
-			} else if (chatMsg.getType() == ChatReqDto.MsgType.CLOSE) {
-				chatService.removeSessionAndHandleExit(roomId, session, chatMsg);
-			} else {
-				chatService.sendMsgToAll(roomId, chatMsg);
-				chatService.saveMsg(chatMsg.getRoomId(), chatMsg.getSender(), chatMsg.getMsg(), chatMsg.getProfile());
+	// compact 형식 세션(ChatWireCodec)이 보낸 메시지
+	@Override
+	protected void handleBinaryMessage(WebSocketSession session, BinaryMessage msg) {
+		try {
+			chatHeartbeat.touch(session);
+			if (ChatWireCodec.state(session) == null) {
+				log.warn("compact 형식이 아닌 세션의 바이너리 메시지 : {}", session.getId());
+				return;
 			}
+			handleChatMessage(session, chatWireCodec.decode(msg.getPayload()));
 		} catch (Exception e) {
-			log.error("handleTextMessage에서 에러 발생", e);
+			log.error("handleBinaryMessage에서 에러 발생", e);
+		}
+	}
+
+	// JSON, compact 형식 공통 처리
+	private void handleChatMessage(WebSocketSession session, ChatReqDto chatMsg) {
+		String roomId = chatMsg.getRoomId();
+
+		/*ChatRoomResDto chatRoom = chatService.findRoomById(roomId);
+		if (chatRoom != null) {
+			log.warn("session : {}", session);
+			log.info("채팅룸의 getRegDate() : {}", chatRoom.getRegDate());
+			sessionRoomIdMap.put(session, roomId);
+			log.info("채팅룸 세션 확인해야함 : {}", sessionRoomIdMap);
+
+			if (chatMsg.getType() == ChatMsgDto.MsgType.ENTER) {
+				chatRoom.handlerActions(session, chatMsg, chatService);
+				log.info("입장 메시지 전송");
+				roomMembersMap.computeIfAbsent(roomId, k -> new HashSet<>()).add(chatMsg.getSender());
+			} else if (chatMsg.getType() == ChatMsgDto.MsgType.TALK) {
+				chatRoom.handlerActions(session, chatMsg, chatService);
+			} else if (chatMsg.getType() == ChatMsgDto.MsgType.CLOSE) {
+				chatRoom.handleSessionClosed(session, chatService);
+			}
+		} else {
+			log.error("채팅룸을 ID로 찾을 수 없습니다. RoomId: {}", roomId);
+		}*/
+		ChatSessionIdentity identity = ChatSessionIdentity.of(session);
+		if (identity == null) {
+			log.warn("인증되지 않은 채팅 세션 : {}", session.getId());
+			return;
+		}
+		if (chatMsg.getType() == ChatReqDto.MsgType.ENTER) {
+			String previousRoomId = sessionRoomIdMap.put(session, roomId);
+			if (roomId.equals(previousRoomId)) {
+				return; // 같은 방 중복 입장 메시지
+			}
+			if (previousRoomId != null) {
+				chatService.removeSessionAndHandleExit(previousRoomId, session);
+			}
+			chatService.addSessionAndHandlerEnter(roomId, session);
+		} else if (chatMsg.getType() == ChatReqDto.MsgType.CLOSE) {
+			sessionRoomIdMap.remove(session, roomId);
+			chatTypingNotifier.stopped(roomId, identity.getNickName());
+			chatService.removeSessionAndHandleExit(roomId, session);
+		} else if (chatMsg.getType() == ChatReqDto.MsgType.TYPING) {
+			if (roomId.equals(sessionRoomIdMap.get(session))) {
+				chatTypingNotifier.typing(roomId, identity.getNickName());
+			}
+		} else {
+			// 보낸 사람은 클라이언트 값 대신 핸드셰이크 때 확인한 회원 정보로 설정
+			chatMsg.setSender(identity.getNickName());
+			chatMsg.setNickName(identity.getNickName());
+			chatMsg.setProfile(identity.getProfile());
+			chatTypingNotifier.stopped(roomId, identity.getNickName());
+			chatService.sendMsgToAll(roomId, chatMsg);
+			chatService.saveMsg(chatMsg.getRoomId(), chatMsg.getSender(), chatMsg.getMsg(), chatMsg.getProfile());
 		}
 	}
 	@Override
 	public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
 		//세션과 매핑된 채팅방 ID 가져오기
 		try {
-			log.error("연결 해제 이후 동작(채팅방 종료) : {}", session);
-			String roomId = sessionRoomIdMap.remove(session);
+			log.debug("연결 해제 이후 동작(채팅방 종료) : {}", session);
+			chatHeartbeat.unregister(session);
+			leaveRoom(session);
+		} catch (Exception e) {
+			log.error("채팅방 종료 에러", e);
+		}
+	}
 
-			/*if (roomId != null) {
-				Set<String> roomMembers = roomMembersMap.get(roomId);
-				if (roomMembers != null) {
-					roomMembers.remove(session.getId());
-				}
+	// 연결 종료 또는 heartbeat 응답 없음 → 입장해 있던 방에서 퇴장 처리 (두 번 호출되어도 한 번만 처리)
+	private void leaveRoom(WebSocketSession session) {
+		chatBroadcaster.unregister(session);
+		String roomId = sessionRoomIdMap.remove(session);
 
-				ChatRoomResDto chatRoom = chatService.findRoomById(roomId);
-				if (chatRoom != null) {
-					chatRoom.handleSessionClosed(session, chatService);
-				} else {
-					log.warn("채팅창을 아이디로 찾을 수 없음: {}", roomId);
-				}
-			}*/
-			if (roomId != null) {
-				ChatReqDto chatMsg = new ChatReqDto();
-				chatMsg.setType(ChatReqDto.MsgType.CLOSE);
-				chatService.removeSessionAndHandleExit(roomId, session, chatMsg);
+		/*if (roomId != null) {
+			Set<String> roomMembers = roomMembersMap.get(roomId);
+			if (roomMembers != null) {
+				roomMembers.remove(session.getId());
 			}
-		} catch (Exception e) {
-			log.error("채팅방 종료 에러", e);
+
+			ChatRoomResDto chatRoom = chatService.findRoomById(roomId);
+			if (chatRoom != null) {
+				chatRoom.handleSessionClosed(session, chatService);
+			} else {
+				log.warn("채팅창을 아이디로 찾을 수 없음: {}", roomId);
+			}
+		}*/
+		if (roomId != null) {
+			ChatSessionIdentity identity = ChatSessionIdentity.of(session);
+			if (identity != null) {
+				chatTypingNotifier.stopped(roomId, identity.getNickName());
+			}
+			chatService.removeSessionAndHandleExit(roomId, session);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.kh.back.constant;
+
+public enum NotificationChannel {
+    SMS,   // 문자 (CoolSMS)
+    EMAIL  // 메일 (SMTP)
+}
@@ -0,0 +1,7 @@
+package com.kh.back.constant;
+
+public enum NotificationStatus {
+    PENDING, // 발송 대기 (재시도 대기 포함)
+    SENT,    // 발송 완료
+    DEAD     // 재시도 횟수 초과 (dead letter, 수동 확인 대상)
+}
@@ -10,6 +10,7 @@
 	import com.kh.back.service.member.MemberService;
 	import com.kh.back.service.auth.AuthService;
 	import com.kh.back.service.auth.EmailService;
+	import com.kh.back.service.auth.PasswordChangeTicketService;
 	import com.kh.back.service.auth.SmsService;
 	import lombok.RequiredArgsConstructor;
 	import lombok.extern.slf4j.Slf4j;
@@ -79,11 +80,13 @@ public ResponseEntity<String> signup(
 			return ResponseEntity.ok(result);
 		}
 
-		// 이메일 인증 토큰 검증
+		// 이메일 인증 토큰 검증, 성공하면 비밀번호 변경 티켓을 X-Password-Ticket 응답 헤더로 전달
 		@PostMapping("/verify/email")
 		public ResponseEntity<Boolean> verifyEmailToken(@RequestBody EmailTokenVerificationDto request) {
-			boolean isValid = emailService.verifyEmailToken(request.getEmail(), request.getInputToken());
-			return ResponseEntity.ok(isValid);
+			String ticket = emailService.verifyEmailToken(request.getEmail(), request.getInputToken());
+			return ResponseEntity.ok()
+					.header(PasswordChangeTicketService.HEADER, ticket)
+					.body(true);
 		}
 
 		@GetMapping("/sendSms/{phone}")
@@ -126,9 +129,11 @@ public ResponseEntity<String> signup(
 			}
 		}
 		
+		// 이메일 인증 때 받은 티켓(X-Password-Ticket 헤더)으로 비밀번호 변경
 		@PostMapping("/change/password")
-		public ResponseEntity<Boolean> changePassword(@RequestBody String pwd) {
-				boolean isSuccess = emailService.changePassword(pwd, passwordEncoder); // 비밀번호 변경 로직 호출
+		public ResponseEntity<Boolean> changePassword(@RequestHeader(value = PasswordChangeTicketService.HEADER, required = false) String ticket,
+													  @RequestBody String pwd) {
+				boolean isSuccess = emailService.changePassword(ticket, pwd, passwordEncoder); // 비밀번호 변경 로직 호출
 				return ResponseEntity.ok(isSuccess); // 성공적으로 변경되었음을 true로 반환
 		}
 	}
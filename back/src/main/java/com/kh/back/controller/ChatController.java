@@ -1,6 +1,7 @@
 package com.kh.back.controller;
 
 
+import com.kh.back.constant.ChatRoomType;
 import com.kh.back.dto.chat.request.ChatReqDto;
 import com.kh.back.dto.chat.request.ChatRoomReqDto;
 import com.kh.back.dto.chat.res.ChatRoomResDto;
@@ -34,11 +35,19 @@ public class ChatController {
         return ResponseEntity.ok(room.getRoomId());
     }
 
-    //채팅방 리스트
+    //채팅방 리스트 (생성 시간 순, 파라미터가 없으면 전체)
+    // roomType: PRIVATE/GROUP, minOccupancy: 접속 인원 하한, available: 입장 가능한 방만, size를 주면 page 단위로 조회
     @GetMapping("/roomList")
-    public ResponseEntity<List<ChatRoomResDto>> findByRoomList() {
+    public ResponseEntity<List<ChatRoomResDto>> findByRoomList(@RequestParam(required = false) ChatRoomType roomType,
+                                                               @RequestParam(defaultValue = "0") int minOccupancy,
+                                                               @RequestParam(defaultValue = "false") boolean available,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(required = false) Integer size) {
 //        return ResponseEntity.ok(chatService.findRoomList());
-        List<ChatRoomResDto> rooms = chatService.findRoomList();
+        if (page < 0 || minOccupancy < 0 || (size != null && (size < 1 || size > 100))) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<ChatRoomResDto> rooms = chatService.findRoomList(roomType, minOccupancy, available, page, size != null ? size : 0);
         return ResponseEntity.ok(rooms);
     }
 
@@ -103,6 +112,18 @@ public class ChatController {
         return ResponseEntity.ok(chatService.findAllChatting(roomId));
     }
 
+    // 채팅 내역 페이지 조회 (before 없으면 최근 메시지, 있으면 해당 chatId 이전 메시지, 오래된 순)
+    // 다음 페이지는 응답 첫 메시지의 id를 before로 전달
+    @GetMapping("/history/{roomId}")
+    public ResponseEntity<List<ChatReqDto>> findHistory(@PathVariable String roomId,
+                                                        @RequestParam(required = false) Long before,
+                                                        @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(chatService.findChatHistory(roomId, before, size));
+    }
+
     // 채팅방 삭제
     @DeleteMapping("/delRoom/{roomId}")
     public ResponseEntity<Boolean> removeRoom(@PathVariable String roomId) {
@@ -2,6 +2,7 @@ package com.kh.back.controller.forum;
 
 import com.kh.back.dto.forum.request.ForumPostRequestDto;
 import com.kh.back.dto.forum.request.ReportRequestDto;
+import com.kh.back.dto.forum.response.ForumPostDetailResponseDto;
 import com.kh.back.dto.forum.response.ForumPostResponseDto;
 import com.kh.back.dto.forum.response.PaginationDto;
 import com.kh.back.service.forum.FileService;
@@ -246,6 +247,23 @@ public class ForumPostController {
         }
     }
 
+    /**
+     * 특정 게시글 상세 + 댓글 목록 조회
+     * KR: 상세 화면에서 게시글과 댓글을 따로 요청하지 않도록 두 조회를 동시에 수행해서 함께 반환합니다.
+     *
+     * @param id 게시글 ID
+     * @return 게시글 상세 + 댓글 목록 (게시글이 없으면 404)
+     */
+    @GetMapping("/{id}/with-comments")
+    public ResponseEntity<ForumPostDetailResponseDto> getPostDetailsWithComments(@PathVariable String id) {
+        return postService.getPostDetailsWithComments(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("getPostDetailsWithComments() -> 게시글을 찾을 수 없습니다. ID: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
     /**
      * 게시글 조회수 증가
      *
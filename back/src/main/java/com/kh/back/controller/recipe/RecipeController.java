@@ -4,6 +4,7 @@ import com.kh.back.dto.recipe.res.CocktailListResDto;
 import com.kh.back.dto.recipe.res.CocktailResDto;
 import com.kh.back.dto.recipe.res.FoodListResDto;
 import com.kh.back.dto.recipe.res.FoodResDto;
+import com.kh.back.dto.recipe.res.RecipeSearchAllResDto;
 import com.kh.back.service.recipe.RecipeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +54,25 @@ public class RecipeController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * 칵테일 + 음식 통합 검색 API
+     * 예) GET /api/recipes/search/all?q=레몬&page=1&size=10
+     *
+     * @param q        검색어 (없으면 빈 문자열)
+     * @param category 카테고리 필터 (없으면 빈 문자열)
+     * @param page     페이지 번호
+     * @param size     타입별 한 페이지당 항목 수
+     * @return 타입별 검색 결과 (일부 타입이 빠진 경우 partial=true)
+     */
+    @GetMapping("/search/all")
+    public ResponseEntity<RecipeSearchAllResDto> searchAllRecipes(
+            @RequestParam(name = "q", required = false, defaultValue = "") String q,
+            @RequestParam(required = false, defaultValue = "") String category,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(recipeService.searchAllRecipes(q, category, page, size));
+    }
+
     /**
      * 레시피 상세 조회 API
      * 예) GET /api/recipes/{id}?type=food
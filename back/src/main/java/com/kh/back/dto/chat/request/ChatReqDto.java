@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor @AllArgsConstructor
 public class ChatReqDto {
 	public enum MsgType {
-		ENTER, TALK, CLOSE
+		ENTER, TALK, CLOSE, TYPING
 	}
 	private MsgType type;
 	private Long id;
@@ -19,4 +19,15 @@ public class ChatReqDto {
 	private String msg;
 	//    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSS")
 	private LocalDateTime regDate;
+
+	// 채팅 내역 조회용 (ChatRepository DTO projection, ChatRoom 엔티티를 읽지 않음)
+	public ChatReqDto(Long id, String roomId, String profile, String nickName, String sender, String msg, LocalDateTime regDate) {
+		this.id = id;
+		this.roomId = roomId;
+		this.profile = profile;
+		this.nickName = nickName;
+		this.sender = sender;
+		this.msg = msg;
+		this.regDate = regDate;
+	}
 }
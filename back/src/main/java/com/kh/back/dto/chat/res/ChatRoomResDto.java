@@ -22,6 +22,7 @@ public class ChatRoomResDto {
     private LocalDateTime regDate;
     private ChatRoomType roomType = ChatRoomType.GROUP; // 기본값 설정
     private Integer personCnt; // 참여 가능 인원 필드 추가
+    private int occupancy; // 현재 접속 인원 (채팅방 목록 조회 시 채움)
 
     @JsonIgnore // 웹소켓 세션의 직렬화 방지
     private Set<WebSocketSession> sessions = Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -0,0 +1,15 @@
+package com.kh.back.dto.chat.res;
+
+import lombok.*;
+
+import java.util.List;
+
+// 입력 중 표시 변경분 (방마다 일정 주기로 한 번에 모아서 전송, 클라이언트는 started 추가 / stopped 제거)
+@Getter @Setter @ToString
+@NoArgsConstructor @AllArgsConstructor
+public class ChatTypingResDto {
+	private final String type = "TYPING";
+	private String roomId;
+	private List<String> started; // 입력을 시작한 닉네임
+	private List<String> stopped; // 입력을 멈췄거나(시간 초과, 메시지 전송) 방을 나간 닉네임
+}
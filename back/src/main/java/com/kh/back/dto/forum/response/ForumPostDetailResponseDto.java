@@ -0,0 +1,20 @@
+package com.kh.back.dto.forum.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 게시글 상세 + 댓글 목록 응답 DTO
+ * KR: 게시글 상세 화면에서 필요한 두 요청을 한 번에 돌려주기 위한 DTO.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ForumPostDetailResponseDto {
+    private ForumPostResponseDto post; // 게시글 상세
+    private List<ForumPostCommentResponseDto> comments; // 댓글 목록
+    private boolean partial; // 댓글 조회가 실패하거나 시간 안에 끝나지 않은 경우 true
+}
@@ -0,0 +1,45 @@
+package com.kh.back.dto.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Flask /update/likes-reports/bulk 응답 (항목별 반영 결과)
+@Getter @Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class LikeReportBulkResult {
+	private int updated;                                          // 반영된 문서 수
+	private int duplicates;                                       // 같은 batch id로 이미 반영돼 건너뛴 문서 수 (재전송 시)
+	private int failedCount;                                      // 반영 실패 문서 수 (재시도 가능 여부와 무관)
+	private List<Map<String, Object>> retryable = new ArrayList<>(); // 다음 주기에 다시 보낼 delta
+	private List<String> notFound = new ArrayList<>();            // 삭제된 레시피 등 ES에 없는 문서 id
+	private int skippedCount;                                     // id/type이 잘못돼 Flask가 보내지 않은 delta 수
+
+	public static LikeReportBulkResult from(JsonNode root) {
+		LikeReportBulkResult result = new LikeReportBulkResult();
+		result.setUpdated(root.path("updated").asInt());
+		result.setDuplicates(root.path("duplicates").asInt());
+		for (JsonNode failed : root.path("failed")) {
+			result.failedCount++;
+			if (failed.path("retryable").asBoolean()) {
+				Map<String, Object> delta = new HashMap<>();
+				delta.put("id", failed.path("id").asText());
+				delta.put("type", failed.path("type").asText());
+				delta.put("like", failed.path("like").asLong());
+				delta.put("report", failed.path("report").asLong());
+				result.retryable.add(delta);
+			}
+		}
+		for (JsonNode notFound : root.path("notFound")) {
+			result.notFound.add(notFound.path("id").asText());
+		}
+		result.setSkippedCount(root.path("skipped").size());
+		return result;
+	}
+}
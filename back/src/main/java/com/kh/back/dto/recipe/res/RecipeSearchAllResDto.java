@@ -0,0 +1,14 @@
+package com.kh.back.dto.recipe.res;
+
+import lombok.*;
+
+import java.util.List;
+
+// 칵테일 + 음식 통합 검색 결과
+@Getter @Setter @ToString
+@NoArgsConstructor @AllArgsConstructor
+public class RecipeSearchAllResDto {
+	private List<CocktailListResDto> cocktail;
+	private List<FoodListResDto> food;
+	private boolean partial; // 일부 타입의 검색이 실패하거나 시간 안에 끝나지 않아 빠진 경우 true
+}
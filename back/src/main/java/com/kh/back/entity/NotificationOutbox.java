@@ -0,0 +1,95 @@
+package com.kh.back.entity;
+
+import com.kh.back.constant.NotificationChannel;
+import com.kh.back.constant.NotificationStatus;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 발송할 문자/메일 (NotificationDispatcher가 꺼내서 발송)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "notification_outbox", indexes = {
+        // 발송 대상 선점 (status = 'PENDING' AND next_attempt_at <= ? ORDER BY outbox_id)
+        @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_claim_token", columnList = "claim_token"),
+        // 보관 기간이 지난 SENT/DEAD 삭제 (NotificationDispatcher.purge)
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_at")
+})
+public class NotificationOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 10)
+    private NotificationChannel channel;
+
+    // 받는 사람 (전화번호 또는 이메일)
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    // 메일 제목 (문자는 null)
+    @Column(name = "subject")
+    private String subject;
+
+    // 발송이 끝나면(SENT/DEAD) 빈 문자열로 지움 (인증번호가 DB에 남지 않도록)
+    @Column(name = "body", nullable = false, length = 2000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 10)
+    private NotificationStatus status;
+
+    // 실패한 발송 횟수
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // 이 시각 이후 발송 (재시도 backoff)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 발송 중인 작업의 선점 표시 (서버 여러 대가 같은 알림을 중복 발송하지 않도록)
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    // 선점 만료 시각 (발송 중 서버가 죽으면 이후 다른 작업이 다시 선점)
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    // 이 시각이 지나면 보내지 않고 DEAD (인증번호 유효 시간), null이면 만료 없음
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    public NotificationOutbox(NotificationChannel channel, String recipient, String subject, String body) {
+        this(channel, recipient, subject, body, null);
+    }
+
+    public NotificationOutbox(NotificationChannel channel, String recipient, String subject, String body, Duration validFor) {
+        LocalDateTime now = LocalDateTime.now();
+        this.channel = channel;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = NotificationStatus.PENDING;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+        this.expiresAt = validFor == null ? null : now.plus(validFor);
+    }
+}
@@ -11,7 +11,10 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @Setter
-@Table(name = "chat")
+@Table(name = "chat", indexes = {
+        // 채팅 내역 keyset 페이지 조회 (room_id = ? AND chat_id < ? ORDER BY chat_id DESC)
+        @Index(name = "idx_chat_room_chat_id", columnList = "room_id, chat_id")
+})
 public class Chat {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -64,9 +64,12 @@
 		@Override
 		protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 			String jwt = resolveToken(request);
-			if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-				Authentication authentication = tokenProvider.getAuthentication(jwt);
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+			if (StringUtils.hasText(jwt)) {
+				// 서명 검증과 인증 객체 생성을 한 번에 처리 (같은 토큰은 만료 전까지 캐시된 결과 사용)
+				Authentication authentication = tokenProvider.resolveAuthentication(jwt);
+				if (authentication != null) {
+					SecurityContextHolder.getContext().setAuthentication(authentication);
+				}
 			}
 			filterChain.doFilter(request, response);
 		}
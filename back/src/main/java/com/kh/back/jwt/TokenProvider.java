@@ -3,9 +3,14 @@ package com.kh.back.jwt;
 
 import com.kh.back.dto.auth.AccessTokenDto;
 import com.kh.back.dto.auth.TokenDto;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,12 +20,17 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 	// JWT 토큰을 생성 및 검증하며, 토큰에서 회원 정보를 추출하는 클래스
@@ -28,14 +38,32 @@ import java.util.stream.Collectors;
 	@Component
 	public class TokenProvider {
 		private static final String AUTHORITIES_KEY="auth"; //토큰에 저장되는 권한 정보의 key
+		private static final String PURPOSE_KEY = "purpose"; // 용도가 정해진 티켓(비밀번호 변경 등)의 용도, 액세스 토큰으로는 쓸 수 없음
 		private static final String BEARER_TYPE = "Bearer"; // 토큰의 타입
 		private static final long ACCESS_TOKEN_EXPIRE_TIME = 60 * 60 * 1000; // 1시간
 		private static final long REFRESH_TOKEN_EXPIRE_TIME = 1000 * 60 * 60 * 24 * 7L; // 7일
 		private final Key key; // 토큰 서명을 하기 위한 Key
+		private final JwtParser jwtParser; // 서명 검증용 파서 (thread-safe, 한 번만 생성해서 재사용)
+		// 검증이 끝난 액세스 토큰의 인증 정보 캐시 (key: 토큰의 SHA-256 해시) → 같은 토큰으로 오는 요청은 서명 검증/파싱 생략
+		private final Cache<String, CachedAuthentication> authenticationCache;
 
 		//주의점 : @Value 어노테이션은 springframework의 어노테이션이다.
-		public TokenProvider(@Value("${jwt.secret}") String secretKey) {
-			this.key = Keys.secretKeyFor(SignatureAlgorithm.HS512); // HS512 알고리즘을 사용하는 키 생성
+		public TokenProvider(@Value("${jwt.secret}") String secretKey,
+							 @Value("${jwt.shared-secret:false}") boolean sharedSecret,
+							 @Value("${jwt.auth-cache.max-size:10000}") long authCacheMaxSize,
+							 MeterRegistry meterRegistry) {
+			// jwt.shared-secret=true 면 jwt.secret(BASE64, 64바이트 이상)으로 서명 → 서버 여러 대가 서로의 토큰/티켓을 검증
+			// 기본은 서버마다 새로 만든 키 (재시작하거나 다른 서버로 가면 토큰이 무효)
+			this.key = sharedSecret
+					? Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey))
+					: Keys.secretKeyFor(SignatureAlgorithm.HS512); // HS512 알고리즘을 사용하는 키 생성
+			this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+			this.authenticationCache = CacheBuilder.newBuilder()
+					.maximumSize(authCacheMaxSize)
+					.expireAfterWrite(Duration.ofMillis(ACCESS_TOKEN_EXPIRE_TIME)) // 액세스 토큰 수명보다 오래 남지 않도록
+					.recordStats()
+					.build();
+			GuavaCacheMetrics.monitor(meterRegistry, authenticationCache, "jwt.authentication");
 		}
 
 //		public TokenProvider(@Value("${jwt.secret}") String secretKey) {
@@ -109,8 +137,10 @@ import java.util.stream.Collectors;
 
 		public Authentication getAuthentication(String accessToken){
 			//토큰 복호화
-			Claims claims = parseClaims(accessToken);
+			return createAuthentication(parseClaims(accessToken), accessToken);
+		}
 
+		private Authentication createAuthentication(Claims claims, String accessToken) {
 			// 복호화에 실패하면
 			if (claims.get(AUTHORITIES_KEY) == null) {
 				throw new RuntimeException("권한 정보가 없는 토큰입니다.");
@@ -128,11 +158,44 @@ import java.util.stream.Collectors;
 			// 유저 객체, 토큰, 권한 정보들을 이용해 인증 객체를 생성해서 반환
 			return new UsernamePasswordAuthenticationToken(principal, accessToken, authorities);
 		}
+		/**
+		 * 요청 필터(JwtFilter)용 인증 정보 조회
+		 * - validateToken + getAuthentication을 한 번의 서명 검증/파싱으로 처리
+		 * - 결과는 토큰 만료 시각까지 캐시, 만료된 토큰은 캐시에 있어도 null
+		 * @return 유효하지 않은 토큰이면 null
+		 */
+		public Authentication resolveAuthentication(String token) {
+			String tokenHash = Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+			CachedAuthentication cached = authenticationCache.getIfPresent(tokenHash);
+			if (cached != null) {
+				if (cached.expiresAt > System.currentTimeMillis()) {
+					return new UsernamePasswordAuthenticationToken(cached.principal, token, cached.authorities);
+				}
+				authenticationCache.invalidate(tokenHash);
+				log.info("만료된 JWT 토큰입니다.");
+				return null;
+			}
+
+			Claims claims = parseValidClaims(token);
+			if (claims == null || claims.get(PURPOSE_KEY) != null) { // 용도가 정해진 티켓은 인증에 사용하지 않음
+				return null;
+			}
+			Authentication authentication = createAuthentication(claims, token);
+			long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+			authenticationCache.put(tokenHash, new CachedAuthentication(
+					(User) authentication.getPrincipal(), List.copyOf(authentication.getAuthorities()), expiresAt));
+			return authentication;
+		}
+
 		// 토큰의 유효성 검증
 		public boolean validateToken(String token) {
+			return parseValidClaims(token) != null;
+		}
+
+		// 서명 검증 후 claims 반환, 유효하지 않으면 null
+		private Claims parseValidClaims(String token) {
 			try {
-				Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-				return true;
+				return jwtParser.parseClaimsJws(token).getBody();
 			} catch (SecurityException | MalformedJwtException e) {
 				log.info("잘못된 JWT 서명입니다.");
 			} catch (ExpiredJwtException e) {
@@ -142,7 +205,7 @@ import java.util.stream.Collectors;
 			} catch (IllegalArgumentException e) {
 				log.info("JWT 토큰이 잘못되었습니다.");
 			}
-			return false;
+			return null;
 		}
 		// 토
 		public String create(String userId) {
@@ -157,10 +220,38 @@ import java.util.stream.Collectors;
 		}
 
 
+		/**
+		 * 용도가 정해진 짧은 티켓 (예: 비밀번호 확인 후 비밀번호 변경 1회) → 서버에 세션을 두지 않고 단계 사이의 상태를 전달
+		 * 액세스 토큰으로는 사용할 수 없고, verify에 같은 purpose를 넘겨야 통과
+		 */
+		public String create(String subject, String purpose, Map<String, ?> claims, Duration validity) {
+			Date now = new Date();
+			return Jwts.builder()
+					.addClaims(new HashMap<>(claims))
+					.claim(PURPOSE_KEY, purpose)
+					.setSubject(subject)
+					.setIssuedAt(now)
+					.setExpiration(new Date(now.getTime() + validity.toMillis()))
+					.signWith(key, SignatureAlgorithm.HS512)
+					.compact();
+		}
+
+		// 티켓 검증 (서명, 만료, 용도), 유효하지 않으면 null
+		public Claims verify(String ticket, String purpose) {
+			if (ticket == null || ticket.isBlank()) {
+				return null;
+			}
+			Claims claims = parseValidClaims(ticket);
+			if (claims == null || !purpose.equals(claims.get(PURPOSE_KEY))) {
+				return null;
+			}
+			return claims;
+		}
+
 		//토큰 복호화
 		private Claims parseClaims(String accessToken) {
 			try {
-				return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(accessToken).getBody();
+				return jwtParser.parseClaimsJws(accessToken).getBody();
 			} catch (ExpiredJwtException e) {
 				return e.getClaims();
 			}
@@ -169,4 +260,17 @@ import java.util.stream.Collectors;
 			return generateTokenDto(authentication).getAccessToken();
 		}
 
+		// 캐시에 보관하는 인증 정보 (요청마다 새 Authentication 객체로 감싸서 반환)
+		private static final class CachedAuthentication {
+			private final User principal;
+			private final Collection<GrantedAuthority> authorities;
+			private final long expiresAt; // 토큰 만료 시각 (epoch millis)
+
+			private CachedAuthentication(User principal, Collection<GrantedAuthority> authorities, long expiresAt) {
+				this.principal = principal;
+				this.authorities = authorities;
+				this.expiresAt = expiresAt;
+			}
+		}
+
 	}
\ No newline at end of file
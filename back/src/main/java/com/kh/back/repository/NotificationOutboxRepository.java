@@ -0,0 +1,82 @@
+package com.kh.back.repository;
+
+import com.kh.back.constant.NotificationStatus;
+import com.kh.back.entity.NotificationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /*
+     * 발송할 알림 limit 개를 claimToken으로 선점 (행 잠금으로 서버 간 중복 선점 없음)
+     * - MySQL 전용 native 쿼리: UPDATE ... ORDER BY ... LIMIT 는 MySQL/MariaDB 문법이라 H2, PostgreSQL 등에서는 실행되지 않음
+     *   다른 DB로 옮기면 SELECT ... FOR UPDATE SKIP LOCKED 로 id를 고른 뒤 UPDATE 하는 방식으로 바꿔야 함
+     * - InnoDB에서 idx_outbox_status_next 인덱스 범위만 잠그므로 선점 중에도 새 알림 저장(enqueue)은 막히지 않음
+     * - 단위 테스트(NotificationDispatcherTests)는 같은 조건의 메모리 저장소로 대신하고, 이 쿼리 자체는 MySQL에서만 확인 가능
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification_outbox SET claim_token = :token, claimed_until = :until " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "AND (claimed_until IS NULL OR claimed_until < :now) " +
+            "ORDER BY outbox_id LIMIT :limit", nativeQuery = true)
+    int claim(@Param("token") String token, @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until, @Param("limit") int limit);
+
+    List<NotificationOutbox> findByClaimToken(String claimToken);
+
+    /*
+     * 아래 갱신은 모두 claim_token 조건부 → 선점이 만료되어 다른 작업이 다시 선점한 알림은 건드리지 않음
+     */
+
+    // 업체 호출 직전 선점 연장, 연장된 건수(= 아직 이 작업이 선점 중인 건수) 반환
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox n SET n.claimedUntil = :until WHERE n.claimToken = :token")
+    int renewClaim(@Param("token") String token, @Param("until") LocalDateTime until);
+
+    // 발송 성공 일괄 반영 (본문의 인증번호는 지움)
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox n SET n.status = com.kh.back.constant.NotificationStatus.SENT, n.sentAt = :now, " +
+            "n.body = '', n.claimToken = NULL, n.claimedUntil = NULL WHERE n.id IN :ids AND n.claimToken = :token")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    // 발송 실패 → nextAttemptAt 이후 재시도
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox n SET n.attempts = :attempts, n.lastError = :error, n.nextAttemptAt = :next, " +
+            "n.claimToken = NULL, n.claimedUntil = NULL WHERE n.id = :id AND n.claimToken = :token")
+    int markRetry(@Param("id") Long id, @Param("token") String token, @Param("attempts") int attempts,
+                  @Param("error") String error, @Param("next") LocalDateTime next);
+
+    // 발송 포기(최대 시도 초과, 유효 시간 만료) → DEAD, 본문의 인증번호는 지움
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox n SET n.status = com.kh.back.constant.NotificationStatus.DEAD, n.attempts = :attempts, " +
+            "n.lastError = :error, n.body = '', n.claimToken = NULL, n.claimedUntil = NULL WHERE n.id = :id AND n.claimToken = :token")
+    int markDead(@Param("id") Long id, @Param("token") String token, @Param("attempts") int attempts,
+                 @Param("error") String error);
+
+    // 선점 해제 (발송 풀이 가득 차서 보내지 못한 경우)
+    @Modifying
+    @Transactional
+    @Query("UPDATE NotificationOutbox n SET n.claimToken = NULL, n.claimedUntil = NULL WHERE n.claimToken = :token")
+    int release(@Param("token") String token);
+
+    long countByStatus(NotificationStatus status);
+
+    // 보관 기간이 지난 발송 완료(SENT)/포기(DEAD) 알림 삭제
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status IN :statuses AND n.createdAt < :before")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<NotificationStatus> statuses,
+                                           @Param("before") LocalDateTime before);
+}
@@ -3,8 +3,18 @@ package com.kh.back.repository;
 import com.kh.back.entity.PurchaseRecord;
 import com.kh.back.entity.member.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface PurchaseRecordRepository extends JpaRepository<PurchaseRecord, Long> {
     // 필요한 쿼리 메서드 추가
     boolean existsByMember(Member member);
+
+    // 회원 엔티티를 읽지 않고 구매 기록 존재 여부 확인
+    boolean existsByMemberMemberId(Long memberId);
+
+    // 구매 기록이 있는 회원 ID (PremiumEntitlementService 시작 시 적재)
+    @Query("SELECT DISTINCT p.member.memberId FROM PurchaseRecord p WHERE p.member IS NOT NULL")
+    List<Long> findPurchasedMemberIds();
 }
\ No newline at end of file
@@ -4,8 +4,10 @@ import com.kh.back.entity.member.Member;
 import com.kh.back.entity.chat.ChatMember;
 import com.kh.back.entity.chat.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +17,14 @@ public interface ChatMemberRepository extends JpaRepository<ChatMember, Long> {
 
     Optional<ChatMember> findByMemberAndChatRoom(Member member, ChatRoom chatRoom);
 
+    boolean existsByChatRoomRoomIdAndMemberMemberId(String roomId, Long memberId);
+
+    // 채팅방 퇴장 (엔티티 조회 없이 삭제, ChatMembershipWriter)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChatMember cm WHERE cm.chatRoom.roomId = :roomId AND cm.member.memberId = :memberId")
+    int deleteByRoomIdAndMemberId(@Param("roomId") String roomId, @Param("memberId") Long memberId);
+
     // 해당 roomId에 입장한 회원 수
     @Query("SELECT COUNT(cm) FROM ChatMember cm WHERE cm.chatRoom.roomId = :roomId")
     int cntRoomMember(@Param("roomId") String roomId);
@@ -1,18 +1,26 @@
 package com.kh.back.repository.chat;
 
 
+import com.kh.back.dto.chat.request.ChatReqDto;
 import com.kh.back.entity.chat.Chat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface ChatRepository extends JpaRepository <Chat, String> {
-    @Query(value = "SELECT * FROM chat WHERE room_id = ?1 ORDER BY sent_at ASC LIMIT 50", nativeQuery = true)
-    List<Chat> findRecentMsg(String roomId);
+    // 최근 메시지부터 pageable 크기만큼 (최근 메시지 버퍼 초기화용), idx_chat_room_chat_id 사용
+    @Query("SELECT new com.kh.back.dto.chat.request.ChatReqDto(c.chatId, c.chatRoom.roomId, c.profile, c.nickName, c.sender, c.msg, c.regDate) " +
+            "FROM Chat c WHERE c.chatRoom.roomId = :roomId ORDER BY c.chatId DESC")
+    List<ChatReqDto> findLatestMsg(@Param("roomId") String roomId, Pageable pageable);
+    // beforeChatId보다 이전 메시지를 최근 것부터 pageable 크기만큼 (keyset 페이지, OFFSET 없음)
+    @Query("SELECT new com.kh.back.dto.chat.request.ChatReqDto(c.chatId, c.chatRoom.roomId, c.profile, c.nickName, c.sender, c.msg, c.regDate) " +
+            "FROM Chat c WHERE c.chatRoom.roomId = :roomId AND c.chatId < :beforeChatId ORDER BY c.chatId DESC")
+    List<ChatReqDto> findMsgBefore(@Param("roomId") String roomId, @Param("beforeChatId") Long beforeChatId, Pageable pageable);
     Page<Chat> findAllByOrderByChatId(Pageable pageable);
     Optional<Chat> findByChatId(Long chatId);
 }
@@ -0,0 +1,125 @@
+package com.kh.back.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.SerializationUtils;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * OAuth2 로그인 시작 ~ 콜백 사이의 인가 요청 보관 (기본 구현은 HttpSession)
+ * - 세션을 쓰지 않으므로(STATELESS) state 값을 키로 Redis에 5분간 보관 → 콜백이 다른 서버로 가도 처리 가능
+ * - 값은 서버가 직접 저장한 것만 읽음 (클라이언트가 보낸 값을 역직렬화하지 않음)
+ * - 로그인을 시작한 브라우저에 임의 nonce 쿠키(HttpOnly, SameSite=Lax, 5분)를 심고 같은 nonce를 Redis 값에 함께 저장
+ *   → 콜백 요청의 쿠키가 맞지 않으면 인가 요청을 찾지 못한 것으로 처리 (공격자가 시작한 로그인의 콜백 URL을
+ *     피해자가 열어 공격자 계정으로 로그인되는 login CSRF 방지, 세션 기반 기본 구현이 해 주던 역할)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisOAuth2AuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+	private static final String KEY_PREFIX = "oauth2:authorization-request:";
+	private static final Duration TTL = Duration.ofMinutes(5);
+	static final String NONCE_COOKIE = "oauth2_auth_nonce";
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final StringRedisTemplate redisTemplate;
+
+	@Override
+	public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+		String state = request.getParameter(OAuth2ParameterNames.STATE);
+		if (state == null) {
+			return null;
+		}
+		String value = redisTemplate.opsForValue().get(KEY_PREFIX + state);
+		if (value == null) {
+			return null;
+		}
+		// 저장 형식: nonce|직렬화한 인가 요청(Base64)
+		int separator = value.indexOf('|');
+		String nonce = readNonce(request);
+		if (separator < 0 || nonce == null || !MessageDigest.isEqual(
+				value.substring(0, separator).getBytes(StandardCharsets.UTF_8), nonce.getBytes(StandardCharsets.UTF_8))) {
+			log.warn("OAuth2 콜백의 nonce 쿠키 불일치, 인가 요청 거부 (state={})", state);
+			return null;
+		}
+		return deserialize(value.substring(separator + 1));
+	}
+
+	@Override
+	public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+										 HttpServletRequest request, HttpServletResponse response) {
+		if (authorizationRequest == null) {
+			removeAuthorizationRequest(request, response);
+			return;
+		}
+		// 같은 브라우저에서 여러 탭으로 로그인을 시작해도 모두 통과하도록 기존 nonce가 있으면 그대로 사용
+		String nonce = readNonce(request);
+		if (nonce == null) {
+			byte[] bytes = new byte[32];
+			RANDOM.nextBytes(bytes);
+			nonce = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		}
+		writeNonceCookie(request, response, nonce, TTL);
+		String value = nonce + "|" + Base64.getEncoder().encodeToString(SerializationUtils.serialize(authorizationRequest));
+		redisTemplate.opsForValue().set(KEY_PREFIX + authorizationRequest.getState(), value, TTL);
+	}
+
+	@Override
+	public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request, HttpServletResponse response) {
+		OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+		if (authorizationRequest != null) {
+			redisTemplate.delete(KEY_PREFIX + authorizationRequest.getState()); // 같은 state로 두 번 처리하지 않음
+			writeNonceCookie(request, response, "", Duration.ZERO); // 콜백 처리가 끝나면 쿠키 삭제
+		}
+		return authorizationRequest;
+	}
+
+	private static String readNonce(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return null;
+		}
+		for (Cookie cookie : cookies) {
+			if (NONCE_COOKIE.equals(cookie.getName()) && cookie.getValue() != null && !cookie.getValue().isEmpty()) {
+				return cookie.getValue();
+			}
+		}
+		return null;
+	}
+
+	// OAuth2 제공자에서 돌아오는 최상위 GET 이동에는 쿠키가 붙어야 하므로 Strict 대신 Lax
+	private static void writeNonceCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+		ResponseCookie cookie = ResponseCookie.from(NONCE_COOKIE, value)
+				.httpOnly(true)
+				.secure(request.isSecure())
+				.sameSite("Lax")
+				.path("/")
+				.maxAge(maxAge)
+				.build();
+		response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+	}
+
+	private static OAuth2AuthorizationRequest deserialize(String value) {
+		try {
+			return (OAuth2AuthorizationRequest) SerializationUtils.deserialize(Base64.getDecoder().decode(value));
+		} catch (Exception e) {
+			log.warn("OAuth2 인가 요청 복원 실패 : {}", e.getMessage());
+			return null;
+		}
+	}
+}
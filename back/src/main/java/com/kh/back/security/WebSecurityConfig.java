@@ -6,6 +6,7 @@ import com.kh.back.security.JwtAuthenticationEntryPoint;
 import com.kh.back.security.JwtAccessDeniedHandler;
 import com.kh.back.jwt.JwtFilter;
 import com.kh.back.service.auth.OAuth2UserService;
+import com.kh.back.service.auth.PasswordChangeTicketService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,6 +33,7 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 	private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 	private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 	private final OAuth2UserService oauth2UserService;
+	private final RedisOAuth2AuthorizationRequestRepository authorizationRequestRepository;
 
 	@Bean
 	public PasswordEncoder passwordEncoder() {
@@ -47,7 +49,7 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 					corsConfig.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
 					corsConfig.setAllowCredentials(true);
 					corsConfig.addAllowedHeader("*");
-					corsConfig.setExposedHeaders(List.of(HttpHeaders.CONTENT_DISPOSITION));
+					corsConfig.setExposedHeaders(List.of(HttpHeaders.CONTENT_DISPOSITION, PasswordChangeTicketService.HEADER));
 					return corsConfig;
 				})
 				.and()
@@ -55,7 +57,8 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 				.and()
 				.csrf().disable()
 				.sessionManagement()
-				.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+				// 세션을 만들지 않음 (인증은 JWT, 비밀번호 변경은 티켓, OAuth2 인가 요청은 Redis) → 서버 여러 대에 sticky session 없이 분산
+				.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
 				.and()
 				.exceptionHandling()
 				.authenticationEntryPoint(jwtAuthenticationEntryPoint)
@@ -76,7 +79,8 @@ public class WebSecurityConfig implements WebMvcConfigurer {
 				.anyRequest().authenticated()
 				.and()
 				.oauth2Login(oauth2 -> oauth2
-						.authorizationEndpoint(endpoint -> endpoint.baseUri("/api/v1/auth/oauth2"))
+						.authorizationEndpoint(endpoint -> endpoint.baseUri("/api/v1/auth/oauth2")
+								.authorizationRequestRepository(authorizationRequestRepository))
 						.redirectionEndpoint(endpoint -> endpoint.baseUri("/oauth2/callback/*"))
 						.userInfoEndpoint(endpoint -> endpoint.userService(oauth2UserService))
 						.successHandler(oAuth2SuccessHandler)
@@ -2,19 +2,24 @@ package com.kh.back.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import com.kh.back.constant.ChatRoomType;
 import com.kh.back.dto.chat.request.ChatReqDto;
 import com.kh.back.dto.chat.request.ChatRoomReqDto;
 import com.kh.back.dto.chat.res.ChatRoomResDto;
-import com.kh.back.entity.member.Member;
-import com.kh.back.entity.chat.Chat;
-import com.kh.back.entity.chat.ChatMember;
 import com.kh.back.entity.chat.ChatRoom;
-import com.kh.back.repository.member.MemberRepository;
-import com.kh.back.repository.chat.ChatMemberRepository;
 import com.kh.back.repository.chat.ChatRepository;
 import com.kh.back.repository.chat.ChatRoomRepository;
+import com.kh.back.service.chat.ChatBroadcaster;
+import com.kh.back.service.chat.ChatClusterBus;
+import com.kh.back.service.chat.ChatMembershipWriter;
+import com.kh.back.service.chat.ChatMessageWriter;
+import com.kh.back.service.chat.ChatPresence;
+import com.kh.back.service.chat.ChatRoomDirectory;
+import com.kh.back.service.chat.ChatSessionIdentity;
+import com.kh.back.service.chat.RecentChatBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
@@ -31,32 +36,58 @@ import java.util.stream.Collectors;
 @Service
 public class ChatService {
     private final ObjectMapper objectMapper; // JSON 문자열로 변환하기 위한 객체
-    private Map<String, ChatRoomResDto> chatRooms; // 채팅방 정보를 담을 맵
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRepository chatRepository;
-    private final ChatMemberRepository chatMemberRepository;
-    private final MemberRepository memberRepository;
+    private final ChatBroadcaster chatBroadcaster; // 메시지 1회 직렬화 + 세션별 전송 큐
+    private final ChatMessageWriter chatMessageWriter; // 채팅 메시지 write-behind 저장
+    private final ChatClusterBus chatClusterBus; // 여러 서버 간 메시지/방 정보 전달 (Redis pub/sub)
+    private final RecentChatBuffer recentChatBuffer; // 방별 최근 메시지 (입장 시 채팅 내역)
+    private final ChatPresence chatPresence; // 방별 접속 회원/인원 수
+    private final ChatMembershipWriter chatMembershipWriter; // 참여 정보(ChatMember) 비동기 저장
+    private final ChatRoomDirectory chatRoomDirectory; // 채팅방 목록 (생성 시간 순 메모리 인덱스, DB write-through)
 
     @PostConstruct // 의존성 주입 이후 초기화 수행하는 메소드
 //    private void init() {chatRooms = new LinkedHashMap<>();}
     private void init() {
-        chatRooms = chatRoomRepository.findAll()
-                .stream()
-                .collect(Collectors.toMap(ChatRoom::getRoomId, this::convertEntityToRoomDto));
+        for (ChatRoom chatRoom : chatRoomRepository.findAllByOrderByRegDateAsc()) {
+            chatRoomDirectory.put(convertEntityToRoomDto(chatRoom));
+        }
+        chatClusterBus.onRoomEvent(this::handleRoomEvent);
+        chatMessageWriter.onSaved(recentChatBuffer::append); // DB에 저장된 메시지를 최근 메시지 버퍼에 추가
+    }
+
+    // 다른 서버에서 방이 생성/삭제된 경우 이 서버의 채팅방 목록에 반영
+    private void handleRoomEvent(String event, String roomId) {
+        if (ChatClusterBus.ROOM_CREATED.equals(event)) {
+            chatRoomRepository.findById(roomId)
+                    .ifPresent(chatRoom -> chatRoomDirectory.putIfAbsent(roomId, id -> convertEntityToRoomDto(chatRoom)));
+        } else if (ChatClusterBus.ROOM_REMOVED.equals(event)) {
+            chatRoomDirectory.remove(roomId);
+            chatClusterBus.unsubscribeRoom(roomId);
+            recentChatBuffer.removeRoom(roomId);
+            chatPresence.removeRoom(roomId);
+        }
+        log.debug("다른 서버의 채팅방 변경 반영 : {} {}", event, roomId);
     }
 
     public List<ChatRoomResDto> findAllRoom() {
-        return new ArrayList<>(chatRooms.values());
+        return chatRoomDirectory.list(null, 0, false, 0, 0);
     }
 
-    // 채팅방 리스트 반환
+    // 채팅방 리스트 반환 (생성 시간 순, DB 조회 없음)
     public List<ChatRoomResDto> findRoomList() {
-        List<ChatRoomResDto> chatRoomResDtoList = new ArrayList<>();
-        for (ChatRoom chatRoom : chatRoomRepository.findAllByOrderByRegDateAsc()) {
-            ChatRoomResDto chatRoomDto = convertEntityToRoomDto(chatRoom);
-            chatRoomResDtoList.add(chatRoomDto);
-        }
-        return chatRoomResDtoList;
+        return chatRoomDirectory.list(null, 0, false, 0, 0);
+    }
+
+    /**
+     * 채팅방 리스트 페이지 (생성 시간 순)
+     * @param roomType null이면 전체
+     * @param minOccupancy 현재 접속 인원이 이 값 이상인 방만
+     * @param availableOnly true면 입장 가능한(인원이 남은) 방만
+     * @param size 0이면 조건에 맞는 전체
+     */
+    public List<ChatRoomResDto> findRoomList(ChatRoomType roomType, int minOccupancy, boolean availableOnly, int page, int size) {
+        return chatRoomDirectory.list(roomType, minOccupancy, availableOnly, page, size);
     }
 
     // 참여중인 채팅방 리스트
@@ -70,24 +101,20 @@ public class ChatService {
                 .collect(Collectors.toList());
     }
 
-    // 채팅방에 입장한 회원 수 반환
+    // 채팅방에 입장한 회원 수 반환 (접속 현황 카운터, DB 조회 없음)
     public int cntOfRoomMember(String roomId) {
-        try {
-            int memberCnt = chatMemberRepository.cntRoomMember(roomId);
-            log.info("채팅방Id : {}, 입장 회원 수 : {}", roomId, memberCnt);
-            return memberCnt;
-        } catch (Exception e) {
-            log.error("채팅방 회원 수 반환 중 오류 : {}", e.getMessage());
-            throw new RuntimeException("채팅방 회원 수 반환 중 오류");
-        }
+        return chatPresence.occupancy(roomId);
     }
 
     // 채팅방 가져오기
     public ChatRoomResDto findRoomById(String roomId) {
 //        return chatRooms.get(roomId);
-        ChatRoomResDto room = chatRooms.get(roomId);
+        ChatRoomResDto room = chatRoomDirectory.get(roomId);
         if (room == null) {
-            throw new RuntimeException("해당 채팅방이 존재하지 않습니다: " + roomId);
+            // 다른 서버에서 만든 방인데 이벤트를 아직 못 받은 경우 DB에서 가져옴
+            room = chatRoomRepository.findById(roomId)
+                    .map(chatRoom -> chatRoomDirectory.putIfAbsent(roomId, id -> convertEntityToRoomDto(chatRoom)))
+                    .orElseThrow(() -> new RuntimeException("해당 채팅방이 존재하지 않습니다: " + roomId));
         }
         return room;
     }
@@ -97,119 +124,110 @@ public class ChatService {
         String randomId = UUID.randomUUID().toString();
         log.info("UUID : {}", randomId);
 
+        LocalDateTime regDate = LocalDateTime.now(); // DB와 목록 정렬 기준을 같은 값으로
         ChatRoom chatRoomEntity = new ChatRoom(); //ChatRoom엔티티 객체 생성(채팅방 정보db저장 하려고)
         ChatRoomResDto chatRoom = ChatRoomResDto.builder()
                 .roomId(randomId)
                 .name(chatRoomDto.getName())
-                .regDate(LocalDateTime.now())
+                .regDate(regDate)
                 .personCnt(chatRoomDto.getPersonCnt())
                 .build();
+        if (chatRoomDto.getRoomType() != null) {
+            chatRoom.setRoomType(chatRoomDto.getRoomType());
+        }
         chatRoomEntity.setRoomId(randomId);
         chatRoomEntity.setRoomName(chatRoomDto.getName());
-        chatRoomEntity.setRegDate(LocalDateTime.now());
+        chatRoomEntity.setRegDate(regDate);
         chatRoomEntity.setRoomType(chatRoomDto.getRoomType());
         chatRoomEntity.setPersonCnt(chatRoomDto.getPersonCnt());
-        chatRoomRepository.save(chatRoomEntity);
+        chatRoomRepository.save(chatRoomEntity); // DB 먼저 저장 후 목록에 반영 (write-through)
 
-        chatRooms.put(randomId, chatRoom);
-        log.debug("현재 chatRooms: {}", chatRooms);
+        chatRoomDirectory.put(chatRoom);
+        chatClusterBus.publishRoomEvent(ChatClusterBus.ROOM_CREATED, randomId);
+        log.debug("현재 채팅방 수: {}", chatRoomDirectory.size());
         return chatRoom;
     }
 
-    // 전체 채팅 내역
+    // 전체 채팅 내역 (최근 메시지 50개, 오래된 순)
     public List<ChatReqDto> findAllChatting(String roomId) {
-        List<Chat> chat = chatRepository.findRecentMsg(roomId);
-        List<ChatReqDto> chatMsgDtos = new ArrayList<>();
-        for (Chat chat1 : chat) {
-            chatMsgDtos.add(convertEntityToChatDto(chat1));
+        return findChatHistory(roomId, null, 50);
+    }
+
+    /**
+     * 채팅 내역 조회 (오래된 순)
+     * @param beforeChatId null이면 최근 메시지, 값이 있으면 해당 chatId보다 이전 메시지
+     * 최근 메시지 버퍼에서 먼저 찾고, 버퍼에 없는 이전 내역만 DB에서 조회
+     */
+    public List<ChatReqDto> findChatHistory(String roomId, Long beforeChatId, int size) {
+        if (beforeChatId == null) {
+            return recentChatBuffer.latest(roomId, size, () -> oldestFirst(
+                    chatRepository.findLatestMsg(roomId, PageRequest.of(0, recentChatBuffer.getCapacity()))));
+        }
+        List<ChatReqDto> buffered = recentChatBuffer.before(roomId, beforeChatId, size);
+        if (buffered != null) {
+            return buffered;
         }
+        return oldestFirst(chatRepository.findMsgBefore(roomId, beforeChatId, PageRequest.of(0, size)));
+    }
+
+    // 최근 것부터 읽은 목록(chat_id DESC)을 오래된 순으로
+    private List<ChatReqDto> oldestFirst(List<ChatReqDto> latestFirst) {
+        List<ChatReqDto> chatMsgDtos = new ArrayList<>(latestFirst);
+        Collections.reverse(chatMsgDtos);
         return chatMsgDtos;
     }
 
-    // 채팅방 삭제
+    // 채팅방 삭제 (모든 서버 기준 접속 중인 회원이 없을 때만)
     public boolean removeRoom(String roomId) {
-        ChatRoomResDto room = chatRooms.get(roomId); // 방 정보 가져오기
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(
-                        () -> new RuntimeException("해당 채팅방이 존재하지 않습니다.1")
-                );
-
-        // 채팅방에 남아있는 회원 수 확인
-        int memberCount = cntOfRoomMember(roomId);
-
-        // 채팅방에 회원이 없으면 삭제
-        if (memberCount == 0) {
-            chatRooms.remove(roomId); // 메모리에서 제거
-            chatRoomRepository.delete(chatRoom); // DB에서 제거
-            return true;
+        if (!chatPresence.isVacant(roomId)) {
+            return false;
         }
-        return false;
+        if (chatRoomDirectory.remove(roomId) == null && !chatRoomRepository.existsById(roomId)) { // 메모리에서 제거
+            throw new RuntimeException("해당 채팅방이 존재하지 않습니다.1");
+        }
+        chatClusterBus.unsubscribeRoom(roomId);
+        recentChatBuffer.removeRoom(roomId);
+        chatPresence.removeRoom(roomId);
+        chatMembershipWriter.roomRemoved(roomId); // DB에서 제거 (비동기, 참여 정보 변경 이후 순서대로)
+        chatClusterBus.publishRoomEvent(ChatClusterBus.ROOM_REMOVED, roomId);
+        return true;
     }
 
-    // 채팅방에 입장한 세션 추가
-    public void addSessionAndHandlerEnter(String roomId, WebSocketSession session, ChatReqDto chatMessage) {
+    // 채팅방에 입장한 세션 추가 (회원 정보는 핸드셰이크 때 확인한 값 사용, DB 조회 없음)
+    public void addSessionAndHandlerEnter(String roomId, WebSocketSession session) {
+        ChatSessionIdentity identity = ChatSessionIdentity.of(session);
         ChatRoomResDto room = findRoomById(roomId);
-        if (room != null) {
-            room.getSessions().add(session);    // 채팅방에 입장한 세션을 추가
-            log.debug("새로운 세션 추가");
+        room.getSessions().add(session);    // 채팅방에 입장한 세션을 추가
+        chatClusterBus.joinRoom(roomId, room.getSessions()); // 구독 참조 +1 (이 서버의 첫 세션이면 구독 후 등록 확인까지 대기)
+        log.debug("새로운 세션 추가 : {} → {}", identity.getNickName(), roomId);
 
-            Member member = memberRepository.findByNickName(chatMessage.getSender()).orElseThrow(
-                    () -> new RuntimeException("해당 멤버 없음")
-            );
-            ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                .orElseThrow(() -> new RuntimeException("해당 채팅방 없음"));
-
-            Optional<ChatMember> existingChatMember = chatMemberRepository.findByMemberAndChatRoom(member, chatRoom);
-            if (!existingChatMember.isPresent()) {
-                ChatMember chatMember = new ChatMember();
-                chatMember.setMember(member);
-                chatMember.setChatRoom(chatRoom);
-
-                chatMemberRepository.save(chatMember);
-            } else {
-                log.info("이미 참여한 채팅방 멤버입니다.");
-            }
+        if (chatPresence.join(roomId, identity.getMemberId())) {
+            chatMembershipWriter.joined(roomId, identity.getMemberId()); // 회원의 첫 세션일 때만 참여 정보 저장
         }
     }
 
     // 채팅방에서 퇴장한 세션 제거
-    public void removeSessionAndHandleExit(String roomId, WebSocketSession session, ChatReqDto chatMessage) {
-        ChatRoomResDto room = findRoomById(roomId);
-        if (room != null) {
-            room.getSessions().remove(session); // 채팅방에서 퇴장한 세션 제거
-            log.debug("세션 제거됨 : {}", session);
-
-            Member member = memberRepository.findByNickName(chatMessage.getSender()).orElseThrow(
-                    () -> new RuntimeException("해당 멤버 없음")
-            );
-
-            ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(
-                    () -> new RuntimeException("해당 채팅방 없음")
-            );
-
-            ChatMember chatMember = chatMemberRepository.findByMemberAndChatRoom(member, chatRoom).orElseThrow(
-                    () -> new RuntimeException("해당 멤버가 있는 채팅방 없음")
-            );
-
-            if (room.isSessionEmpty()) {
-                removeRoom(roomId);
-            }
+    public void removeSessionAndHandleExit(String roomId, WebSocketSession session) {
+        ChatSessionIdentity identity = ChatSessionIdentity.of(session);
+        ChatRoomResDto room = chatRoomDirectory.get(roomId);
+        if (room == null || !room.getSessions().remove(session)) { // 이미 삭제된 방이거나 이미 퇴장 처리된 세션
+            return;
+        }
+        chatClusterBus.leaveRoom(roomId); // 구독 참조 -1 (이 서버에 남은 세션이 없으면 구독 해제)
+        log.debug("세션 제거됨 : {}", session);
 
-            if (chatMember != null) {
-                chatMemberRepository.delete(chatMember);
-                log.debug("ChatMember 삭제 : member = {}, chatRoom = {}", member.getNickName(), chatRoom.getRoomId());
-                removeRoom(roomId); // 세션이 남아 있지 않으면 채팅방 삭제
-            }
+        if (chatPresence.leave(roomId, identity.getMemberId())) {
+            chatMembershipWriter.left(roomId, identity.getMemberId()); // 회원의 마지막 세션이 나가면 참여 정보 삭제
+            removeRoom(roomId); // 접속 중인 회원이 없으면 채팅방 삭제
         }
     }
 
     public void sendMsgToAll(String roomId, ChatReqDto msg) {
         ChatRoomResDto room = findRoomById(roomId);
         if (room != null) {
-            for (WebSocketSession session : room.getSessions()) {
-                // 해당 세션에 메시지 발송
-                sendMsg(session, msg);  // 채팅 메세지를 보내는 메소드
-            }
+            // 한 번 직렬화해서 방 채널에 publish → 방 세션이 있는 각 서버가 세션별 전송 큐에 넣음
+            // (클러스터 모드가 아니면 이 서버 세션에 바로 전송)
+            chatClusterBus.publish(roomId, room.getSessions(), msg);
         }
     }
 
@@ -221,18 +239,10 @@ public class ChatService {
         }
     }
 
-    // 채팅 메세지 DB 저장
+    // 채팅 메세지 DB 저장 (write-behind 큐에 넣고 바로 반환, 일정 주기로 묶어서 저장됨)
     public void saveMsg(String roomId, String nickName, String msg, String profile) {
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(() -> new RuntimeException("해당 채팅방이 존재하지 않습니다."));
-        Chat chatMsg = new Chat();
-        chatMsg.setChatRoom(chatRoom);
-        chatMsg.setSender(nickName);
-        chatMsg.setMsg(msg);
-        chatMsg.setProfile(profile);
-        chatMsg.setNickName(nickName);
-        chatMsg.setRegDate(LocalDateTime.now(ZoneId.of("Asia/Seoul")));
-        chatRepository.save(chatMsg);
-        log.warn("DB에 채팅 저장");
+        // 채팅방 조회 없이 room_id만 넣어서 저장 (없는 방이면 FK 오류로 해당 메시지만 저장 실패 처리)
+        chatMessageWriter.write(roomId, nickName, msg, profile, LocalDateTime.now(ZoneId.of("Asia/Seoul")));
     }
 
     // ChatRoom 엔티티 Dto로 변환
@@ -245,18 +255,4 @@ public class ChatService {
         chatRoomResDto.setPersonCnt(chatRoom.getPersonCnt());
         return chatRoomResDto;
     }
-
-    // Chat 엔티티 Dto로 변환
-    private ChatReqDto convertEntityToChatDto(Chat chat) {
-        ChatReqDto chatMsgDto = new ChatReqDto();
-        chatMsgDto.setId(chat.getChatId());
-        chatMsgDto.setRoomId(chat.getChatRoom().getRoomId());
-        chatMsgDto.setProfile(chat.getProfile());
-        chatMsgDto.setNickName(chat.getNickName());
-        chatMsgDto.setSender(chat.getSender());
-        chatMsgDto.setMsg(chat.getMsg());
-        chatMsgDto.setRegDate(chat.getRegDate());
-
-        return chatMsgDto;
-    }
 }
\ No newline at end of file
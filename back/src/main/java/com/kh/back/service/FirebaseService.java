@@ -17,6 +17,7 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
@@ -47,18 +48,8 @@ public class FirebaseService {
             extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toLowerCase();
         }
 
-        // 파일을 BufferedImage로 변환
-        BufferedImage originalImage = ImageIO.read(file.getInputStream());
-
         // 400x400으로 리사이징
-        BufferedImage resizedImage = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = resizedImage.createGraphics();
-        g.drawImage(originalImage, 0, 0, 400, 400, null);
-        g.dispose();
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(resizedImage, extension, outputStream);
-        byte[] imageBytes = outputStream.toByteArray();
+        byte[] imageBytes = resizeImage(file.getInputStream(), BufferedImage.TYPE_INT_ARGB, extension);
 
         // Firebase Storage에 업로드
         Bucket bucket = StorageClient.getInstance().bucket();
@@ -79,18 +70,8 @@ public class FirebaseService {
         // 프로필 이미지 저장 경로 설정
         String folderName = "profile/";
 
-        // 파일을 BufferedImage로 변환
-        BufferedImage originalImage = ImageIO.read(file.getInputStream());
-
         // 400x400으로 리사이징
-        BufferedImage resizedImage = new BufferedImage(400, 400, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g = resizedImage.createGraphics();
-        g.drawImage(originalImage, 0, 0, 400, 400, null);
-        g.dispose();
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ImageIO.write(resizedImage, "jpg", outputStream);
-        byte[] imageBytes = outputStream.toByteArray();
+        byte[] imageBytes = resizeImage(file.getInputStream(), BufferedImage.TYPE_INT_RGB, "jpg");
 
         // Firebase Storage에 업로드
         Bucket bucket = StorageClient.getInstance().bucket();
@@ -102,6 +83,21 @@ public class FirebaseService {
                 + URLEncoder.encode(fileName, StandardCharsets.UTF_8) + "?alt=media";
     }
 
+    // 이미지를 400x400으로 리사이징한 뒤 format(jpg, png 등)으로 인코딩
+    public static byte[] resizeImage(InputStream input, int imageType, String format) throws IOException {
+        // 파일을 BufferedImage로 변환
+        BufferedImage originalImage = ImageIO.read(input);
+
+        BufferedImage resizedImage = new BufferedImage(400, 400, imageType);
+        Graphics2D g = resizedImage.createGraphics();
+        g.drawImage(originalImage, 0, 0, 400, 400, null);
+        g.dispose();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(resizedImage, format, outputStream);
+        return outputStream.toByteArray();
+    }
+
     // 본인 프로필 이미지 가져오기
     public String getProfileImage(Authentication authentication) {
         Long memberId = Long.valueOf(authentication.getName());
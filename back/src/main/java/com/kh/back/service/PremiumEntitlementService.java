@@ -0,0 +1,130 @@
+package com.kh.back.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.kh.back.repository.PurchaseRecordRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 프리미엄(구매 기록 보유) 여부 확인
+ * - 시작 시 PurchaseRecord의 회원 ID를 한 번 읽어서 메모리 Set에 보관 → 확인은 DB 조회 없이 O(1)
+ * - savePurchase가 발행하는 PurchaseCompletedEvent로 Set에 추가 (커밋 이후 반영)
+ * - Set에 없는 회원은 크기 제한 + TTL이 있는 negative 캐시로 다시 조회하지 않음
+ *   negative 캐시가 만료된 경우에만 Redis(사용 시) 또는 DB에서 확인 → 다른 서버에서 결제한 회원도 TTL 안에 반영
+ *   Redis에 있으면 바로 프리미엄, 없으면 DB로 확인 (Redis 반영 실패, 키 유실 등으로 빠진 회원을 프리미엄이 아닌 것으로 판단하지 않도록)
+ * - premium.entitlement.redis-enabled=true 면 Redis Set(entitlement:premium)에도 반영해서 서버 여러 대가 공유
+ */
+@Slf4j
+@Service
+public class PremiumEntitlementService {
+    private static final String REDIS_KEY = "entitlement:premium";
+
+    private final PurchaseRecordRepository purchaseRecordRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean redisEnabled;
+    private final Set<Long> premiumMembers = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Boolean> nonPremium; // 프리미엄이 아닌 것으로 확인된 회원
+
+    public PremiumEntitlementService(PurchaseRecordRepository purchaseRecordRepository,
+                                     StringRedisTemplate redisTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${premium.entitlement.negative-max-size:50000}") long negativeMaxSize,
+                                     @Value("${premium.entitlement.negative-ttl-seconds:300}") long negativeTtlSeconds,
+                                     @Value("${premium.entitlement.redis-enabled:false}") boolean redisEnabled) {
+        this.purchaseRecordRepository = purchaseRecordRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.nonPremium = CacheBuilder.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(meterRegistry, nonPremium, "premium.negative");
+        Gauge.builder("premium.entitlement.members", premiumMembers, Set::size)
+                .description("메모리에 보관 중인 프리미엄 회원 수")
+                .register(meterRegistry);
+    }
+
+    // 시작 시 구매 기록이 있는 회원 ID 적재 (실패해도 기동은 계속, 이후 확인은 DB로 대체)
+    @PostConstruct
+    private void warmUp() {
+        try {
+            List<Long> memberIds = purchaseRecordRepository.findPurchasedMemberIds();
+            premiumMembers.addAll(memberIds);
+            if (redisEnabled && !memberIds.isEmpty()) {
+                mirror(memberIds.stream().map(String::valueOf).toArray(String[]::new));
+            }
+            log.info("프리미엄 회원 {}명 적재", memberIds.size());
+        } catch (Exception e) {
+            log.error("프리미엄 회원 적재 실패 : {}", e.getMessage());
+        }
+    }
+
+    public boolean isPremium(Long memberId) {
+        if (premiumMembers.contains(memberId)) {
+            return true;
+        }
+        if (nonPremium.getIfPresent(memberId) != null) {
+            return false;
+        }
+        // 이 서버에서 모르는 회원 (다른 서버에서 결제했거나 적재 실패) → 한 번 확인 후 캐시
+        boolean premium = lookup(memberId);
+        if (premium) {
+            premiumMembers.add(memberId);
+        } else {
+            nonPremium.put(memberId, false);
+        }
+        return premium;
+    }
+
+    // 결제 저장이 커밋된 뒤 반영 (트랜잭션 밖에서 발행된 경우 바로 반영)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseCompleted(PurchaseCompletedEvent event) {
+        Long memberId = event.getMemberId();
+        premiumMembers.add(memberId);
+        nonPremium.invalidate(memberId);
+        if (redisEnabled) {
+            mirror(String.valueOf(memberId));
+        }
+        log.debug("프리미엄 회원 추가 : {}", event);
+    }
+
+    private boolean lookup(Long memberId) {
+        if (redisEnabled) {
+            try {
+                if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(REDIS_KEY, String.valueOf(memberId)))) {
+                    return true;
+                }
+            } catch (Exception e) {
+                log.warn("프리미엄 여부 Redis 조회 실패, DB로 확인 (memberId={}) : {}", memberId, e.getMessage());
+            }
+        }
+        // 없다는 응답은 믿지 않고 DB로 확인 (결과는 nonPremium에 캐시되므로 회원당 TTL마다 한 번)
+        boolean premium = purchaseRecordRepository.existsByMemberMemberId(memberId);
+        if (premium && redisEnabled) {
+            mirror(String.valueOf(memberId)); // Redis에서 빠져 있던 회원 복구
+        }
+        return premium;
+    }
+
+    private void mirror(String... memberIds) {
+        try {
+            redisTemplate.opsForSet().add(REDIS_KEY, memberIds);
+        } catch (Exception e) {
+            log.warn("프리미엄 회원 Redis 반영 실패 : {}", e.getMessage());
+        }
+    }
+}
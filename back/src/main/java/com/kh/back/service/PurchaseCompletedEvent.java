@@ -0,0 +1,14 @@
+package com.kh.back.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 결제 기록 저장 완료 (PurchaseService.savePurchase → PremiumEntitlementService)
+@Getter
+@ToString
+@AllArgsConstructor
+public class PurchaseCompletedEvent {
+    private final Long memberId;
+    private final String orderId;
+}
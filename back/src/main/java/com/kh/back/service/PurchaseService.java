@@ -6,7 +6,9 @@ import com.kh.back.entity.member.Member;
 import com.kh.back.entity.member.PaymentStatus;
 import com.kh.back.repository.PurchaseRecordRepository;
 import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.member.MemberContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
@@ -18,10 +20,18 @@ public class PurchaseService {
 
     private final MemberRepository memberRepository;
     private final PurchaseRecordRepository purchaseRecordRepository;
+    private final MemberContext memberContext; // 회원 존재 확인 (캐시)
+    private final PremiumEntitlementService premiumEntitlementService; // 프리미엄 여부 (메모리, DB 조회 없음)
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PurchaseService(MemberRepository memberRepository, PurchaseRecordRepository purchaseRecordRepository) {
+    public PurchaseService(MemberRepository memberRepository, PurchaseRecordRepository purchaseRecordRepository,
+                           MemberContext memberContext, PremiumEntitlementService premiumEntitlementService,
+                           ApplicationEventPublisher eventPublisher) {
         this.memberRepository = memberRepository;
         this.purchaseRecordRepository = purchaseRecordRepository;
+        this.memberContext = memberContext;
+        this.premiumEntitlementService = premiumEntitlementService;
+        this.eventPublisher = eventPublisher;
     }
 
     public PurchaseRecord savePurchase(Authentication authentication, PurchaseRecordDto recordDto) {
@@ -46,19 +56,17 @@ public class PurchaseService {
                 .build();
 
         // 데이터베이스에 저장 후 반환
-        return purchaseRecordRepository.save(purchaseRecord);
+        PurchaseRecord saved = purchaseRecordRepository.save(purchaseRecord);
+        eventPublisher.publishEvent(new PurchaseCompletedEvent(userId, saved.getOrderId())); // 프리미엄 회원으로 반영
+        return saved;
     }
 
     public boolean isMemberPurchase (Authentication authentication) {
         // 로그인한 사용자 정보 얻기
         Long userId = Long.valueOf(authentication.getName());
 
-        // 회원정보 가져오기
-        Member member = memberRepository.findByMemberId(userId)
-                .orElseThrow(() -> new RuntimeException("회원이 존재하지 않습니다."));
-
         // 해당 멤버의 구매 기록이 존재하는지 확인
-        return purchaseRecordRepository.existsByMember(member);
+        return isMemberPremium(userId);
     }
 
     /**
@@ -69,10 +77,11 @@ public class PurchaseService {
      * @return 프리미엄 회원이면 true, 아니면 false
      */
     public boolean isMemberPremium(Long memberId) {
-        // 회원 정보 조회
-        Member member = memberRepository.findByMemberId(memberId)
-                .orElseThrow(() -> new RuntimeException("회원이 존재하지 않습니다."));
-        // 해당 회원의 구매 기록이 존재하는지 확인 (구매 기록이 있으면 프리미엄 회원)
-        return purchaseRecordRepository.existsByMember(member);
+        // 회원 존재 확인 (캐시된 회원 정보)
+        if (memberContext.summary(memberId) == null) {
+            throw new RuntimeException("회원이 존재하지 않습니다.");
+        }
+        // 해당 회원의 구매 기록이 존재하는지 확인 (구매 기록이 있으면 프리미엄 회원, 메모리에서 확인)
+        return premiumEntitlementService.isPremium(memberId);
     }
 }
@@ -8,6 +8,7 @@ import com.kh.back.dto.admin.res.AdminMemberListResDto;
 import com.kh.back.dto.admin.res.AdminMemberResDto;
 import com.kh.back.dto.admin.request.AdminMemberReqDto;
 import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.member.MemberContext;
 import com.kh.back.service.member.MemberService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,7 @@ import java.util.List;
 public class AdminService {
 	private final MemberRepository memberRepository;
 	private final MemberService memberService;
+	private final MemberContext memberContext; // 수정한 회원의 닉네임/권한 캐시 무효화
 	private final String FLASK_URL = "http://localhost:5001";
 	private final RestTemplate restTemplate;
 	
@@ -95,6 +97,7 @@ public class AdminService {
 			}
 			log.warn("수정하려는 회원 : {}", member);
 			member = memberRepository.save(member);
+			memberContext.evict(member.getMemberId());
 			return convertMemberToDto(member);
 		} catch (Exception e) {
 			log.error("회원 정보 수정중 에러 : {}", e.getMessage());
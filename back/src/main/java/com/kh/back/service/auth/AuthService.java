@@ -7,10 +7,8 @@ import com.kh.back.dto.auth.LoginDto;
 import com.kh.back.dto.auth.SignupDto;
 import com.kh.back.dto.auth.TokenDto;
 import com.kh.back.entity.member.Member;
-import com.kh.back.entity.auth.RefreshToken;
 import com.kh.back.jwt.TokenProvider;
 import com.kh.back.repository.member.MemberRepository;
-import com.kh.back.repository.auth.RefreshTokenRepository;
 import com.kh.back.service.FirebaseService;
 import com.kh.back.service.member.MemberService;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +33,7 @@ public class AuthService {
 	private final MemberRepository memberRepository;
 	private final PasswordEncoder passwordEncoder;
 	private final TokenProvider tokenProvider;
-	private  final RefreshTokenRepository refreshTokenRepository;
+	private final RefreshTokenStore refreshTokenStore; // 리프레시 토큰 저장소 (AuthConfig, 기본 DB)
 	private  final MemberService memberService;
 	private final FirebaseService firebaseService;
 
@@ -134,9 +132,8 @@ public class AuthService {
 	}
 
 	public AccessTokenDto refreshAccessToken(String refreshToken) {
-		log.info("일반refreshExist : {}", refreshTokenRepository.existsByRefreshToken(refreshToken));
-		//DB에 일치하는 refreshToken이 있으면
-		if(refreshTokenRepository.existsByRefreshToken(refreshToken) ) {
+		//저장소에 일치하는 refreshToken이 있으면
+		if(refreshTokenStore.exists(refreshToken)) {
 			// refreshToken 검증
 			try {
 				if(tokenProvider.validateToken(refreshToken)) {
@@ -146,22 +143,13 @@ public class AuthService {
 				log.error("토큰 유효성 검증 중 예외 발생 : {}", e.getMessage());
 			}
 		}
+		log.info("저장되지 않았거나 유효하지 않은 리프레시 토큰");
 		return null;
 	}
 	
 	public void refreshTokenSave(Member member, TokenDto token) {
 		try {
-			// 이미 db에 해당 계정으로 저장된 refreshToken 정보가 있다면 삭제
-			log.info("Exists by member: {}", refreshTokenRepository.existsByMember(member));
-			if(refreshTokenRepository.existsByMember(member)) {
-				refreshTokenRepository.deleteByMember(member);
-			}
-			RefreshToken refreshToken = new RefreshToken();
-			String encodedToken = token.getRefreshToken();
-			refreshToken.setRefreshToken(encodedToken);
-			refreshToken.setRefreshTokenExpiresIn(token.getRefreshTokenExpiresIn());
-			refreshToken.setMember(member);
-			refreshTokenRepository.save(refreshToken);
+			refreshTokenStore.save(member, token.getRefreshToken(), token.getRefreshTokenExpiresIn());
 		} catch (Exception e) {
 			log.error("리프레시 토큰 저장 실패 : {}", e.getMessage());
 		}
@@ -2,111 +2,68 @@ package com.kh.back.service.auth;
 
 
 import com.kh.back.entity.member.Member;
-import com.kh.back.entity.auth.email_auth_token;
 import com.kh.back.repository.member.MemberRepository;
-import com.kh.back.repository.auth.EmailAuthTokenRepository;
+import com.kh.back.service.auth.VerificationCodeService.Channel;
+import com.kh.back.service.auth.VerificationCodeService.IssueResult;
+import com.kh.back.service.notification.NotificationDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.servlet.http.HttpServletRequest;
-import java.util.Optional;
 
 @RequiredArgsConstructor
 @Slf4j
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final EmailAuthTokenRepository emailAuthTokenRepository;
+    private final VerificationCodeService verificationCodeService; // 인증번호 저장(TTL), 요청 제한
+    private final NotificationDispatcher notificationDispatcher; // 메일 발송 (outbox)
     private final MemberRepository memberRepository;
-    private final HttpServletRequest request;
+    private final PasswordChangeTicketService passwordChangeTicketService; // 비밀번호 변경 티켓 (세션 대신)
 
     
 
-    // 이메일 전송 메서드 (토큰 발급 및 전송)
+    // 이메일 전송 메서드 (토큰 발급 및 전송, 발송은 비동기)
     public boolean sendPasswordResetToken(String email) {
         try {
-            String resetToken = generateSixDigitToken();
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(email);
-            message.setSubject("비밀번호 찾기 인증번호 입니다");
             String messageText = "안녕하세요, UniGuide입니다. \n 본 메일은 비밀번호 찾기 인증번호 안내 메일입니다. \n" +
                     "로그인 후 회원정보 수정 페이지에서 비밀번호를 변경해 주세요. \n 인증번호(유효기간 5분): ";
-            message.setText(messageText + resetToken);
-
-            mailSender.send(message);
-            storeToken(email, resetToken);
-
-            return true;
+            IssueResult result = verificationCodeService.issue(Channel.EMAIL, email,
+                    (code, validFor) -> notificationDispatcher.enqueueMail(email, "비밀번호 찾기 인증번호 입니다", messageText + code, validFor));
+            if (result != IssueResult.SENT) {
+                log.warn("비밀번호 찾기 메일 발송 거절 : {} ({})", email, result);
+            }
+            return result == IssueResult.SENT;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("비밀번호 찾기 메일 발송 실패 : {} - {}", email, e.getMessage());
             return false;
         }
     }
 
-    private String generateSixDigitToken() {
-        int token = (int) (Math.random() * 900000) + 100000;
-        return String.valueOf(token);
-    }
-    private void storeToken(String email, String token) {
-        Optional<email_auth_token> existingToken = emailAuthTokenRepository.findByEmail(email);
-        emailAuthTokenRepository.deleteByEmail(email);
-        if(existingToken.isPresent()) {
-            emailAuthTokenRepository.delete(existingToken.get());
+    // 인증번호가 맞으면 비밀번호 변경 티켓(PasswordChangeTicketService) 발급
+    public String verifyEmailToken(String email, String inputToken) {
+        switch (verificationCodeService.verify(Channel.EMAIL, email, inputToken, true)) {
+            case VALID:
+                break;
+            case NOT_FOUND:
+                throw new RuntimeException("토큰이 존재하지 않거나 만료되었습니다.");
+            case EXCEED_LIMIT:
+                throw new IllegalArgumentException("인증 시도 횟수를 초과했습니다. 인증번호를 다시 받아주세요.");
+            default:
+                throw new IllegalArgumentException("인증번호가 올바르지 않습니다.");
         }
-
-        email_auth_token authToken = new email_auth_token();
-        authToken.setEmail(email);
-        authToken.setToken(token);
-        authToken.setExpiryTime(System.currentTimeMillis() + 300000);
-        emailAuthTokenRepository.save(authToken);
-    }
-
-    public boolean verifyEmailToken(String email, String inputToken) {
-        Optional<email_auth_token> authToken = emailAuthTokenRepository.findByEmail(email);
-
-        if (authToken.isEmpty()) {
-            throw new RuntimeException("토큰이 존재하지 않거나 만료되었습니다.");
-        }
-
-        email_auth_token token = authToken.get();
-
-        if (System.currentTimeMillis() > token.getExpiryTime()) {
-            emailAuthTokenRepository.delete(token);
-            throw new RuntimeException("토큰이 만료되었습니다.");
-        }
-
-        boolean isValid = token.getToken().equals(inputToken);
-        if (!isValid) {
-            throw new IllegalArgumentException("인증번호가 올바르지 않습니다.");
-        }
-        emailAuthTokenRepository.delete(token);
-        request.getSession().setAttribute("email", email); // 수정된 세션 접근 방식
-        System.out.println("세션 ID: " + request.getSession().getId());
-
-        return isValid;
+        Member member = memberRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("이메일에 해당하는 회원이 존재하지 않습니다."));
+        return passwordChangeTicketService.issue(member);
     }
 
+    // verifyEmailToken 에서 받은 티켓으로 비밀번호 변경 (세션 없이 처리)
     @Transactional
-    public boolean changePassword(String newPassword, PasswordEncoder passwordEncoder) {
+    public boolean changePassword(String ticket, String newPassword, PasswordEncoder passwordEncoder) {
         try{
-            String email = (String) request.getSession().getAttribute("email"); // 수정된 세션 접근 방식
-            System.out.println("세션 ID: " + request.getSession().getId() + " --- " + email);
-            if (email == null) {
-                throw new RuntimeException("정보가 만료 되었습니다. 인증을 다시 진행해주세요.");
-            }
-            Optional<Member> memberOptional = memberRepository.findByEmail(email);
-            Member member = memberOptional.orElseThrow(() -> new RuntimeException("이메일에 해당하는 회원이 존재하지 않습니다."));
-            
-            String encodedPassword = passwordEncoder.encode(newPassword);
-            member.setPwd(encodedPassword);
-            memberRepository.save(member);
-            request.getSession().removeAttribute("email"); // 세션에서 이메일 제거
+            passwordChangeTicketService.changePassword(ticket, newPassword, passwordEncoder);
             return true;
             } catch (Exception e) {
             log.error(e.getMessage());
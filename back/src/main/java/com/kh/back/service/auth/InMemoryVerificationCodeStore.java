@@ -0,0 +1,102 @@
+package com.kh.back.service.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 인증번호 저장소 (서버 한 대, 로컬/테스트용)
+ * - 같은 키의 변경은 ConcurrentHashMap.compute 안에서 처리 → 요청 제한 확인과 기록이 원자적
+ * - 만료된 인증번호와 비어 있는 요청 기록은 1분마다 정리
+ */
+@Slf4j
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+	private final Map<String, Code> codes = new ConcurrentHashMap<>();
+	private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+	@Override
+	public void saveCode(String key, String code, Duration ttl) {
+		codes.put(key, new Code(code, System.currentTimeMillis() + ttl.toMillis()));
+	}
+
+	@Override
+	public String findCode(String key) {
+		Code code = codes.get(key);
+		if (code == null) {
+			return null;
+		}
+		if (code.expiresAt <= System.currentTimeMillis()) {
+			codes.remove(key, code);
+			return null;
+		}
+		return code.value;
+	}
+
+	@Override
+	public void removeCode(String key) {
+		codes.remove(key);
+	}
+
+	@Override
+	public boolean tryAcquire(String key, int limit, Duration window) {
+		long now = System.currentTimeMillis();
+		boolean[] acquired = new boolean[1];
+		windows.compute(key, (k, current) -> {
+			Window w = current != null ? current : new Window(window.toMillis());
+			w.prune(now);
+			if (w.hits.size() < limit) {
+				w.hits.addLast(now);
+				acquired[0] = true;
+			}
+			return w;
+		});
+		return acquired[0];
+	}
+
+	@Override
+	public void resetLimit(String key) {
+		windows.remove(key);
+	}
+
+	@Scheduled(fixedDelay = 60_000)
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		codes.values().removeIf(code -> code.expiresAt <= now);
+		windows.keySet().forEach(key -> windows.computeIfPresent(key, (k, w) -> {
+			w.prune(now);
+			return w.hits.isEmpty() ? null : w;
+		}));
+		log.debug("인증번호 {}개, 요청 기록 {}개 보관 중", codes.size(), windows.size());
+	}
+
+	private static final class Code {
+		private final String value;
+		private final long expiresAt;
+
+		private Code(String value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	// 최근 요청 시각 (compute 안에서만 변경)
+	private static final class Window {
+		private final long windowMillis;
+		private final Deque<Long> hits = new ArrayDeque<>();
+
+		private Window(long windowMillis) {
+			this.windowMillis = windowMillis;
+		}
+
+		private void prune(long now) {
+			while (!hits.isEmpty() && hits.peekFirst() <= now - windowMillis) {
+				hits.pollFirst();
+			}
+		}
+	}
+}
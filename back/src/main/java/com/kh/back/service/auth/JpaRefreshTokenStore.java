@@ -0,0 +1,36 @@
+package com.kh.back.service.auth;
+
+import com.kh.back.entity.auth.RefreshToken;
+import com.kh.back.entity.member.Member;
+import com.kh.back.repository.auth.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * refresh_token 테이블 저장소 (기존 동작, 회원당 토큰 1개 → 다른 기기에서 로그인하면 이전 토큰은 무효)
+ * - 저장: deleteByMember + save (없으면 delete는 조회만 하므로 existsByMember 확인은 생략)
+ * - Redis 저장소를 쓰는 경우에도 Redis 장애 시 대체 저장소로 사용
+ */
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+	private final RefreshTokenRepository refreshTokenRepository;
+
+	@Override
+	public void save(Member member, String refreshToken, long expiresAt) {
+		refreshTokenRepository.deleteByMember(member);
+		RefreshToken entity = new RefreshToken();
+		entity.setRefreshToken(refreshToken);
+		entity.setRefreshTokenExpiresIn(expiresAt);
+		entity.setMember(member);
+		refreshTokenRepository.save(entity);
+	}
+
+	@Override
+	public boolean exists(String refreshToken) {
+		return refreshTokenRepository.existsByRefreshToken(refreshToken);
+	}
+
+	@Override
+	public void revokeAll(Member member) {
+		refreshTokenRepository.deleteByMember(member);
+	}
+}
@@ -0,0 +1,72 @@
+package com.kh.back.service.auth;
+
+import com.google.common.hash.Hashing;
+import com.kh.back.entity.member.Member;
+import com.kh.back.jwt.TokenProvider;
+import com.kh.back.repository.member.MemberRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 비밀번호 변경 티켓 (HttpSession 대신 사용)
+ * - 이메일 인증(EmailService.verifyEmailToken)에 성공하면 발급,
+ *   비밀번호 변경 요청에서 X-Password-Ticket 헤더로 돌려받아 확인 → 서버 어느 쪽으로 가도 처리 가능
+ * - TokenProvider.create 로 서명한 짧은 JWT (auth.password-ticket.ttl-seconds), 액세스 토큰으로는 사용 불가
+ * - 발급 당시 비밀번호 해시의 지문을 담아서, 비밀번호를 한 번 바꾸면 같은 티켓은 더 쓸 수 없음 (서버 저장 없이 1회용)
+ */
+@Slf4j
+@Service
+public class PasswordChangeTicketService {
+	public static final String HEADER = "X-Password-Ticket";
+	private static final String PURPOSE = "password-change";
+	private static final String FINGERPRINT_KEY = "pwv";
+
+	private final TokenProvider tokenProvider;
+	private final MemberRepository memberRepository;
+	private final Duration validity;
+
+	public PasswordChangeTicketService(TokenProvider tokenProvider,
+									   MemberRepository memberRepository,
+									   @Value("${auth.password-ticket.ttl-seconds:600}") long ttlSeconds) {
+		this.tokenProvider = tokenProvider;
+		this.memberRepository = memberRepository;
+		this.validity = Duration.ofSeconds(ttlSeconds);
+	}
+
+	public String issue(Member member) {
+		return tokenProvider.create(String.valueOf(member.getMemberId()), PURPOSE,
+				Map.of(FINGERPRINT_KEY, fingerprint(member)), validity);
+	}
+
+	/**
+	 * 티켓 확인 후 새 비밀번호로 변경
+	 * @throws RuntimeException 티켓이 없거나 만료/위조됐거나 이미 사용된 경우
+	 */
+	public Member changePassword(String ticket, String newPassword, PasswordEncoder passwordEncoder) {
+		Claims claims = tokenProvider.verify(ticket, PURPOSE);
+		if (claims == null) {
+			throw new RuntimeException("정보가 만료 되었습니다. 인증을 다시 진행해주세요.");
+		}
+		Member member = memberRepository.findById(Long.parseLong(claims.getSubject()))
+				.orElseThrow(() -> new RuntimeException("해당 회원이 존재하지 않습니다."));
+		if (!fingerprint(member).equals(claims.get(FINGERPRINT_KEY))) {
+			log.warn("이미 사용된 비밀번호 변경 티켓 : memberId={}", member.getMemberId());
+			throw new RuntimeException("정보가 만료 되었습니다. 인증을 다시 진행해주세요.");
+		}
+		member.setPwd(passwordEncoder.encode(newPassword));
+		return memberRepository.save(member);
+	}
+
+	// 현재 비밀번호 해시의 지문 (해시 원문은 티켓에 넣지 않음)
+	private static String fingerprint(Member member) {
+		String pwd = member.getPwd() != null ? member.getPwd() : "";
+		return Hashing.sha256().hashString(pwd, StandardCharsets.UTF_8).toString().substring(0, 16);
+	}
+}
@@ -0,0 +1,124 @@
+package com.kh.back.service.auth;
+
+import com.google.common.hash.Hashing;
+import com.kh.back.entity.member.Member;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 리프레시 토큰 저장소 (auth.refresh-token.store=redis)
+ * - auth:refresh:{토큰 SHA-256} → memberId, 토큰 만료 시각까지 TTL (만료된 토큰은 Redis가 삭제, 원문 토큰은 저장하지 않음)
+ * - auth:refresh:member:{memberId} → 토큰 해시 Sorted Set (score = 만료 시각)
+ *   → 여러 기기 로그인 유지, 회원 단위 폐기, 최대 maxSessions 개를 넘으면 오래된 토큰부터 폐기
+ * - 로그인 1번 = 파이프라인 1번 (DB 조회 없음), 토큰 확인 = EXISTS 1번
+ * - Redis 오류 시 fallback(JpaRefreshTokenStore)으로 처리
+ *   (장애 중 DB에 저장된 토큰은 Redis 복구 후에는 확인되지 않으므로 다시 로그인해야 함)
+ */
+@Slf4j
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+	private static final String TOKEN_KEY = "auth:refresh:";
+	private static final String MEMBER_KEY = "auth:refresh:member:";
+
+	private final StringRedisTemplate redisTemplate;
+	private final RefreshTokenStore fallback;
+	private final int maxSessions;
+	private final Counter fallbacks;
+
+	public RedisRefreshTokenStore(StringRedisTemplate redisTemplate, RefreshTokenStore fallback,
+								  MeterRegistry meterRegistry, int maxSessions) {
+		this.redisTemplate = redisTemplate;
+		this.fallback = fallback;
+		this.maxSessions = maxSessions;
+		this.fallbacks = Counter.builder("auth.refresh.fallback")
+				.description("Redis 오류로 DB 리프레시 토큰 저장소를 사용한 횟수")
+				.register(meterRegistry);
+	}
+
+	@Override
+	public void save(Member member, String refreshToken, long expiresAt) {
+		long now = System.currentTimeMillis();
+		long ttl = expiresAt - now;
+		if (ttl <= 0) {
+			return; // 이미 만료된 토큰
+		}
+		String hash = hash(refreshToken);
+		String memberKey = MEMBER_KEY + member.getMemberId();
+		try {
+			List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+				StringRedisConnection redis = (StringRedisConnection) connection;
+				redis.set(TOKEN_KEY + hash, String.valueOf(member.getMemberId()),
+						Expiration.milliseconds(ttl), RedisStringCommands.SetOption.UPSERT);
+				redis.zAdd(memberKey, expiresAt, hash);
+				redis.zRemRangeByScore(memberKey, Double.NEGATIVE_INFINITY, now); // 만료된 토큰 정리
+				redis.pExpire(memberKey, ttl); // 새 토큰이 가장 늦게 만료
+				redis.zCard(memberKey);
+				return null;
+			});
+			Long sessions = (Long) results.get(results.size() - 1);
+			if (sessions != null && sessions > maxSessions) {
+				trim(memberKey, sessions - maxSessions);
+			}
+		} catch (Exception e) {
+			log.warn("리프레시 토큰 Redis 저장 실패, DB에 저장 (memberId={}) : {}", member.getMemberId(), e.getMessage());
+			fallbacks.increment();
+			fallback.save(member, refreshToken, expiresAt);
+		}
+	}
+
+	@Override
+	public boolean exists(String refreshToken) {
+		try {
+			return Boolean.TRUE.equals(redisTemplate.hasKey(TOKEN_KEY + hash(refreshToken)));
+		} catch (Exception e) {
+			log.warn("리프레시 토큰 Redis 조회 실패, DB로 확인 : {}", e.getMessage());
+			fallbacks.increment();
+			return fallback.exists(refreshToken);
+		}
+	}
+
+	@Override
+	public void revokeAll(Member member) {
+		String memberKey = MEMBER_KEY + member.getMemberId();
+		try {
+			Set<String> hashes = redisTemplate.opsForZSet().range(memberKey, 0, -1);
+			List<String> keys = new ArrayList<>();
+			keys.add(memberKey);
+			if (hashes != null) {
+				hashes.forEach(hash -> keys.add(TOKEN_KEY + hash));
+			}
+			redisTemplate.delete(keys);
+		} catch (Exception e) {
+			log.error("리프레시 토큰 Redis 폐기 실패 (memberId={}) : {}", member.getMemberId(), e.getMessage());
+		}
+		fallback.revokeAll(member); // 장애 중 DB에 저장된 토큰도 함께 폐기
+	}
+
+	// 가장 먼저 만료되는(오래된) 토큰부터 폐기
+	private void trim(String memberKey, long excess) {
+		Set<String> oldest = redisTemplate.opsForZSet().range(memberKey, 0, excess - 1);
+		if (oldest == null || oldest.isEmpty()) {
+			return;
+		}
+		List<String> keys = new ArrayList<>(oldest.size());
+		oldest.forEach(hash -> keys.add(TOKEN_KEY + hash));
+		redisTemplate.delete(keys);
+		redisTemplate.opsForZSet().remove(memberKey, oldest.toArray());
+		log.debug("최대 로그인 수 초과로 리프레시 토큰 {}개 폐기 : {}", oldest.size(), memberKey);
+	}
+
+	static String hash(String refreshToken) {
+		return Hashing.sha256().hashString(refreshToken, StandardCharsets.UTF_8).toString();
+	}
+}
@@ -0,0 +1,61 @@
+package com.kh.back.service.auth;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Redis 인증번호 저장소
+ * - 인증번호: verify:code:* 문자열, SET EX 로 TTL
+ * - 요청 제한: Sorted Set(score = 요청 시각), 오래된 기록 삭제 → 개수 확인 → 기록을 Lua 스크립트 하나로 처리
+ *   (서버 여러 대에서 동시에 요청해도 limit을 넘지 않음)
+ */
+public class RedisVerificationCodeStore implements VerificationCodeStore {
+	private static final RedisScript<Long> SLIDING_WINDOW = new DefaultRedisScript<>(
+			"redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[2])) " +
+			"if redis.call('ZCARD', KEYS[1]) < tonumber(ARGV[3]) then " +
+			"  redis.call('ZADD', KEYS[1], ARGV[1], ARGV[4]) " +
+			"  redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+			"  return 1 " +
+			"end " +
+			"return 0", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+
+	public RedisVerificationCodeStore(StringRedisTemplate redisTemplate) {
+		this.redisTemplate = redisTemplate;
+	}
+
+	@Override
+	public void saveCode(String key, String code, Duration ttl) {
+		redisTemplate.opsForValue().set(key, code, ttl);
+	}
+
+	@Override
+	public String findCode(String key) {
+		return redisTemplate.opsForValue().get(key);
+	}
+
+	@Override
+	public void removeCode(String key) {
+		redisTemplate.delete(key);
+	}
+
+	@Override
+	public boolean tryAcquire(String key, int limit, Duration window) {
+		long now = System.currentTimeMillis();
+		Long acquired = redisTemplate.execute(SLIDING_WINDOW, Collections.singletonList(key),
+				String.valueOf(now), String.valueOf(window.toMillis()), String.valueOf(limit),
+				now + ":" + UUID.randomUUID()); // 같은 시각의 요청도 따로 기록
+		return acquired != null && acquired == 1L;
+	}
+
+	@Override
+	public void resetLimit(String key) {
+		redisTemplate.delete(key);
+	}
+}
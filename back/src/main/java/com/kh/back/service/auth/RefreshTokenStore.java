@@ -0,0 +1,20 @@
+package com.kh.back.service.auth;
+
+import com.kh.back.entity.member.Member;
+
+/**
+ * 리프레시 토큰 저장소 (AuthConfig에서 auth.refresh-token.store 값으로 선택)
+ * - jpa(기본): refresh_token 테이블, 회원당 토큰 1개 (JpaRefreshTokenStore)
+ * - redis: 토큰 해시 키 + TTL, 회원별 토큰 목록으로 여러 기기 로그인 (RedisRefreshTokenStore)
+ */
+public interface RefreshTokenStore {
+
+	// 로그인 시 발급한 리프레시 토큰 저장 (expiresAt: 만료 시각, epoch ms)
+	void save(Member member, String refreshToken, long expiresAt);
+
+	// 저장된(폐기되지 않은) 토큰인지 확인, 서명/만료 검증은 TokenProvider
+	boolean exists(String refreshToken);
+
+	// 회원의 리프레시 토큰 전부 폐기 (회원 탈퇴 등)
+	void revokeAll(Member member);
+}
@@ -0,0 +1,151 @@
+package com.kh.back.service.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * SMS/이메일 인증번호 발급과 확인 (SmsService, EmailService 공용)
+ * - 인증번호는 VerificationCodeStore에 TTL(auth.verification.ttl-seconds)로 저장 → DB 조회/삭제/저장 없음
+ * - 발송 요청 제한: 받는 사람별 + 요청 IP별 슬라이딩 윈도우
+ * - 확인 시도 제한: 받는 사람별(인증번호 유효 시간 동안) + 요청 IP별, 초과하면 인증번호를 폐기해서 대입 공격 차단
+ *   받는 사람별 시도 횟수는 새 인증번호를 발급하면 다시 셈 (발급 횟수는 발송 요청 제한으로 묶임)
+ * - 발송은 NotificationDispatcher outbox에 넣기만 함 → HTTP 응답이 문자/메일 업체 응답을 기다리지 않음
+ *   (outbox 저장에 실패하면 저장한 인증번호를 지우고 FAILED)
+ */
+@Slf4j
+@Service
+public class VerificationCodeService {
+	private static final String KEY_PREFIX = "verify:";
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	public enum Channel { SMS, EMAIL }
+
+	public enum IssueResult { SENT, EXCEED_LIMIT, FAILED }
+
+	public enum VerifyResult { VALID, MISMATCH, NOT_FOUND, EXCEED_LIMIT }
+
+	private final VerificationCodeStore store;
+	private final MeterRegistry meterRegistry;
+	private final Duration ttl;
+	private final int sendLimit;
+	private final Duration sendWindow;
+	private final int ipSendLimit;
+	private final int attemptLimit;
+	private final int ipAttemptLimit;
+	private final Duration ipWindow;
+
+	public VerificationCodeService(VerificationCodeStore store,
+								   MeterRegistry meterRegistry,
+								   @Value("${auth.verification.ttl-seconds:300}") long ttlSeconds,
+								   @Value("${auth.verification.send-limit:5}") int sendLimit,
+								   @Value("${auth.verification.send-window-minutes:300}") long sendWindowMinutes,
+								   @Value("${auth.verification.ip-send-limit:30}") int ipSendLimit,
+								   @Value("${auth.verification.attempt-limit:5}") int attemptLimit,
+								   @Value("${auth.verification.ip-attempt-limit:60}") int ipAttemptLimit,
+								   @Value("${auth.verification.ip-window-minutes:60}") long ipWindowMinutes) {
+		this.store = store;
+		this.meterRegistry = meterRegistry;
+		this.ttl = Duration.ofSeconds(ttlSeconds);
+		this.sendLimit = sendLimit;
+		this.sendWindow = Duration.ofMinutes(sendWindowMinutes);
+		this.ipSendLimit = ipSendLimit;
+		this.attemptLimit = attemptLimit;
+		this.ipAttemptLimit = ipAttemptLimit;
+		this.ipWindow = Duration.ofMinutes(ipWindowMinutes);
+	}
+
+	/**
+	 * 인증번호 발급 → 저장 → 발송 예약
+	 * @param send 인증번호와 유효 시간(TTL)을 받아 발송을 예약하는 작업 (NotificationDispatcher.enqueue*)
+	 *             유효 시간이 지나도록 보내지 못한 알림은 outbox에서 보내지 않고 폐기됨
+	 */
+	public IssueResult issue(Channel channel, String target, BiConsumer<String, Duration> send) {
+		String ip = clientIp();
+		if (!store.tryAcquire(key("send:", channel, target), sendLimit, sendWindow)
+				|| !store.tryAcquire(KEY_PREFIX + "send-ip:" + ip, ipSendLimit, ipWindow)) {
+			log.warn("인증번호 발송 요청 초과 : {} {} (ip={})", channel, target, ip);
+			count("exceed_limit", channel);
+			return IssueResult.EXCEED_LIMIT;
+		}
+		String code = generateSixDigitCode();
+		String codeKey = key("code:", channel, target);
+		store.saveCode(codeKey, code, ttl);
+		store.resetLimit(key("attempt:", channel, target)); // 이전 인증번호에서 초과한 시도 횟수가 새 인증번호를 막지 않도록
+		try {
+			send.accept(code, ttl);
+		} catch (Exception e) {
+			log.error("인증번호 발송 예약 실패 : {} {} - {}", channel, target, e.getMessage());
+			store.removeCode(codeKey);
+			count("failed", channel);
+			return IssueResult.FAILED;
+		}
+		count("queued", channel);
+		return IssueResult.SENT;
+	}
+
+	/**
+	 * 인증번호 확인
+	 * @param consume 일치하면 인증번호를 바로 폐기 (한 번만 사용)
+	 */
+	public VerifyResult verify(Channel channel, String target, String inputCode, boolean consume) {
+		String codeKey = key("code:", channel, target);
+		String ip = clientIp();
+		if (!store.tryAcquire(key("attempt:", channel, target), attemptLimit, ttl)
+				|| !store.tryAcquire(KEY_PREFIX + "attempt-ip:" + ip, ipAttemptLimit, ipWindow)) {
+			store.removeCode(codeKey); // 대입 시도로 보고 인증번호 폐기 → 다시 발급받아야 함
+			log.warn("인증번호 확인 시도 초과 : {} {} (ip={})", channel, target, ip);
+			return VerifyResult.EXCEED_LIMIT;
+		}
+		String code = store.findCode(codeKey);
+		if (code == null) {
+			return VerifyResult.NOT_FOUND;
+		}
+		if (inputCode == null || !MessageDigest.isEqual(
+				code.getBytes(StandardCharsets.UTF_8), inputCode.getBytes(StandardCharsets.UTF_8))) {
+			return VerifyResult.MISMATCH;
+		}
+		if (consume) {
+			store.removeCode(codeKey);
+		}
+		return VerifyResult.VALID;
+	}
+
+	private String key(String type, Channel channel, String target) {
+		return KEY_PREFIX + type + channel.name().toLowerCase() + ":" + target;
+	}
+
+	private void count(String result, Channel channel) {
+		meterRegistry.counter("auth.verification", "result", result, "channel", channel.name().toLowerCase()).increment();
+	}
+
+	// 6자리 인증번호 (100000 ~ 999999)
+	private static String generateSixDigitCode() {
+		return String.valueOf(100000 + RANDOM.nextInt(900000));
+	}
+
+	/*
+	 * 요청 IP, 요청 밖이면 unknown
+	 * - X-Forwarded-For를 직접 읽으면 요청마다 값을 바꿔서 IP별 제한을 피할 수 있으므로 getRemoteAddr()만 사용
+	 * - 프록시 뒤에서는 server.forward-headers-strategy=native(BackApplication 기본값)로 Tomcat이 믿을 수 있는 프록시의 헤더만 반영
+	 */
+	private static String clientIp() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (!(attributes instanceof ServletRequestAttributes)) {
+			return "unknown";
+		}
+		HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+		return request.getRemoteAddr();
+	}
+}
@@ -0,0 +1,28 @@
+package com.kh.back.service.auth;
+
+import java.time.Duration;
+
+/**
+ * SMS/이메일 인증번호와 요청 횟수 저장소 (AuthConfig에서 auth.verification.store 값으로 선택)
+ * - redis(기본): 서버 여러 대가 공유 (RedisVerificationCodeStore)
+ * - memory: 서버 한 대, 로컬/테스트용 (InMemoryVerificationCodeStore)
+ * 인증번호는 TTL이 지나면 저장소에서 사라지므로 만료 확인/삭제를 따로 하지 않음
+ */
+public interface VerificationCodeStore {
+
+	void saveCode(String key, String code, Duration ttl);
+
+	// 없거나 만료됐으면 null
+	String findCode(String key);
+
+	void removeCode(String key);
+
+	/**
+	 * 슬라이딩 윈도우 요청 제한 (확인과 기록을 한 번에 처리)
+	 * @return 최근 window 동안 기록이 limit 개 미만이면 이번 요청을 기록하고 true, 아니면 기록하지 않고 false
+	 */
+	boolean tryAcquire(String key, int limit, Duration window);
+
+	// 요청 기록 초기화 (새 인증번호를 발급하면 이전 인증번호의 확인 시도 횟수는 다시 셈)
+	void resetLimit(String key);
+}
@@ -0,0 +1,319 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방 메시지 브로드캐스트
+ * - 메시지는 한 번만 JSON으로 직렬화해서 같은 TextMessage를 모든 세션에 보냄
+ * - 세션마다 크기가 정해진 전송 큐를 두고, 전송은 chatBroadcastExecutor 스레드가 세션별로 순서대로 처리
+ *   → 느린 클라이언트 하나가 방 전체(웹소켓 핸들러 스레드)를 막지 않음, 한 세션에 동시에 sendMessage 하지 않음
+ * - compact 형식 세션(ChatWireCodec)이 있으면 바이너리도 방송마다 한 번만 인코딩
+ * - 큐가 가득 찬 세션(느린 소비자)은 overflow-policy에 따라 새 메시지를 버리거나(DROP) 연결을 끊음(DISCONNECT)
+ * - 전송 중 오류가 난 세션은 더 보낼 수 없는 것으로 보고 큐를 정리한 뒤 연결을 끊음
+ *   → 세션 종료 처리(afterConnectionClosed, 오지 않으면 ChatHeartbeat의 닫힌 세션 정리)에서 방 인원/구독도 함께 정리됨
+ * - sendMessage 하나가 send-time-limit-ms 를 넘기면(TCP 버퍼가 찬 클라이언트) 연결을 끊어서 전송 스레드를 돌려받음
+ *   다음 enqueue 또는 check-interval-ms 마다 확인 (ConcurrentWebSocketSessionDecorator의 sendTimeLimit과 같은 방식)
+ * - 한 번에 drain-batch 개까지만 보내고 풀에 다시 넣음 → 메시지가 많은 세션이 전송 스레드를 독차지하지 않음
+ * - 전송 풀 대기열이 가득 차서 작업을 넣지 못한 세션은 다음 enqueue 또는 check-interval-ms 에 다시 넣음
+ * - 메트릭: chat.broadcast.fanout(직렬화+큐 적재 시간), chat.broadcast.delivery(적재~전송 완료),
+ *   chat.broadcast.dropped, chat.broadcast.rejected, chat.broadcast.disconnected(reason=overflow|send_failed|send_timeout)
+ */
+@Slf4j
+@Component
+public class ChatBroadcaster {
+	public enum OverflowPolicy {
+		DROP, DISCONNECT
+	}
+
+	private final ObjectMapper objectMapper;
+	private final ChatWireCodec chatWireCodec;
+	private final Executor executor;
+	private final int queueCapacity;
+	private final OverflowPolicy overflowPolicy;
+	private final long sendTimeLimitNanos;
+	private final int drainBatch;
+	private final Map<String, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+	private final Timer fanoutTimer;
+	private final Timer deliveryTimer;
+	private final Counter droppedCounter;
+	private final Counter rejectedCounter;
+	private final Counter disconnectedCounter;
+	private final Counter sendFailedCounter;
+	private final Counter sendTimeoutCounter;
+
+	public ChatBroadcaster(ObjectMapper objectMapper,
+						   ChatWireCodec chatWireCodec,
+						   @Qualifier("chatBroadcastExecutor") Executor executor,
+						   MeterRegistry meterRegistry,
+						   @Value("${chat.broadcast.queue-capacity:256}") int queueCapacity,
+						   @Value("${chat.broadcast.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+						   @Value("${chat.broadcast.send-time-limit-ms:10000}") long sendTimeLimitMillis,
+						   @Value("${chat.broadcast.drain-batch:32}") int drainBatch) {
+		this.objectMapper = objectMapper;
+		this.chatWireCodec = chatWireCodec;
+		this.executor = executor;
+		this.queueCapacity = queueCapacity;
+		this.overflowPolicy = overflowPolicy;
+		this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+		this.drainBatch = drainBatch;
+		// 방 id를 태그로 쓰면 방마다 시계열이 생기므로 태그 없이 하나로 기록
+		this.fanoutTimer = Timer.builder("chat.broadcast.fanout")
+				.description("방 단위 브로드캐스트(직렬화 + 세션 큐 적재)에 걸린 시간")
+				.register(meterRegistry);
+		this.deliveryTimer = Timer.builder("chat.broadcast.delivery")
+				.description("메시지를 세션 큐에 넣은 뒤 실제 전송이 끝날 때까지 걸린 시간")
+				.register(meterRegistry);
+		this.droppedCounter = Counter.builder("chat.broadcast.dropped")
+				.description("전송 큐가 가득 차서 버린 메시지 수")
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("chat.broadcast.rejected")
+				.description("전송 풀 대기열이 가득 차서 다음 확인으로 미룬 세션 전송 작업 수")
+				.register(meterRegistry);
+		this.disconnectedCounter = Counter.builder("chat.broadcast.disconnected")
+				.description("전송 큐가 가득 차서 연결을 끊은 세션 수")
+				.tag("reason", "overflow")
+				.register(meterRegistry);
+		this.sendFailedCounter = Counter.builder("chat.broadcast.disconnected")
+				.description("전송 중 오류가 나서 연결을 끊은 세션 수")
+				.tag("reason", "send_failed")
+				.register(meterRegistry);
+		this.sendTimeoutCounter = Counter.builder("chat.broadcast.disconnected")
+				.description("메시지 하나를 보내는 데 send-time-limit-ms 를 넘겨서 연결을 끊은 세션 수")
+				.tag("reason", "send_timeout")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 방의 모든 세션에 메시지 전송 (큐에 넣고 바로 반환)
+	 * @return 직렬화에 실패하면 false
+	 */
+	public boolean broadcast(String roomId, Collection<WebSocketSession> sessions, Object msg) {
+		long start = System.nanoTime();
+		String payload;
+		try {
+			payload = objectMapper.writeValueAsString(msg);
+		} catch (IOException e) {
+			log.error("메시지 직렬화 실패 (roomId={}) : {}", roomId, e.getMessage());
+			return false;
+		}
+		deliver(roomId, sessions, new TextMessage(payload), () -> chatWireCodec.encode(msg), start);
+		return true;
+	}
+
+	// 이미 직렬화된 메시지(JSON)를 방의 모든 세션에 전송 (다른 노드에서 Redis로 전달받은 메시지 등)
+	public void broadcastPayload(String roomId, Collection<WebSocketSession> sessions, String payload) {
+		deliver(roomId, sessions, new TextMessage(payload), () -> chatWireCodec.encodeJson(payload), System.nanoTime());
+	}
+
+	// JSON 세션에는 같은 TextMessage, compact 세션에는 처음 필요할 때 한 번 인코딩한 바이너리 전송
+	private void deliver(String roomId, Collection<WebSocketSession> sessions, TextMessage message,
+						 Supplier<ChatWireCodec.Encoded> compact, long start) {
+		ChatWireCodec.Encoded encoded = null;
+		boolean encodeTried = false;
+		for (WebSocketSession session : sessions) {
+			ChatWireCodec.SessionState wire = ChatWireCodec.state(session);
+			if (wire != null) {
+				if (!encodeTried) {
+					encoded = compact.get();
+					encodeTried = true;
+				}
+				if (encoded != null) {
+					sendCompact(session, wire, encoded);
+					continue;
+				}
+			}
+			send(session, message);
+		}
+		fanoutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	// 세션이 모르는 intern 문자열 DEFINE 프레임을 메시지 바로 앞에 넣음 (DEFINE을 못 넣었으면 메시지도 보내지 않음)
+	private void sendCompact(WebSocketSession session, ChatWireCodec.SessionState wire, ChatWireCodec.Encoded encoded) {
+		synchronized (wire) {
+			BinaryMessage definitions = chatWireCodec.definitions(wire, encoded);
+			if (definitions != null && !send(session, definitions)) {
+				chatWireCodec.forget(wire, encoded);
+				return;
+			}
+			send(session, encoded.toMessage());
+		}
+	}
+
+	// 세션 하나에 전송 (큐에 넣고 바로 반환), ping 등 다른 메시지도 같은 큐로 보내서 동시에 전송하지 않도록 함
+	public boolean send(WebSocketSession session, WebSocketMessage<?> message) {
+		if (!session.isOpen()) {
+			return false;
+		}
+		SessionOutbox outbox = outboxes.computeIfAbsent(session.getId(), id -> new SessionOutbox(session));
+		return outbox.enqueue(message);
+	}
+
+	// 연결이 끊긴 세션의 큐 정리
+	public void unregister(WebSocketSession session) {
+		outboxes.remove(session.getId());
+	}
+
+	// 전송 시간 초과 세션 정리 + 풀이 가득 차서 전송 작업을 넣지 못한 세션 다시 넣기 (새 메시지가 오지 않는 세션 대비)
+	@Scheduled(fixedDelayString = "${chat.broadcast.check-interval-ms:1000}")
+	public void checkOutboxes() {
+		long now = System.nanoTime();
+		for (SessionOutbox outbox : outboxes.values()) {
+			if (!outbox.disconnectIfSendTimedOut(now)) {
+				outbox.resumeIfStalled();
+			}
+		}
+	}
+
+	// 세션별 전송 큐, 동시에 하나의 스레드만 비우도록 draining 플래그 사용
+	private final class SessionOutbox {
+		private final WebSocketSession session;
+		private final BlockingQueue<Outgoing> queue = new ArrayBlockingQueue<>(queueCapacity);
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private final AtomicBoolean closed = new AtomicBoolean();
+		private volatile long sendStartedAt; // 진행 중인 sendMessage 시작 시각(nanoTime), 보내는 중이 아니면 0
+
+		private SessionOutbox(WebSocketSession session) {
+			this.session = session;
+		}
+
+		private boolean enqueue(WebSocketMessage<?> message) {
+			if (disconnectIfSendTimedOut(System.nanoTime())) {
+				return false;
+			}
+			if (!queue.offer(new Outgoing(message, System.nanoTime()))) {
+				handleOverflow();
+				return false;
+			}
+			scheduleDrain();
+			return true;
+		}
+
+		private void scheduleDrain() {
+			if (draining.compareAndSet(false, true)) {
+				try {
+					executor.execute(this::drain);
+				} catch (RejectedExecutionException e) {
+					draining.set(false); // 다음 enqueue 또는 checkOutboxes 에서 다시 넣음
+					rejectedCounter.increment();
+					log.debug("전송 풀 대기열 초과, 다음 확인 때 전송 (session={})", session.getId());
+				}
+			}
+		}
+
+		// drain-batch 개까지만 보내고 남은 메시지는 풀에 다시 넣어서 다른 세션과 번갈아 보냄
+		private void drain() {
+			try {
+				Outgoing outgoing;
+				int sent = 0;
+				while (sent < drainBatch && (outgoing = queue.poll()) != null) {
+					if (!session.isOpen()) {
+						queue.clear();
+						unregister(session);
+						return;
+					}
+					sendStartedAt = System.nanoTime();
+					session.sendMessage(outgoing.message);
+					sendStartedAt = 0;
+					deliveryTimer.record(System.nanoTime() - outgoing.enqueuedAt, TimeUnit.NANOSECONDS);
+					sent++;
+				}
+			} catch (IOException | RuntimeException e) {
+				sendStartedAt = 0;
+				if (disconnect(CloseStatus.SERVER_ERROR)) { // 시간 초과로 이미 끊은 세션이면 다시 세지 않음
+					log.error("메시지 전송 실패로 연결 종료 (session={}) : {}", session.getId(), e.getMessage());
+					sendFailedCounter.increment();
+				}
+				return;
+			} finally {
+				draining.set(false);
+			}
+			// 남은 메시지, 플래그를 내리는 사이에 들어온 메시지 처리
+			if (!queue.isEmpty()) {
+				scheduleDrain();
+			}
+		}
+
+		// 보내는 중인 메시지 하나가 send-time-limit-ms 를 넘겼으면 연결 종료 → 막혀 있던 sendMessage가 예외로 풀림
+		private boolean disconnectIfSendTimedOut(long now) {
+			long started = sendStartedAt;
+			if (started == 0 || now - started <= sendTimeLimitNanos) {
+				return false;
+			}
+			if (disconnect(CloseStatus.SESSION_NOT_RELIABLE)) {
+				log.warn("메시지 전송 시간 초과로 연결 종료 (session={}, {}ms)", session.getId(),
+						TimeUnit.NANOSECONDS.toMillis(now - started));
+				sendTimeoutCounter.increment();
+			}
+			return true;
+		}
+
+		// 풀이 가득 차서 전송 작업을 넣지 못한 채 남은 메시지가 있으면 다시 넣음
+		private void resumeIfStalled() {
+			if (!draining.get() && !queue.isEmpty()) {
+				scheduleDrain();
+			}
+		}
+
+		private void handleOverflow() {
+			if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+				if (disconnect(CloseStatus.SESSION_NOT_RELIABLE)) {
+					log.warn("전송 큐 초과로 연결 종료 (session={}, capacity={})", session.getId(), queueCapacity);
+					disconnectedCounter.increment();
+				}
+			} else {
+				log.debug("전송 큐 초과로 메시지 버림 (session={})", session.getId());
+				droppedCounter.increment();
+			}
+		}
+
+		// 남은 메시지를 버리고 연결 종료 (한 번만), 닫은 뒤에 큐를 제거해야 그 사이 send()가 새 큐를 만들지 않음
+		private boolean disconnect(CloseStatus status) {
+			if (!closed.compareAndSet(false, true)) {
+				return false;
+			}
+			queue.clear();
+			try {
+				session.close(status);
+			} catch (IOException | RuntimeException e) {
+				log.warn("세션 종료 실패 (session={}) : {}", session.getId(), e.getMessage());
+			}
+			unregister(session);
+			return true;
+		}
+	}
+
+	private static final class Outgoing {
+		private final WebSocketMessage<?> message;
+		private final long enqueuedAt;
+
+		private Outgoing(WebSocketMessage<?> message, long enqueuedAt) {
+			this.message = message;
+			this.enqueuedAt = enqueuedAt;
+		}
+	}
+}
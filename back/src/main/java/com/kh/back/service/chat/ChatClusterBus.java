@@ -0,0 +1,214 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 여러 백엔드 노드 간 채팅 메시지 전달 (Redis pub/sub)
+ * - chat.cluster.enabled=true 일 때만 Redis를 거치고, false면 이 노드의 세션에만 바로 전송 (단일 서버 구성)
+ * - 메시지는 한 번 직렬화해서 방 채널(chat:room:{roomId})에 한 번만 publish
+ *   → 그 방에 접속한 세션이 있는 노드만 채널을 구독하고 있다가 자기 세션에 전달 (보낸 노드 자신도 구독을 통해 전달)
+ * - 방 생성/삭제는 chat:rooms 채널로 알려서 다른 노드의 채팅방 목록(ChatService.chatRooms)에도 반영
+ * - 방 채널 구독은 이 노드의 방 세션 수로 참조 카운트 (joinRoom +1, leaveRoom -1, 0이 되면 해제)
+ *   같은 방의 구독/해제는 ConcurrentHashMap.compute 안에서만 바꿔서, 퇴장과 동시에 들어온 세션의 구독이 사라지지 않음
+ * - 구독 등록은 비동기라서 joinRoom은 방 채널에 보낸 확인 메시지(probe)가 돌아올 때까지(최대 subscribe-timeout-ms) 기다림
+ *   → 입장 직후 publish된 메시지도 받음
+ */
+@Slf4j
+@Component
+public class ChatClusterBus {
+	public static final String ROOM_CREATED = "CREATED";
+	public static final String ROOM_REMOVED = "REMOVED";
+	private static final String ROOM_CHANNEL_PREFIX = "chat:room:";
+	private static final ChannelTopic ROOM_EVENT_TOPIC = new ChannelTopic("chat:rooms");
+	private static final String PROBE_PREFIX = "\u0000probe:"; // 구독 확인 메시지 (채팅 메시지는 JSON이라 겹치지 않음)
+	private static final long PROBE_INTERVAL_MILLIS = 50;
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final ObjectMapper objectMapper;
+	private final ChatBroadcaster chatBroadcaster;
+	private final boolean enabled;
+	private final String nodeId = UUID.randomUUID().toString(); // 자기 노드가 보낸 방 이벤트는 무시하기 위한 ID
+	private final long subscribeTimeoutMillis;
+	private final Map<String, RoomSubscription> roomSubscriptions = new ConcurrentHashMap<>();
+	private volatile BiConsumer<String, String> roomEventHandler = (event, roomId) -> { };
+
+	public ChatClusterBus(RedisTemplate<String, Object> redisTemplate,
+						  RedisMessageListenerContainer listenerContainer,
+						  ObjectMapper objectMapper,
+						  ChatBroadcaster chatBroadcaster,
+						  @Value("${chat.cluster.enabled:false}") boolean enabled,
+						  @Value("${chat.cluster.subscribe-timeout-ms:2000}") long subscribeTimeoutMillis) {
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.objectMapper = objectMapper;
+		this.chatBroadcaster = chatBroadcaster;
+		this.enabled = enabled;
+		this.subscribeTimeoutMillis = subscribeTimeoutMillis;
+	}
+
+	@PostConstruct
+	private void subscribeRoomEvents() {
+		if (!enabled) return;
+		listenerContainer.addMessageListener((message, pattern) -> {
+			try {
+				JsonNode event = objectMapper.readTree(message.getBody());
+				if (nodeId.equals(event.path("node").asText())) return;
+				roomEventHandler.accept(event.path("event").asText(), event.path("roomId").asText());
+			} catch (Exception e) {
+				log.error("채팅방 이벤트 처리 실패 : {}", e.getMessage());
+			}
+		}, ROOM_EVENT_TOPIC);
+		log.info("채팅 클러스터 모드 사용 (nodeId={})", nodeId);
+	}
+
+	// 다른 노드에서 방이 생성/삭제되었을 때 호출할 핸들러 등록 (ChatService)
+	public void onRoomEvent(BiConsumer<String, String> handler) {
+		this.roomEventHandler = handler;
+	}
+
+	/**
+	 * 방에 메시지 전송
+	 * @param localSessions 이 노드에 접속한 방 세션 (클러스터 모드가 아니거나 Redis 전송 실패 시 직접 전송)
+	 */
+	public void publish(String roomId, Collection<WebSocketSession> localSessions, Object msg) {
+		if (!enabled) {
+			chatBroadcaster.broadcast(roomId, localSessions, msg);
+			return;
+		}
+		String payload;
+		try {
+			payload = objectMapper.writeValueAsString(msg);
+		} catch (JsonProcessingException e) {
+			log.error("메시지 직렬화 실패 (roomId={}) : {}", roomId, e.getMessage());
+			return;
+		}
+		try {
+			redisTemplate.convertAndSend(ROOM_CHANNEL_PREFIX + roomId, payload);
+		} catch (Exception e) {
+			// Redis 장애 시에는 최소한 같은 노드의 사용자에게는 전달
+			log.error("채팅 메시지 publish 실패, 로컬 세션에만 전송 (roomId={}) : {}", roomId, e.getMessage());
+			chatBroadcaster.broadcastPayload(roomId, localSessions, payload);
+		}
+	}
+
+	/**
+	 * 이 노드의 방 세션 하나 입장 (첫 세션이면 방 채널 구독)
+	 * 구독이 실제로 등록될 때까지 기다린 뒤 반환, 시간 안에 확인되지 않으면 경고만 남기고 진행 (이후 도착 메시지부터 전달)
+	 */
+	public void joinRoom(String roomId, Collection<WebSocketSession> localSessions) {
+		if (!enabled) return;
+		RoomSubscription subscription = roomSubscriptions.compute(roomId, (id, current) -> {
+			if (current == null) {
+				current = new RoomSubscription(id, localSessions);
+				listenerContainer.addMessageListener(current.listener, current.topic);
+				log.debug("채팅방 채널 구독 (roomId={})", id);
+			}
+			current.sessions++;
+			return current;
+		});
+		awaitSubscribed(subscription);
+	}
+
+	// 이 노드의 방 세션 하나 퇴장 (마지막 세션이면 구독 해제)
+	public void leaveRoom(String roomId) {
+		if (!enabled) return;
+		roomSubscriptions.computeIfPresent(roomId, (id, current) -> {
+			if (--current.sessions > 0) {
+				return current;
+			}
+			unsubscribe(current);
+			return null;
+		});
+	}
+
+	// 방 삭제 시 남은 세션 수와 관계없이 구독 해제
+	public void unsubscribeRoom(String roomId) {
+		if (!enabled) return;
+		roomSubscriptions.computeIfPresent(roomId, (id, current) -> {
+			unsubscribe(current);
+			return null;
+		});
+	}
+
+	private void unsubscribe(RoomSubscription subscription) {
+		listenerContainer.removeMessageListener(subscription.listener, subscription.topic);
+		log.debug("채팅방 채널 구독 해제 (roomId={})", subscription.roomId);
+	}
+
+	// 확인 메시지를 반복 publish 해서 자기 구독으로 돌아오는지 확인 (구독 전에 보낸 메시지는 사라지므로)
+	private void awaitSubscribed(RoomSubscription subscription) {
+		if (subscription.ready.getCount() == 0) return;
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(subscribeTimeoutMillis);
+		try {
+			while (System.nanoTime() < deadline) {
+				redisTemplate.convertAndSend(subscription.topic.getTopic(), subscription.probe);
+				if (subscription.ready.await(PROBE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+			}
+			log.warn("채팅방 채널 구독 확인 시간 초과 (roomId={})", subscription.roomId);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			log.error("채팅방 채널 구독 확인 실패 (roomId={}) : {}", subscription.roomId, e.getMessage());
+		}
+	}
+
+	// 방 생성/삭제를 다른 노드에 알림
+	public void publishRoomEvent(String event, String roomId) {
+		if (!enabled) return;
+		try {
+			String payload = objectMapper.writeValueAsString(Map.of("event", event, "roomId", roomId, "node", nodeId));
+			redisTemplate.convertAndSend(ROOM_EVENT_TOPIC.getTopic(), payload);
+		} catch (IOException | RuntimeException e) {
+			log.error("채팅방 이벤트 publish 실패 ({}, roomId={}) : {}", event, roomId, e.getMessage());
+		}
+	}
+
+	// 방 채널 구독 하나 (sessions는 roomSubscriptions.compute 안에서만 변경)
+	private final class RoomSubscription {
+		private final String roomId;
+		private final ChannelTopic topic;
+		private final String probe = PROBE_PREFIX + UUID.randomUUID();
+		private final CountDownLatch ready = new CountDownLatch(1);
+		private final MessageListener listener;
+		private int sessions;
+
+		private RoomSubscription(String roomId, Collection<WebSocketSession> localSessions) {
+			this.roomId = roomId;
+			this.topic = new ChannelTopic(ROOM_CHANNEL_PREFIX + roomId);
+			this.listener = (message, pattern) -> {
+				String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+				if (payload.startsWith(PROBE_PREFIX)) {
+					if (payload.equals(probe)) {
+						ready.countDown();
+					}
+					return; // 다른 노드의 확인 메시지 포함, 세션에는 보내지 않음
+				}
+				chatBroadcaster.broadcastPayload(roomId, localSessions, payload);
+			};
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.kh.back.service.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 웹소켓 세션 heartbeat
+ * - chat.heartbeat.interval-ms 마다 모든 세션에 ping 전송 (브라우저는 pong으로 자동 응답)
+ * - 메시지나 pong을 idle-timeout-ms 동안 받지 못한 세션은 끊긴 연결로 보고 퇴장 처리 후 종료
+ *   → afterConnectionClosed가 늦게 오거나 오지 않는 경우에도 방 인원/참여 정보에 남지 않음
+ * - ping도 ChatBroadcaster 세션 큐로 보내서 다른 메시지 전송과 겹치지 않음
+ */
+@Slf4j
+@Component
+public class ChatHeartbeat {
+	private final ChatBroadcaster chatBroadcaster;
+	private final long idleTimeoutMillis;
+	private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+	private final Counter evictedCounter;
+	private volatile Consumer<WebSocketSession> evictionHandler = session -> { };
+
+	public ChatHeartbeat(ChatBroadcaster chatBroadcaster,
+						 MeterRegistry meterRegistry,
+						 @Value("${chat.heartbeat.idle-timeout-ms:60000}") long idleTimeoutMillis) {
+		this.chatBroadcaster = chatBroadcaster;
+		this.idleTimeoutMillis = idleTimeoutMillis;
+		Gauge.builder("chat.sessions.active", sessions, Map::size)
+				.description("연결 중인 채팅 웹소켓 세션 수")
+				.register(meterRegistry);
+		this.evictedCounter = Counter.builder("chat.heartbeat.evicted")
+				.description("응답이 없어 종료한 채팅 세션 수")
+				.register(meterRegistry);
+	}
+
+	// 응답 없는 세션을 종료하기 전에 호출할 퇴장 처리 등록 (WebSocketHandler)
+	public void onEvict(Consumer<WebSocketSession> handler) {
+		this.evictionHandler = handler;
+	}
+
+	public void register(WebSocketSession session) {
+		sessions.put(session.getId(), new TrackedSession(session));
+	}
+
+	// 메시지나 pong을 받았을 때 호출
+	public void touch(WebSocketSession session) {
+		TrackedSession tracked = sessions.get(session.getId());
+		if (tracked != null) {
+			tracked.lastSeen = System.currentTimeMillis();
+		}
+	}
+
+	public void unregister(WebSocketSession session) {
+		sessions.remove(session.getId());
+	}
+
+	@Scheduled(fixedDelayString = "${chat.heartbeat.interval-ms:25000}",
+			initialDelayString = "${chat.heartbeat.interval-ms:25000}")
+	public void sweep() {
+		long now = System.currentTimeMillis();
+		for (TrackedSession tracked : sessions.values()) {
+			if (!tracked.session.isOpen() || now - tracked.lastSeen > idleTimeoutMillis) {
+				evict(tracked);
+			} else {
+				chatBroadcaster.send(tracked.session, new PingMessage());
+			}
+		}
+	}
+
+	private void evict(TrackedSession tracked) {
+		WebSocketSession session = tracked.session;
+		if (sessions.remove(session.getId()) == null) {
+			return;
+		}
+		evictedCounter.increment();
+		log.info("응답 없는 채팅 세션 종료 (session={}, 마지막 응답 {}ms 전)", session.getId(),
+				System.currentTimeMillis() - tracked.lastSeen);
+		try {
+			evictionHandler.accept(session);
+		} catch (RuntimeException e) {
+			log.error("응답 없는 세션 퇴장 처리 실패 (session={}) : {}", session.getId(), e.getMessage());
+		}
+		try {
+			session.close(CloseStatus.SESSION_NOT_RELIABLE);
+		} catch (IOException e) {
+			log.debug("응답 없는 세션 종료 실패 (session={}) : {}", session.getId(), e.getMessage());
+		}
+	}
+
+	private static final class TrackedSession {
+		private final WebSocketSession session;
+		private volatile long lastSeen = System.currentTimeMillis();
+
+		private TrackedSession(WebSocketSession session) {
+			this.session = session;
+		}
+	}
+}
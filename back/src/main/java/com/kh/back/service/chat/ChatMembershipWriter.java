@@ -0,0 +1,100 @@
+package com.kh.back.service.chat;
+
+import com.kh.back.entity.chat.ChatMember;
+import com.kh.back.repository.chat.ChatMemberRepository;
+import com.kh.back.repository.chat.ChatRoomRepository;
+import com.kh.back.repository.member.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 채팅방 참여 정보(ChatMember) DB 반영을 비동기로 처리
+ * - 입장/퇴장 처리 스레드는 바뀐 상태만 기록하고 바로 반환, 저장은 chatMembershipExecutor(스레드 1개)가 순서대로 처리
+ * - 같은 회원·방의 변경이 저장 전에 여러 번 들어오면 마지막 상태만 저장 (재접속이 몰릴 때 입장/퇴장 쓰기를 합침)
+ * - 방 삭제도 같은 스레드에서 처리해서 참여 정보 변경보다 먼저 실행되지 않도록 함
+ */
+@Slf4j
+@Component
+public class ChatMembershipWriter {
+	private final ChatMemberRepository chatMemberRepository;
+	private final ChatRoomRepository chatRoomRepository;
+	private final MemberRepository memberRepository;
+	private final Executor executor;
+	private final Map<String, Boolean> pending = new ConcurrentHashMap<>(); // "roomId:memberId" → 참여 여부
+	private final Counter writeCounter;
+	private final Counter coalescedCounter;
+
+	public ChatMembershipWriter(ChatMemberRepository chatMemberRepository,
+								ChatRoomRepository chatRoomRepository,
+								MemberRepository memberRepository,
+								@Qualifier("chatMembershipExecutor") Executor executor,
+								MeterRegistry meterRegistry) {
+		this.chatMemberRepository = chatMemberRepository;
+		this.chatRoomRepository = chatRoomRepository;
+		this.memberRepository = memberRepository;
+		this.executor = executor;
+		this.writeCounter = Counter.builder("chat.membership.writes")
+				.description("DB에 반영한 채팅방 참여/퇴장 수")
+				.register(meterRegistry);
+		this.coalescedCounter = Counter.builder("chat.membership.coalesced")
+				.description("저장 전에 다음 변경으로 합쳐진 참여/퇴장 수")
+				.register(meterRegistry);
+	}
+
+	public void joined(String roomId, Long memberId) {
+		mark(roomId, memberId, true);
+	}
+
+	public void left(String roomId, Long memberId) {
+		mark(roomId, memberId, false);
+	}
+
+	// 방 삭제 (앞서 기록된 참여 정보 변경이 모두 처리된 뒤 실행)
+	public void roomRemoved(String roomId) {
+		executor.execute(() -> {
+			try {
+				chatRoomRepository.deleteById(roomId);
+			} catch (RuntimeException e) {
+				log.error("채팅방 삭제 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		});
+	}
+
+	private void mark(String roomId, Long memberId, boolean joined) {
+		String key = roomId + ":" + memberId;
+		if (pending.put(key, joined) != null) {
+			coalescedCounter.increment(); // 아직 저장 전인 변경이 있으면 그 작업이 마지막 상태를 저장
+			return;
+		}
+		executor.execute(() -> apply(key, roomId, memberId));
+	}
+
+	private void apply(String key, String roomId, Long memberId) {
+		Boolean joined = pending.remove(key);
+		if (joined == null) {
+			return;
+		}
+		try {
+			boolean exists = chatMemberRepository.existsByChatRoomRoomIdAndMemberMemberId(roomId, memberId);
+			if (joined && !exists) {
+				ChatMember chatMember = new ChatMember();
+				chatMember.setChatRoom(chatRoomRepository.getReferenceById(roomId));
+				chatMember.setMember(memberRepository.getReferenceById(memberId));
+				chatMemberRepository.save(chatMember);
+				writeCounter.increment();
+			} else if (!joined && exists) {
+				chatMemberRepository.deleteByRoomIdAndMemberId(roomId, memberId);
+				writeCounter.increment();
+			}
+		} catch (RuntimeException e) {
+			log.error("채팅방 참여 정보 저장 실패 (roomId={}, memberId={}, joined={}) : {}", roomId, memberId, joined, e.getMessage());
+		}
+	}
+}
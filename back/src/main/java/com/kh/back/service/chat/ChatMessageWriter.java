@@ -0,0 +1,271 @@
+package com.kh.back.service.chat;
+
+import com.kh.back.dto.chat.request.ChatReqDto;
+import com.kh.back.entity.chat.Chat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 메시지 DB 저장 (write-behind)
+ * - 웹소켓 스레드는 메모리 큐에 넣기만 하고, 별도 스레드(chat-persist)가 모아서 JDBC batch insert
+ * - 배치는 batchSize만큼 모이거나, 첫 메시지가 들어온 뒤 flushInterval이 지나면 저장
+ *   → 채팅 내역 조회(최근 메시지 버퍼 포함)에는 최대 flushInterval + 저장 시간만큼 늦게 보임
+ * - DB가 밀려서 큐가 가득 차면 offerTimeout 동안 기다리고, 그래도 자리가 없으면 호출한 스레드에서 직접 저장 (유실 없이 속도 조절)
+ * - 종료 시(@PreDestroy) 큐에 남은 메시지를 모두 저장한 뒤 종료
+ * - chat 테이블은 IDENTITY 키라서 JPA로는 insert batching이 안 되므로 JDBC batch로 직접 저장
+ *   (MySQL은 접속 URL에 rewriteBatchedStatements=true 가 있어야 한 번의 multi-row insert로 묶임)
+ * - 저장된 메시지는 생성된 chat_id와 함께 onSaved로 등록한 리스너에 전달 (최근 메시지 버퍼 RecentChatBuffer)
+ *   호출 스레드 저장, 한 건씩 다시 저장하는 경로가 chat-persist 스레드와 겹칠 수 있어서 chat_id 순서는 보장하지 않음
+ */
+@Slf4j
+public class ChatMessageWriter {
+	private final JdbcTemplate jdbcTemplate;
+	private final String insertSql;
+	private final BlockingQueue<PendingChat> queue;
+	private final int batchSize;
+	private final long flushIntervalMillis;
+	private final long offerTimeoutMillis;
+	private final Timer batchTimer;
+	private final DistributionSummary batchSizeSummary;
+	private final Counter callerRunsCounter;
+	private final Counter failedCounter;
+	private volatile boolean running;
+	private volatile Consumer<ChatReqDto> savedListener = chat -> { };
+	private Thread flusher;
+
+	public ChatMessageWriter(JdbcTemplate jdbcTemplate, String insertSql, MeterRegistry meterRegistry,
+							 int queueCapacity, int batchSize, long flushIntervalMillis, long offerTimeoutMillis) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.insertSql = insertSql;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.batchSize = batchSize;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.offerTimeoutMillis = offerTimeoutMillis;
+		Gauge.builder("chat.persist.queue.size", queue, BlockingQueue::size)
+				.description("DB 저장 대기 중인 채팅 메시지 수")
+				.register(meterRegistry);
+		this.batchTimer = Timer.builder("chat.persist.batch").register(meterRegistry);
+		this.batchSizeSummary = DistributionSummary.builder("chat.persist.batch.size").register(meterRegistry);
+		this.callerRunsCounter = Counter.builder("chat.persist.caller_runs")
+				.description("큐가 가득 차서 호출한 스레드에서 직접 저장한 메시지 수")
+				.register(meterRegistry);
+		this.failedCounter = Counter.builder("chat.persist.failed")
+				.description("저장에 실패한 채팅 메시지 수")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Chat 엔티티 매핑에서 insert SQL 생성 (네이밍 전략이 바뀌어도 실제 컬럼명을 그대로 사용)
+	 */
+	public static String insertSql(EntityManagerFactory entityManagerFactory) {
+		AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+				.unwrap(SessionFactoryImplementor.class)
+				.getMetamodel()
+				.entityPersister(Chat.class);
+		return "INSERT INTO " + persister.getTableName() + " ("
+				+ persister.getPropertyColumnNames("chatRoom")[0] + ", "
+				+ persister.getPropertyColumnNames("sender")[0] + ", "
+				+ persister.getPropertyColumnNames("profile")[0] + ", "
+				+ persister.getPropertyColumnNames("nickName")[0] + ", "
+				+ persister.getPropertyColumnNames("msg")[0] + ", "
+				+ persister.getPropertyColumnNames("regDate")[0]
+				+ ") VALUES (?, ?, ?, ?, ?, ?)";
+	}
+
+	// 저장이 끝난 메시지(chat_id 포함)를 받을 리스너 등록, 저장 스레드에서 호출되므로 빨리 끝나야 함
+	// 여러 스레드에서 동시에, chat_id 순서와 다르게 호출될 수 있음
+	public void onSaved(Consumer<ChatReqDto> listener) {
+		this.savedListener = listener;
+	}
+
+	@PostConstruct
+	public void start() {
+		running = true;
+		flusher = new Thread(this::runFlushLoop, "chat-persist");
+		flusher.setDaemon(true); // 정상 종료 시에는 shutdown()에서 남은 메시지를 저장
+		flusher.start();
+	}
+
+	/**
+	 * 저장할 메시지를 큐에 추가
+	 * 큐가 offerTimeout 동안 가득 차 있으면 호출한 스레드에서 바로 저장
+	 */
+	public void write(String roomId, String nickName, String msg, String profile, LocalDateTime regDate) {
+		PendingChat chat = new PendingChat(roomId, nickName, msg, profile, regDate);
+		try {
+			if (running && queue.offer(chat, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		callerRunsCounter.increment();
+		flush(List.of(chat));
+	}
+
+	private void runFlushLoop() {
+		List<PendingChat> batch = new ArrayList<>(batchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingChat first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+				while (batch.size() < batchSize) {
+					queue.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0) {
+						break;
+					}
+					PendingChat next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				// 종료 신호로 보고 큐에 남은 메시지만 저장한 뒤 루프 종료
+				running = false;
+			}
+			if (!batch.isEmpty()) {
+				flush(batch);
+				batch = new ArrayList<>(batchSize);
+			}
+		}
+	}
+
+	// 한 묶음 저장, 실패하면 문제 있는 행만 빠지도록 한 건씩 다시 저장
+	private void flush(List<PendingChat> batch) {
+		long start = System.nanoTime();
+		try {
+			List<Long> chatIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+				try (PreparedStatement ps = con.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+					for (PendingChat chat : batch) {
+						bind(ps, chat);
+						ps.addBatch();
+					}
+					ps.executeBatch();
+					return generatedKeys(ps);
+				}
+			});
+			for (int i = 0; i < batch.size(); i++) {
+				notifySaved(batch.get(i), chatIds != null && i < chatIds.size() ? chatIds.get(i) : null);
+			}
+		} catch (RuntimeException e) {
+			log.warn("채팅 메시지 일괄 저장 실패, 한 건씩 다시 저장 (건수={}) : {}", batch.size(), e.getMessage());
+			for (PendingChat chat : batch) {
+				try {
+					KeyHolder keyHolder = new GeneratedKeyHolder();
+					jdbcTemplate.update(con -> {
+						PreparedStatement ps = con.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS);
+						bind(ps, chat);
+						return ps;
+					}, keyHolder);
+					Number chatId = keyHolder.getKey();
+					notifySaved(chat, chatId != null ? chatId.longValue() : null);
+				} catch (RuntimeException rowError) {
+					failedCounter.increment();
+					log.error("채팅 메시지 저장 실패 (roomId={}, sender={}) : {}", chat.roomId, chat.nickName, rowError.getMessage());
+				}
+			}
+		}
+		batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		batchSizeSummary.record(batch.size());
+	}
+
+	private static void bind(PreparedStatement ps, PendingChat chat) throws SQLException {
+		ps.setString(1, chat.roomId);
+		ps.setString(2, chat.nickName);
+		ps.setString(3, chat.profile);
+		ps.setString(4, chat.nickName);
+		ps.setString(5, chat.msg);
+		ps.setTimestamp(6, Timestamp.valueOf(chat.regDate));
+	}
+
+	private static List<Long> generatedKeys(PreparedStatement ps) throws SQLException {
+		List<Long> keys = new ArrayList<>();
+		try (ResultSet rs = ps.getGeneratedKeys()) {
+			while (rs.next()) {
+				keys.add(rs.getLong(1));
+			}
+		}
+		return keys;
+	}
+
+	// chat_id를 돌려받지 못한 메시지는 리스너에 전달하지 않음 (조회 시 DB에서 읽힘)
+	private void notifySaved(PendingChat chat, Long chatId) {
+		if (chatId == null) return;
+		try {
+			savedListener.accept(new ChatReqDto(null, chatId, chat.roomId, chat.profile, chat.nickName,
+					chat.nickName, chat.msg, chat.regDate));
+		} catch (RuntimeException e) {
+			log.warn("저장 완료 리스너 처리 실패 (chatId={}) : {}", chatId, e.getMessage());
+		}
+	}
+
+	// 종료 시 큐에 남은 메시지를 모두 저장
+	@PreDestroy
+	public void shutdown() {
+		// 저장 중인 JDBC 호출이 끊기지 않도록 interrupt 대신 플래그만 내리고 루프가 큐를 비울 때까지 대기
+		running = false;
+		if (flusher != null) {
+			try {
+				flusher.join(TimeUnit.SECONDS.toMillis(10));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		List<PendingChat> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		if (!remaining.isEmpty()) {
+			log.info("종료 전 남은 채팅 메시지 저장 : {}건", remaining.size());
+			for (int from = 0; from < remaining.size(); from += batchSize) {
+				flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+			}
+		}
+	}
+
+	private static final class PendingChat {
+		private final String roomId;
+		private final String nickName;
+		private final String msg;
+		private final String profile;
+		private final LocalDateTime regDate;
+
+		private PendingChat(String roomId, String nickName, String msg, String profile, LocalDateTime regDate) {
+			this.roomId = roomId;
+			this.nickName = nickName;
+			this.msg = msg;
+			this.profile = profile;
+			this.regDate = regDate;
+		}
+	}
+}
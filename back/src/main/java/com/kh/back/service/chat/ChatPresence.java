@@ -0,0 +1,273 @@
+package com.kh.back.service.chat;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅방 접속 현황 (방별 접속 회원과 회원별 세션 수)
+ * - 한 회원이 여러 탭(세션)으로 들어와도 회원 수는 1로 계산, 마지막 세션이 나갈 때 퇴장 처리
+ * - 방 인원(occupancy)은 AtomicInteger로 관리 → cntOfRoomMember에서 COUNT 쿼리 대신 사용
+ * - chat.presence.redis-enabled=true 면 Redis 해시(chat:presence:{roomId}, 회원ID → 세션 수)로 여러 서버 합산
+ *   chat.cluster.enabled=true 면 설정과 관계없이 항상 Redis 사용 (다른 서버에 남은 회원이 있는 방을 지우지 않도록)
+ *   Redis 장애 시 인원 표시는 이 서버 기준 값으로 처리하지만, 클러스터 모드의 방 삭제 판단(isVacant)은 삭제하지 않는 쪽으로 처리
+ * - 서버가 세션을 정리하지 못하고 죽어도 방 인원이 남지 않도록 서버별 기록을 함께 둠
+ *   chat:presence:node:{nodeId} (방|회원 → 이 서버의 세션 수) + chat:presence:nodes (nodeId → 마지막 heartbeat 시각)
+ *   heartbeat-ms 마다 자기 서버 시각을 갱신하고, node-timeout-ms 동안 갱신이 없는 서버의 세션 수는 방 해시에서 빼고 삭제
+ *   (서버 재시작 시 이전 nodeId도 같은 방식으로 정리됨)
+ *   정리 스크립트가 방 키를 기록에서 만들어 쓰므로 Redis Cluster가 아닌 단일 Redis(또는 같은 슬롯) 기준
+ */
+@Slf4j
+@Component
+public class ChatPresence {
+	private static final String REDIS_KEY_PREFIX = "chat:presence:";
+	private static final String NODE_KEY_PREFIX = "chat:presence:node:";
+	private static final String NODES_KEY = "chat:presence:nodes";
+	// 방 해시와 서버별 기록의 세션 수를 함께 1 늘리고 방 기준 세션 수 반환 (KEYS: 방, 서버 / ARGV: 회원, 방|회원, 서버 기록 TTL)
+	private static final RedisScript<Long> JOIN_SCRIPT = new DefaultRedisScript<>(
+			"local c = redis.call('HINCRBY', KEYS[1], ARGV[1], 1) " +
+					"redis.call('HINCRBY', KEYS[2], ARGV[2], 1) " +
+					"redis.call('PEXPIRE', KEYS[2], ARGV[3]) " +
+					"return c", Long.class);
+	// 서버별 기록에 있는 세션만 1 줄이고 0 이하가 되면 필드 삭제, 방 기준 남은 세션 수 반환
+	// (이미 정리된 서버의 세션이면 방 해시는 건드리지 않음 → 다른 서버 세션 수를 빼지 않도록)
+	private static final RedisScript<Long> LEAVE_SCRIPT = new DefaultRedisScript<>(
+			"if redis.call('HEXISTS', KEYS[2], ARGV[2]) == 1 then " +
+					"  if redis.call('HINCRBY', KEYS[2], ARGV[2], -1) <= 0 then redis.call('HDEL', KEYS[2], ARGV[2]) end " +
+					"  local c = redis.call('HINCRBY', KEYS[1], ARGV[1], -1) " +
+					"  if c <= 0 then redis.call('HDEL', KEYS[1], ARGV[1]) end " +
+					"  return c " +
+					"end " +
+					"return tonumber(redis.call('HGET', KEYS[1], ARGV[1]) or '0')", Long.class);
+	// 마지막 heartbeat가 cutoff 이전인 서버의 세션 수를 방 해시에서 빼고 기록 삭제 (KEYS: 서버 목록, 서버 / ARGV: nodeId, cutoff, 방 키 prefix)
+	private static final RedisScript<Long> REAP_SCRIPT = new DefaultRedisScript<>(
+			"local seen = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+					"if seen and tonumber(seen) >= tonumber(ARGV[2]) then return 0 end " +
+					"local entries = redis.call('HGETALL', KEYS[2]) " +
+					"for i = 1, #entries, 2 do " +
+					"  local sep = string.find(entries[i], '|', 1, true) " +
+					"  local room = ARGV[3] .. string.sub(entries[i], 1, sep - 1) " +
+					"  local member = string.sub(entries[i], sep + 1) " +
+					"  if redis.call('HINCRBY', room, member, -tonumber(entries[i + 1])) <= 0 then redis.call('HDEL', room, member) end " +
+					"end " +
+					"redis.call('DEL', KEYS[2]) " +
+					"redis.call('ZREM', KEYS[1], ARGV[1]) " +
+					"return #entries / 2", Long.class);
+
+	private final StringRedisTemplate redisTemplate;
+	private final boolean redisEnabled;
+	private final boolean clustered;
+	private final long nodeTimeoutMillis;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final String nodeKey = NODE_KEY_PREFIX + nodeId;
+	private final Map<String, RoomPresence> rooms = new ConcurrentHashMap<>();
+
+	public ChatPresence(StringRedisTemplate redisTemplate,
+						@Value("${chat.presence.redis-enabled:false}") boolean redisEnabled,
+						@Value("${chat.cluster.enabled:false}") boolean clustered,
+						@Value("${chat.presence.node-timeout-ms:30000}") long nodeTimeoutMillis) {
+		this.redisTemplate = redisTemplate;
+		this.redisEnabled = redisEnabled || clustered;
+		this.clustered = clustered;
+		this.nodeTimeoutMillis = nodeTimeoutMillis;
+		if (clustered && !redisEnabled) {
+			log.info("클러스터 모드이므로 채팅방 접속 현황은 Redis로 합산 (chat.presence.redis-enabled 무시)");
+		}
+	}
+
+	// 시작하면서 서버 등록 + 이전에 죽은 서버(재시작 전 자기 자신 포함)의 세션 정리
+	@PostConstruct
+	private void start() {
+		heartbeat();
+	}
+
+	/**
+	 * 이 서버가 살아 있음을 기록하고, node-timeout-ms 동안 기록이 없는 서버의 세션을 방 인원에서 뺌
+	 * 여러 서버가 동시에 정리해도 스크립트가 heartbeat 시각을 다시 확인하므로 한 번만 빠짐
+	 */
+	@Scheduled(fixedDelayString = "${chat.presence.heartbeat-ms:10000}")
+	public void heartbeat() {
+		if (!redisEnabled) {
+			return;
+		}
+		try {
+			long now = System.currentTimeMillis();
+			redisTemplate.opsForZSet().add(NODES_KEY, nodeId, now);
+			redisTemplate.expire(nodeKey, Duration.ofMillis(nodeTimeoutMillis * 10)); // 정리되지 못한 기록이 영원히 남지 않도록
+			long cutoff = now - nodeTimeoutMillis;
+			Set<String> staleNodes = redisTemplate.opsForZSet().rangeByScore(NODES_KEY, Double.NEGATIVE_INFINITY, cutoff - 1);
+			if (staleNodes == null) {
+				return;
+			}
+			for (String staleNode : staleNodes) {
+				Long sessions = redisTemplate.execute(REAP_SCRIPT, List.of(NODES_KEY, NODE_KEY_PREFIX + staleNode),
+						staleNode, String.valueOf(cutoff), REDIS_KEY_PREFIX);
+				log.warn("응답 없는 채팅 서버의 접속 현황 정리 (nodeId={}, 세션 {}개)", staleNode, sessions);
+			}
+		} catch (Exception e) {
+			log.warn("접속 현황 heartbeat 실패 : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 회원 세션 입장
+	 * @return 이 회원의 방 첫 세션이면 true (DB 참여 정보 저장 대상)
+	 */
+	public boolean join(String roomId, Long memberId) {
+		boolean first = rooms.computeIfAbsent(roomId, id -> new RoomPresence()).join(memberId);
+		if (redisEnabled) {
+			try {
+				Long sessions = redisTemplate.execute(JOIN_SCRIPT, List.of(REDIS_KEY_PREFIX + roomId, nodeKey),
+						memberId.toString(), roomId + "|" + memberId, String.valueOf(nodeTimeoutMillis * 10));
+				return sessions != null && sessions == 1;
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 반영 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * 회원 세션 퇴장
+	 * @return 이 회원의 방 마지막 세션이 나갔으면 true (DB 참여 정보 삭제 대상)
+	 */
+	public boolean leave(String roomId, Long memberId) {
+		RoomPresence room = rooms.get(roomId);
+		boolean last = room != null && room.leave(memberId);
+		if (redisEnabled) {
+			try {
+				Long sessions = redisTemplate.execute(LEAVE_SCRIPT, List.of(REDIS_KEY_PREFIX + roomId, nodeKey),
+						memberId.toString(), roomId + "|" + memberId);
+				return sessions != null && sessions <= 0;
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 반영 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		}
+		return last;
+	}
+
+	// 방에 접속 중인 회원 수
+	public int occupancy(String roomId) {
+		if (redisEnabled) {
+			try {
+				Long members = redisTemplate.opsForHash().size(REDIS_KEY_PREFIX + roomId);
+				if (members != null) {
+					return members.intValue();
+				}
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 조회 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		}
+		RoomPresence room = rooms.get(roomId);
+		return room != null ? room.occupancy.get() : 0;
+	}
+
+	// 여러 방의 접속 회원 수 (roomIds 순서), Redis는 방마다 왕복하지 않고 HLEN을 파이프라인으로 한 번에 조회
+	public int[] occupancies(List<String> roomIds) {
+		int[] result = new int[roomIds.size()];
+		if (redisEnabled && !roomIds.isEmpty()) {
+			try {
+				List<Object> sizes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+					StringRedisConnection redis = (StringRedisConnection) connection;
+					for (String roomId : roomIds) {
+						redis.hLen(REDIS_KEY_PREFIX + roomId);
+					}
+					return null;
+				});
+				for (int i = 0; i < result.length; i++) {
+					Long members = (Long) sizes.get(i);
+					result[i] = members != null ? members.intValue() : 0;
+				}
+				return result;
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 조회 실패 (방 {}개) : {}", roomIds.size(), e.getMessage());
+			}
+		}
+		for (int i = 0; i < result.length; i++) {
+			RoomPresence room = rooms.get(roomIds.get(i));
+			result[i] = room != null ? room.occupancy.get() : 0;
+		}
+		return result;
+	}
+
+	/**
+	 * 채팅방 삭제 가능 여부 (모든 서버 기준 접속 회원이 없는지)
+	 * 클러스터 모드에서 Redis를 읽지 못하면 이 서버 값만으로 판단하지 않고 false
+	 */
+	public boolean isVacant(String roomId) {
+		if (redisEnabled) {
+			try {
+				Long members = redisTemplate.opsForHash().size(REDIS_KEY_PREFIX + roomId);
+				if (members != null) {
+					return members == 0;
+				}
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 조회 실패, 채팅방 삭제 보류 (roomId={}) : {}", roomId, e.getMessage());
+			}
+			if (clustered) {
+				return false;
+			}
+		}
+		RoomPresence room = rooms.get(roomId);
+		return room == null || room.occupancy.get() == 0;
+	}
+
+	// 삭제된 방 정리
+	public void removeRoom(String roomId) {
+		rooms.remove(roomId);
+		if (redisEnabled) {
+			try {
+				redisTemplate.delete(REDIS_KEY_PREFIX + roomId);
+			} catch (Exception e) {
+				log.warn("접속 현황 Redis 삭제 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		}
+	}
+
+	// 방 하나의 접속 현황, 회원별 세션 수 변경과 인원 수 변경은 compute 안에서 함께 처리
+	private static final class RoomPresence {
+		private final Map<Long, Integer> sessions = new ConcurrentHashMap<>();
+		private final AtomicInteger occupancy = new AtomicInteger();
+
+		private boolean join(Long memberId) {
+			boolean[] first = new boolean[1];
+			sessions.compute(memberId, (id, count) -> {
+				if (count == null) {
+					first[0] = true;
+					occupancy.incrementAndGet();
+					return 1;
+				}
+				return count + 1;
+			});
+			return first[0];
+		}
+
+		private boolean leave(Long memberId) {
+			boolean[] last = new boolean[1];
+			sessions.computeIfPresent(memberId, (id, count) -> {
+				if (count > 1) {
+					return count - 1;
+				}
+				last[0] = true;
+				occupancy.decrementAndGet();
+				return null;
+			});
+			return last[0];
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package com.kh.back.service.chat;
+
+import com.kh.back.constant.ChatRoomType;
+import com.kh.back.dto.chat.res.ChatRoomResDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * 채팅방 목록 (메모리 인덱스)
+ * - 생성 시간(regDate, roomId) 순 ConcurrentSkipListMap + roomId → 방 ConcurrentHashMap
+ *   → 목록 조회마다 findAll + DTO 변환을 하지 않고, 조회는 락 없이 순회 (생성/삭제를 막지 않음)
+ * - 같은 방의 추가/삭제는 roomId 맵의 compute 안에서 두 맵을 함께 바꿔서 서로 어긋나지 않음
+ * - DB 반영은 ChatService가 먼저 하고 여기에 반영 (write-through), 다른 서버의 변경은 ChatClusterBus 이벤트로 반영
+ * - 목록 응답은 방 객체 대신 사본에 현재 접속 인원(ChatPresence)을 넣어서 반환
+ *   접속 인원은 방마다 조회하지 않고 최대 OCCUPANCY_BATCH 개씩 묶어서 조회 (Redis 사용 시 HLEN 파이프라인)
+ */
+@Component
+public class ChatRoomDirectory {
+	private static final int OCCUPANCY_BATCH = 256; // 접속 인원을 한 번에(Redis 파이프라인 1번) 조회할 최대 방 수
+	private static final Comparator<RoomKey> ORDER = Comparator
+			.comparing((RoomKey key) -> key.regDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+			.thenComparing(key -> key.roomId);
+
+	private final ChatPresence chatPresence;
+	private final ConcurrentSkipListMap<RoomKey, ChatRoomResDto> byRegDate = new ConcurrentSkipListMap<>(ORDER);
+	private final Map<String, Indexed> byId = new ConcurrentHashMap<>();
+
+	public ChatRoomDirectory(ChatPresence chatPresence) {
+		this.chatPresence = chatPresence;
+	}
+
+	public ChatRoomResDto get(String roomId) {
+		Indexed indexed = byId.get(roomId);
+		return indexed != null ? indexed.room : null;
+	}
+
+	// 방 추가 (이미 있으면 교체)
+	public void put(ChatRoomResDto room) {
+		byId.compute(room.getRoomId(), (id, old) -> {
+			if (old != null) {
+				byRegDate.remove(old.key);
+			}
+			return index(room);
+		});
+	}
+
+	// 없을 때만 추가, 있으면 기존 방 반환 (세션 목록을 가진 방 객체를 바꾸지 않음)
+	public ChatRoomResDto putIfAbsent(String roomId, Function<String, ChatRoomResDto> loader) {
+		Indexed indexed = byId.computeIfAbsent(roomId, id -> {
+			ChatRoomResDto room = loader.apply(id);
+			return room != null ? index(room) : null;
+		});
+		return indexed != null ? indexed.room : null;
+	}
+
+	public ChatRoomResDto remove(String roomId) {
+		Indexed[] removed = new Indexed[1];
+		byId.computeIfPresent(roomId, (id, indexed) -> {
+			byRegDate.remove(indexed.key);
+			removed[0] = indexed;
+			return null;
+		});
+		return removed[0] != null ? removed[0].room : null;
+	}
+
+	public int size() {
+		return byId.size();
+	}
+
+	/**
+	 * 생성 시간 순 목록
+	 * @param roomType null이면 전체
+	 * @param minOccupancy 현재 접속 인원이 이 값 이상인 방만 (0이면 전체)
+	 * @param availableOnly true면 참여 가능 인원(personCnt)이 남은 방만
+	 * @param size 0 이하면 조건에 맞는 전체
+	 */
+	public List<ChatRoomResDto> list(ChatRoomType roomType, int minOccupancy, boolean availableOnly, int page, int size) {
+		long[] skip = {size > 0 ? (long) page * size : 0};
+		int limit = size > 0 ? size : Integer.MAX_VALUE;
+		boolean filterByOccupancy = minOccupancy > 0 || availableOnly;
+		List<ChatRoomResDto> result = new ArrayList<>(size > 0 ? size : Math.min(byRegDate.size(), 1024));
+		List<ChatRoomResDto> batch = new ArrayList<>();
+		for (ChatRoomResDto room : byRegDate.values()) { // 순회 중 생성/삭제된 방은 보이거나 안 보일 수 있음
+			if (roomType != null && roomType != room.getRoomType()) continue;
+			if (!filterByOccupancy && skip[0] > 0) {
+				skip[0]--; // 앞 페이지는 접속 인원 조회 없이 건너뜀 (인원 조건이 없을 때)
+				continue;
+			}
+			batch.add(room);
+			// 인원 조건이 없으면 페이지에 남은 수만큼만 조회
+			int batchSize = filterByOccupancy ? OCCUPANCY_BATCH : Math.min(OCCUPANCY_BATCH, limit - result.size());
+			if (batch.size() >= batchSize) {
+				addWithOccupancy(batch, minOccupancy, availableOnly, skip, limit, result);
+				batch.clear();
+				if (result.size() >= limit) return result;
+			}
+		}
+		addWithOccupancy(batch, minOccupancy, availableOnly, skip, limit, result);
+		return result;
+	}
+
+	// 모은 방들의 접속 인원을 한 번에 조회해서 조건에 맞는 방을 결과에 추가
+	private void addWithOccupancy(List<ChatRoomResDto> batch, int minOccupancy, boolean availableOnly,
+								  long[] skip, int limit, List<ChatRoomResDto> result) {
+		if (batch.isEmpty()) return;
+		int[] occupancies = chatPresence.occupancies(batch.stream().map(ChatRoomResDto::getRoomId).toList());
+		for (int i = 0; i < batch.size() && result.size() < limit; i++) {
+			ChatRoomResDto room = batch.get(i);
+			int occupancy = occupancies[i];
+			if (occupancy < minOccupancy) continue;
+			if (availableOnly && room.getPersonCnt() != null && occupancy >= room.getPersonCnt()) continue;
+			if (skip[0] > 0) {
+				skip[0]--;
+				continue;
+			}
+			result.add(snapshot(room, occupancy));
+		}
+	}
+
+	private Indexed index(ChatRoomResDto room) {
+		RoomKey key = new RoomKey(room.getRegDate(), room.getRoomId());
+		byRegDate.put(key, room);
+		return new Indexed(key, room);
+	}
+
+	private static ChatRoomResDto snapshot(ChatRoomResDto room, int occupancy) {
+		ChatRoomResDto copy = ChatRoomResDto.builder()
+				.roomId(room.getRoomId())
+				.name(room.getName())
+				.regDate(room.getRegDate())
+				.personCnt(room.getPersonCnt())
+				.build();
+		copy.setRoomType(room.getRoomType());
+		copy.setOccupancy(occupancy);
+		return copy;
+	}
+
+	// 정렬 키는 추가할 때 값으로 고정 (방 객체의 regDate가 바뀌어도 삭제할 수 있도록)
+	private static final class RoomKey {
+		private final LocalDateTime regDate;
+		private final String roomId;
+
+		private RoomKey(LocalDateTime regDate, String roomId) {
+			this.regDate = regDate;
+			this.roomId = roomId;
+		}
+	}
+
+	private static final class Indexed {
+		private final RoomKey key;
+		private final ChatRoomResDto room;
+
+		private Indexed(RoomKey key, ChatRoomResDto room) {
+			this.key = key;
+			this.room = room;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.kh.back.service.chat;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * 웹소켓 세션의 회원 정보
+ * 핸드셰이크 때 JWT로 한 번만 확인해서 세션 속성에 넣어 두고, 이후 메시지에서는 DB 조회 없이 사용
+ * (클라이언트가 보낸 sender/nickName 값은 믿지 않음)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ChatSessionIdentity {
+	public static final String ATTRIBUTE = "chatIdentity";
+
+	private final Long memberId;
+	private final String nickName;
+	private final String profile;
+
+	// 세션에 저장된 회원 정보, 핸드셰이크를 거치지 않은 세션이면 null
+	public static ChatSessionIdentity of(WebSocketSession session) {
+		return (ChatSessionIdentity) session.getAttributes().get(ATTRIBUTE);
+	}
+}
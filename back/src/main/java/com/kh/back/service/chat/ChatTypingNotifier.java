@@ -0,0 +1,143 @@
+package com.kh.back.service.chat;
+
+import com.kh.back.dto.chat.res.ChatRoomResDto;
+import com.kh.back.dto.chat.res.ChatTypingResDto;
+import com.kh.back.service.ChatService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 입력 중(typing) 표시
+ * - 클라이언트의 TYPING 메시지는 바로 보내지 않고 방별로 모아 두었다가 chat.typing.flush-ms 마다 변경분만 한 번에 전송
+ *   → 30명이 입력 중이어도 키 입력마다가 아니라 방마다 주기당 최대 1번 (계속 입력 중이면 변경이 없으므로 전송 없음)
+ * - TYPING을 ttl-ms 동안 다시 받지 못하거나, 메시지를 보내거나, 방을 나가면 입력 종료로 처리
+ * - 변경분(started/stopped)만 보내므로 서버가 여러 대여도 각 서버가 자기 세션의 변경만 ChatClusterBus로 보내면 됨
+ */
+@Slf4j
+@Component
+public class ChatTypingNotifier {
+	private final ChatService chatService;
+	private final ChatClusterBus chatClusterBus;
+	private final long ttlMillis;
+	private final Map<String, RoomTyping> rooms = new ConcurrentHashMap<>();
+	private final Counter eventCounter;
+	private final Counter broadcastCounter;
+
+	public ChatTypingNotifier(ChatService chatService,
+							  ChatClusterBus chatClusterBus,
+							  MeterRegistry meterRegistry,
+							  @Value("${chat.typing.ttl-ms:3000}") long ttlMillis) {
+		this.chatService = chatService;
+		this.chatClusterBus = chatClusterBus;
+		this.ttlMillis = ttlMillis;
+		this.eventCounter = Counter.builder("chat.typing.events")
+				.description("클라이언트에서 받은 TYPING 메시지 수")
+				.register(meterRegistry);
+		this.broadcastCounter = Counter.builder("chat.typing.broadcasts")
+				.description("방에 전송한 입력 중 표시 변경 메시지 수")
+				.register(meterRegistry);
+	}
+
+	// TYPING 메시지 수신
+	public void typing(String roomId, String nickName) {
+		eventCounter.increment();
+		long expiresAt = System.currentTimeMillis() + ttlMillis;
+		rooms.compute(roomId, (id, room) -> {
+			RoomTyping typing = room != null ? room : new RoomTyping();
+			typing.start(nickName, expiresAt);
+			return typing;
+		});
+	}
+
+	// 메시지 전송 또는 퇴장 시 입력 종료
+	public void stopped(String roomId, String nickName) {
+		rooms.computeIfPresent(roomId, (id, room) -> {
+			room.stop(nickName);
+			return room;
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${chat.typing.flush-ms:1000}")
+	public void flush() {
+		long now = System.currentTimeMillis();
+		for (String roomId : rooms.keySet()) {
+			ChatTypingResDto[] changes = new ChatTypingResDto[1];
+			rooms.computeIfPresent(roomId, (id, room) -> {
+				room.expire(now);
+				changes[0] = room.drainChanges(roomId);
+				return room.isIdle() ? null : room; // 입력 중인 사람이 없는 방은 정리
+			});
+			if (changes[0] != null) {
+				send(roomId, changes[0]);
+			}
+		}
+	}
+
+	private void send(String roomId, ChatTypingResDto changes) {
+		try {
+			ChatRoomResDto room = chatService.findRoomById(roomId);
+			chatClusterBus.publish(roomId, room.getSessions(), changes);
+			broadcastCounter.increment();
+		} catch (RuntimeException e) {
+			log.debug("입력 중 표시 전송 실패 (roomId={}) : {}", roomId, e.getMessage());
+		}
+	}
+
+	// 방 하나의 입력 중 상태, rooms.compute 안에서만 접근
+	private static final class RoomTyping {
+		private final Map<String, Long> typers = new HashMap<>(); // 닉네임 → 만료 시각
+		private final Set<String> started = new LinkedHashSet<>();
+		private final Set<String> stopped = new LinkedHashSet<>();
+
+		private void start(String nickName, long expiresAt) {
+			if (typers.put(nickName, expiresAt) == null && !stopped.remove(nickName)) {
+				started.add(nickName);
+			}
+		}
+
+		private void stop(String nickName) {
+			if (typers.remove(nickName) != null && !started.remove(nickName)) {
+				stopped.add(nickName); // 주기 안에서 시작했다가 멈춘 경우는 아무것도 보내지 않음
+			}
+		}
+
+		private void expire(long now) {
+			Iterator<Map.Entry<String, Long>> it = typers.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<String, Long> entry = it.next();
+				if (entry.getValue() <= now) {
+					it.remove();
+					if (!started.remove(entry.getKey())) {
+						stopped.add(entry.getKey());
+					}
+				}
+			}
+		}
+
+		private ChatTypingResDto drainChanges(String roomId) {
+			if (started.isEmpty() && stopped.isEmpty()) {
+				return null;
+			}
+			ChatTypingResDto changes = new ChatTypingResDto(roomId, new ArrayList<>(started), new ArrayList<>(stopped));
+			started.clear();
+			stopped.clear();
+			return changes;
+		}
+
+		private boolean isIdle() {
+			return typers.isEmpty() && started.isEmpty() && stopped.isEmpty();
+		}
+	}
+}
@@ -0,0 +1,293 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import com.kh.back.dto.chat.res.ChatTypingResDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅 웹소켓 compact(바이너리) 형식
+ * - 같은 /ws/chat 주소에서 서브프로토콜 chat.compact.v1 또는 ?format=compact 로 요청한 세션만 사용, 나머지는 기존 JSON
+ * - 프레임: [버전 1][종류] + 종류별 필드 (정수는 varint)
+ *   DEFINE(0x01) : 개수, (ID, 문자열)*       → 세션이 아직 모르는 intern 문자열을 메시지 앞에 한 번만 알려 줌
+ *   CHAT(0x10)   : 타입, id, roomId, profile, nickName, sender, msg, regDate(서버 시간대 epoch ms)
+ *   TYPING(0x20) : roomId, started 개수, 닉네임*, stopped 개수, 닉네임*
+ * - 문자열 필드: 0 = null, 홀수 = intern ID(<<1 | 1), 짝수 = (길이 + 1) << 1 뒤에 UTF-8 바이트
+ *   profile/nickName/sender는 서버 전체 intern 테이블 ID로 보내서 반복되는 URL·닉네임을 매번 보내지 않음
+ *   (ID는 서버(노드)마다 따로 매기고, 테이블이 intern-capacity를 넘으면 그냥 문자열로 보냄)
+ *   roomId는 방마다 새로 생기는 UUID라서 intern하면 지워지지 않는 테이블을 채우므로 항상 문자열로 보냄
+ * - 메시지 본문은 세션과 무관하게 한 번만 인코딩, 세션별로 다른 것은 DEFINE 프레임뿐
+ * - per-message-deflate는 컨테이너(Tomcat)가 Sec-WebSocket-Extensions로 협상하므로 두 형식 모두 그대로 적용됨
+ */
+@Slf4j
+@Component
+public class ChatWireCodec {
+	public static final String PROTOCOL = "chat.compact.v1";
+	public static final String COMPACT_REQUESTED = "chatCompactRequested"; // ?format=compact (핸드셰이크 인터셉터에서 설정)
+	private static final String STATE_ATTRIBUTE = "chatWireState";
+	private static final byte VERSION = 1;
+	private static final byte DEFINE = 0x01;
+	private static final byte CHAT = 0x10;
+	private static final byte TYPING = 0x20;
+	private static final ChatReqDto.MsgType[] MSG_TYPES = ChatReqDto.MsgType.values(); // 순서 변경 금지, 새 타입은 뒤에 추가
+
+	private final ObjectMapper objectMapper;
+	private final int internCapacity;
+	private final Map<String, Integer> internIds = new ConcurrentHashMap<>();
+	private final Map<Integer, String> internStrings = new ConcurrentHashMap<>();
+	private final AtomicInteger nextInternId = new AtomicInteger();
+
+	public ChatWireCodec(ObjectMapper objectMapper,
+						 @Value("${chat.wire.intern-capacity:10000}") int internCapacity) {
+		this.objectMapper = objectMapper;
+		this.internCapacity = internCapacity;
+	}
+
+	// 연결 직후 호출, compact 형식을 요청한 세션이면 세션 상태 생성
+	public boolean negotiate(WebSocketSession session) {
+		boolean compact = PROTOCOL.equals(session.getAcceptedProtocol())
+				|| Boolean.TRUE.equals(session.getAttributes().get(COMPACT_REQUESTED));
+		if (compact) {
+			session.getAttributes().put(STATE_ATTRIBUTE, new SessionState());
+			log.debug("compact 형식 세션 (session={}, extensions={})", session.getId(), session.getExtensions());
+		}
+		return compact;
+	}
+
+	// compact 세션이 아니면 null
+	public static SessionState state(WebSocketSession session) {
+		Object state = session.getAttributes().get(STATE_ATTRIBUTE);
+		return state instanceof SessionState ? (SessionState) state : null;
+	}
+
+	/**
+	 * 방송할 메시지 인코딩
+	 * @return compact 형식이 없는 메시지 종류면 null (JSON으로 전송)
+	 */
+	public Encoded encode(Object msg) {
+		Writer out = new Writer();
+		out.write(VERSION);
+		if (msg instanceof ChatReqDto) {
+			ChatReqDto chat = (ChatReqDto) msg;
+			out.write(CHAT);
+			out.writeVarLong(chat.getType() != null ? chat.getType().ordinal() + 1 : 0);
+			out.writeVarLong(chat.getId() != null ? chat.getId() + 1 : 0);
+			out.writeString(chat.getRoomId());
+			out.writeInterned(this, chat.getProfile());
+			out.writeInterned(this, chat.getNickName());
+			out.writeInterned(this, chat.getSender());
+			out.writeString(chat.getMsg());
+			out.writeVarLong(chat.getRegDate() != null
+					? chat.getRegDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + 1 : 0);
+		} else if (msg instanceof ChatTypingResDto) {
+			ChatTypingResDto typing = (ChatTypingResDto) msg;
+			out.write(TYPING);
+			out.writeString(typing.getRoomId());
+			out.writeInternedList(this, typing.getStarted());
+			out.writeInternedList(this, typing.getStopped());
+		} else {
+			return null;
+		}
+		return new Encoded(out.toByteArray(), out.internedIds);
+	}
+
+	// 다른 노드에서 JSON으로 받은 메시지를 compact 형식으로 변환 (이 노드에 compact 세션이 있을 때만 호출됨)
+	public Encoded encodeJson(String payload) {
+		try {
+			JsonNode node = objectMapper.readTree(payload);
+			Object msg = node.has("started") || node.has("stopped")
+					? objectMapper.treeToValue(node, ChatTypingResDto.class)
+					: objectMapper.treeToValue(node, ChatReqDto.class);
+			return encode(msg);
+		} catch (IOException e) {
+			log.warn("compact 변환 실패, JSON으로 전송 : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 세션이 아직 모르는 intern 문자열 DEFINE 프레임, 모두 알고 있으면 null
+	 * 메시지와 같은 순서로 전송되도록 호출하는 쪽에서 SessionState로 동기화
+	 */
+	public BinaryMessage definitions(SessionState state, Encoded encoded) {
+		Writer out = null;
+		int count = 0;
+		for (int id : encoded.internedIds) {
+			if (state.known.get(id)) continue;
+			state.known.set(id);
+			if (out == null) out = new Writer();
+			out.writeVarLong(id);
+			out.writeString(internStrings.get(id));
+			count++;
+		}
+		if (out == null) return null;
+		Writer frame = new Writer();
+		frame.write(VERSION);
+		frame.write(DEFINE);
+		frame.writeVarLong(count);
+		frame.writeBytes(out.toByteArray());
+		return new BinaryMessage(frame.toByteArray());
+	}
+
+	// DEFINE 프레임을 보내지 못한 경우 (전송 큐 초과) 다음 메시지에서 다시 알려 주도록 되돌림
+	public void forget(SessionState state, Encoded encoded) {
+		for (int id : encoded.internedIds) {
+			state.known.clear(id);
+		}
+	}
+
+	/**
+	 * 클라이언트가 보낸 CHAT 프레임 디코딩 (문자열은 서버가 알려 준 intern ID 또는 그대로)
+	 * @throws IllegalArgumentException 형식이 잘못된 경우
+	 */
+	public ChatReqDto decode(ByteBuffer buffer) {
+		try {
+			if (buffer.get() != VERSION || buffer.get() != CHAT) {
+				throw new IllegalArgumentException("지원하지 않는 compact 프레임");
+			}
+			ChatReqDto chat = new ChatReqDto();
+			int type = (int) readVarLong(buffer);
+			chat.setType(type > 0 && type <= MSG_TYPES.length ? MSG_TYPES[type - 1] : null);
+			long id = readVarLong(buffer);
+			chat.setId(id > 0 ? id - 1 : null);
+			chat.setRoomId(readString(buffer));
+			chat.setProfile(readString(buffer));
+			chat.setNickName(readString(buffer));
+			chat.setSender(readString(buffer));
+			chat.setMsg(readString(buffer));
+			long regDate = readVarLong(buffer);
+			chat.setRegDate(regDate > 0
+					? LocalDateTime.ofInstant(Instant.ofEpochMilli(regDate - 1), ZoneId.systemDefault()) : null);
+			return chat;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("잘린 compact 프레임", e);
+		}
+	}
+
+	// 테이블이 가득 찼으면 -1 (문자열 그대로 전송)
+	private int intern(String value) {
+		Integer id = internIds.get(value);
+		if (id == null) {
+			if (nextInternId.get() >= internCapacity) return -1;
+			id = internIds.computeIfAbsent(value, v -> {
+				int next = nextInternId.getAndIncrement();
+				internStrings.put(next, v);
+				return next;
+			});
+		}
+		return id < internCapacity ? id : -1;
+	}
+
+	private String readString(ByteBuffer buffer) {
+		long tag = readVarLong(buffer);
+		if (tag == 0) return null;
+		if ((tag & 1) == 1) {
+			String value = internStrings.get((int) (tag >>> 1));
+			if (value == null) throw new IllegalArgumentException("알 수 없는 intern ID : " + (tag >>> 1));
+			return value;
+		}
+		int length = (int) (tag >>> 1) - 1;
+		if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("문자열 길이 오류 : " + length);
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IllegalArgumentException("varint 오류");
+	}
+
+	// 인코딩된 메시지 (모든 세션이 같은 바이트 사용, 세션마다 BinaryMessage로 감싸서 전송)
+	public static final class Encoded {
+		private final byte[] bytes;
+		private final int[] internedIds;
+
+		private Encoded(byte[] bytes, List<Integer> internedIds) {
+			this.bytes = bytes;
+			this.internedIds = internedIds.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		public byte[] getBytes() {
+			return bytes;
+		}
+
+		// 전송마다 새로 감쌈 (컨테이너가 ByteBuffer position을 옮기므로 세션끼리 공유하지 않음)
+		public BinaryMessage toMessage() {
+			return new BinaryMessage(bytes);
+		}
+	}
+
+	// compact 세션 상태: 이 세션에 이미 알려 준 intern ID (DEFINE과 메시지를 큐에 넣는 동안 이 객체로 동기화)
+	public static final class SessionState {
+		private final BitSet known = new BitSet();
+	}
+
+	private static final class Writer extends ByteArrayOutputStream {
+		private final List<Integer> internedIds = new ArrayList<>();
+
+		private void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		private void writeString(String value) {
+			if (value == null) {
+				writeVarLong(0);
+				return;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarLong(((long) bytes.length + 1) << 1);
+			writeBytes(bytes);
+		}
+
+		private void writeInterned(ChatWireCodec codec, String value) {
+			int id = value != null ? codec.intern(value) : -1;
+			if (id < 0) {
+				writeString(value);
+				return;
+			}
+			internedIds.add(id);
+			writeVarLong(((long) id << 1) | 1);
+		}
+
+		private void writeInternedList(ChatWireCodec codec, List<String> values) {
+			if (values == null) {
+				writeVarLong(0);
+				return;
+			}
+			writeVarLong(values.size());
+			for (String value : values) {
+				writeInterned(codec, value);
+			}
+		}
+	}
+}
@@ -0,0 +1,297 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방별 최근 메시지 버퍼 (방 입장 시 채팅 내역 조회용)
+ * - 방마다 최근 capacity개 메시지만 보관하는 링 버퍼, 오래된 메시지부터 밀려남
+ * - 메시지는 DB 저장이 끝난 뒤(ChatMessageWriter.onSaved) chat_id와 함께 추가 → 버퍼 내용은 항상 DB의 마지막 부분과 같음
+ * - 서버 시작 후 처음 조회하는 방만 DB에서 읽어 채우고(loader), 이후에는 DB 조회 없이 응답
+ * - 이전 내역(before chatId)은 버퍼에 있는 만큼 응답하고, 모자라면 null을 반환해서 호출하는 쪽이 DB로 조회
+ * - chat.recent.redis-enabled=true 면 Redis sorted set(chat:recent:z:{roomId}, score = chat_id)에도 같이 저장해서 여러 서버가 공유
+ *   (서버 여러 대 구성에서는 각 서버가 자기 서버에서 저장한 메시지만 알기 때문에 켜 두어야 함)
+ *   키가 없을 때(아직 아무 서버도 DB에서 채우지 않은 방) 들어온 메시지는 일부 내역이라는 표시(chat:recent:partial:{roomId})를 남기고,
+ *   표시가 있으면 Redis 내역을 쓰지 않고 DB에서 읽어 합친 뒤 표시를 지움 → 메시지 1개짜리 키를 전체 내역으로 응답하지 않음
+ * - 저장 스레드가 여럿(chat-persist, 큐가 가득 찼을 때의 호출 스레드)이라 chat_id가 순서대로 도착하지 않을 수 있으므로
+ *   로컬 버퍼와 Redis 모두 chat_id 순으로 정렬해서 보관하고 같은 chat_id는 한 번만 담음
+ */
+@Slf4j
+@Component
+public class RecentChatBuffer {
+	private static final String REDIS_KEY_PREFIX = "chat:recent:z:"; // 이전 리스트 키(chat:recent:{roomId})와 타입이 달라서 키를 분리
+	private static final String PARTIAL_KEY_PREFIX = "chat:recent:partial:";
+	// 메시지 추가, 키가 없으면(DB에서 채운 적 없음) 일부 내역 표시를 남김 (KEYS: 내역, 표시 / ARGV: 메시지, chat_id, capacity)
+	private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+			"if redis.call('EXISTS', KEYS[1]) == 0 then redis.call('SET', KEYS[2], '1') end " +
+					"redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1]) " +
+					"redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[3]) + 1)) " +
+					"return 1", Long.class);
+	// DB에서 읽은 내역을 합치고 일부 내역 표시 삭제 (KEYS: 내역, 표시 / ARGV: capacity, chat_id, 메시지, chat_id, 메시지 ...)
+	private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+			"for i = 2, #ARGV, 2 do redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+					"redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(tonumber(ARGV[1]) + 1)) " +
+					"redis.call('DEL', KEYS[2]) " +
+					"return 1", Long.class);
+
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final ObjectMapper objectMapper;
+	private final int capacity;
+	private final boolean redisEnabled;
+	private final Map<String, RoomBuffer> rooms = new ConcurrentHashMap<>();
+	private final Counter hitCounter;
+	private final Counter missCounter;
+
+	public RecentChatBuffer(RedisTemplate<String, Object> redisTemplate,
+							ObjectMapper objectMapper,
+							MeterRegistry meterRegistry,
+							@Value("${chat.recent.capacity:100}") int capacity,
+							@Value("${chat.recent.redis-enabled:false}") boolean redisEnabled) {
+		this.redisTemplate = redisTemplate;
+		this.objectMapper = objectMapper;
+		this.capacity = capacity;
+		this.redisEnabled = redisEnabled;
+		this.hitCounter = Counter.builder("chat.recent.cache").tag("result", "hit").register(meterRegistry);
+		this.missCounter = Counter.builder("chat.recent.cache").tag("result", "miss").register(meterRegistry);
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * 방의 최근 메시지 size개 (오래된 순)
+	 * @param loader 버퍼가 비어 있을 때(서버 시작 후 첫 조회) DB에서 최근 capacity개를 오래된 순으로 읽어 오는 함수
+	 */
+	public List<ChatReqDto> latest(String roomId, int size, Supplier<List<ChatReqDto>> loader) {
+		if (redisEnabled) {
+			List<ChatReqDto> shared = readRedis(roomId, size, loader);
+			if (shared != null) {
+				return shared;
+			}
+		}
+		RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer());
+		synchronized (buffer) {
+			if (buffer.warmed) {
+				hitCounter.increment();
+			} else {
+				missCounter.increment();
+				buffer.warm(loader.get());
+			}
+			return buffer.tail(Long.MAX_VALUE, size);
+		}
+	}
+
+	/**
+	 * beforeChatId보다 오래된 메시지 size개 (오래된 순)
+	 * @return 버퍼만으로 채울 수 없으면 null (DB에서 조회해야 함)
+	 */
+	public List<ChatReqDto> before(String roomId, long beforeChatId, int size) {
+		if (redisEnabled) {
+			// Redis는 방 전체 내역을 담고 있는지 알 수 없으므로 size개를 다 채울 수 있을 때만 사용
+			RedisRange shared = readRedisRange(roomId, 0, -1);
+			if (shared != null) {
+				if (shared.partial) {
+					return null;
+				}
+				List<ChatReqDto> older = olderThan(shared.messages, beforeChatId, size);
+				return older.size() == size ? older : null;
+			}
+		}
+		RoomBuffer buffer = rooms.get(roomId);
+		if (buffer == null) {
+			return null;
+		}
+		synchronized (buffer) {
+			if (!buffer.warmed) {
+				return null;
+			}
+			List<ChatReqDto> older = buffer.tail(beforeChatId, size);
+			return older.size() == size || buffer.complete ? older : null;
+		}
+	}
+
+	// DB 저장이 끝난 메시지 추가 (ChatMessageWriter 저장 스레드에서 호출)
+	public void append(ChatReqDto chat) {
+		RoomBuffer buffer = rooms.computeIfAbsent(chat.getRoomId(), id -> new RoomBuffer());
+		synchronized (buffer) {
+			buffer.add(chat);
+		}
+		if (redisEnabled) {
+			try {
+				// chat_id가 가장 작은 것부터 밀려남
+				redisTemplate.execute(APPEND_SCRIPT, List.of(REDIS_KEY_PREFIX + chat.getRoomId(), PARTIAL_KEY_PREFIX + chat.getRoomId()),
+						objectMapper.writeValueAsString(chat), String.valueOf(chat.getId()), String.valueOf(capacity));
+			} catch (Exception e) {
+				log.warn("최근 메시지 Redis 저장 실패 (roomId={}) : {}", chat.getRoomId(), e.getMessage());
+			}
+		}
+	}
+
+	// 삭제된 방의 버퍼 제거
+	public void removeRoom(String roomId) {
+		rooms.remove(roomId);
+		if (redisEnabled) {
+			try {
+				redisTemplate.delete(List.of(REDIS_KEY_PREFIX + roomId, PARTIAL_KEY_PREFIX + roomId));
+			} catch (Exception e) {
+				log.warn("최근 메시지 Redis 삭제 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+		}
+	}
+
+	// Redis에서 최근 메시지 조회, 키가 없거나 일부 내역뿐이면 DB에서 읽어 채움 (Redis 장애 시 null → 로컬 버퍼 사용)
+	private List<ChatReqDto> readRedis(String roomId, int size, Supplier<List<ChatReqDto>> loader) {
+		RedisRange shared = readRedisRange(roomId, -size, -1);
+		if (shared == null) {
+			return null;
+		}
+		if (!shared.partial && !shared.messages.isEmpty()) {
+			hitCounter.increment();
+			return shared.messages;
+		}
+		RoomBuffer buffer = rooms.computeIfAbsent(roomId, id -> new RoomBuffer());
+		synchronized (buffer) {
+			if (buffer.warmed && !shared.partial) {
+				// 이 서버가 이미 채운 적이 있는데 키가 없으면 그 뒤로 메시지가 없는 방
+				hitCounter.increment();
+				return buffer.tail(Long.MAX_VALUE, size);
+			}
+			missCounter.increment();
+			buffer.warm(loader.get());
+			for (ChatReqDto chat : shared.messages) {
+				buffer.add(chat); // DB에서 채우기 전에 다른 서버에서 추가된 메시지
+			}
+			try {
+				List<String> args = new ArrayList<>(1 + buffer.messages.size() * 2);
+				args.add(String.valueOf(capacity));
+				for (ChatReqDto chat : buffer.messages.values()) {
+					args.add(String.valueOf(chat.getId()));
+					args.add(objectMapper.writeValueAsString(chat));
+				}
+				// 키가 없던 사이 다른 서버에서 추가된 메시지는 Redis에 남아 있으므로 덮어쓰지 않고 합침
+				redisTemplate.execute(SEED_SCRIPT, List.of(REDIS_KEY_PREFIX + roomId, PARTIAL_KEY_PREFIX + roomId), args.toArray());
+			} catch (Exception e) {
+				log.warn("최근 메시지 Redis 초기화 실패 (roomId={}) : {}", roomId, e.getMessage());
+			}
+			return buffer.tail(Long.MAX_VALUE, size);
+		}
+	}
+
+	/*
+	 * chat_id 순위(rank) 범위 + 일부 내역 표시를 한 번에 조회 (pipeline)
+	 * 초기화와 저장이 겹쳐 같은 chat_id가 두 번 들어 있으면 하나만 사용
+	 */
+	@SuppressWarnings("unchecked")
+	private RedisRange readRedisRange(String roomId, long start, long end) {
+		try {
+			List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+				@Override
+				public <K, V> Object execute(RedisOperations<K, V> operations) {
+					RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+					redis.opsForZSet().range(REDIS_KEY_PREFIX + roomId, start, end);
+					redis.hasKey(PARTIAL_KEY_PREFIX + roomId);
+					return null;
+				}
+			});
+			Set<Object> values = (Set<Object>) results.get(0);
+			List<ChatReqDto> messages = new ArrayList<>();
+			if (values != null) {
+				for (Object value : values) {
+					ChatReqDto chat = objectMapper.readValue((String) value, ChatReqDto.class);
+					if (messages.isEmpty() || !messages.get(messages.size() - 1).getId().equals(chat.getId())) {
+						messages.add(chat);
+					}
+				}
+			}
+			return new RedisRange(messages, Boolean.TRUE.equals(results.get(1)));
+		} catch (Exception e) {
+			log.warn("최근 메시지 Redis 조회 실패 (roomId={}) : {}", roomId, e.getMessage());
+			return null;
+		}
+	}
+
+	// 오래된 순으로 정렬된 목록에서 beforeChatId보다 작은 마지막 size개
+	private static List<ChatReqDto> olderThan(List<ChatReqDto> messages, long beforeChatId, int size) {
+		int end = 0;
+		while (end < messages.size() && messages.get(end).getId() < beforeChatId) {
+			end++;
+		}
+		return new ArrayList<>(messages.subList(Math.max(0, end - size), end));
+	}
+
+	// Redis 조회 결과, partial이면 DB에서 채우기 전에 추가된 메시지뿐이라 전체 내역으로 쓸 수 없음
+	private static final class RedisRange {
+		private final List<ChatReqDto> messages;
+		private final boolean partial;
+
+		private RedisRange(List<ChatReqDto> messages, boolean partial) {
+			this.messages = messages;
+			this.partial = partial;
+		}
+	}
+
+	// 방 하나의 버퍼 (chat_id 순 정렬, 최대 capacity개), 접근은 모두 synchronized (buffer) 안에서
+	private final class RoomBuffer {
+		private final TreeMap<Long, ChatReqDto> messages = new TreeMap<>();
+		private boolean warmed;
+		private boolean complete; // 방의 전체 내역이 버퍼에 들어 있음 (DB에 capacity개보다 적고 아직 밀려난 메시지 없음)
+
+		// DB에서 읽은 최근 내역으로 채우고, 그동안 추가된 메시지를 chat_id 자리에 합침
+		private void warm(List<ChatReqDto> loaded) {
+			List<ChatReqDto> appended = new ArrayList<>(messages.values());
+			messages.clear();
+			for (ChatReqDto chat : loaded) {
+				add(chat);
+			}
+			complete = loaded.size() < capacity;
+			for (ChatReqDto chat : appended) {
+				add(chat);
+			}
+			warmed = true;
+		}
+
+		// chat_id 순서대로 끼워 넣음 (이미 있는 chat_id면 무시), 넘치면 가장 오래된 메시지부터 밀려남
+		private void add(ChatReqDto chat) {
+			if (messages.putIfAbsent(chat.getId(), chat) != null) {
+				return; // 이미 DB에서 읽어 온 메시지
+			}
+			if (messages.size() > capacity) {
+				messages.pollFirstEntry();
+				complete = false;
+			}
+		}
+
+		// beforeChatId보다 작은 마지막 size개 (오래된 순)
+		private List<ChatReqDto> tail(long beforeChatId, int size) {
+			List<ChatReqDto> result = new ArrayList<>(Math.min(size, messages.size()));
+			for (ChatReqDto chat : messages.headMap(beforeChatId, false).descendingMap().values()) {
+				if (result.size() >= size) {
+					break;
+				}
+				result.add(chat);
+			}
+			Collections.reverse(result);
+			return result;
+		}
+	}
+}
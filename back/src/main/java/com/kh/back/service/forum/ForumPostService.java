@@ -2,12 +2,14 @@ package com.kh.back.service.forum;
 
 import com.kh.back.dto.forum.request.ForumPostRequestDto;
 import com.kh.back.dto.forum.response.ForumPostCommentResponseDto;
+import com.kh.back.dto.forum.response.ForumPostDetailResponseDto;
 import com.kh.back.dto.forum.response.ForumPostResponseDto;
 import com.kh.back.dto.forum.response.PaginationDto;
 import com.kh.back.dto.python.SearchListResDto;
 import com.kh.back.dto.python.SearchResDto;
 import com.kh.back.service.PurchaseService;
 import com.kh.back.service.member.MemberService;
+import com.kh.back.service.python.AsyncSearchClient;
 import com.kh.back.service.python.ForumEsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +34,7 @@ public class ForumPostService {
     private final ForumEsService forumEsService;
     private final MemberService memberService;
     private final PurchaseService purchaseService; // 프리미엄 회원 체크를 위한 서비스 주입
+    private final AsyncSearchClient asyncSearchClient; // 상세 + 댓글 동시 조회용
 
     private static final int REPORT_THRESHOLD = 10;
 
@@ -122,6 +126,29 @@ public class ForumPostService {
         return Optional.of(rawDto);
     }
 
+    /**
+     * 게시글 상세 + 댓글 목록 조회
+     * - 두 Flask 호출을 순서대로 보내지 않고 동시에 보내서 상세 화면 응답 시간을 줄임
+     * - 게시글이 없으면 Optional.empty(), 댓글 조회만 실패하면 빈 댓글 목록과 partial=true
+     */
+    public Optional<ForumPostDetailResponseDto> getPostDetailsWithComments(String postId) {
+        log.info("게시글 상세 + 댓글 조회, ID: {}", postId);
+        CompletableFuture<ForumPostResponseDto> postFuture = asyncSearchClient.forumPostDetail(postId);
+        CompletableFuture<List<ForumPostCommentResponseDto>> commentsFuture = asyncSearchClient.forumComments(postId);
+
+        ForumPostResponseDto post = postFuture.join();
+        if (post == null) {
+            log.warn("getPostDetailsWithComments() -> 받은 DTO가 null입니다.");
+            return Optional.empty();
+        }
+        List<ForumPostCommentResponseDto> comments = commentsFuture.join();
+        return Optional.of(new ForumPostDetailResponseDto(
+                post,
+                comments == null ? List.of() : comments,
+                comments == null
+        ));
+    }
+
     /**
      * 게시글 제목 수정
      */
@@ -0,0 +1,115 @@
+package com.kh.back.service.member;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.kh.back.constant.Authority;
+import com.kh.back.entity.member.Member;
+import com.kh.back.repository.member.MemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 로그인 회원 정보 조회 공용 창구 (MemberService, PurchaseService 등에서 같이 사용)
+ * - member: 요청(HTTP request) 하나 안에서는 회원 엔티티를 한 번만 조회 (convertAuthToEntity가 여러 번 불려도 같은 객체)
+ *   요청 밖(스케줄러, 비동기 스레드)에서는 매번 조회
+ * - summary: 닉네임, 권한은 요청을 넘어 짧은 TTL(member.context.ttl-seconds)로 캐시
+ *   → 게시글 작성처럼 닉네임/관리자를 차례로 확인하는 경로에서 회원 조회를 반복하지 않음
+ *   (프리미엄 여부는 PremiumEntitlementService)
+ * - changeNickName, AdminService.editMember, 회원 탈퇴 시 evict로 바로 무효화
+ *   (서버가 여러 대면 다른 서버의 캐시는 TTL이 지나야 반영되므로 TTL은 짧게 유지)
+ */
+@Slf4j
+@Component
+public class MemberContext {
+	private static final String REQUEST_ATTRIBUTE = MemberContext.class.getName() + ".members";
+
+	private final MemberRepository memberRepository;
+	private final Cache<Long, Summary> summaries;
+
+	public MemberContext(MemberRepository memberRepository,
+						 MeterRegistry meterRegistry,
+						 @Value("${member.context.max-size:10000}") long maxSize,
+						 @Value("${member.context.ttl-seconds:30}") long ttlSeconds) {
+		this.memberRepository = memberRepository;
+		this.summaries = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		GuavaCacheMetrics.monitor(meterRegistry, summaries, "member.summary");
+	}
+
+	// 회원 엔티티 (현재 요청 안에서는 한 번만 조회), 없으면 null
+	public Member member(Long memberId) {
+		Map<Long, Optional<Member>> members = requestMembers();
+		if (members == null) {
+			return memberRepository.findById(memberId).orElse(null);
+		}
+		return members.computeIfAbsent(memberId, id -> memberRepository.findById(id)).orElse(null);
+	}
+
+	// 닉네임/권한 (요청 간 캐시), 없는 회원이면 null
+	public Summary summary(Long memberId) {
+		Summary summary = summaries.getIfPresent(memberId);
+		if (summary != null) {
+			return summary;
+		}
+		Member member = member(memberId);
+		if (member == null) {
+			return null; // 없는 회원은 캐시하지 않음
+		}
+		summary = new Summary(member.getMemberId(), member.getNickName(), member.getAuthority());
+		summaries.put(memberId, summary);
+		return summary;
+	}
+
+	// 회원 정보가 바뀐 경우 호출
+	public void evict(Long memberId) {
+		summaries.invalidate(memberId);
+		Map<Long, Optional<Member>> members = requestMembers();
+		if (members != null) {
+			members.remove(memberId);
+		}
+		log.debug("회원 정보 캐시 무효화 : {}", memberId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<Long, Optional<Member>> requestMembers() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		Map<Long, Optional<Member>> members =
+				(Map<Long, Optional<Member>>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		if (members == null) {
+			members = new HashMap<>(); // 요청 하나는 한 스레드에서 처리
+			attributes.setAttribute(REQUEST_ATTRIBUTE, members, RequestAttributes.SCOPE_REQUEST);
+		}
+		return members;
+	}
+
+	// 캐시되는 회원 정보 (변경 불가)
+	@Getter
+	@AllArgsConstructor
+	public static final class Summary {
+		private final Long memberId;
+		private final String nickName;
+		private final Authority authority;
+
+		public boolean isAdmin() {
+			return authority == Authority.ROLE_ADMIN;
+		}
+	}
+}
@@ -6,6 +6,7 @@ import com.kh.back.dto.member.res.MemberInfoDto;
 import com.kh.back.entity.member.Member;
 import com.kh.back.jwt.TokenProvider;
 import com.kh.back.repository.member.MemberRepository;
+import com.kh.back.service.auth.RefreshTokenStore;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -13,7 +14,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.CrossOrigin;
 
-import javax.servlet.http.HttpServletRequest;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,24 +25,10 @@ public class MemberService {
 	private MemberRepository memberRepository;
 	private TokenProvider tokenProvider;
 	private PasswordEncoder passwordEncoder;
-	private final HttpServletRequest request;
+	private final MemberContext memberContext; // 요청 내 회원 조회 1회 + 닉네임/권한 캐시
+	private final RefreshTokenStore refreshTokenStore;
 	
 
-	public boolean checkPassword(Authentication auth, String password) {
-		Long memberId = getMemberId(auth);
-		System.out.println(password);
-		System.out.println(memberId);
-		request.getSession().setAttribute("memberId", memberId);
-		Optional<Member> memberOptional = memberRepository.findById(memberId);  // 이메일로 회원 조회
-
-		if (memberOptional.isPresent()) {
-			Member member = memberOptional.get();
-			// 입력된 평문 비밀번호와 DB에 저장된 암호화된 비밀번호 비교
-			return passwordEncoder.matches(password, member.getPwd());
-		}
-
-		return false;  // 이메일이 존재하지 않으면 false 반환
-	}
 	public boolean deleteMember(Long memberId) {
 		try {
 			Member member = memberRepository.findById(memberId)
@@ -57,6 +43,8 @@ public class MemberService {
 			member.setAuthority(null);
 			member.setUserId(memberId + "deleted" + UUID.randomUUID());
 			memberRepository.save(member);
+			memberContext.evict(memberId);
+			refreshTokenStore.revokeAll(member); // 모든 기기의 로그인 연장 차단
 
 			return true;
 		} catch (Exception e) {
@@ -66,7 +54,7 @@ public class MemberService {
 	}
 
 	public String getRole(Authentication auth) {
-		return convertAuthToEntity(auth).getAuthority().toString();
+		return memberContext.summary(getMemberId(auth)).getAuthority().toString();
 	}
 	
 	public Long getMemberId(Authentication auth) {
@@ -79,9 +67,9 @@ public class MemberService {
 			log.warn("Authentication 의 형태 : {}", authentication);
 			// Name 은 String 으로 되어 있기 때문에 Long으로 바꿔주는 과정이 있어야 타입이 일치
 			Long id = Long.parseLong(authentication.getName());
-			Member member = memberRepository.findById(id)
+			Member member = Optional.ofNullable(memberContext.member(id)) // 같은 요청에서는 한 번만 조회
 				.orElseThrow(()-> new RuntimeException("존재 하지 않는 memberId 입니다."));
-			log.warn("{} - {}",authentication, member);
+			log.debug("{} - {}",authentication, member);
 			return member;
 		} catch (Exception e) {
 			log.error(e.getMessage());
@@ -89,23 +77,8 @@ public class MemberService {
 		}
 	}
 
-	public void updatePassword(String newPassword, PasswordEncoder passwordEncoder) {
-		Long memberId = (Long) request.getSession().getAttribute("memberId"); // 수정된 세션 접근 방식
-		System.out.println("세션 ID: " + request.getSession().getId());
-		if (memberId == null) {
-			throw new RuntimeException("정보가 만료 되었습니다. 인증을 다시 진행해주세요.");
-		}
-		Optional<Member> memberOptional = memberRepository.findById(memberId);
-		Member member = memberOptional.orElseThrow(() -> new RuntimeException("이메일에 해당하는 회원이 존재하지 않습니다."));
-
-		String encodedPassword = passwordEncoder.encode(newPassword);
-		member.setPwd(encodedPassword);
-		memberRepository.save(member);
-		request.getSession().removeAttribute("memberId"); // 세션에서 이메일 제거
-	}
-	
 	public Member getMemberById( Long memberId ) {
-		return memberRepository.findById(memberId).orElse(null);
+		return memberContext.member(memberId);
 	}
 
 
@@ -119,6 +92,7 @@ public class MemberService {
 		// 닉네임 변경
 		member.setNickName(nickname);
 		memberRepository.save(member); // 변경 사항 저장
+		memberContext.evict(memberId); // 캐시된 닉네임 무효화
 		return true;
 	}
 
@@ -160,10 +134,10 @@ public class MemberService {
 	 * @return true if the member is an admin, false otherwise.
 	 */
 	public boolean isAdmin(Long memberId) {
-		// 회원을 조회하고, authority가 ROLE_ADMIN이면 true 반환
-		Member member = memberRepository.findById(memberId)
-				.orElseThrow(() -> new IllegalArgumentException("유효하지 않은 회원 ID입니다: " + memberId));
-		return member.getAuthority() == Authority.ROLE_ADMIN;
+		// 회원 권한(캐시)을 확인하고, authority가 ROLE_ADMIN이면 true 반환
+		return Optional.ofNullable(memberContext.summary(memberId))
+				.orElseThrow(() -> new IllegalArgumentException("유효하지 않은 회원 ID입니다: " + memberId))
+				.isAdmin();
 	}
 
 	public MemberInfoDto getMemberInfo(Authentication authentication) {
@@ -196,10 +170,9 @@ public class MemberService {
 	 * @throws IllegalArgumentException 유효하지 않은 회원 ID인 경우 예외 발생
 	 */
 	public String getNickname(Long memberId) {
-		// memberRepository에서 memberId로 회원 조회, 없으면 예외 발생
-		Member member = memberRepository.findById(memberId)
-				.orElseThrow(() -> new IllegalArgumentException("유효하지 않은 회원 ID입니다: " + memberId));
-		// 회원 엔티티에서 닉네임 반환
-		return member.getNickName();
+		// 캐시된 회원 정보에서 닉네임 반환 (없으면 조회), 없는 회원이면 예외 발생
+		return Optional.ofNullable(memberContext.summary(memberId))
+				.orElseThrow(() -> new IllegalArgumentException("유효하지 않은 회원 ID입니다: " + memberId))
+				.getNickName();
 	}
 }
\ No newline at end of file
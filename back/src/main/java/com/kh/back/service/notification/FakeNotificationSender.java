@@ -0,0 +1,53 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.entity.NotificationOutbox;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실제로 보내지 않는 문자 게이트웨이/SMTP 대용 (notification.sender=fake, 로컬/테스트용)
+ * - 받는 사람별 마지막 메시지 보관 → 테스트에서 lastMessage로 인증번호 확인
+ * - failNext(n): 다음 n건을 실패로 응답 → 재시도/dead letter 확인용
+ */
+@Slf4j
+public class FakeNotificationSender implements NotificationSender {
+	private final Map<String, String> lastMessages = new ConcurrentHashMap<>();
+	private final AtomicInteger failures = new AtomicInteger();
+
+	@Override
+	public Map<Long, String> sendSms(List<NotificationOutbox> batch) {
+		return deliver("SMS", batch);
+	}
+
+	@Override
+	public Map<Long, String> sendMail(List<NotificationOutbox> batch) {
+		return deliver("메일", batch);
+	}
+
+	// 받는 사람에게 마지막으로 보낸 메시지, 없으면 null
+	public String lastMessage(String to) {
+		return lastMessages.get(to);
+	}
+
+	public void failNext(int count) {
+		failures.set(count);
+	}
+
+	private Map<Long, String> deliver(String type, List<NotificationOutbox> batch) {
+		Map<Long, String> failed = new HashMap<>();
+		for (NotificationOutbox notification : batch) {
+			if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				failed.put(notification.getId(), "가짜 발송 실패");
+				continue;
+			}
+			lastMessages.put(notification.getRecipient(), notification.getBody());
+			log.info("[가짜 {}] {} : {}", type, notification.getRecipient(), notification.getBody());
+		}
+		return failed;
+	}
+}
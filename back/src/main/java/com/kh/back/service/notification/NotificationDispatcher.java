@@ -0,0 +1,344 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.constant.NotificationChannel;
+import com.kh.back.constant.NotificationStatus;
+import com.kh.back.entity.NotificationOutbox;
+import com.kh.back.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 문자/메일 발송 (outbox 패턴)
+ * - enqueueSms/enqueueMail: notification_outbox에 저장만 하고 반환 → HTTP 요청은 문자/메일 업체 응답을 기다리지 않음
+ * - 저장이 커밋되면(NotificationEnqueuedEvent) 바로 발송 시작, 놓친 알림은 notification.poll-interval-ms 마다 다시 확인
+ * - 발송할 알림을 batch-size 개씩 DB에서 선점(claim_token, claimed_until) → notificationExecutor 에서 채널별로 묶어서 발송
+ *   빈 발송 스레드가 있을 때만 선점하고, 업체 호출 직전에 선점을 연장 + 결과는 claim_token 조건부로 반영
+ *   선점한 서버가 발송 중에 죽으면 claim-lease-seconds 뒤 다른 서버/작업이 다시 선점 (최소 한 번 발송)
+ *   선점 쿼리(NotificationOutboxRepository.claim)는 MySQL 전용 문법(UPDATE ... ORDER BY ... LIMIT)
+ * - 실패하면 지수 backoff(+지터)로 재시도, max-attempts 번 실패하면 DEAD(dead letter)로 남기고 더 보내지 않음
+ * - 유효 시간(validFor, 인증번호 TTL)이 지난 알림은 재시도 차례가 와도 보내지 않고 DEAD (만료된 인증번호 문자가 늦게 가지 않도록)
+ * - SENT/DEAD가 되면 본문(인증번호)을 지우고, retention-minutes 가 지난 SENT/DEAD 행은 purge-interval-ms 마다 삭제
+ * - 지표: notification.outbox.pending(대기 건수), notification.send(업체 호출 시간), notification.delivery(저장 → 발송 완료 시간),
+ *   notification.result(sent/retry/dead/expired 건수)
+ */
+@Slf4j
+@Service
+public class NotificationDispatcher {
+	private final NotificationOutboxRepository outboxRepository;
+	private final NotificationSender sender;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ThreadPoolTaskExecutor executor;
+	private final MeterRegistry meterRegistry;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration backoffBase;
+	private final Duration backoffMax;
+	private final Duration claimLease;
+	private final Duration retention;
+	private final AtomicBoolean dispatching = new AtomicBoolean();
+	private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+	private final AtomicLong pending = new AtomicLong(); // 대기 건수 (poll 마다 DB 값으로 보정)
+	private final Semaphore deliverySlots; // 바로 발송을 시작할 수 있는 스레드 수 (선점 스레드 몫 하나 제외)
+	private final AtomicBoolean starved = new AtomicBoolean(); // 빈 발송 스레드가 없어서 선점을 멈춤
+
+	public NotificationDispatcher(NotificationOutboxRepository outboxRepository,
+								  NotificationSender sender,
+								  ApplicationEventPublisher eventPublisher,
+								  @Qualifier("notificationExecutor") ThreadPoolTaskExecutor executor,
+								  MeterRegistry meterRegistry,
+								  @Value("${notification.batch-size:50}") int batchSize,
+								  @Value("${notification.max-attempts:6}") int maxAttempts,
+								  @Value("${notification.backoff-base-seconds:5}") long backoffBaseSeconds,
+								  @Value("${notification.backoff-max-seconds:600}") long backoffMaxSeconds,
+								  @Value("${notification.claim-lease-seconds:120}") long claimLeaseSeconds,
+								  @Value("${notification.retention-minutes:1440}") long retentionMinutes) {
+		this.outboxRepository = outboxRepository;
+		this.sender = sender;
+		this.eventPublisher = eventPublisher;
+		this.executor = executor;
+		this.meterRegistry = meterRegistry;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.backoffBase = Duration.ofSeconds(backoffBaseSeconds);
+		this.backoffMax = Duration.ofSeconds(backoffMaxSeconds);
+		this.claimLease = Duration.ofSeconds(claimLeaseSeconds);
+		this.retention = Duration.ofMinutes(retentionMinutes);
+		this.deliverySlots = new Semaphore(Math.max(1, executor.getMaxPoolSize() - 1));
+		Gauge.builder("notification.outbox.pending", pending, AtomicLong::get)
+				.description("발송 대기 중인 문자/메일 수")
+				.register(meterRegistry);
+	}
+
+	public void enqueueSms(String phone, String text) {
+		enqueueSms(phone, text, null);
+	}
+
+	// validFor: 이 시간 안에 보내지 못하면 보내지 않음 (인증번호 TTL), null이면 만료 없음
+	public void enqueueSms(String phone, String text, Duration validFor) {
+		enqueue(new NotificationOutbox(NotificationChannel.SMS, phone, null, text, validFor));
+	}
+
+	public void enqueueMail(String email, String subject, String text) {
+		enqueueMail(email, subject, text, null);
+	}
+
+	public void enqueueMail(String email, String subject, String text, Duration validFor) {
+		enqueue(new NotificationOutbox(NotificationChannel.EMAIL, email, subject, text, validFor));
+	}
+
+	private void enqueue(NotificationOutbox notification) {
+		outboxRepository.save(notification);
+		pending.incrementAndGet();
+		eventPublisher.publishEvent(new NotificationEnqueuedEvent(notification.getId(), notification.getChannel()));
+	}
+
+	// 저장이 커밋된 뒤 발송 시작 (트랜잭션 밖에서 저장한 경우 바로)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onEnqueued(NotificationEnqueuedEvent event) {
+		requestDispatch();
+	}
+
+	private void requestDispatch() {
+		try {
+			executor.execute(this::dispatch);
+		} catch (TaskRejectedException e) {
+			log.debug("발송 풀이 가득 참, 다음 확인 때 발송");
+		}
+	}
+
+	// 놓친 알림(발송 풀 초과, 재시도 시각 도래, 선점 만료) 확인 + 대기 건수 보정
+	@Scheduled(fixedDelayString = "${notification.poll-interval-ms:5000}")
+	public void poll() {
+		try {
+			pending.set(outboxRepository.countByStatus(NotificationStatus.PENDING));
+		} catch (Exception e) {
+			log.warn("알림 대기 건수 조회 실패 : {}", e.getMessage());
+		}
+		dispatch();
+	}
+
+	// 보관 기간이 지난 SENT/DEAD 삭제 (여러 서버에서 돌아도 같은 조건의 DELETE라 문제 없음)
+	@Scheduled(fixedDelayString = "${notification.purge-interval-ms:600000}")
+	public void purge() {
+		try {
+			int deleted = outboxRepository.deleteByStatusInAndCreatedAtBefore(
+					List.of(NotificationStatus.SENT, NotificationStatus.DEAD), LocalDateTime.now().minus(retention));
+			if (deleted > 0) {
+				log.info("보관 기간이 지난 알림 {}건 삭제", deleted);
+			}
+		} catch (Exception e) {
+			log.warn("지난 알림 삭제 실패 : {}", e.getMessage());
+		}
+	}
+
+	// 서버 안에서는 한 스레드만 선점, 선점 중에 들어온 요청은 끝난 뒤 한 번 더 확인
+	void dispatch() {
+		dispatchRequested.set(true);
+		while (dispatchRequested.get() && dispatching.compareAndSet(false, true)) {
+			try {
+				dispatchRequested.set(false);
+				claimAndSubmit();
+			} catch (Exception e) {
+				log.error("알림 선점 실패 : {}", e.getMessage());
+			} finally {
+				dispatching.set(false);
+			}
+		}
+	}
+
+	// 발송 스레드가 비어 있을 때만 선점 → 선점한 알림이 풀 큐에서 기다리다 선점이 만료되는 일이 없도록
+	private void claimAndSubmit() {
+		while (true) {
+			if (!deliverySlots.tryAcquire()) {
+				starved.set(true); // 발송이 하나 끝나면 다시 확인
+				return;
+			}
+			LocalDateTime now = LocalDateTime.now();
+			String token = UUID.randomUUID().toString();
+			int claimed;
+			List<NotificationOutbox> batch;
+			try {
+				claimed = outboxRepository.claim(token, now, now.plus(claimLease), batchSize);
+				batch = claimed == 0 ? List.of() : outboxRepository.findByClaimToken(token);
+			} catch (RuntimeException e) {
+				deliverySlots.release();
+				throw e;
+			}
+			if (claimed == 0) {
+				deliverySlots.release();
+				return;
+			}
+			try {
+				executor.execute(() -> deliver(token, batch));
+			} catch (TaskRejectedException e) {
+				deliverySlots.release();
+				outboxRepository.release(token); // 다음 확인 때 다시 선점
+				log.warn("발송 풀이 가득 참, 알림 {}건 선점 해제", batch.size());
+				return;
+			}
+			if (claimed < batchSize) {
+				return;
+			}
+		}
+	}
+
+	// 선점한 알림을 채널별로 묶어서 발송 후 결과 반영
+	private void deliver(String token, List<NotificationOutbox> batch) {
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			Map<NotificationChannel, List<NotificationOutbox>> byChannel = new EnumMap<>(NotificationChannel.class);
+			List<NotificationOutbox> expired = new ArrayList<>();
+			for (NotificationOutbox notification : batch) {
+				if (notification.getExpiresAt() != null && !now.isBefore(notification.getExpiresAt())) {
+					expired.add(notification);
+					continue;
+				}
+				byChannel.computeIfAbsent(notification.getChannel(), channel -> new ArrayList<>()).add(notification);
+			}
+			if (!expired.isEmpty()) {
+				expire(token, expired);
+			}
+			byChannel.forEach((channel, notifications) -> {
+				List<NotificationOutbox> owned = renewClaim(token, notifications);
+				if (owned.isEmpty()) {
+					return;
+				}
+				Timer.Sample sample = Timer.start(meterRegistry);
+				Map<Long, String> failed;
+				try {
+					failed = channel == NotificationChannel.SMS ? sender.sendSms(owned) : sender.sendMail(owned);
+				} catch (Exception e) {
+					failed = new HashMap<>();
+					for (NotificationOutbox notification : owned) {
+						failed.put(notification.getId(), e.getMessage());
+					}
+				}
+				sample.stop(meterRegistry.timer("notification.send", "channel", channel.name().toLowerCase()));
+				try {
+					record(token, channel, owned, failed);
+				} catch (Exception e) {
+					// 선점이 만료되면 다시 발송됨 (이미 보낸 알림이 한 번 더 갈 수 있음)
+					log.error("알림 발송 결과 저장 실패 ({} {}건) : {}", channel, owned.size(), e.getMessage());
+				}
+			});
+		} finally {
+			deliverySlots.release();
+			if (starved.getAndSet(false)) {
+				requestDispatch();
+			}
+		}
+	}
+
+	/*
+	 * 업체 호출 직전에 선점 연장 (claimed_until = 지금 + claim-lease-seconds)
+	 * - claim_token이 그대로인 알림만 연장됨 → 앞 채널 발송이 오래 걸려 선점이 만료되고 다른 작업이 다시 선점한 알림은 보내지 않음
+	 */
+	private List<NotificationOutbox> renewClaim(String token, List<NotificationOutbox> notifications) {
+		LocalDateTime now = LocalDateTime.now();
+		int renewed = outboxRepository.renewClaim(token, now.plus(claimLease));
+		if (renewed >= notifications.size()) {
+			return notifications;
+		}
+		Set<Long> ownedIds = new HashSet<>();
+		for (NotificationOutbox notification : outboxRepository.findByClaimToken(token)) {
+			ownedIds.add(notification.getId());
+		}
+		List<NotificationOutbox> owned = new ArrayList<>(notifications.size());
+		for (NotificationOutbox notification : notifications) {
+			if (ownedIds.contains(notification.getId())) {
+				owned.add(notification);
+			}
+		}
+		log.warn("선점이 만료되어 다른 작업이 가져간 알림 {}건은 보내지 않음", notifications.size() - owned.size());
+		return owned;
+	}
+
+	// 유효 시간이 지난 알림은 보내지 않고 DEAD
+	private void expire(String token, List<NotificationOutbox> expired) {
+		int dead = 0;
+		try {
+			for (NotificationOutbox notification : expired) {
+				dead += outboxRepository.markDead(notification.getId(), token, notification.getAttempts(), "유효 시간 만료");
+				meterRegistry.counter("notification.result", "channel", notification.getChannel().name().toLowerCase(),
+						"result", "expired").increment();
+			}
+			log.warn("유효 시간이 지난 알림 {}건 발송 취소", expired.size());
+		} catch (Exception e) {
+			log.error("만료 알림 저장 실패 ({}건) : {}", expired.size(), e.getMessage());
+		} finally {
+			pending.addAndGet(-dead);
+		}
+	}
+
+	/*
+	 * 발송 결과 반영 (모두 claim_token 조건부 UPDATE)
+	 * - 선점이 만료되어 다른 작업이 다시 선점한 알림은 그 작업의 결과를 덮어쓰지 않음
+	 */
+	private void record(String token, NotificationChannel channel, List<NotificationOutbox> notifications, Map<Long, String> failed) {
+		LocalDateTime now = LocalDateTime.now();
+		String channelTag = channel.name().toLowerCase();
+		List<Long> sentIds = new ArrayList<>(notifications.size());
+		int retried = 0;
+		int dead = 0;
+		for (NotificationOutbox notification : notifications) {
+			String error = failed.get(notification.getId());
+			if (error == null) {
+				sentIds.add(notification.getId());
+				meterRegistry.timer("notification.delivery", "channel", channelTag)
+						.record(Duration.between(notification.getCreatedAt(), now));
+				continue;
+			}
+			int attempts = notification.getAttempts() + 1;
+			String lastError = error.length() > 500 ? error.substring(0, 500) : error;
+			if (attempts >= maxAttempts) {
+				dead += outboxRepository.markDead(notification.getId(), token, attempts, lastError);
+				log.error("알림 발송 포기 (dead letter) : {} {} - {}", channel, notification.getRecipient(), error);
+			} else {
+				retried += outboxRepository.markRetry(notification.getId(), token, attempts, lastError,
+						now.plus(backoff(attempts)));
+				log.warn("알림 발송 실패, {}번째 재시도 예정 : {} {} - {}", attempts, channel,
+						notification.getRecipient(), error);
+			}
+		}
+		int sent = sentIds.isEmpty() ? 0 : outboxRepository.markSent(sentIds, token, now);
+		if (sent < sentIds.size()) {
+			log.warn("선점이 만료되어 발송 완료로 기록하지 못한 알림 {}건 (다른 작업이 한 번 더 보낼 수 있음)", sentIds.size() - sent);
+		}
+		pending.addAndGet(-(sent + dead));
+		meterRegistry.counter("notification.result", "channel", channelTag, "result", "sent").increment(sentIds.size());
+		meterRegistry.counter("notification.result", "channel", channelTag, "result", "retry").increment(retried);
+		meterRegistry.counter("notification.result", "channel", channelTag, "result", "dead").increment(dead);
+	}
+
+	// base * 2^(attempts-1), 최대 backoffMax, ±20% 지터 (실패한 알림이 한꺼번에 다시 몰리지 않도록)
+	private Duration backoff(int attempts) {
+		long millis = backoffBase.toMillis() << Math.min(attempts - 1, 20);
+		millis = Math.min(millis, backoffMax.toMillis());
+		return Duration.ofMillis((long) (millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+	}
+}
@@ -0,0 +1,15 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.constant.NotificationChannel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 알림 outbox 저장 완료 (NotificationDispatcher.enqueue → 커밋 후 발송 시작)
+@Getter
+@ToString
+@AllArgsConstructor
+public class NotificationEnqueuedEvent {
+    private final Long outboxId;
+    private final NotificationChannel channel;
+}
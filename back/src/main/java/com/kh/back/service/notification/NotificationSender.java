@@ -0,0 +1,21 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.entity.NotificationOutbox;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문자/메일 실제 발송 (NotificationConfig에서 notification.sender 값으로 선택)
+ * - provider(기본): CoolSMS, JavaMailSender (ProviderNotificationSender)
+ * - fake: 실제로 보내지 않고 메모리에만 남김, 로컬/테스트용 (FakeNotificationSender)
+ * NotificationDispatcher의 발송 스레드에서만 호출 (HTTP 요청 스레드에서 호출하지 않음)
+ */
+public interface NotificationSender {
+
+	// 문자 일괄 발송, 실패한 알림 id → 오류 메시지 (모두 성공이면 빈 Map)
+	Map<Long, String> sendSms(List<NotificationOutbox> batch);
+
+	// 메일 일괄 발송, 실패한 알림 id → 오류 메시지 (모두 성공이면 빈 Map)
+	Map<Long, String> sendMail(List<NotificationOutbox> batch);
+}
@@ -0,0 +1,80 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.entity.NotificationOutbox;
+import net.nurigo.sdk.NurigoApp;
+import net.nurigo.sdk.message.model.Message;
+import net.nurigo.sdk.message.service.DefaultMessageService;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CoolSMS(문자), JavaMailSender(메일) 실제 발송
+ * - 메일: 배치 전체를 send(SimpleMailMessage...) 한 번으로 보내서 SMTP 연결 하나를 재사용, 실패한 메일만 골라서 반환
+ * - 문자: 한 건씩 발송 (배치 API의 실패 항목 응답 형식에 의존하지 않음)
+ */
+public class ProviderNotificationSender implements NotificationSender {
+	private final DefaultMessageService messageService;
+	private final JavaMailSender mailSender;
+	private final String senderNumber; // 문자 발신 번호 (CoolSMS에 등록된 번호)
+
+	public ProviderNotificationSender(JavaMailSender mailSender, String apiKey, String apiSecret, String domain, String senderNumber) {
+		this.messageService = NurigoApp.INSTANCE.initialize(apiKey, apiSecret, domain);
+		this.mailSender = mailSender;
+		this.senderNumber = senderNumber;
+	}
+
+	@Override
+	public Map<Long, String> sendSms(List<NotificationOutbox> batch) {
+		Map<Long, String> failed = new HashMap<>();
+		for (NotificationOutbox notification : batch) {
+			Message message = new Message();
+			message.setFrom(senderNumber);
+			message.setTo(notification.getRecipient());
+			message.setText(notification.getBody());
+			try {
+				messageService.send(message);
+			} catch (Exception e) {
+				failed.put(notification.getId(), "SMS 발송 실패 : " + e.getMessage());
+			}
+		}
+		return failed;
+	}
+
+	@Override
+	public Map<Long, String> sendMail(List<NotificationOutbox> batch) {
+		Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+		SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+		for (int i = 0; i < batch.size(); i++) {
+			NotificationOutbox notification = batch.get(i);
+			SimpleMailMessage message = new SimpleMailMessage();
+			message.setTo(notification.getRecipient());
+			message.setSubject(notification.getSubject());
+			message.setText(notification.getBody());
+			messages[i] = message;
+			ids.put(message, notification.getId());
+		}
+		Map<Long, String> failed = new HashMap<>();
+		try {
+			mailSender.send(messages);
+		} catch (MailSendException e) {
+			if (e.getFailedMessages().isEmpty()) { // 연결 실패 등 전체 실패
+				batch.forEach(notification -> failed.put(notification.getId(), e.getMessage()));
+			}
+			e.getFailedMessages().forEach((message, cause) -> {
+				Long id = ids.get(message);
+				if (id != null) {
+					failed.put(id, cause.getMessage());
+				}
+			});
+		} catch (Exception e) {
+			batch.forEach(notification -> failed.put(notification.getId(), e.getMessage()));
+		}
+		return failed;
+	}
+}
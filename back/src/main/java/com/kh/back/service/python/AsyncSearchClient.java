@@ -0,0 +1,94 @@
+package com.kh.back.service.python;
+
+import com.kh.back.dto.forum.response.ForumPostCommentResponseDto;
+import com.kh.back.dto.forum.response.ForumPostResponseDto;
+import com.kh.back.dto.python.SearchListResDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Flask 호출을 CompletableFuture로 감싸서 서로 독립적인 호출을 동시에 보내기 위한 클라이언트
+ * - 칵테일+음식 통합 검색, 게시글 상세+댓글 목록처럼 한 화면에 여러 번 호출이 필요한 경우 사용
+ * - 모든 future는 요청 단위 deadline(flask.async.deadline-ms)이 지나면 null로 완료됨
+ *   → 호출하는 쪽에서 null을 "해당 부분 결과 없음(partial)"으로 처리
+ *   deadline이 지나면 큐에서 기다리거나 실행 중인 작업도 취소하고, 실행 중인 HTTP 호출은 FlaskDeadline으로
+ *   read timeout이 남은 시간 이하로 줄어 있어서 버린 결과를 기다리며 스레드/커넥션을 붙잡지 않음
+ * - 스레드 풀이 가득 차서 작업이 거절돼도 timeout과 같이 null로 완료 (호출 스레드에서 대신 실행하지 않음)
+ * - 실제 HTTP 호출, 캐시는 ElasticService / ForumEsService를 그대로 사용
+ */
+@Slf4j
+@Component
+public class AsyncSearchClient {
+	private final ElasticService elasticService;
+	private final ForumEsService forumEsService;
+	private final ThreadPoolTaskExecutor executor;
+	private final long deadlineMillis;
+
+	public AsyncSearchClient(ElasticService elasticService,
+							 ForumEsService forumEsService,
+							 @Qualifier("flaskAsyncExecutor") ThreadPoolTaskExecutor executor,
+							 @Value("${flask.async.deadline-ms:3000}") long deadlineMillis) {
+		this.elasticService = elasticService;
+		this.forumEsService = forumEsService;
+		this.executor = executor;
+		this.deadlineMillis = deadlineMillis;
+	}
+
+	// 레시피 검색 (ElasticService.search)
+	public CompletableFuture<List<SearchListResDto>> search(String q, String type, String category, String cookingMethod, int page, int size) {
+		return supply("search:" + type, () -> elasticService.search(q, type, category, cookingMethod, page, size));
+	}
+
+	// 포럼 게시글 상세 조회 (ForumEsService.detail)
+	public CompletableFuture<ForumPostResponseDto> forumPostDetail(String postId) {
+		return supply("forumPostDetail", () -> forumEsService.detail(postId));
+	}
+
+	// 포럼 게시글의 댓글 목록 조회 (ForumEsService.searchCommentsForPost)
+	public CompletableFuture<List<ForumPostCommentResponseDto>> forumComments(String postId) {
+		return supply("forumComments", () -> forumEsService.searchCommentsForPost(postId));
+	}
+
+	/**
+	 * 작업을 Flask 전용 스레드 풀에서 실행
+	 * - 예외가 나거나 deadline이 지나거나 풀이 가득 차서 거절되면 null로 완료 (다른 호출 결과는 그대로 사용할 수 있도록)
+	 */
+	private <T> CompletableFuture<T> supply(String name, Supplier<T> task) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Future<?> running;
+		try {
+			running = executor.submit(() -> {
+				FlaskDeadline.set(deadline);
+				try {
+					result.complete(task.get());
+				} catch (Exception e) {
+					log.error("[AsyncSearchClient] {} 호출 중 오류: {}", name, e.getMessage());
+					result.complete(null);
+				} finally {
+					FlaskDeadline.clear();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			log.warn("[AsyncSearchClient] {} 호출 거절 (Flask 스레드 풀 포화): {}", name, e.getMessage());
+			return CompletableFuture.completedFuture(null);
+		}
+		// deadline까지 끝나지 않았으면 null로 완료하고 작업 취소 (큐에 있으면 실행되지 않고, 실행 중이면 interrupt)
+		CompletableFuture.delayedExecutor(deadlineMillis, TimeUnit.MILLISECONDS, Runnable::run).execute(() -> {
+			if (result.complete(null)) {
+				running.cancel(true);
+			}
+		});
+		return result;
+	}
+}
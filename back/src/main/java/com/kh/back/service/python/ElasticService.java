@@ -1,20 +1,18 @@
 package com.kh.back.service.python;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.python.LikeReportBulkResult;
 import com.kh.back.dto.python.SearchListResDto;
 import com.kh.back.dto.python.SearchResDto;
-import com.kh.back.dto.recipe.res.CocktailListResDto;
-import com.kh.back.dto.recipe.res.CocktailResDto;
-import com.kh.back.dto.recipe.res.FoodListResDto;
-import com.kh.back.dto.recipe.res.FoodResDto;
 import com.kh.back.service.redis.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.*;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -27,18 +25,32 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ElasticService {
 
-	private final RestTemplate restTemplate;
+	@Qualifier("flaskSearchRestTemplate")
+	private final RestTemplate searchRestTemplate;
+	@Qualifier("flaskDetailRestTemplate")
+	private final RestTemplate detailRestTemplate;
+	@Qualifier("flaskWriteRestTemplate")
+	private final RestTemplate writeRestTemplate;
 	private final String flaskBaseUrl = "http://localhost:5001";
 	private final ObjectMapper objectMapper;
 	private final RedisService redisService;
-	@Autowired
-	private RedisTemplate<String, Object> redisTemplate;  // RedisTemplate 주입
+	private final RecipeDetailCache recipeDetailCache;
+	private final SearchResultCache searchResultCache;
+	private final FlaskResilience flaskResilience;
+	private final FlaskJsonReader flaskJsonReader;
+	private final MeterRegistry meterRegistry;
+	private static final int MAX_FLUSH_BATCHES_PER_RUN = 100; // 한 주기에 처리할 최대 묶음 수 (증감이 계속 들어와도 끝나도록)
+	@Value("${likes-reports.flush.batch-size:500}")
+	private int flushBatchSize;
+	@Value("${likes-reports.flush.pending-retry-after-ms:30000}")
+	private long pendingRetryAfterMillis; // 응답 없는 batch를 재전송하기까지 대기 (Flask 쓰기 timeout보다 길게)
 
 
 	/**
@@ -57,34 +69,50 @@ public class ElasticService {
 	 */
 	public List<SearchListResDto> search(String q, String type, String category, String cookingMethod, Integer page, Integer size) {
 		try {
-			String encodedQuery = URLEncoder.encode(q, StandardCharsets.UTF_8);
-			String encodedType = URLEncoder.encode(type, StandardCharsets.UTF_8);
+			// 검색 조건을 정규화해서 캐시 키로 사용 (Flask 요청에도 같은 값을 사용)
+			SearchResultCache.SearchKey key = SearchResultCache.SearchKey.of(q, type, category, cookingMethod, page, size);
+			String body = searchResultCache.get(key, () -> fetchSearch(key));
+			if (body == null) {
+				return null;
+			}
+			return convertResToList(body, key.getType());
+
+		} catch (Exception e) {
+			log.error("검색 중 에러 발생 (q={}, type={}, category={}, cookingMethod={}, page={}, size={}): {}",
+					q, type, category, cookingMethod, page, size, e.getMessage());
+			return null;
+		}
+	}
 
-			String categoryParam = (category != null && !category.isEmpty())
-					? "&category=" + URLEncoder.encode(category, StandardCharsets.UTF_8)
+	// Flask /search 호출 (캐시 miss 시에만 실행)
+	private String fetchSearch(SearchResultCache.SearchKey key) {
+		try {
+			String encodedQuery = URLEncoder.encode(key.getQ(), StandardCharsets.UTF_8);
+			String encodedType = URLEncoder.encode(key.getType(), StandardCharsets.UTF_8);
+
+			String categoryParam = !key.getCategory().isEmpty()
+					? "&category=" + URLEncoder.encode(key.getCategory(), StandardCharsets.UTF_8)
 					: "";
 
-			String methodParam = (cookingMethod != null && !cookingMethod.isEmpty())
-					? "&cookingMethod=" + URLEncoder.encode(cookingMethod, StandardCharsets.UTF_8)
+			String methodParam = !key.getCookingMethod().isEmpty()
+					? "&cookingMethod=" + URLEncoder.encode(key.getCookingMethod(), StandardCharsets.UTF_8)
 					: "";
 
 			URI uri = new URI(flaskBaseUrl + "/search?q=" + encodedQuery
 					+ "&type=" + encodedType
 					+ categoryParam
 					+ methodParam
-					+ "&page=" + page
-					+ "&size=" + size);
+					+ "&page=" + key.getPage()
+					+ "&size=" + key.getSize());
 
 			log.info("[search] Calling Flask with URI: {}", uri);
 
-			ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-			log.info("[search] Flask response: {}", response);
-
-			return convertResToList(response.getBody(), type);
+			ResponseEntity<String> response = flaskResilience.search(() -> searchRestTemplate.getForEntity(uri, String.class));
+			log.info("[search] Flask response: {}", response.getStatusCode());
 
+			return response.getBody();
 		} catch (Exception e) {
-			log.error("검색 중 에러 발생 (q={}, type={}, category={}, cookingMethod={}, page={}, size={}): {}",
-					q, type, category, cookingMethod, page, size, e.getMessage());
+			log.error("검색 중 에러 발생 ({}): {}", key, e.getMessage());
 			return null;
 		}
 	}
@@ -92,16 +120,31 @@ public class ElasticService {
 	/**
 	 * [상세 조회 메서드]
 	 * - 칵테일/음식 등 타입에 따라 적절한 DTO로 매핑
+	 * - 레시피 문서는 거의 바뀌지 않으므로 RecipeDetailCache를 먼저 확인하고, 없을 때만 Flask 호출
 	 */
 	public SearchResDto detail(String id, String type) {
+		try {
+			String body = recipeDetailCache.get(type, id, () -> fetchDetail(id, type));
+			if (body == null) {
+				return null;
+			}
+			return convertResToDto(body, type);
+		} catch (Exception e) {
+			log.error("상세 조회 중 에러 (id={}, type={}): {}", id, type, e.getMessage());
+			return null;
+		}
+	}
+
+	// Flask /detail 호출 (캐시 miss 시에만 실행)
+	private String fetchDetail(String id, String type) {
 		try {
 			URI uri = new URI(flaskBaseUrl + "/detail/" + id + "?type=" + type);
 			log.info("[detail] Calling Flask with URI: {}", uri);
 
-			ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-			log.info("[detail] Flask response: {}", response);
+			ResponseEntity<String> response = flaskResilience.detail(() -> detailRestTemplate.getForEntity(uri, String.class));
+			log.info("[detail] Flask response: {}", response.getStatusCode());
 
-			return convertResToDto(response.getBody(), type);
+			return response.getBody();
 		} catch (Exception e) {
 			log.error("상세 조회 중 에러 (id={}, type={}): {}", id, type, e.getMessage());
 			return null;
@@ -119,9 +162,10 @@ public class ElasticService {
 			headers.setContentType(MediaType.APPLICATION_JSON);
 
 			HttpEntity<String> requestEntity = new HttpEntity<>(jsonData, headers);
-			ResponseEntity<String> response = restTemplate.postForEntity(uri, requestEntity, String.class);
+			ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, requestEntity, String.class));
 
 			log.info("레시피 업로드 응답: {}", response.getBody());
+			evictSearchResults(jsonData);
 			return response.getBody();
 		} catch (Exception e) {
 			log.error("레시피 업로드 중 에러 발생: {}", e.getMessage());
@@ -137,9 +181,11 @@ public class ElasticService {
 			headers.setContentType(MediaType.APPLICATION_JSON);
 
 			HttpEntity<String> requestEntity = new HttpEntity<>(jsonData, headers);
-			ResponseEntity<String> response = restTemplate.postForEntity(uri, requestEntity, String.class);
+			ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, requestEntity, String.class));
 
 			log.info("레시피 업로드 응답: {}", response.getBody());
+			evictUpdatedRecipe(jsonData);
+			evictSearchResults(jsonData);
 			return response.getBody();
 		} catch (Exception e) {
 			log.error("레시피 업로드 중 에러 발생: {}", e.getMessage());
@@ -147,26 +193,37 @@ public class ElasticService {
 		}
 	}
 
+	// 업로드/수정된 레시피의 type 검색 결과 캐시 무효화 (수정 시 카테고리가 바뀔 수 있으므로 type 전체)
+	private void evictSearchResults(String jsonData) {
+		try {
+			JsonNode root = objectMapper.readTree(jsonData);
+			searchResultCache.evictType(root.path("type").asText(null));
+		} catch (IOException e) {
+			log.warn("[search cache] 캐시 무효화 대상 추출 실패: {}", e.getMessage());
+		}
+	}
+
+	// 수정 요청 데이터(updateId, type)로 상세 캐시 무효화
+	private void evictUpdatedRecipe(String jsonData) {
+		try {
+			JsonNode root = objectMapper.readTree(jsonData);
+			recipeDetailCache.evict(root.path("type").asText(null), root.path("updateId").asText(null));
+		} catch (IOException e) {
+			log.warn("[updateRecipe] 캐시 무효화 대상 추출 실패: {}", e.getMessage());
+		}
+	}
+
 	/**
 	 * [검색 결과 변환 메서드]
 	 * - JSON 응답 문자열을 List 형태로 변환
 	 */
 	public List<SearchListResDto> convertResToList(String response, String type) throws IOException {
-		switch (type) {
-			case "cocktail":
-				return objectMapper.readValue(
-						response,
-						objectMapper.getTypeFactory().constructCollectionType(List.class, CocktailListResDto.class)
-				);
-			case "food":
-				return objectMapper.readValue(
-						response,
-						objectMapper.getTypeFactory().constructCollectionType(List.class, FoodListResDto.class)
-				);
+		return switch (type) {
+			case "cocktail" -> flaskJsonReader.getCocktailListReader().readValue(response);
+			case "food" -> flaskJsonReader.getFoodListReader().readValue(response);
 			// 다른 타입은 필요 시 추가
-			default:
-				return null;
-		}
+			default -> null;
+		};
 	}
 
 	/**
@@ -175,45 +232,145 @@ public class ElasticService {
 	 */
 	public SearchResDto convertResToDto(String response, String type) throws IOException {
 		return switch (type) {
-			case "cocktail" -> objectMapper.readValue(response, CocktailResDto.class);
-			case "food" -> objectMapper.readValue(response, FoodResDto.class);
+			case "cocktail" -> flaskJsonReader.getCocktailDetailReader().readValue(response);
+			case "food" -> flaskJsonReader.getFoodDetailReader().readValue(response);
 			// 다른 타입은 필요 시 추가
 			default -> null;
 		};
 	}
 
 
+	/**
+	 * [좋아요/신고 수 반영]
+	 * - Redis의 dirty 집합에서 키를 batch 단위로 꺼내(SPOP) 변화량을 batch id별 pending hash로 옮기고, 문서별 delta로 합쳐 Flask에 전송
+	 * - Flask는 묶음 하나를 _bulk scripted update 한 번으로 반영하고 항목별 결과(report)를 돌려줌
+	 * - 응답을 받지 못한 batch(timeout 등)는 카운터에 되돌리지 않고 pending에 남겨뒀다가 다음 주기에 같은 batch id로 다시 보냄
+	 *   → Flask가 문서별로 반영한 batch id를 기억해서 이미 반영된 문서는 건너뛰므로 두 번 더해지지 않음
+	 * - KEYS/FLUSHALL을 쓰지 않으므로 Redis를 막거나 다른 데이터를 지우지 않고, flush 도중 들어온 증감도 유실되지 않음
+	 * - 재시도 가능한 실패 항목은 Redis 카운터에 다시 더해 두고 다음 주기에 새 batch로 재시도
+	 */
 	@Scheduled(fixedRate = 60000) // 60초마다 실행
 	public void updateLikesAndReports() {
+		if (flaskResilience.isOpen(FlaskResilience.Family.WRITE)) {
+			// Flask 쓰기 서킷이 열려 있으면 꺼냈다가 다시 되돌리기만 하므로 이번 주기는 건너뜀
+			log.warn("[updateLikesAndReports] Flask 쓰기 서킷 open 상태, 이번 반영 주기 생략");
+			return;
+		}
+		Timer.Sample sample = Timer.start(meterRegistry);
+		int drainedKeys = 0;
+		int drained = 0;
 		try {
-			List<Map<String, Object>> likeReportData = redisService.getAllLikesAndReports();
-			if (likeReportData.isEmpty()) {
+			// 이전 주기에 반영 여부를 확인하지 못한 batch부터 같은 batch id로 다시 전송
+			for (String batchId : redisService.stalePendingBatches(pendingRetryAfterMillis, MAX_FLUSH_BATCHES_PER_RUN)) {
+				meterRegistry.counter("likes_reports.flush.resent").increment();
+				int updated = flushBatch(batchId, redisService.pendingDeltas(batchId));
+				if (updated < 0) {
+					return; // Flask가 아직 응답하지 않으면 새 batch도 꺼내지 않음
+				}
+				drained += updated;
+			}
+
+			for (int batchCount = 0; batchCount < MAX_FLUSH_BATCHES_PER_RUN; batchCount++) {
+				List<String> keys = redisService.popDirtyCounterKeys(flushBatchSize);
+				if (keys.isEmpty()) {
+					break;
+				}
+				drainedKeys += keys.size();
+
+				String batchId = UUID.randomUUID().toString();
+				List<Map<String, Object>> deltas;
+				try {
+					deltas = redisService.drainCounters(batchId, keys);
+				} catch (Exception e) {
+					// 값을 옮기지 못했으므로 키만 다시 dirty 집합에 돌려둠
+					redisService.markCountersDirty(keys);
+					throw e;
+				}
+				if (deltas.isEmpty()) {
+					continue;
+				}
+				meterRegistry.summary("likes_reports.flush.batch.size").record(deltas.size());
+
+				int updated = flushBatch(batchId, deltas);
+				if (updated < 0) {
+					break;
+				}
+				drained += updated;
+			}
+
+			if (drained == 0) {
 				log.info("[updateLikesAndReports] No like or report data found in Redis.");
-				return;
+			} else {
+				log.info("[updateLikesAndReports] {} documents updated.", drained);
 			}
+		} catch (Exception e) {
+			log.error("[updateLikesAndReports] Error sending like/report data to Flask: {}", e.getMessage());
+		} finally {
+			meterRegistry.counter("likes_reports.flush.keys").increment(drainedKeys);
+			sample.stop(meterRegistry.timer("likes_reports.flush.latency"));
+		}
+	}
 
+	/**
+	 * pending batch 하나를 Flask에 보내고 결과를 반영
+	 * @return 반영된 문서 수, 응답을 받지 못했으면 -1 (batch는 pending에 남아 다음 주기에 재전송)
+	 */
+	private int flushBatch(String batchId, List<Map<String, Object>> deltas) {
+		if (deltas.isEmpty()) {
+			redisService.completeBatch(batchId);
+			return 0;
+		}
+		LikeReportBulkResult result = sendLikeReportDeltas(batchId, deltas);
+		if (result == null) {
+			log.warn("[updateLikesAndReports] Flask 전송 실패, batch {} ({}건)는 다음 주기에 다시 전송", batchId, deltas.size());
+			return -1;
+		}
+		if (!redisService.completeBatch(batchId)) {
+			// 다른 서버가 같은 batch를 재전송해서 먼저 완료함 → 재시도 항목도 그쪽에서 처리
+			log.info("[updateLikesAndReports] batch {}는 이미 완료됨", batchId);
+			return 0;
+		}
+		if (!result.getRetryable().isEmpty()) {
+			redisService.restoreCounters(result.getRetryable());
+		}
+		meterRegistry.counter("likes_reports.flush.failed").increment(result.getFailedCount());
+		meterRegistry.counter("likes_reports.flush.not_found").increment(result.getNotFound().size());
+		meterRegistry.counter("likes_reports.flush.duplicates").increment(result.getDuplicates());
+		meterRegistry.counter("likes_reports.flush.skipped").increment(result.getSkippedCount());
+		log.info("[updateLikesAndReports] 묶음 반영 결과: batch={}, updated={}, duplicates={}, retry={}, failed={}, notFound={}",
+				batchId, result.getUpdated(), result.getDuplicates(), result.getRetryable().size(), result.getFailedCount(), result.getNotFound().size());
+
+		// 좋아요/신고 수가 바뀐 레시피는 상세 캐시 무효화
+		for (Map<String, Object> delta : deltas) {
+			recipeDetailCache.evict((String) delta.get("type"), (String) delta.get("id"));
+		}
+		return result.getUpdated();
+	}
+
+	/**
+	 * 좋아요/신고 delta 묶음 하나를 Flask /update/likes-reports/bulk 로 전송
+	 * - batchId는 재전송해도 같은 값이라 Flask가 이미 반영한 문서를 건너뛸 수 있음
+	 * @return Flask의 항목별 반영 결과, 전송 자체가 실패하면 null
+	 */
+	private LikeReportBulkResult sendLikeReportDeltas(String batchId, List<Map<String, Object>> deltas) {
+		try {
 			Map<String, Object> requestBody = new HashMap<>();
-			requestBody.put("like_report_data", likeReportData);
+			requestBody.put("batchId", batchId);
+			requestBody.put("deltas", deltas);
 
 			String jsonData = objectMapper.writeValueAsString(requestBody);
-			URI uri = new URI(flaskBaseUrl + "/update/likes-reports");
+			URI uri = new URI(flaskBaseUrl + "/update/likes-reports/bulk");
 
 			HttpHeaders headers = new HttpHeaders();
 			headers.setContentType(MediaType.APPLICATION_JSON);
 			HttpEntity<String> requestEntity = new HttpEntity<>(jsonData, headers);
 
-			ResponseEntity<String> response = restTemplate.postForEntity(uri, requestEntity, String.class);
-			log.info("[updateLikesAndReports] Response from Flask: {}", response.getBody());
-
-			// Redis에서 데이터 삭제
-			redisTemplate.execute((RedisCallback<Void>) connection -> {
-				connection.flushAll();  // 모든 레디스 데이터를 삭제
-				return null;
-			});
-			log.info("[updateLikesAndReports] All data cleared from Redis.");
-
+			ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, requestEntity, String.class));
+			log.debug("[updateLikesAndReports] Response from Flask: {}", response.getBody());
+			return LikeReportBulkResult.from(objectMapper.readTree(response.getBody()));
 		} catch (Exception e) {
 			log.error("[updateLikesAndReports] Error sending like/report data to Flask: {}", e.getMessage());
+			return null;
 		}
 	}
 
@@ -235,14 +392,11 @@ public class ElasticService {
 
 			log.info("[getUserRecipes] Calling Flask with URL: {}", url);
 
-			// API 호출
-			ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-
-			// 응답을 List<Map<String, Object>> 형식으로 변환
-			List<Map<String, Object>> responseBody = objectMapper.readValue(response.getBody(),
-					new TypeReference<List<Map<String, Object>>>() {});
+			// API 호출, 응답 본문을 List<Map<String, Object>> 형식으로 바로 변환
+			List<Map<String, Object>> responseBody = flaskResilience.search(() ->
+					flaskJsonReader.read(searchRestTemplate, URI.create(url), flaskJsonReader.getUserRecipesReader()));
 
-			log.info("[getUserRecipes] Flask response: {}", responseBody);
+			log.info("[getUserRecipes] Flask response: {}건", responseBody == null ? 0 : responseBody.size());
 
 			return responseBody;
 		} catch (Exception e) {
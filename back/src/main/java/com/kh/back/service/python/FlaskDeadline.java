@@ -0,0 +1,69 @@
+package com.kh.back.service.python;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 현재 스레드에서 실행 중인 Flask 호출의 요청 단위 deadline (AsyncSearchClient가 작업을 실행하는 동안 설정)
+ * - 블로킹 소켓 읽기는 interrupt로 멈추지 않으므로, RequestFactory가 read/풀 대기 timeout을 남은 시간 이하로 줄임
+ *   → deadline이 지나 결과를 버린 호출이 Flask 스레드와 커넥션을 read timeout 끝까지 붙잡지 않음
+ * - deadline이 없는 호출(일반 동기 호출)은 RestTemplate에 설정된 timeout 그대로 사용
+ */
+public final class FlaskDeadline {
+	private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>(); // System.nanoTime() 기준
+
+	private FlaskDeadline() {
+	}
+
+	static void set(long deadlineNanos) {
+		DEADLINE.set(deadlineNanos);
+	}
+
+	static void clear() {
+		DEADLINE.remove();
+	}
+
+	// 남은 시간(ms, 최소 1), deadline이 없으면 -1
+	public static long remainingMillis() {
+		Long deadline = DEADLINE.get();
+		if (deadline == null) {
+			return -1;
+		}
+		return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+	}
+
+	// deadline이 있으면 요청별 RequestConfig의 read/풀 대기 timeout을 남은 시간으로 제한하는 팩토리 (FlaskClientConfig)
+	public static class RequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+		public RequestFactory(HttpClient httpClient) {
+			super(httpClient);
+		}
+
+		@Override
+		protected void postProcessHttpRequest(HttpUriRequest request) {
+			long remaining = remainingMillis();
+			if (remaining < 0 || !(request instanceof HttpRequestBase)) {
+				return;
+			}
+			RequestConfig config = createRequestConfig(getHttpClient());
+			if (config == null) {
+				config = RequestConfig.DEFAULT;
+			}
+			((HttpRequestBase) request).setConfig(RequestConfig.copy(config)
+					.setSocketTimeout(bound(config.getSocketTimeout(), remaining))
+					.setConnectionRequestTimeout(bound(config.getConnectionRequestTimeout(), remaining))
+					.build());
+		}
+
+		// 0 이하(무제한/미설정)면 남은 시간, 아니면 둘 중 작은 값
+		private static int bound(int timeout, long remaining) {
+			int limit = (int) Math.min(Integer.MAX_VALUE, remaining);
+			return timeout > 0 ? Math.min(timeout, limit) : limit;
+		}
+	}
+}
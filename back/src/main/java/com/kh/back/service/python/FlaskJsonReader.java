@@ -0,0 +1,66 @@
+package com.kh.back.service.python;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kh.back.dto.forum.response.ForumCategoryDto;
+import com.kh.back.dto.forum.response.ForumPostCommentResponseDto;
+import com.kh.back.dto.forum.response.ForumPostResponseDto;
+import com.kh.back.dto.recipe.res.CocktailListResDto;
+import com.kh.back.dto.recipe.res.CocktailResDto;
+import com.kh.back.dto.recipe.res.FoodListResDto;
+import com.kh.back.dto.recipe.res.FoodResDto;
+import lombok.Getter;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flask 응답 JSON 역직렬화용 ObjectReader 모음
+ * - 타입별 ObjectReader를 한 번만 만들어 재사용 (매 호출마다 JavaType 생성, deserializer 조회를 하지 않음)
+ * - read()는 응답 본문을 String으로 만들지 않고 InputStream에서 바로 DTO로 읽음
+ *   → 큰 목록 응답에서 String 변환 + 재파싱으로 메모리를 두 번 쓰던 부분 제거
+ * - 캐시에 저장해야 하는 응답(검색 결과, 레시피 상세)은 본문 문자열이 필요하므로 readValue(String)에만 사용
+ */
+@Getter
+@Component
+public class FlaskJsonReader {
+	private final ObjectReader cocktailListReader;
+	private final ObjectReader foodListReader;
+	private final ObjectReader cocktailDetailReader;
+	private final ObjectReader foodDetailReader;
+	private final ObjectReader userRecipesReader;
+	private final ObjectReader forumPostReader;
+	private final ObjectReader forumPostListReader;
+	private final ObjectReader forumCommentListReader;
+	private final ObjectReader forumCategoryListReader;
+
+	public FlaskJsonReader(ObjectMapper objectMapper) {
+		this.cocktailListReader = objectMapper.readerFor(new TypeReference<List<CocktailListResDto>>() {});
+		this.foodListReader = objectMapper.readerFor(new TypeReference<List<FoodListResDto>>() {});
+		this.cocktailDetailReader = objectMapper.readerFor(CocktailResDto.class);
+		this.foodDetailReader = objectMapper.readerFor(FoodResDto.class);
+		this.userRecipesReader = objectMapper.readerFor(new TypeReference<List<Map<String, Object>>>() {});
+		this.forumPostReader = objectMapper.readerFor(ForumPostResponseDto.class);
+		this.forumPostListReader = objectMapper.readerFor(new TypeReference<List<ForumPostResponseDto>>() {});
+		this.forumCommentListReader = objectMapper.readerFor(new TypeReference<List<ForumPostCommentResponseDto>>() {});
+		this.forumCategoryListReader = objectMapper.readerFor(new TypeReference<List<ForumCategoryDto>>() {});
+	}
+
+	/**
+	 * GET 요청을 보내고 응답 본문 스트림을 reader로 바로 역직렬화
+	 * 4xx/5xx 응답은 RestTemplate 기본 에러 핸들러가 예외로 던짐 (기존 getForEntity와 동일)
+	 */
+	public <T> T read(RestTemplate restTemplate, URI uri, ObjectReader reader) {
+		return restTemplate.execute(uri, HttpMethod.GET, null, response -> {
+			try (InputStream body = response.getBody()) {
+				return reader.readValue(body);
+			}
+		});
+	}
+}
@@ -0,0 +1,115 @@
+package com.kh.back.service.python;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Flask(검색 서버) 호출 보호 계층
+ * - 호출 종류(검색/상세 조회/쓰기)별로 서킷 브레이커와 bulkhead(동시 호출 수 제한)를 따로 둠
+ * - Flask가 죽거나 느려지면 서킷이 열려서 바로 CallNotPermittedException을 던지고,
+ *   일정 시간 후 half-open 상태에서 몇 건만 보내 보고 복구 여부를 판단
+ * - 동시 호출이 한도를 넘으면 기다리지 않고 BulkheadFullException → 톰캣 스레드가 Flask 뒤에 쌓이지 않음
+ * - 4xx(없는 문서 등)는 Flask 장애가 아니므로 실패로 세지 않음
+ * - 상태와 거절 횟수는 resilience4j.circuitbreaker.*, resilience4j.bulkhead.* 메트릭으로 노출
+ */
+@Slf4j
+@Component
+public class FlaskResilience {
+	public enum Family {
+		SEARCH, DETAIL, WRITE
+	}
+
+	private final Map<Family, CircuitBreaker> circuitBreakers = new EnumMap<>(Family.class);
+	private final Map<Family, Bulkhead> bulkheads = new EnumMap<>(Family.class);
+
+	public FlaskResilience(MeterRegistry meterRegistry,
+						   @Value("${flask.resilience.failure-rate-threshold:50}") float failureRateThreshold,
+						   @Value("${flask.resilience.slow-call-ms:2000}") long slowCallMillis,
+						   @Value("${flask.resilience.open-state-ms:10000}") long openStateMillis,
+						   @Value("${flask.resilience.half-open-calls:3}") int halfOpenCalls,
+						   @Value("${flask.resilience.search.max-concurrent:30}") int searchConcurrent,
+						   @Value("${flask.resilience.detail.max-concurrent:30}") int detailConcurrent,
+						   @Value("${flask.resilience.write.max-concurrent:10}") int writeConcurrent) {
+		CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+				.slidingWindowSize(20)
+				.minimumNumberOfCalls(10)
+				.failureRateThreshold(failureRateThreshold)
+				.slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+				.slowCallRateThreshold(failureRateThreshold)
+				.waitDurationInOpenState(Duration.ofMillis(openStateMillis))
+				.permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+				.automaticTransitionFromOpenToHalfOpenEnabled(true)
+				.ignoreExceptions(HttpClientErrorException.class)
+				.build();
+		CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+		BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+		Map<Family, Integer> maxConcurrent = Map.of(
+				Family.SEARCH, searchConcurrent,
+				Family.DETAIL, detailConcurrent,
+				Family.WRITE, writeConcurrent);
+		for (Family family : Family.values()) {
+			String name = "flask-" + family.name().toLowerCase();
+			CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+			circuitBreaker.getEventPublisher().onStateTransition(event ->
+					log.warn("[FlaskResilience] {} 서킷 상태 변경: {}", name, event.getStateTransition()));
+			circuitBreakers.put(family, circuitBreaker);
+			bulkheads.put(family, bulkheadRegistry.bulkhead(name, BulkheadConfig.custom()
+					.maxConcurrentCalls(maxConcurrent.get(family))
+					.maxWaitDuration(Duration.ZERO)
+					.build()));
+		}
+
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+		TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+	}
+
+	// 검색(/search, 프로필 레시피 목록)
+	public <T> T search(Supplier<T> call) {
+		return call(Family.SEARCH, call);
+	}
+
+	// 상세 조회(/detail, 포럼 게시글/댓글/카테고리 조회)
+	public <T> T detail(Supplier<T> call) {
+		return call(Family.DETAIL, call);
+	}
+
+	// 쓰기(레시피 업로드/수정, 포럼 쓰기, 좋아요·신고 반영)
+	public <T> T write(Supplier<T> call) {
+		return call(Family.WRITE, call);
+	}
+
+	// 반환값이 없는 쓰기 요청 (RestTemplate.delete 등)
+	public void write(Runnable call) {
+		call(Family.WRITE, () -> {
+			call.run();
+			return null;
+		});
+	}
+
+	// 서킷이 열려 있는지 (열려 있으면 호출 없이 바로 실패함)
+	public boolean isOpen(Family family) {
+		return circuitBreakers.get(family).getState() == CircuitBreaker.State.OPEN;
+	}
+
+	private <T> T call(Family family, Supplier<T> call) {
+		Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreakers.get(family), call);
+		return Bulkhead.decorateSupplier(bulkheads.get(family), guarded).get();
+	}
+}
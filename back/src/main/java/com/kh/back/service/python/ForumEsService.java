@@ -8,6 +8,7 @@ import com.kh.back.dto.python.SearchListResDto;
 import com.kh.back.dto.python.SearchResDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -28,9 +29,18 @@ import java.util.*;
 @Slf4j
 public class ForumEsService {
 
-    private final RestTemplate restTemplate;
+    @Qualifier("flaskSearchRestTemplate")
+    private final RestTemplate searchRestTemplate;
+    @Qualifier("flaskDetailRestTemplate")
+    private final RestTemplate detailRestTemplate;
+    @Qualifier("flaskWriteRestTemplate")
+    private final RestTemplate writeRestTemplate;
     private final ObjectMapper objectMapper;
+    private final SearchResultCache searchResultCache;
+    private final FlaskResilience flaskResilience;
+    private final FlaskJsonReader flaskJsonReader;
     private final String flaskBaseUrl = "http://localhost:5001";
+    private static final String FORUM_POST_TYPE = "forum_post";
 
     // === 게시글 관련 메서드 ===
 
@@ -51,8 +61,9 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, entity, String.class));
             log.info("createPost 응답: {}", response);
+            searchResultCache.evict(FORUM_POST_TYPE, requestDto.getCategoryId());
 
             return objectMapper.readValue(response.getBody(), ForumPostResponseDto.class);
         } catch (Exception e) {
@@ -85,7 +96,7 @@ public class ForumEsService {
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
             // PUT 요청을 보내 제목 수정 수행
-            ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.PUT, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.exchange(uri, HttpMethod.PUT, entity, String.class));
             log.info("updatePostTitle 응답: {}", response);
 
             // 응답 JSON을 ForumPostResponseDto 객체로 변환하여 반환
@@ -120,7 +131,7 @@ public class ForumEsService {
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
             // PUT 요청으로 내용 수정 요청 수행
-            ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.PUT, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.exchange(uri, HttpMethod.PUT, entity, String.class));
             log.info("updatePostContent 응답: {}", response);
 
             // 응답 결과를 객체로 역직렬화하여 반환
@@ -140,8 +151,9 @@ public class ForumEsService {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId
                     + "?removedBy=" + URLEncoder.encode(removedBy, StandardCharsets.UTF_8));
 
-            restTemplate.delete(uri);
+            flaskResilience.write(() -> writeRestTemplate.delete(uri));
             log.info("deletePost 호출됨, 게시글 ID: {}", postId);
+            searchResultCache.evictType(FORUM_POST_TYPE); // 카테고리를 알 수 없으므로 게시글 목록 전체 무효화
             return true;
         } catch (Exception e) {
             log.error("게시글 삭제 중 오류: {}", e.getMessage());
@@ -155,8 +167,9 @@ public class ForumEsService {
     public boolean hardDeletePost(String postId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId + "/hard-delete");
-            restTemplate.delete(uri);
+            flaskResilience.write(() -> writeRestTemplate.delete(uri));
             log.info("hardDeletePost 호출됨, 게시글 ID: {}", postId);
+            searchResultCache.evictType(FORUM_POST_TYPE);
             return true;
         } catch (Exception e) {
             log.error("게시글 하드 삭제 중 오류: {}", e.getMessage());
@@ -176,7 +189,7 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.exchange(uri, HttpMethod.POST, entity, String.class));
             log.info("reportPost 응답: {}", response);
 
             return objectMapper.readValue(response.getBody(), ForumPostResponseDto.class);
@@ -192,8 +205,9 @@ public class ForumEsService {
     public boolean hidePost(String postId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId + "/hide");
-            restTemplate.postForEntity(uri, null, String.class);
+            flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("hidePost 호출됨, 게시글 ID: {}", postId);
+            searchResultCache.evictType(FORUM_POST_TYPE);
             return true;
         } catch (Exception e) {
             log.error("게시글 숨김 처리 중 오류: {}", e.getMessage());
@@ -207,8 +221,9 @@ public class ForumEsService {
     public boolean restorePost(String postId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId + "/restore");
-            restTemplate.postForEntity(uri, null, String.class);
+            flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("restorePost 호출됨, 게시글 ID: {}", postId);
+            searchResultCache.evictType(FORUM_POST_TYPE);
             return true;
         } catch (Exception e) {
             log.error("게시글 복구 중 오류: {}", e.getMessage());
@@ -222,7 +237,7 @@ public class ForumEsService {
     public boolean incrementViewCount(String postId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId + "/increment-view");
-            restTemplate.postForEntity(uri, null, String.class);
+            flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("incrementViewCount 호출됨, 게시글 ID: {}", postId);
             return true;
         } catch (Exception e) {
@@ -240,38 +255,46 @@ public class ForumEsService {
      */
     public List<ForumPostResponseDto> search(String q, String category, int page, int size) {
         try {
-            // 1. 페이지 값이 1보다 작으면 안전하게 1로 설정합니다.
-            int safePage = page < 1 ? 1 : page;
-
-            // 2. 검색어와 타입을 URL 인코딩합니다.
-            String encodedQ = URLEncoder.encode(q, StandardCharsets.UTF_8);
-            String encodedType = URLEncoder.encode("forum_post", StandardCharsets.UTF_8); // 타입을 forum_post로 고정
-            String categoryParam = (category != null && !category.isEmpty())
-                    ? "&category=" + URLEncoder.encode(category, StandardCharsets.UTF_8)
+            // 1. 검색 조건 정규화 (페이지 값이 1보다 작으면 1로 보정, 타입은 forum_post로 고정)
+            SearchResultCache.SearchKey key = SearchResultCache.SearchKey.of(q, FORUM_POST_TYPE, category, "", page, size);
+
+            // 2. 같은 조건의 최근 결과가 있으면 재사용, 없으면 Flask 호출
+            String body = searchResultCache.get(key, () -> fetchSearch(key));
+            if (body == null) {
+                return null;
+            }
+
+            // 3. 응답 JSON을 ForumPostResponseDto 목록으로 역직렬화합니다.
+            return flaskJsonReader.getForumPostListReader().readValue(body);
+
+        } catch (Exception e) {
+            log.error("포럼 검색 중 오류: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Flask /search 호출 (캐시 miss 시에만 실행)
+    private String fetchSearch(SearchResultCache.SearchKey key) {
+        try {
+            // 검색어와 타입을 URL 인코딩합니다.
+            String encodedQ = URLEncoder.encode(key.getQ(), StandardCharsets.UTF_8);
+            String encodedType = URLEncoder.encode(key.getType(), StandardCharsets.UTF_8);
+            String categoryParam = !key.getCategory().isEmpty()
+                    ? "&category=" + URLEncoder.encode(key.getCategory(), StandardCharsets.UTF_8)
                     : "";
 
-            // 3. Flask 백엔드로 보낼 URI를 생성합니다.
-            //    예: http://localhost:5001/search?q=...&type=forum_post&category=...&page=safePage&size=...
+            // 예: http://localhost:5001/search?q=...&type=forum_post&category=...&page=safePage&size=...
             URI uri = new URI(flaskBaseUrl + "/search?q=" + encodedQ
                     + "&type=" + encodedType
                     + categoryParam
-                    + "&page=" + safePage
-                    + "&size=" + size);
+                    + "&page=" + key.getPage()
+                    + "&size=" + key.getSize());
 
             log.info("[ForumEsService.search] 호출 URI: {}", uri);
 
-            // 4. Flask에 GET 요청을 보냅니다.
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            log.info("[ForumEsService.search] 응답: {}", response);
-
-            // 5. 응답 JSON을 ForumPostResponseDto 배열로 역직렬화합니다.
-            ForumPostResponseDto[] array = objectMapper.readValue(response.getBody(), ForumPostResponseDto[].class);
-            List<ForumPostResponseDto> resultList = new ArrayList<>();
-            for (ForumPostResponseDto item : array) {
-                resultList.add(item);
-            }
-            return resultList;
-
+            ResponseEntity<String> response = flaskResilience.search(() -> searchRestTemplate.getForEntity(uri, String.class));
+            log.info("[ForumEsService.search] 응답: {}", response.getStatusCode());
+            return response.getBody();
         } catch (Exception e) {
             log.error("포럼 검색 중 오류: {}", e.getMessage());
             return null;
@@ -294,11 +317,9 @@ public class ForumEsService {
             URI uri = new URI(flaskBaseUrl + "/forum/post/" + postId);
             log.info("[ForumEsService.detail] 호출 URI: {}", uri);
 
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            String responseBody = response.getBody();
-            log.info("[ForumEsService.detail] Raw JSON from Flask: {}", responseBody);
-
-            ForumPostResponseDto dto = objectMapper.readValue(responseBody, ForumPostResponseDto.class);
+            // 응답 본문을 문자열로 만들지 않고 바로 DTO로 역직렬화
+            ForumPostResponseDto dto = flaskResilience.detail(() ->
+                    flaskJsonReader.read(detailRestTemplate, uri, flaskJsonReader.getForumPostReader()));
             // 디버그 로그 추가: 모든 주요 필드 출력
             log.debug("[ForumEsService.detail] Deserialized DTO:" +
                             " id={}, title={}, content={}, authorName={}, memberId={}, createdAt={}, updatedAt={}, " +
@@ -326,7 +347,7 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, entity, String.class));
             log.info("createComment 응답: {}", response);
 
             return objectMapper.readValue(response.getBody(), ForumPostCommentResponseDto.class);
@@ -364,7 +385,7 @@ public class ForumEsService {
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
             // PUT 요청으로 댓글 수정 요청 전송
-            ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.PUT, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.exchange(uri, HttpMethod.PUT, entity, String.class));
             log.info("updateComment 응답: {}", response);
 
             // 응답을 ForumPostCommentResponseDto 객체로 역직렬화하여 반환
@@ -385,13 +406,10 @@ public class ForumEsService {
         try {
             // 올바른 엔드포인트: /forum/comments?postId=...
             URI uri = new URI(flaskBaseUrl + "/forum/comments?postId=" + postId);
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            log.info("searchCommentsForPost 응답: {}", response);
-
-            return objectMapper.readValue(
-                    response.getBody(),
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, ForumPostCommentResponseDto.class)
-            );
+            List<ForumPostCommentResponseDto> comments = flaskResilience.detail(() ->
+                    flaskJsonReader.read(detailRestTemplate, uri, flaskJsonReader.getForumCommentListReader()));
+            log.info("searchCommentsForPost 응답: {}건", comments == null ? 0 : comments.size());
+            return comments;
         } catch (Exception e) {
             log.error("댓글 목록 조회 중 오류: {}", e.getMessage());
             return null;
@@ -404,7 +422,7 @@ public class ForumEsService {
             URI uri = new URI(flaskBaseUrl + "/forum/comment/" + commentId
                     + "?postId=" + URLEncoder.encode(postId, StandardCharsets.UTF_8)
                     + "&deletedBy=" + deletedBy);
-            restTemplate.delete(uri);
+            flaskResilience.write(() -> writeRestTemplate.delete(uri));
             log.info("deleteComment 호출됨, 댓글 ID: {}, postId: {}", commentId, postId);
             return true;
         } catch (Exception e) {
@@ -416,7 +434,7 @@ public class ForumEsService {
     public boolean hardDeleteComment(Integer commentId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/comment/" + commentId + "/hard-delete");
-            restTemplate.delete(uri);
+            flaskResilience.write(() -> writeRestTemplate.delete(uri));
             log.info("hardDeleteComment 호출됨, 댓글 ID: {}", commentId);
             return true;
         } catch (Exception e) {
@@ -438,7 +456,7 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.exchange(uri, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.exchange(uri, HttpMethod.POST, entity, String.class));
             log.info("reportComment 응답: {}", response);
 
             return objectMapper.readValue(response.getBody(), ForumPostCommentResponseDto.class);
@@ -453,7 +471,7 @@ public class ForumEsService {
     public boolean hideComment(Integer commentId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/comment/" + commentId + "/hide");
-            restTemplate.postForEntity(uri, null, String.class);
+            flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("hideComment 호출됨, 댓글 ID: {}", commentId);
             return true;
         } catch (Exception e) {
@@ -466,7 +484,7 @@ public class ForumEsService {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/comment/" + commentId + "/restore?postId="
                     + URLEncoder.encode(postId, StandardCharsets.UTF_8));
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, null, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("restoreComment 응답: {}", response);
             return objectMapper.readValue(response.getBody(), ForumPostCommentResponseDto.class);
         } catch (Exception e) {
@@ -478,7 +496,7 @@ public class ForumEsService {
     public boolean incrementCommentLikes(Integer commentId) {
         try {
             URI uri = new URI(flaskBaseUrl + "/forum/comment/" + commentId + "/increment-like");
-            restTemplate.postForEntity(uri, null, String.class);
+            flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, null, String.class));
             log.info("incrementCommentLikes 호출됨, 댓글 ID: {}", commentId);
             return true;
         } catch (Exception e) {
@@ -499,7 +517,7 @@ public class ForumEsService {
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
             log.info("카테고리 생성 요청: '{}' URI: {} / body: {}", categoryDto.getTitle(), uri, jsonBody);
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, entity, String.class));
             log.info("카테고리 생성 응답: {}", response.getBody());
 
             return objectMapper.readValue(response.getBody(), ForumCategoryDto.class);
@@ -515,7 +533,7 @@ public class ForumEsService {
                     + URLEncoder.encode(title, StandardCharsets.UTF_8));
             log.info("카테고리 제목 조회 요청: '{}' URI: {}", title, uri);
 
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+            ResponseEntity<String> response = flaskResilience.detail(() -> detailRestTemplate.getForEntity(uri, String.class));
             log.info("카테고리 조회 응답: {}", response.getBody());
 
             return objectMapper.readValue(response.getBody(), ForumCategoryDto.class);
@@ -530,13 +548,10 @@ public class ForumEsService {
             URI uri = new URI(flaskBaseUrl + "/forum/category");
             log.info("전체 카테고리 조회 요청, URI: {}", uri);
 
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            log.info("전체 카테고리 조회 응답: {}", response.getBody());
-
-            return objectMapper.readValue(
-                    response.getBody(),
-                    objectMapper.getTypeFactory().constructCollectionType(List.class, ForumCategoryDto.class)
-            );
+            List<ForumCategoryDto> categories = flaskResilience.detail(() ->
+                    flaskJsonReader.read(detailRestTemplate, uri, flaskJsonReader.getForumCategoryListReader()));
+            log.info("전체 카테고리 조회 응답: {}건", categories == null ? 0 : categories.size());
+            return categories;
         } catch (Exception e) {
             log.error("전체 카테고리 조회 중 오류: {}", e.getMessage());
             return null;
@@ -548,7 +563,7 @@ public class ForumEsService {
             URI uri = new URI(flaskBaseUrl + "/forum/category/" + categoryId);
             log.info("카테고리 ID 조회 요청: '{}' URI: {}", categoryId, uri);
 
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
+            ResponseEntity<String> response = flaskResilience.detail(() -> detailRestTemplate.getForEntity(uri, String.class));
             log.info("카테고리 ID 조회 응답: {}", response.getBody());
 
             return objectMapper.readValue(response.getBody(), ForumCategoryDto.class);
@@ -572,7 +587,7 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, entity, String.class));
             log.info("togglePostLike 응답: {}", response);
 
             return objectMapper.readValue(response.getBody(), ForumPostLikeResponseDto.class);
@@ -595,7 +610,7 @@ public class ForumEsService {
             headers.setContentType(MediaType.APPLICATION_JSON);
             HttpEntity<String> entity = new HttpEntity<>(jsonBody, headers);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(uri, entity, String.class);
+            ResponseEntity<String> response = flaskResilience.write(() -> writeRestTemplate.postForEntity(uri, entity, String.class));
             log.info("toggleCommentLike 응답: {}", response);
 
             return objectMapper.readValue(response.getBody(), ForumPostLikeResponseDto.class);
@@ -612,9 +627,8 @@ public class ForumEsService {
             String url = flaskBaseUrl + "/forum/searchByMember?memberId=" + memberId
                     + "&page=" + (page + 1) + "&size=" + size;
             URI uri = new URI(url);
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            ForumPostResponseDto[] array = objectMapper.readValue(response.getBody(), ForumPostResponseDto[].class);
-            return Arrays.asList(array);
+            return flaskResilience.search(() ->
+                    flaskJsonReader.read(searchRestTemplate, uri, flaskJsonReader.getForumPostListReader()));
         } catch(Exception e) {
             log.error("게시글 member 검색 중 오류: {}", e.getMessage());
             return new ArrayList<>();
@@ -628,9 +642,8 @@ public class ForumEsService {
             String url = flaskBaseUrl + "/forum/comments/searchByMember?memberId=" + memberId
                     + "&page=" + (page + 1) + "&size=" + size;
             URI uri = new URI(url);
-            ResponseEntity<String> response = restTemplate.getForEntity(uri, String.class);
-            ForumPostCommentResponseDto[] array = objectMapper.readValue(response.getBody(), ForumPostCommentResponseDto[].class);
-            return Arrays.asList(array);
+            return flaskResilience.search(() ->
+                    flaskJsonReader.read(searchRestTemplate, uri, flaskJsonReader.getForumCommentListReader()));
         } catch(Exception e) {
             log.error("댓글 member 검색 중 오류: {}", e.getMessage());
             return new ArrayList<>();
@@ -0,0 +1,163 @@
+package com.kh.back.service.python;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 레시피 상세 조회(ElasticService.detail) 결과 캐시
+ * - 1차: JVM 내부 Guava 캐시 (크기 기반 제거 + TTL)
+ * - 2차: Redis (선택, recipe.cache.detail.redis-enabled=true 일 때만 사용) → 여러 백엔드 노드가 캐시를 공유
+ * - Flask 응답 JSON 문자열을 그대로 저장하고, DTO 변환은 호출하는 쪽에서 수행 (캐시된 DTO를 공유해서 수정하는 일이 없도록)
+ * - 레시피는 updateRecipe, 좋아요/신고 반영 시에만 바뀌므로 해당 시점에 evict 로 직접 무효화
+ *   Redis 사용 시 무효화할 키를 pub/sub(cache:recipe:detail:evict)으로 알려서 다른 노드의 1차 캐시도 함께 지움
+ *   (메시지가 유실되거나 삭제 직전의 Redis 값을 다시 읽는 경우를 위해 1차 캐시 TTL도 shared-local-ttl-seconds 로 짧게 둠)
+ * - 마지막 성공 결과는 긴 TTL로 따로 보관 → Flask 장애(서킷 open 포함) 시 이전 결과로 응답
+ */
+@Slf4j
+@Component
+public class RecipeDetailCache {
+	private static final String REDIS_KEY_PREFIX = "cache:recipe:detail:";
+	private static final ChannelTopic EVICT_TOPIC = new ChannelTopic("cache:recipe:detail:evict");
+
+	private final Cache<String, String> localCache;
+	private final Cache<String, String> staleCache; // 장애 시 대체용, evict 대상 아님
+	private final RedisTemplate<String, Object> redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final boolean redisEnabled;
+	private final Duration redisTtl;
+	private final Counter redisHitCounter;
+	private final Counter redisMissCounter;
+	private final Counter staleServedCounter;
+
+	public RecipeDetailCache(RedisTemplate<String, Object> redisTemplate,
+							 RedisMessageListenerContainer listenerContainer,
+							 MeterRegistry meterRegistry,
+							 @Value("${recipe.cache.detail.max-size:5000}") long maxSize,
+							 @Value("${recipe.cache.detail.ttl-seconds:600}") long ttlSeconds,
+							 @Value("${recipe.cache.detail.redis-enabled:false}") boolean redisEnabled,
+							 @Value("${recipe.cache.detail.redis-ttl-seconds:1800}") long redisTtlSeconds,
+							 @Value("${recipe.cache.detail.stale-ttl-seconds:3600}") long staleTtlSeconds,
+							 @Value("${recipe.cache.detail.shared-local-ttl-seconds:60}") long sharedLocalTtlSeconds) {
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.redisEnabled = redisEnabled;
+		this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+		this.localCache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(redisEnabled ? Math.min(ttlSeconds, sharedLocalTtlSeconds) : ttlSeconds))
+				.recordStats()
+				.build();
+		this.staleCache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(staleTtlSeconds))
+				.build();
+		// hit/miss/eviction 등은 cache.gets, cache.evictions 메트릭(cache=recipe.detail)으로 노출
+		GuavaCacheMetrics.monitor(meterRegistry, localCache, "recipe.detail");
+		this.redisHitCounter = Counter.builder("recipe.detail.cache.redis").tag("result", "hit").register(meterRegistry);
+		this.redisMissCounter = Counter.builder("recipe.detail.cache.redis").tag("result", "miss").register(meterRegistry);
+		this.staleServedCounter = Counter.builder("recipe.detail.cache.stale_served")
+				.description("Flask 조회 실패로 마지막 성공 결과를 대신 돌려준 횟수")
+				.register(meterRegistry);
+	}
+
+	// 다른 노드에서 무효화한 키를 1차 캐시에서 제거
+	@PostConstruct
+	void subscribeEvictions() {
+		if (!redisEnabled) return;
+		listenerContainer.addMessageListener((message, pattern) ->
+				localCache.invalidate(new String(message.getBody(), StandardCharsets.UTF_8)), EVICT_TOPIC);
+	}
+
+	/**
+	 * 캐시에서 조회하고, 없으면 loader(Flask 호출)로 읽어서 저장
+	 * loader가 null을 반환하면(조회 실패, 없는 레시피) 캐시하지 않고, 마지막 성공 결과가 있으면 그것을 돌려줌
+	 */
+	public String get(String type, String id, Supplier<String> loader) {
+		String key = key(type, id);
+		String cached = localCache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		if (redisEnabled) {
+			String shared = readRedis(key);
+			if (shared != null) {
+				redisHitCounter.increment();
+				localCache.put(key, shared);
+				return shared;
+			}
+			redisMissCounter.increment();
+		}
+
+		String loaded = loader.get();
+		if (loaded != null) {
+			localCache.put(key, loaded);
+			staleCache.put(key, loaded);
+			writeRedis(key, loaded);
+			return loaded;
+		}
+
+		String stale = staleCache.getIfPresent(key);
+		if (stale != null) {
+			staleServedCounter.increment();
+			log.warn("[RecipeDetailCache] Flask 조회 실패, 이전 결과로 응답 (key={})", key);
+		}
+		return stale;
+	}
+
+	// 특정 레시피의 캐시 무효화
+	public void evict(String type, String id) {
+		if (type == null || id == null) return;
+		String key = key(type, id);
+		localCache.invalidate(key);
+		if (redisEnabled) {
+			try {
+				redisTemplate.delete(REDIS_KEY_PREFIX + key);
+			} catch (Exception e) {
+				log.warn("[RecipeDetailCache] Redis 캐시 삭제 실패 (key={}): {}", key, e.getMessage());
+			}
+			try {
+				redisTemplate.convertAndSend(EVICT_TOPIC.getTopic(), key);
+			} catch (Exception e) {
+				log.warn("[RecipeDetailCache] 캐시 무효화 publish 실패 (key={}): {}", key, e.getMessage());
+			}
+		}
+	}
+
+	private String readRedis(String key) {
+		try {
+			return (String) redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+		} catch (Exception e) {
+			// Redis 장애 시에는 캐시 없이 Flask로 바로 조회
+			log.warn("[RecipeDetailCache] Redis 캐시 조회 실패 (key={}): {}", key, e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeRedis(String key, String value) {
+		if (!redisEnabled) return;
+		try {
+			redisTemplate.opsForValue().set(REDIS_KEY_PREFIX + key, value, redisTtl);
+		} catch (Exception e) {
+			log.warn("[RecipeDetailCache] Redis 캐시 저장 실패 (key={}): {}", key, e.getMessage());
+		}
+	}
+
+	private String key(String type, String id) {
+		return type + ":" + id;
+	}
+}
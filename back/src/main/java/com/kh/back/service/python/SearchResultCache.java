@@ -0,0 +1,189 @@
+package com.kh.back.service.python;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Flask /search 결과 캐시 (ElasticService.search, ForumEsService.search)
+ * - (q, type, category, cookingMethod, page, size)를 정규화한 SearchKey를 캐시 키로 사용
+ * - 목록 페이지는 대부분 "빈 검색어 + 카테고리 + 1페이지" 요청이므로 짧은 TTL만으로도 효과가 큼
+ * - 같은 키로 동시에 miss가 나면 Flask 호출은 한 번만 하고 나머지는 그 결과를 기다림 (single-flight)
+ *   기다리는 시간은 wait-timeout-ms (기본: Flask 검색 요청이 걸릴 수 있는 최대 시간 = pool + connect + read timeout)
+ *   넘기거나 먼저 시작한 조회가 실패하면 마지막 성공 결과(없으면 null)로 응답 → 요청 스레드가 무한정 묶이지 않음
+ * - 게시글 생성, 레시피 업로드/수정 시 type/category 단위로 무효화
+ * - 마지막으로 성공한 결과는 더 긴 TTL로 따로 보관해서, Flask 장애(서킷 open 포함)로 조회가 실패하면
+ *   오래된 결과라도 대신 돌려줌 (stale-while-revalidate, 무효화 대상에서도 제외)
+ */
+@Slf4j
+@Component
+public class SearchResultCache {
+	private final Cache<SearchKey, String> localCache;
+	private final Cache<SearchKey, String> staleCache; // 장애 시 대체용, 마지막 성공 결과
+	private final Map<SearchKey, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong(); // 무효화될 때마다 증가 → 무효화 전에 시작한 조회 결과는 저장하지 않음
+	private final Counter coalescedCounter;
+	private final Counter staleServedCounter;
+	private final Counter waitTimeoutCounter;
+	private final long waitTimeoutMillis;
+
+	public SearchResultCache(MeterRegistry meterRegistry,
+							 @Value("${search.cache.max-size:2000}") long maxSize,
+							 @Value("${search.cache.ttl-seconds:30}") long ttlSeconds,
+							 @Value("${search.cache.stale-ttl-seconds:600}") long staleTtlSeconds,
+							 @Value("${search.cache.wait-timeout-ms:#{${flask.client.pool-timeout-ms:500} + ${flask.client.connect-timeout-ms:1000} + ${flask.client.search.read-timeout-ms:3000}}}")
+							 long waitTimeoutMillis) {
+		this.waitTimeoutMillis = waitTimeoutMillis;
+		this.localCache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		this.staleCache = CacheBuilder.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(staleTtlSeconds))
+				.build();
+		GuavaCacheMetrics.monitor(meterRegistry, localCache, "search.result");
+		this.coalescedCounter = Counter.builder("search.result.cache.coalesced")
+				.description("동시 miss 중 Flask 호출 없이 먼저 시작된 조회 결과를 공유한 횟수")
+				.register(meterRegistry);
+		this.staleServedCounter = Counter.builder("search.result.cache.stale_served")
+				.description("Flask 조회 실패로 마지막 성공 결과를 대신 돌려준 횟수")
+				.register(meterRegistry);
+		this.waitTimeoutCounter = Counter.builder("search.result.cache.wait_timeout")
+				.description("먼저 시작된 조회를 wait-timeout-ms 안에 받지 못한 횟수")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * 캐시에서 조회하고, 없으면 loader(Flask 호출)로 읽어서 저장
+	 * loader가 null을 반환하면(조회 실패) 캐시하지 않고, 마지막 성공 결과가 있으면 그것을, 없으면 null을 돌려줌
+	 */
+	public String get(SearchKey key, Supplier<String> loader) {
+		String cached = localCache.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+
+		CompletableFuture<String> future = new CompletableFuture<>();
+		CompletableFuture<String> running = inFlight.putIfAbsent(key, future);
+		if (running != null) {
+			coalescedCounter.increment();
+			return await(key, running);
+		}
+
+		long startGeneration = generation.get();
+		try {
+			String loaded = loader.get();
+			if (loaded != null) {
+				if (startGeneration == generation.get()) {
+					localCache.put(key, loaded);
+				}
+				staleCache.put(key, loaded);
+			} else {
+				loaded = staleCache.getIfPresent(key);
+				if (loaded != null) {
+					staleServedCounter.increment();
+					log.warn("[SearchResultCache] Flask 조회 실패, 이전 결과로 응답: {}", key);
+				}
+			}
+			future.complete(loaded);
+			return loaded;
+		} catch (Throwable e) {
+			future.completeExceptionally(e); // Error(OOM 등)도 기다리는 요청에 전달
+			throw e;
+		} finally {
+			inFlight.remove(key, future);
+		}
+	}
+
+	// 먼저 시작된 조회 결과를 wait-timeout-ms 까지 기다림, 실패하거나 시간을 넘기면 마지막 성공 결과(없으면 null)
+	private String await(SearchKey key, CompletableFuture<String> running) {
+		try {
+			return running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			waitTimeoutCounter.increment();
+			log.warn("[SearchResultCache] 먼저 시작된 조회 대기 시간 초과 ({}ms): {}", waitTimeoutMillis, key);
+		} catch (ExecutionException e) {
+			log.warn("[SearchResultCache] 먼저 시작된 조회 실패: {} - {}", key, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		String stale = staleCache.getIfPresent(key);
+		if (stale != null) {
+			staleServedCounter.increment();
+		}
+		return stale;
+	}
+
+	/**
+	 * type의 특정 카테고리 목록과 카테고리 필터가 없는 전체 목록을 무효화
+	 * category가 비어 있으면 해당 type 전체를 무효화
+	 */
+	public void evict(String type, String category) {
+		String normalizedType = normalizeType(type);
+		String normalizedCategory = normalize(category);
+		generation.incrementAndGet();
+		localCache.asMap().keySet().removeIf(key -> key.getType().equals(normalizedType)
+				&& (normalizedCategory.isEmpty() || key.getCategory().isEmpty() || key.getCategory().equals(normalizedCategory)));
+		log.debug("[SearchResultCache] 무효화 type={}, category={}", normalizedType, normalizedCategory);
+	}
+
+	// type 전체 무효화
+	public void evictType(String type) {
+		evict(type, "");
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+	}
+
+	private static String normalizeType(String type) {
+		return normalize(type).toLowerCase();
+	}
+
+	/**
+	 * 정규화된 검색 조건
+	 * - null은 빈 문자열로, 앞뒤 공백 제거 및 연속 공백은 하나로
+	 * - page는 1 미만이면 1로 보정 (Flask 요청에도 같은 값을 사용해서 키와 실제 요청이 항상 일치하도록 함)
+	 */
+	@Getter
+	@EqualsAndHashCode
+	@ToString
+	@AllArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class SearchKey {
+		private final String q;
+		private final String type;
+		private final String category;
+		private final String cookingMethod;
+		private final int page;
+		private final int size;
+
+		public static SearchKey of(String q, String type, String category, String cookingMethod, Integer page, Integer size) {
+			int safePage = (page == null || page < 1) ? 1 : page;
+			int safeSize = (size == null || size < 1) ? 20 : size; // Flask 기본값과 동일
+			return new SearchKey(normalize(q), normalizeType(type), normalize(category), normalize(cookingMethod), safePage, safeSize);
+		}
+	}
+}
@@ -6,6 +6,8 @@ import com.kh.back.dto.recipe.res.CocktailListResDto;
 import com.kh.back.dto.recipe.res.CocktailResDto;
 import com.kh.back.dto.recipe.res.FoodListResDto;
 import com.kh.back.dto.recipe.res.FoodResDto;
+import com.kh.back.dto.recipe.res.RecipeSearchAllResDto;
+import com.kh.back.service.python.AsyncSearchClient;
 import com.kh.back.service.python.ElasticService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 public class RecipeService {
 
     private final ElasticService elasticService;
+    private final AsyncSearchClient asyncSearchClient;
 
     /**
      * 레시피 검색
@@ -56,6 +60,35 @@ public class RecipeService {
         }
     }
 
+    /**
+     * 칵테일 + 음식 통합 검색
+     * - 두 타입의 검색을 동시에 보내고, deadline 안에 끝난 결과만 모아서 반환
+     * - 한쪽이 실패/시간 초과되면 빈 목록으로 채우고 partial=true
+     *
+     * @param q        검색어
+     * @param category 카테고리 필터
+     * @param page     페이지 번호
+     * @param size     타입별 페이지 당 항목 수
+     * @return 타입별 검색 결과
+     */
+    public RecipeSearchAllResDto searchAllRecipes(String q, String category, int page, int size) {
+        CompletableFuture<List<SearchListResDto>> cocktailFuture = asyncSearchClient.search(q, "cocktail", category, "", page, size);
+        CompletableFuture<List<SearchListResDto>> foodFuture = asyncSearchClient.search(q, "food", category, "", page, size);
+
+        List<SearchListResDto> cocktails = cocktailFuture.join();
+        List<SearchListResDto> foods = foodFuture.join();
+
+        return new RecipeSearchAllResDto(
+                cocktails == null ? Collections.emptyList() : cocktails.stream()
+                        .map(item -> (CocktailListResDto) item)
+                        .collect(Collectors.toList()),
+                foods == null ? Collections.emptyList() : foods.stream()
+                        .map(item -> (FoodListResDto) item)
+                        .collect(Collectors.toList()),
+                cocktails == null || foods == null
+        );
+    }
+
     /**
      * 레시피 상세 조회
      *
@@ -5,11 +5,18 @@ import com.kh.back.service.member.MemberService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Service @RequiredArgsConstructor
@@ -19,6 +26,34 @@ public class RedisService {
 	private final RedisTemplate<String, Object> redisTemplate;
 	private final MemberService memberService;
 	private final ReActionService reActionService;
+	private static final String DIRTY_COUNTER_KEYS = "likes-reports:dirty"; // flush되지 않은 좋아요/신고 키 집합
+	private static final String PENDING_BATCHES = "likes-reports:pending"; // Flask 반영이 확인되지 않은 batch id (score = 꺼낸 시각)
+	private static final String PENDING_BATCH_PREFIX = "likes-reports:pending:"; // batch별로 꺼낸 변화량 (hash: 카운터 키 → 변화량)
+
+	// 카운터 값을 읽고 지우면서 같은 batch의 pending hash로 옮김 (Lua라서 중간에 죽어도 값이 사라지지 않음)
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> STAGE_SCRIPT = new DefaultRedisScript<>(
+			"local moved = {} " +
+			"for i = 3, #KEYS do " +
+			"  local v = redis.call('GET', KEYS[i]) " +
+			"  if v then " +
+			"    redis.call('DEL', KEYS[i]) " +
+			"    if tonumber(v) ~= 0 then " +
+			"      redis.call('HSET', KEYS[1], KEYS[i], v) " +
+			"      table.insert(moved, KEYS[i]) " +
+			"      table.insert(moved, v) " +
+			"    end " +
+			"  end " +
+			"end " +
+			"if #moved > 0 then redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1]) end " +
+			"return moved", List.class);
+	// pending batch를 완료 처리, 여러 서버가 같은 batch의 결과를 받아도 한 곳만 1을 받음
+	private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+			"if redis.call('ZREM', KEYS[1], ARGV[1]) == 1 then " +
+			"  redis.call('DEL', KEYS[2]) " +
+			"  return 1 " +
+			"end " +
+			"return 0", Long.class);
 
 	// Redis에 값 저장
 	public void setValue(String key, String value) {
@@ -69,12 +104,13 @@ public class RedisService {
 				log.info("Increased value in Redis for key: {}", key);  // 로그 추가
 				reActionService.updateAction(authentication, action, postId);
 			} else {
-				String value = Optional.ofNullable((String) redisTemplate.opsForValue().get(key)).orElse("0");
-				redisTemplate.opsForValue().set(key, value); // null일 경우 0으로 설정
+				// 키가 없으면 -1부터 시작 (flush 이후의 변화량만 저장하므로 음수도 정상)
 				redisTemplate.opsForValue().decrement(key, 1); // -1 감소
 				log.info("Decreased value in Redis for key: {}", key);  // 로그 추가
 				reActionService.deleteAction(authentication, postId, action);
 			}
+			// 반드시 증감 이후에 dirty 집합에 등록해야 flush 중에도 증감분이 유실되지 않음
+			redisTemplate.opsForSet().add(DIRTY_COUNTER_KEYS, key);
 			return true;  // 성공
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -82,55 +118,160 @@ public class RedisService {
 		}
 	}
 
-	public List<Map<String, Object>> getAllLikesAndReports() {
-		List<Map<String, Object>> result = new ArrayList<>();
-		// Redis에서 "likes:*" 패턴에 맞는 모든 키를 찾기
-		Set<String> likeKeys = redisTemplate.keys("likes:*");
-		if (likeKeys != null) {
-			for (String key : likeKeys) {
-				// 키에서 postId와 type 추출
-				String[] parts = key.split(":");
-				String postId = parts[1]; // Elasticsearch의 _id
-				String type = parts[2];   // type (cocktail 또는 food)
-				// Redis에서 해당 키의 값을 가져오기
-				String value = (String) redisTemplate.opsForValue().get(key);
-				if (value != null) {
-					Map<String, Object> entry = new HashMap<>();
-					entry.put("postId", postId); // Elasticsearch의 _id
-					entry.put("type", type);     // type
-					entry.put("value", Long.parseLong(value)); // 값
-					entry.put("keyType", "like"); // 좋아요인지 신고인지 구분
-					result.add(entry);
-				}
-			}
+	/**
+	 * flush 대상 키를 dirty 집합에서 최대 count개 꺼냄 (SPOP, 원자적)
+	 * - 여러 노드가 동시에 flush해도 같은 키를 중복으로 가져가지 않음
+	 */
+	public List<String> popDirtyCounterKeys(int count) {
+		List<Object> popped = redisTemplate.opsForSet().pop(DIRTY_COUNTER_KEYS, count);
+		if (popped == null || popped.isEmpty()) {
+			return Collections.emptyList();
 		}
-		// Redis에서 "reports:*" 패턴에 맞는 모든 키를 찾기
-		Set<String> reportKeys = redisTemplate.keys("reports:*");
-		if (reportKeys != null) {
-			for (String key : reportKeys) {
-				// 키에서 postId와 type 추출
-				String[] parts = key.split(":");
-				String postId = parts[1]; // Elasticsearch의 _id
-				String type = parts[2];   // type (cocktail 또는 food)
-
-				// Redis에서 해당 키의 값을 가져오기
-				String value = (String) redisTemplate.opsForValue().get(key);
-				if (value != null) {
-					Map<String, Object> entry = new HashMap<>();
-					entry.put("postId", postId); // Elasticsearch의 _id
-					entry.put("type", type);     // type
-					entry.put("value", Long.parseLong(value)); // 값
-					entry.put("keyType", "report"); // 좋아요인지 신고인지 구분
-					result.add(entry);
-				}
+		List<String> keys = new ArrayList<>(popped.size());
+		for (Object key : popped) {
+			keys.add((String) key);
+		}
+		return keys;
+	}
+
+	/**
+	 * 키들의 변화량을 읽고 지우면서 batch id의 pending hash로 옮김 (Lua 스크립트 한 번으로 처리)
+	 * - 읽기와 삭제가 원자적이므로 그 사이에 들어온 증감은 새 키로 다시 쌓이고 다음 flush에 반영됨
+	 * - Flask 반영이 확인될 때까지(completeBatch) 값은 pending에 남아 있어서, 응답을 못 받으면 같은 batch id로 다시 보냄
+	 *   (카운터에 되돌려 더하지 않으므로 Flask가 이미 반영했더라도 두 번 더해지지 않음)
+	 * - 같은 문서의 좋아요/신고 변화량은 하나의 delta({id, type, like, report})로 합침
+	 * - 값이 없거나 변화량이 0인 문서는 제외
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Map<String, Object>> drainCounters(String batchId, List<String> keys) {
+		List<String> scriptKeys = new ArrayList<>(keys.size() + 2);
+		scriptKeys.add(PENDING_BATCH_PREFIX + batchId);
+		scriptKeys.add(PENDING_BATCHES);
+		scriptKeys.addAll(keys);
+		List<Object> moved = redisTemplate.execute(STAGE_SCRIPT, scriptKeys, batchId, String.valueOf(System.currentTimeMillis()));
+
+		Map<String, Long> counters = new LinkedHashMap<>();
+		if (moved != null) {
+			for (int i = 0; i + 1 < moved.size(); i += 2) {
+				counters.put(moved.get(i).toString(), Long.parseLong(moved.get(i + 1).toString()));
 			}
 		}
+		return toDeltas(counters);
+	}
 
-		return result;
+	/**
+	 * 꺼낸 지 olderThanMillis 이상 지났는데 아직 완료되지 않은 batch id (최대 count개)
+	 * - 전송 실패/timeout, 또는 전송 도중 서버가 죽은 batch
+	 * - olderThanMillis는 Flask 쓰기 timeout보다 길어야 다른 서버가 아직 보내는 중인 batch를 건드리지 않음
+	 */
+	public List<String> stalePendingBatches(long olderThanMillis, int count) {
+		Set<Object> ids = redisTemplate.opsForZSet()
+				.rangeByScore(PENDING_BATCHES, 0, System.currentTimeMillis() - olderThanMillis, 0, count);
+		if (ids == null || ids.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> batchIds = new ArrayList<>(ids.size());
+		for (Object id : ids) {
+			batchIds.add((String) id);
+		}
+		return batchIds;
 	}
 
+	// pending batch에 남아 있는 변화량을 delta 목록으로 다시 만듦 (재전송용)
+	public List<Map<String, Object>> pendingDeltas(String batchId) {
+		Map<Object, Object> entries = redisTemplate.opsForHash().entries(PENDING_BATCH_PREFIX + batchId);
+		Map<String, Long> counters = new LinkedHashMap<>();
+		for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+			counters.put(entry.getKey().toString(), Long.parseLong(entry.getValue().toString()));
+		}
+		return toDeltas(counters);
+	}
 
+	/**
+	 * Flask 반영 결과를 받은 batch를 pending에서 제거
+	 * @return 이 호출이 batch를 완료했으면 true, 다른 서버가 이미 완료했으면 false (재시도 항목 복구는 true일 때만)
+	 */
+	public boolean completeBatch(String batchId) {
+		Long completed = redisTemplate.execute(COMPLETE_SCRIPT, List.of(PENDING_BATCHES, PENDING_BATCH_PREFIX + batchId), batchId);
+		return completed != null && completed == 1L;
+	}
 
+	// 카운터 키별 변화량을 문서별 delta({id, type, like, report})로 합침
+	private List<Map<String, Object>> toDeltas(Map<String, Long> counters) {
+		Map<String, Map<String, Object>> deltas = new LinkedHashMap<>();
+		for (Map.Entry<String, Long> counter : counters.entrySet()) {
+			long delta = counter.getValue();
+			if (delta == 0) continue;
 
-}
+			// 키에서 action, postId, type 추출 (likes:123:cocktail)
+			String[] parts = counter.getKey().split(":");
+			if (parts.length < 3) {
+				log.warn("[drainCounters] 형식이 맞지 않는 키 무시: {}", counter.getKey());
+				continue;
+			}
+			Map<String, Object> entry = deltas.computeIfAbsent(parts[2] + ":" + parts[1], k -> {
+				Map<String, Object> newEntry = new HashMap<>();
+				newEntry.put("id", parts[1]);   // Elasticsearch의 _id
+				newEntry.put("type", parts[2]); // type (cocktail 또는 food)
+				newEntry.put("like", 0L);
+				newEntry.put("report", 0L);
+				return newEntry;
+			});
+			String field = "likes".equals(parts[0]) ? "like" : "report";
+			entry.put(field, (Long) entry.get(field) + delta); // flush 이후 변화량
+		}
+		return new ArrayList<>(deltas.values());
+	}
+
+	// 값을 읽기 전에 실패한 키를 dirty 집합에 다시 등록
+	public void markCountersDirty(List<String> keys) {
+		if (keys.isEmpty()) return;
+		redisTemplate.opsForSet().add(DIRTY_COUNTER_KEYS, keys.toArray());
+	}
 
+	/**
+	 * Flask가 재시도 가능한 실패로 돌려준 변화량을 다시 Redis에 더해 둠 (INCRBY + dirty 등록)
+	 * - 그 사이 새로 들어온 증감과 합쳐지므로 값이 덮어써지지 않음
+	 */
+	public void restoreCounters(List<Map<String, Object>> deltas) {
+		byte[] dirtyKey = DIRTY_COUNTER_KEYS.getBytes(StandardCharsets.UTF_8);
+		redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			for (Map<String, Object> delta : deltas) {
+				for (String field : List.of("like", "report")) {
+					long value = ((Number) delta.getOrDefault(field, 0L)).longValue();
+					if (value == 0) continue;
+					String action = "like".equals(field) ? "likes" : "reports";
+					byte[] key = (action + ":" + delta.get("id") + ":" + delta.get("type")).getBytes(StandardCharsets.UTF_8);
+					connection.stringCommands().incrBy(key, value);
+					connection.setCommands().sAdd(dirtyKey, key);
+				}
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * dirty 집합 도입 이전에 쌓인 likes:*, reports:* 키를 dirty 집합에 등록
+	 * - KEYS 대신 커서 기반 SCAN을 사용해서 Redis를 오래 막지 않음
+	 */
+	@PostConstruct
+	public void registerLegacyCounterKeys() {
+		try {
+			for (String pattern : List.of("likes:*:*", "reports:*:*")) {
+				redisTemplate.execute((RedisCallback<Void>) connection -> {
+					ScanOptions options = ScanOptions.scanOptions().match(pattern).count(500).build();
+					try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+						while (cursor.hasNext()) {
+							connection.setCommands().sAdd(DIRTY_COUNTER_KEYS.getBytes(StandardCharsets.UTF_8), cursor.next());
+						}
+					} catch (Exception e) {
+						log.warn("[registerLegacyCounterKeys] SCAN 중 오류 (pattern={}): {}", pattern, e.getMessage());
+					}
+					return null;
+				});
+			}
+		} catch (Exception e) {
+			log.warn("[registerLegacyCounterKeys] 기존 좋아요/신고 키 등록 실패: {}", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.kh.back.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * FlaskClientConfig의 RestTemplate 3개가 용도별 read timeout을 따르고 하나의 커넥션 풀(max-total)을 공유하는지 확인
+ * - 응답을 늦게 주는 로컬 HTTP 서버(com.sun.net.httpserver)로 실제 요청을 보내서 확인
+ */
+class FlaskClientConfigTests {
+	private static final long SERVER_DELAY_MS = 3000;
+	private static final long MARGIN_MS = 700;
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withUserConfiguration(FlaskClientConfig.class)
+			.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+			.withPropertyValues(
+					"flask.client.max-total=2",
+					"flask.client.max-per-route=2",
+					"flask.client.pool-timeout-ms=200",
+					"flask.client.detail.read-timeout-ms=200",
+					"flask.client.search.read-timeout-ms=700",
+					"flask.client.write.read-timeout-ms=1400");
+
+	private HttpServer server;
+	private ExecutorService serverThreads;
+	private String slowUrl;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		serverThreads = Executors.newCachedThreadPool();
+		server.setExecutor(serverThreads);
+		server.createContext("/slow", exchange -> {
+			try {
+				Thread.sleep(SERVER_DELAY_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			} catch (Exception ignored) {
+				// 클라이언트가 timeout으로 먼저 끊은 경우
+			}
+		});
+		server.start();
+		slowUrl = "http://localhost:" + server.getAddress().getPort() + "/slow";
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+		serverThreads.shutdownNow();
+	}
+
+	@Test
+	void connectionPoolIsSizedFromProperties() {
+		contextRunner.run(context -> {
+			PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+			assertThat(connectionManager.getMaxTotal()).isEqualTo(2);
+			assertThat(connectionManager.getDefaultMaxPerRoute()).isEqualTo(2);
+			assertThat(context.getBean(MeterRegistry.class).get("flask.client.pool.max").gauge().value()).isEqualTo(2);
+		});
+	}
+
+	@Test
+	void eachRestTemplateUsesItsOwnReadTimeout() {
+		contextRunner.run(context -> {
+			assertReadTimeout(context, "flaskDetailRestTemplate", 200);
+			assertReadTimeout(context, "flaskSearchRestTemplate", 700);
+			assertReadTimeout(context, "flaskWriteRestTemplate", 1400);
+		});
+	}
+
+	@Test
+	void restTemplatesShareOnePoolAndFailFastWhenItIsExhausted() {
+		contextRunner.run(context -> {
+			RestTemplate write = context.getBean("flaskWriteRestTemplate", RestTemplate.class);
+			RestTemplate search = context.getBean("flaskSearchRestTemplate", RestTemplate.class);
+			PoolingHttpClientConnectionManager connectionManager = context.getBean(PoolingHttpClientConnectionManager.class);
+
+			// 쓰기용 RestTemplate으로 커넥션 2개(max-total)를 모두 빌려 둠
+			ExecutorService callers = Executors.newFixedThreadPool(2);
+			try {
+				for (int i = 0; i < 2; i++) {
+					callers.submit(() -> catchThrowableOfType(() -> write.getForObject(slowUrl, String.class), ResourceAccessException.class));
+				}
+				long waitUntil = System.currentTimeMillis() + 1000;
+				while (connectionManager.getTotalStats().getLeased() < 2 && System.currentTimeMillis() < waitUntil) {
+					Thread.sleep(10);
+				}
+				assertThat(connectionManager.getTotalStats().getLeased()).isEqualTo(2);
+
+				// 검색용 RestTemplate도 같은 풀을 쓰므로 pool-timeout(200ms) 뒤 바로 실패해야 함
+				long start = System.nanoTime();
+				ResourceAccessException e = catchThrowableOfType(() -> search.getForObject(slowUrl, String.class), ResourceAccessException.class);
+				long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+				assertThat(e).isNotNull();
+				assertThat(e.getCause()).isInstanceOf(ConnectionPoolTimeoutException.class);
+				assertThat(elapsed).isBetween(200L, 200L + MARGIN_MS);
+			} finally {
+				callers.shutdown();
+				callers.awaitTermination(5, TimeUnit.SECONDS);
+			}
+		});
+	}
+
+	private void assertReadTimeout(ApplicationContext context, String beanName, long expectedMillis) {
+		RestTemplate restTemplate = context.getBean(beanName, RestTemplate.class);
+		long start = System.nanoTime();
+		ResourceAccessException e = catchThrowableOfType(() -> restTemplate.getForObject(slowUrl, String.class), ResourceAccessException.class);
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(e).as(beanName).isNotNull();
+		assertThat(e.getCause()).as(beanName).isInstanceOf(SocketTimeoutException.class);
+		assertThat(elapsed).as(beanName).isBetween(expectedMillis, expectedMillis + MARGIN_MS);
+	}
+}
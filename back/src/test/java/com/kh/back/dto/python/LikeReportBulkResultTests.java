@@ -0,0 +1,59 @@
+package com.kh.back.dto.python;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flask /update/likes-reports/bulk 응답(updated/duplicates/failed/notFound/skipped)을 LikeReportBulkResult로 읽는지 확인
+ */
+class LikeReportBulkResultTests {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void parsesEveryBucketOfBulkResponse() throws Exception {
+		String body = """
+				{
+				  "updated": 3,
+				  "duplicates": 2,
+				  "failed": [
+				    {"id": "10", "type": "cocktail", "like": 4, "report": 0, "status": 429, "retryable": true, "error": "es_rejected_execution_exception"},
+				    {"id": "11", "type": "food", "like": -1, "report": 2, "status": 400, "retryable": false, "error": "mapper_parsing_exception"}
+				  ],
+				  "notFound": [
+				    {"id": "12", "type": "food", "like": 1, "report": 0}
+				  ],
+				  "skipped": [
+				    {"id": "", "type": "cocktail", "like": 1, "report": 0},
+				    {"id": "13", "type": "unknown", "like": 0, "report": 1}
+				  ]
+				}
+				""";
+
+		LikeReportBulkResult result = LikeReportBulkResult.from(objectMapper.readTree(body));
+
+		assertThat(result.getUpdated()).isEqualTo(3);
+		assertThat(result.getDuplicates()).isEqualTo(2);
+		assertThat(result.getFailedCount()).isEqualTo(2);
+		// 재시도 가능한 실패만 다시 Redis에 쌓을 delta로 돌려줌
+		assertThat(result.getRetryable()).containsExactly(Map.of("id", "10", "type", "cocktail", "like", 4L, "report", 0L));
+		assertThat(result.getNotFound()).containsExactly("12");
+		assertThat(result.getSkippedCount()).isEqualTo(2);
+	}
+
+	@Test
+	void missingBucketsAreEmpty() throws Exception {
+		// duplicates/skipped가 없던 이전 버전 Flask 응답도 읽을 수 있어야 함
+		LikeReportBulkResult result = LikeReportBulkResult.from(objectMapper.readTree("{\"updated\": 1}"));
+
+		assertThat(result.getUpdated()).isEqualTo(1);
+		assertThat(result.getDuplicates()).isZero();
+		assertThat(result.getFailedCount()).isZero();
+		assertThat(result.getRetryable()).isEmpty();
+		assertThat(result.getNotFound()).isEmpty();
+		assertThat(result.getSkippedCount()).isZero();
+	}
+}
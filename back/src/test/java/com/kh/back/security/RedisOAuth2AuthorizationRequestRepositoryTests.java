@@ -0,0 +1,109 @@
+package com.kh.back.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import javax.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * OAuth2 인가 요청이 로그인을 시작한 브라우저(nonce 쿠키)에서 온 콜백에서만 복원되는지 확인 (login CSRF 방지)
+ */
+class RedisOAuth2AuthorizationRequestRepositoryTests {
+	private final Map<String, String> redis = new ConcurrentHashMap<>();
+	private RedisOAuth2AuthorizationRequestRepository repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		StringRedisTemplate redisTemplate = Mockito.mock(StringRedisTemplate.class);
+		ValueOperations<String, String> ops = Mockito.mock(ValueOperations.class);
+		Mockito.when(redisTemplate.opsForValue()).thenReturn(ops);
+		Mockito.doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+				.when(ops).set(anyString(), anyString(), any(Duration.class));
+		Mockito.when(ops.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+		Mockito.when(redisTemplate.delete(anyString())).thenAnswer(inv -> redis.remove(inv.<String>getArgument(0)) != null);
+		repository = new RedisOAuth2AuthorizationRequestRepository(redisTemplate);
+	}
+
+	@Test
+	void callbackFromSameBrowserLoadsRequestOnce() {
+		Cookie nonce = startLogin("state-1");
+
+		MockHttpServletRequest callback = callback("state-1", nonce);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		OAuth2AuthorizationRequest loaded = repository.removeAuthorizationRequest(callback, response);
+
+		assertThat(loaded).isNotNull();
+		assertThat(loaded.getState()).isEqualTo("state-1");
+		assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("Max-Age=0");
+		assertThat(repository.loadAuthorizationRequest(callback("state-1", nonce))).as("같은 state는 한 번만").isNull();
+	}
+
+	@Test
+	void callbackWithoutOrWithOtherNonceIsRejected() {
+		startLogin("state-2");
+		Cookie attackerNonce = startLogin("state-3");
+
+		assertThat(repository.loadAuthorizationRequest(callback("state-2", null))).isNull();
+		assertThat(repository.loadAuthorizationRequest(callback("state-2", new Cookie(RedisOAuth2AuthorizationRequestRepository.NONCE_COOKIE, "victim")))).isNull();
+		// 다른 브라우저(공격자)가 시작한 로그인의 쿠키로는 state-2를 복원할 수 없음
+		assertThat(repository.loadAuthorizationRequest(callback("state-2", attackerNonce))).isNull();
+	}
+
+	@Test
+	void nonceCookieIsHttpOnlyLaxAndReusedAcrossTabs() {
+		MockHttpServletRequest start = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(request("tab-1"), start, response);
+		String header = response.getHeader(HttpHeaders.SET_COOKIE);
+		assertThat(header).contains("HttpOnly").contains("SameSite=Lax").contains("Max-Age=300");
+		Cookie nonce = response.getCookie(RedisOAuth2AuthorizationRequestRepository.NONCE_COOKIE);
+
+		// 같은 브라우저에서 두 번째 탭으로 로그인 시작 → 기존 nonce 유지, 두 콜백 모두 통과
+		MockHttpServletRequest secondTab = new MockHttpServletRequest();
+		secondTab.setCookies(nonce);
+		repository.saveAuthorizationRequest(request("tab-2"), secondTab, new MockHttpServletResponse());
+
+		assertThat(repository.loadAuthorizationRequest(callback("tab-1", nonce))).isNotNull();
+		assertThat(repository.loadAuthorizationRequest(callback("tab-2", nonce))).isNotNull();
+	}
+
+	private Cookie startLogin(String state) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveAuthorizationRequest(request(state), new MockHttpServletRequest(), response);
+		return response.getCookie(RedisOAuth2AuthorizationRequestRepository.NONCE_COOKIE);
+	}
+
+	private static MockHttpServletRequest callback(String state, Cookie nonce) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/google");
+		request.setParameter("state", state);
+		request.setParameter("code", "code");
+		if (nonce != null) {
+			request.setCookies(nonce);
+		}
+		return request;
+	}
+
+	private static OAuth2AuthorizationRequest request(String state) {
+		return OAuth2AuthorizationRequest.authorizationCode()
+				.authorizationUri("https://accounts.example.com/o/oauth2/auth")
+				.clientId("client")
+				.redirectUri("http://localhost:8111/login/oauth2/code/google")
+				.state(state)
+				.build();
+	}
+}
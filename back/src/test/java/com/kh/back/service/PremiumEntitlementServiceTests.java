@@ -0,0 +1,62 @@
+package com.kh.back.service;
+
+import com.kh.back.repository.PurchaseRecordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이 서버가 모르는 회원의 프리미엄 여부 확인 (redis-enabled=true)
+ * - Redis Set에 있으면 DB 조회 없이 프리미엄, 없으면 DB로 확인하고 결과를 캐시
+ */
+class PremiumEntitlementServiceTests {
+	private final PurchaseRecordRepository repository = Mockito.mock(PurchaseRecordRepository.class);
+	private final StringRedisTemplate redisTemplate = Mockito.mock(StringRedisTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final SetOperations<String, String> setOperations = Mockito.mock(SetOperations.class);
+	private final PremiumEntitlementService service;
+
+	PremiumEntitlementServiceTests() {
+		when(redisTemplate.opsForSet()).thenReturn(setOperations);
+		service = new PremiumEntitlementService(repository, redisTemplate, new SimpleMeterRegistry(), 100, 300, true);
+	}
+
+	@Test
+	void redisPositiveIsTrustedWithoutDb() {
+		when(setOperations.isMember("entitlement:premium", "1")).thenReturn(true);
+
+		assertThat(service.isPremium(1L)).isTrue();
+		verify(repository, never()).existsByMemberMemberId(1L);
+	}
+
+	@Test
+	void redisNegativeIsCheckedAgainstDbAndRepaired() {
+		when(setOperations.isMember("entitlement:premium", "2")).thenReturn(false);
+		when(repository.existsByMemberMemberId(2L)).thenReturn(true);
+
+		assertThat(service.isPremium(2L)).as("Redis 반영이 빠진 구매 회원").isTrue();
+		verify(setOperations).add("entitlement:premium", "2");
+		assertThat(service.isPremium(2L)).isTrue();
+		verify(repository, times(1)).existsByMemberMemberId(2L);
+	}
+
+	@Test
+	void nonPremiumIsCachedAfterDbCheck() {
+		when(setOperations.isMember(anyString(), anyString())).thenReturn(false);
+
+		assertThat(service.isPremium(3L)).isFalse();
+		assertThat(service.isPremium(3L)).isFalse();
+
+		verify(repository, times(1)).existsByMemberMemberId(3L);
+		verify(setOperations, never()).add(anyString(), anyString());
+	}
+}
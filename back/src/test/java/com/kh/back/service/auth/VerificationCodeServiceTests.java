@@ -0,0 +1,114 @@
+package com.kh.back.service.auth;
+
+import com.kh.back.service.auth.VerificationCodeService.Channel;
+import com.kh.back.service.auth.VerificationCodeService.IssueResult;
+import com.kh.back.service.auth.VerificationCodeService.VerifyResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VerificationCodeService 발급/확인과 요청 제한을 메모리 저장소(InMemoryVerificationCodeStore)로 확인
+ * - 요청 밖에서 호출하므로 IP는 모두 unknown (IP별 제한은 넉넉하게 둠)
+ */
+class VerificationCodeServiceTests {
+	private static final String PHONE = "01012345678";
+
+	private final InMemoryVerificationCodeStore store = new InMemoryVerificationCodeStore();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// ttl 300초, 발송 3회/300분, 확인 시도 3회, IP별 100회/60분
+	private final VerificationCodeService service = new VerificationCodeService(store, meterRegistry, 300, 3, 300, 100, 3, 100, 60);
+
+	@Test
+	void issuedCodeIsValidOnceWhenConsumed() {
+		String code = issue();
+
+		assertThat(code).matches("\\d{6}");
+		assertThat(service.verify(Channel.SMS, PHONE, code, false)).isEqualTo(VerifyResult.VALID);
+		assertThat(service.verify(Channel.SMS, PHONE, code, true)).isEqualTo(VerifyResult.VALID);
+		assertThat(service.verify(Channel.SMS, PHONE, code, true)).as("한 번 쓴 인증번호").isEqualTo(VerifyResult.NOT_FOUND);
+		assertThat(service.verify(Channel.EMAIL, PHONE, code, true)).as("채널이 다르면 다른 인증번호").isEqualTo(VerifyResult.NOT_FOUND);
+	}
+
+	@Test
+	void sendIsLimitedPerTarget() {
+		for (int i = 0; i < 3; i++) {
+			assertThat(service.issue(Channel.SMS, PHONE, (code, validFor) -> { })).isEqualTo(IssueResult.SENT);
+		}
+		assertThat(service.issue(Channel.SMS, PHONE, (code, validFor) -> { })).isEqualTo(IssueResult.EXCEED_LIMIT);
+		assertThat(service.issue(Channel.SMS, "01087654321", (code, validFor) -> { })).isEqualTo(IssueResult.SENT);
+		assertThat(meterRegistry.get("auth.verification").tag("result", "exceed_limit").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void failedEnqueueRemovesSavedCode() {
+		AtomicReference<String> issued = new AtomicReference<>();
+		IssueResult result = service.issue(Channel.EMAIL, "user@example.com", (code, validFor) -> {
+			issued.set(code);
+			throw new IllegalStateException("outbox 저장 실패");
+		});
+
+		assertThat(result).isEqualTo(IssueResult.FAILED);
+		assertThat(service.verify(Channel.EMAIL, "user@example.com", issued.get(), true)).isEqualTo(VerifyResult.NOT_FOUND);
+	}
+
+	@Test
+	void exceedingAttemptsDiscardsCodeUntilReissued() {
+		String code = issue();
+		for (int i = 0; i < 3; i++) {
+			assertThat(service.verify(Channel.SMS, PHONE, "000000", false)).isEqualTo(VerifyResult.MISMATCH);
+		}
+
+		assertThat(service.verify(Channel.SMS, PHONE, code, false)).as("맞는 번호라도 시도 초과").isEqualTo(VerifyResult.EXCEED_LIMIT);
+		assertThat(store.findCode("verify:code:sms:" + PHONE)).as("대입 시도로 보고 폐기").isNull();
+
+		// 새로 발급받으면 시도 횟수를 다시 셈
+		String reissued = issue();
+		assertThat(service.verify(Channel.SMS, PHONE, "000000", false)).isEqualTo(VerifyResult.MISMATCH);
+		assertThat(service.verify(Channel.SMS, PHONE, reissued, true)).isEqualTo(VerifyResult.VALID);
+	}
+
+	@Test
+	void issuePassesCodeTtlToSender() {
+		AtomicReference<Duration> validFor = new AtomicReference<>();
+		service.issue(Channel.SMS, PHONE, (code, ttl) -> validFor.set(ttl));
+
+		assertThat(validFor.get()).isEqualTo(Duration.ofSeconds(300));
+	}
+
+	@Test
+	void storeSlidingWindowFreesSlotsAsHitsAge() throws Exception {
+		Duration window = Duration.ofMillis(200);
+		assertThat(store.tryAcquire("verify:test", 2, window)).isTrue();
+		Thread.sleep(120);
+		assertThat(store.tryAcquire("verify:test", 2, window)).isTrue();
+		assertThat(store.tryAcquire("verify:test", 2, window)).as("최근 200ms 동안 2번").isFalse();
+
+		Thread.sleep(120); // 첫 번째 기록만 윈도우 밖으로 나감
+		assertThat(store.tryAcquire("verify:test", 2, window)).isTrue();
+		assertThat(store.tryAcquire("verify:test", 2, window)).isFalse();
+
+		store.resetLimit("verify:test");
+		assertThat(store.tryAcquire("verify:test", 2, window)).isTrue();
+	}
+
+	@Test
+	void storeCodeExpiresAfterTtl() throws Exception {
+		store.saveCode("verify:code:test", "123456", Duration.ofMillis(100));
+		assertThat(store.findCode("verify:code:test")).isEqualTo("123456");
+
+		Thread.sleep(150);
+
+		assertThat(store.findCode("verify:code:test")).isNull();
+	}
+
+	private String issue() {
+		AtomicReference<String> issued = new AtomicReference<>();
+		assertThat(service.issue(Channel.SMS, PHONE, (code, validFor) -> issued.set(code))).isEqualTo(IssueResult.SENT);
+		return issued.get();
+	}
+}
@@ -0,0 +1,156 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatBroadcaster 세션 전송 큐 확인
+ * - drain-batch 개 보낸 뒤 풀에 다시 넣어서 다른 세션에 차례를 넘기는지
+ * - sendMessage가 send-time-limit-ms 를 넘기면 연결을 끊는지
+ * - 전송 풀이 거절한 세션을 다음 확인 때 다시 보내는지
+ */
+class ChatBroadcasterTests {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void drainYieldsToOtherSessionsAfterBatch() {
+		Deque<Runnable> tasks = new ArrayDeque<>();
+		ChatBroadcaster broadcaster = broadcaster(tasks::add, 60_000, 2);
+		FakeSession busy = new FakeSession("busy");
+		FakeSession quiet = new FakeSession("quiet");
+
+		for (int i = 0; i < 5; i++) {
+			broadcaster.send(busy.proxy, new TextMessage("busy-" + i));
+		}
+		broadcaster.send(quiet.proxy, new TextMessage("quiet-0"));
+
+		tasks.poll().run(); // busy: 2개 보내고 풀 뒤쪽에 다시 들어감
+		assertThat(busy.sent).containsExactly("busy-0", "busy-1");
+		tasks.poll().run(); // 그 사이 quiet 차례
+		assertThat(quiet.sent).containsExactly("quiet-0");
+
+		while (!tasks.isEmpty()) {
+			tasks.poll().run();
+		}
+		assertThat(busy.sent).containsExactly("busy-0", "busy-1", "busy-2", "busy-3", "busy-4");
+	}
+
+	@Test
+	void sessionStuckInSendIsDisconnectedAfterTimeLimit() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			ChatBroadcaster broadcaster = broadcaster(executor, 100, 32);
+			FakeSession stuck = new FakeSession("stuck");
+			stuck.blockSend = new CountDownLatch(1);
+
+			broadcaster.send(stuck.proxy, new TextMessage("first"));
+			assertThat(stuck.sendStarted.await(1, TimeUnit.SECONDS)).isTrue();
+			broadcaster.checkOutboxes();
+			assertThat(stuck.closeStatus).as("제한 시간 전에는 끊지 않음").isNull();
+
+			Thread.sleep(150);
+			broadcaster.checkOutboxes();
+
+			assertThat(stuck.closeStatus).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE);
+			executor.shutdown();
+			assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).as("막혀 있던 전송 스레드를 돌려받음").isTrue();
+			assertThat(meterRegistry.get("chat.broadcast.disconnected").tag("reason", "send_timeout").counter().count()).isEqualTo(1);
+			assertThat(meterRegistry.get("chat.broadcast.disconnected").tag("reason", "send_failed").counter().count()).isZero();
+			assertThat(broadcaster.send(stuck.proxy, new TextMessage("second"))).isFalse();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void rejectedDrainIsResumedOnNextCheck() {
+		AtomicBoolean saturated = new AtomicBoolean(true);
+		ChatBroadcaster broadcaster = broadcaster(task -> {
+			if (saturated.get()) {
+				throw new RejectedExecutionException("전송 풀 포화");
+			}
+			task.run();
+		}, 60_000, 32);
+		FakeSession session = new FakeSession("session");
+
+		assertThat(broadcaster.send(session.proxy, new TextMessage("hello"))).isTrue();
+		assertThat(session.sent).isEmpty();
+		assertThat(meterRegistry.get("chat.broadcast.rejected").counter().count()).isEqualTo(1);
+
+		saturated.set(false);
+		broadcaster.checkOutboxes();
+
+		assertThat(session.sent).containsExactly("hello");
+	}
+
+	private ChatBroadcaster broadcaster(Executor executor, long sendTimeLimitMillis, int drainBatch) {
+		return new ChatBroadcaster(objectMapper, new ChatWireCodec(objectMapper, 10000), executor, meterRegistry,
+				256, ChatBroadcaster.OverflowPolicy.DROP, sendTimeLimitMillis, drainBatch);
+	}
+
+	// 보낸 텍스트를 기록하는 세션, blockSend가 있으면 close()될 때까지 sendMessage가 막힘 (TCP 버퍼가 찬 클라이언트)
+	private static final class FakeSession {
+		private final List<String> sent = new CopyOnWriteArrayList<>();
+		private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+		private final CountDownLatch sendStarted = new CountDownLatch(1);
+		private volatile CountDownLatch blockSend;
+		private volatile CloseStatus closeStatus;
+		private final WebSocketSession proxy;
+
+		private FakeSession(String id) {
+			proxy = (WebSocketSession) Proxy.newProxyInstance(
+					WebSocketSession.class.getClassLoader(),
+					new Class<?>[]{WebSocketSession.class},
+					(p, method, args) -> switch (method.getName()) {
+						case "getId" -> id;
+						case "isOpen" -> closeStatus == null;
+						case "getAttributes" -> attributes;
+						case "sendMessage" -> {
+							sendStarted.countDown();
+							CountDownLatch block = blockSend;
+							if (block != null) {
+								block.await();
+								throw new IOException("연결이 닫힘");
+							}
+							sent.add(((TextMessage) args[0]).getPayload());
+							yield null;
+						}
+						case "close" -> {
+							closeStatus = (CloseStatus) args[0];
+							CountDownLatch block = blockSend;
+							if (block != null) {
+								block.countDown();
+							}
+							yield null;
+						}
+						case "hashCode" -> id.hashCode();
+						case "equals" -> p == args[0];
+						case "toString" -> id;
+						default -> throw new UnsupportedOperationException(method.getName());
+					});
+		}
+	}
+}
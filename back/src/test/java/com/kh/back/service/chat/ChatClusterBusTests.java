@@ -0,0 +1,188 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.config.RedisConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 서버 두 대(애플리케이션 컨텍스트 2개)가 로컬 Redis(localhost:6379)를 통해 같은 채팅방 메시지를 주고받는지 확인
+ * - Redis가 떠 있지 않으면 테스트를 건너뜀
+ */
+class ChatClusterBusTests {
+	private AnnotationConfigApplicationContext node1;
+	private AnnotationConfigApplicationContext node2;
+
+	@BeforeEach
+	void setUp() {
+		node1 = new AnnotationConfigApplicationContext(NodeConfig.class);
+		assumeTrue(redisAvailable(node1), "로컬 Redis 없음");
+		node2 = new AnnotationConfigApplicationContext(NodeConfig.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (node2 != null) node2.close();
+		if (node1 != null) node1.close();
+	}
+
+	@Test
+	void messagePublishedOnOneNodeIsDeliveredToSessionsOnBoth() throws Exception {
+		BlockingQueue<String> received1 = new LinkedBlockingQueue<>();
+		BlockingQueue<String> received2 = new LinkedBlockingQueue<>();
+		Set<WebSocketSession> sessions1 = Set.of(session("s1", received1));
+		Set<WebSocketSession> sessions2 = Set.of(session("s2", received2));
+
+		ChatClusterBus bus1 = node1.getBean(ChatClusterBus.class);
+		ChatClusterBus bus2 = node2.getBean(ChatClusterBus.class);
+		bus1.joinRoom("room-it", sessions1); // 구독 등록이 확인된 뒤 반환
+		bus2.joinRoom("room-it", sessions2);
+
+		bus1.publish("room-it", sessions1, Map.of("msg", "안녕하세요"));
+
+		assertThat(received1.poll(5, TimeUnit.SECONDS)).contains("안녕하세요");
+		assertThat(received2.poll(5, TimeUnit.SECONDS)).contains("안녕하세요");
+		assertThat(received1.poll(200, TimeUnit.MILLISECONDS)).isNull(); // 한 번만 전달
+	}
+
+	@Test
+	void subscriptionSurvivesWhileAnotherLocalSessionRemains() throws Exception {
+		BlockingQueue<String> received = new LinkedBlockingQueue<>();
+		Set<WebSocketSession> sessions = Set.of(session("s1", received));
+		ChatClusterBus bus1 = node1.getBean(ChatClusterBus.class);
+		ChatClusterBus bus2 = node2.getBean(ChatClusterBus.class);
+
+		bus1.joinRoom("room-ref", sessions); // 세션 A 입장
+		bus1.joinRoom("room-ref", sessions); // 세션 B 입장
+		bus1.leaveRoom("room-ref");          // 세션 A 퇴장 → B가 남아 있으므로 구독 유지
+
+		bus2.publish("room-ref", Set.of(), Map.of("msg", "남은 세션"));
+		assertThat(received.poll(5, TimeUnit.SECONDS)).contains("남은 세션");
+
+		bus1.leaveRoom("room-ref");          // 마지막 세션 퇴장 → 구독 해제
+		TimeUnit.MILLISECONDS.sleep(200);
+		bus2.publish("room-ref", Set.of(), Map.of("msg", "해제 후"));
+		assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void concurrentJoinAndLeaveKeepSubscriptionForRemainingSession() throws Exception {
+		BlockingQueue<String> received = new LinkedBlockingQueue<>();
+		Set<WebSocketSession> sessions = Set.of(session("s1", received));
+		ChatClusterBus bus1 = node1.getBean(ChatClusterBus.class);
+		ChatClusterBus bus2 = node2.getBean(ChatClusterBus.class);
+		bus1.joinRoom("room-race", sessions); // 계속 남아 있는 세션
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++) { // 다른 세션들이 동시에 들어왔다 나감
+				futures.add(executor.submit(() -> {
+					bus1.joinRoom("room-race", sessions);
+					bus1.leaveRoom("room-race");
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		bus2.publish("room-race", Set.of(), Map.of("msg", "경합 후"));
+		assertThat(received.poll(5, TimeUnit.SECONDS)).contains("경합 후");
+	}
+
+	@Test
+	void roomEventsAreVisibleOnOtherNodesOnly() throws Exception {
+		BlockingQueue<String> events1 = new LinkedBlockingQueue<>();
+		BlockingQueue<String> events2 = new LinkedBlockingQueue<>();
+		node1.getBean(ChatClusterBus.class).onRoomEvent((event, roomId) -> events1.add(event + ":" + roomId));
+		node2.getBean(ChatClusterBus.class).onRoomEvent((event, roomId) -> events2.add(event + ":" + roomId));
+		TimeUnit.MILLISECONDS.sleep(500);
+
+		node1.getBean(ChatClusterBus.class).publishRoomEvent(ChatClusterBus.ROOM_CREATED, "room-it");
+
+		assertThat(events2.poll(5, TimeUnit.SECONDS)).isEqualTo("CREATED:room-it");
+		assertThat(events1.poll(200, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	private static boolean redisAvailable(AnnotationConfigApplicationContext context) {
+		try {
+			return "PONG".equals(context.getBean(LettuceConnectionFactory.class).getConnection().ping());
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private static WebSocketSession session(String id, BlockingQueue<String> received) {
+		return (WebSocketSession) Proxy.newProxyInstance(
+				WebSocketSession.class.getClassLoader(),
+				new Class<?>[]{WebSocketSession.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "getId" -> id;
+					case "isOpen" -> true;
+					case "hashCode" -> id.hashCode();
+					case "equals" -> proxy == args[0];
+					case "sendMessage" -> {
+						received.add(((TextMessage) args[0]).getPayload());
+						yield null;
+					}
+					default -> null;
+				});
+	}
+
+	@Configuration
+	@Import(RedisConfig.class)
+	static class NodeConfig {
+		@Bean
+		LettuceConnectionFactory redisConnectionFactory() {
+			return new LettuceConnectionFactory("localhost", 6379);
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return Jackson2ObjectMapperBuilder.json().build();
+		}
+
+		@Bean
+		ChatBroadcaster chatBroadcaster(ObjectMapper objectMapper) {
+			return new ChatBroadcaster(objectMapper, new ChatWireCodec(objectMapper, 10000), Runnable::run, new SimpleMeterRegistry(),
+					256, ChatBroadcaster.OverflowPolicy.DROP, 10000, 32);
+		}
+
+		@Bean
+		ChatClusterBus chatClusterBus(RedisTemplate<String, Object> redisTemplate,
+									  RedisMessageListenerContainer redisMessageListenerContainer,
+									  ObjectMapper objectMapper, ChatBroadcaster chatBroadcaster) {
+			return new ChatClusterBus(redisTemplate, redisMessageListenerContainer, objectMapper, chatBroadcaster, true, 2000);
+		}
+	}
+}
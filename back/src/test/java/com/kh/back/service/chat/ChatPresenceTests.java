@@ -0,0 +1,110 @@
+package com.kh.back.service.chat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 서버 두 대(ChatPresence 2개)가 Redis로 방 인원을 합산하고, heartbeat가 끊긴 서버의 세션은 방 인원에서 빠지는지 확인
+ * - 로컬 Redis(localhost:6379)의 15번 DB를 사용하고, Redis가 떠 있지 않으면 테스트를 건너뜀
+ */
+class ChatPresenceTests {
+	private static final long NODE_TIMEOUT_MS = 100;
+
+	private LettuceConnectionFactory connectionFactory;
+	private StringRedisTemplate redisTemplate;
+	private final String roomId = "presencetest-" + UUID.randomUUID().toString().substring(0, 8);
+
+	@BeforeEach
+	void setUp() {
+		RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+		configuration.setDatabase(15);
+		connectionFactory = new LettuceConnectionFactory(configuration);
+		connectionFactory.afterPropertiesSet();
+		assumeTrue(redisAvailable(), "로컬 Redis 없음");
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (redisTemplate != null) {
+			Set<String> keys = redisTemplate.keys("chat:presence:*");
+			if (keys != null && !keys.isEmpty()) redisTemplate.delete(keys);
+		}
+		if (connectionFactory != null) connectionFactory.destroy();
+	}
+
+	@Test
+	void occupancyIsSharedAcrossNodes() {
+		ChatPresence node1 = node(30_000);
+		ChatPresence node2 = node(30_000);
+
+		assertThat(node1.join(roomId, 1L)).isTrue();
+		assertThat(node2.join(roomId, 1L)).as("같은 회원의 다른 서버 세션").isFalse();
+		assertThat(node2.join(roomId, 2L)).isTrue();
+
+		assertThat(node1.occupancy(roomId)).isEqualTo(2);
+		assertThat(node1.leave(roomId, 1L)).as("다른 서버에 세션이 남아 있음").isFalse();
+		assertThat(node2.leave(roomId, 1L)).isTrue();
+		assertThat(node2.occupancy(roomId)).isEqualTo(1);
+	}
+
+	@Test
+	void occupanciesAreReadInOneBatchInRoomOrder() {
+		ChatPresence node1 = node(30_000);
+		ChatPresence node2 = node(30_000);
+		String otherRoom = roomId + "-other";
+		node1.join(roomId, 1L);
+		node2.join(roomId, 2L);
+		node2.join(otherRoom, 3L);
+
+		assertThat(node1.occupancies(List.of(otherRoom, roomId, roomId + "-empty"))).containsExactly(1, 2, 0);
+		assertThat(node1.occupancies(List.of())).isEmpty();
+	}
+
+	@Test
+	void sessionsOfDeadNodeAreReapedAfterTimeout() throws Exception {
+		ChatPresence dead = node(NODE_TIMEOUT_MS);
+		ChatPresence alive = node(NODE_TIMEOUT_MS);
+		dead.join(roomId, 1L);
+		dead.join(roomId, 1L); // 탭 2개
+		alive.join(roomId, 2L);
+		assertThat(alive.occupancy(roomId)).isEqualTo(2);
+
+		Thread.sleep(NODE_TIMEOUT_MS * 2); // dead는 더 이상 heartbeat를 보내지 않음
+		alive.heartbeat();
+
+		assertThat(alive.occupancy(roomId)).isEqualTo(1);
+		assertThat(alive.isVacant(roomId)).isFalse();
+		// 정리된 서버가 뒤늦게 퇴장을 반영해도 다른 서버의 회원 수를 빼지 않음
+		dead.leave(roomId, 1L);
+		assertThat(alive.occupancy(roomId)).isEqualTo(1);
+
+		alive.leave(roomId, 2L);
+		assertThat(alive.isVacant(roomId)).isTrue();
+	}
+
+	private ChatPresence node(long nodeTimeoutMillis) {
+		ChatPresence presence = new ChatPresence(redisTemplate, true, true, nodeTimeoutMillis);
+		presence.heartbeat(); // @PostConstruct 대신
+		return presence;
+	}
+
+	private boolean redisAvailable() {
+		try {
+			return "PONG".equals(connectionFactory.getConnection().ping());
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ChatWireCodec intern 테이블 확인
+ * - 방마다 새로 생기는 roomId는 intern하지 않아서, 방이 많이 생겨도 닉네임/프로필이 intern-capacity 안에 들어감
+ */
+class ChatWireCodecTests {
+	private static final String PROFILE = "https://example.com/profile/1.png";
+
+	// profile, 닉네임A(nickName = sender), 나중에 들어온 회원의 닉네임B 세 개만 들어가는 크기
+	private final ChatWireCodec codec = new ChatWireCodec(new ObjectMapper(), 3);
+
+	@Test
+	void roomIdsDoNotFillInternTable() {
+		for (int i = 0; i < 100; i++) {
+			String roomId = UUID.randomUUID().toString();
+			ChatWireCodec.Encoded encoded = codec.encode(chat(roomId, "닉네임A"));
+
+			assertThat(contains(encoded.getBytes(), roomId)).as("roomId는 문자열 그대로").isTrue();
+			assertThat(codec.decode(ByteBuffer.wrap(encoded.getBytes())).getRoomId()).isEqualTo(roomId);
+		}
+
+		ChatWireCodec.Encoded later = codec.encode(chat(UUID.randomUUID().toString(), "닉네임B"));
+
+		assertThat(contains(later.getBytes(), "닉네임B")).as("방이 많이 생긴 뒤에 들어온 회원 닉네임도 intern").isFalse();
+		assertThat(codec.definitions(new ChatWireCodec.SessionState(), later)).as("처음 보는 세션에는 DEFINE").isNotNull();
+		assertThat(codec.decode(ByteBuffer.wrap(later.getBytes())).getNickName()).isEqualTo("닉네임B");
+	}
+
+	private static ChatReqDto chat(String roomId, String nickName) {
+		ChatReqDto chat = new ChatReqDto(1L, roomId, PROFILE, nickName, nickName, "메시지", LocalDateTime.now());
+		chat.setType(ChatReqDto.MsgType.TALK);
+		return chat;
+	}
+
+	private static boolean contains(byte[] bytes, String value) {
+		byte[] target = value.getBytes(StandardCharsets.UTF_8);
+		outer:
+		for (int i = 0; i + target.length <= bytes.length; i++) {
+			for (int j = 0; j < target.length; j++) {
+				if (bytes[i + j] != target[j]) continue outer;
+			}
+			return true;
+		}
+		return false;
+	}
+}
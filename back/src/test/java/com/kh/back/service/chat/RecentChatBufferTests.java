@@ -0,0 +1,152 @@
+package com.kh.back.service.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.config.RedisConfig;
+import com.kh.back.dto.chat.request.ChatReqDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 저장 스레드가 여럿이라 chat_id가 순서대로 도착하지 않아도 최근 메시지 버퍼가 빠짐없이 chat_id 순으로 응답하는지 확인
+ * - Redis 공유 내역(chat.recent.redis-enabled=true)은 로컬 Redis(localhost:6379)의 15번 DB를 사용하고, Redis가 떠 있지 않으면 건너뜀
+ */
+class RecentChatBufferTests {
+	private final RecentChatBuffer buffer = new RecentChatBuffer(null, new ObjectMapper(), new SimpleMeterRegistry(), 5, false);
+	private LettuceConnectionFactory connectionFactory;
+	private RedisTemplate<String, Object> redisTemplate;
+	private final String roomId = "recenttest-" + UUID.randomUUID().toString().substring(0, 8); // 다른 테스트 데이터와 섞이지 않도록
+
+	@AfterEach
+	void tearDown() {
+		if (redisTemplate != null) {
+			redisTemplate.delete(List.of("chat:recent:z:" + roomId, "chat:recent:partial:" + roomId));
+		}
+		if (connectionFactory != null) {
+			connectionFactory.destroy();
+		}
+	}
+
+	@Test
+	void outOfOrderAppendsAreKeptInChatIdOrder() {
+		buffer.latest("room", 5, List::of); // 빈 방으로 초기화
+
+		buffer.append(chat(2));
+		buffer.append(chat(1)); // 호출 스레드에서 저장된 메시지가 늦게 도착
+		buffer.append(chat(4));
+		buffer.append(chat(3));
+		buffer.append(chat(3)); // 같은 chat_id는 한 번만
+
+		assertThat(ids(buffer.latest("room", 5, List::of))).containsExactly(1L, 2L, 3L, 4L);
+		assertThat(ids(buffer.before("room", 3, 5))).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void appendsDuringWarmUpAreMergedWithLoadedHistory() {
+		buffer.append(chat(7)); // 첫 조회 전에 저장된 메시지
+		buffer.append(chat(5));
+
+		List<ChatReqDto> latest = buffer.latest("room", 5, () -> List.of(chat(3), chat(4), chat(5)));
+
+		assertThat(ids(latest)).containsExactly(3L, 4L, 5L, 7L);
+	}
+
+	@Test
+	void lateLowerIdIsDroppedOnlyWhenOlderThanWholeFullBuffer() {
+		buffer.latest("room", 5, () -> List.of(chat(10), chat(11), chat(12), chat(13), chat(14)));
+
+		buffer.append(chat(9));  // 버퍼가 가득 찬 상태에서 가장 오래된 것보다 작으면 바로 밀려남
+		buffer.append(chat(16));
+		buffer.append(chat(15)); // 중간에 끼워 넣음
+
+		assertThat(ids(buffer.latest("room", 5, List::of))).containsExactly(12L, 13L, 14L, 15L, 16L);
+		assertThat(buffer.before("room", 12, 1)).as("밀려난 내역은 DB에서 조회").isNull();
+	}
+
+	@Test
+	void appendBeforeAnyLoadIsNotServedAsWholeHistory() {
+		RecentChatBuffer node1 = redisBuffer();
+		RecentChatBuffer node2 = redisBuffer();
+
+		// 아무 서버도 DB에서 채우지 않은 방에 새 메시지 → Redis에는 1개뿐 (일부 내역)
+		node1.append(chat(roomId, 6));
+		assertThat(node2.before(roomId, 7, 1)).as("일부 내역으로는 이전 내역을 응답하지 않음").isNull();
+
+		// 다른 서버의 첫 조회는 DB에서 읽어 Redis 내역과 합침
+		List<ChatReqDto> latest = node2.latest(roomId, 5, () -> List.of(chat(roomId, 3), chat(roomId, 4), chat(roomId, 5)));
+		assertThat(ids(latest)).containsExactly(3L, 4L, 5L, 6L);
+
+		// 이후에는 어느 서버든 DB 조회 없이 Redis에서 전체 내역 응답
+		node1.append(chat(roomId, 7));
+		assertThat(ids(redisBuffer().latest(roomId, 5, failingLoader()))).containsExactly(3L, 4L, 5L, 6L, 7L);
+		assertThat(ids(node1.before(roomId, 7, 2))).containsExactly(5L, 6L);
+	}
+
+	@Test
+	void appendWhileLoadingIsKeptInSharedHistory() {
+		RecentChatBuffer node1 = redisBuffer();
+		RecentChatBuffer node2 = redisBuffer();
+
+		// node2가 DB를 읽은 뒤, Redis에 채우기 전에 node1에서 새 메시지 저장
+		List<ChatReqDto> latest = node2.latest(roomId, 5, () -> {
+			List<ChatReqDto> loaded = List.of(chat(roomId, 1), chat(roomId, 2));
+			node1.append(chat(roomId, 3));
+			return loaded;
+		});
+
+		assertThat(ids(latest)).containsExactly(1L, 2L);
+		assertThat(ids(redisBuffer().latest(roomId, 5, failingLoader()))).as("DB 조회 이후 메시지도 빠지지 않음").containsExactly(1L, 2L, 3L);
+	}
+
+	// 로컬 Redis 15번 DB를 쓰는 최근 메시지 버퍼 (서버 한 대 = 인스턴스 하나), Redis가 없으면 테스트를 건너뜀
+	private RecentChatBuffer redisBuffer() {
+		if (redisTemplate == null) {
+			RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+			configuration.setDatabase(15);
+			connectionFactory = new LettuceConnectionFactory(configuration);
+			connectionFactory.afterPropertiesSet();
+			assumeTrue(redisAvailable(), "로컬 Redis 없음");
+			redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+			redisTemplate.afterPropertiesSet();
+		}
+		return new RecentChatBuffer(redisTemplate, Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), 5, true);
+	}
+
+	private boolean redisAvailable() {
+		try {
+			return "PONG".equals(connectionFactory.getConnection().ping());
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private static Supplier<List<ChatReqDto>> failingLoader() {
+		return () -> {
+			throw new AssertionError("Redis에 전체 내역이 있으면 DB에서 읽지 않아야 함");
+		};
+	}
+
+	private static ChatReqDto chat(long id) {
+		return chat("room", id);
+	}
+
+	private static ChatReqDto chat(String roomId, long id) {
+		return new ChatReqDto(id, roomId, null, "닉네임", "닉네임", "메시지 " + id, LocalDateTime.now());
+	}
+
+	private static List<Long> ids(List<ChatReqDto> chats) {
+		return chats.stream().map(ChatReqDto::getId).toList();
+	}
+}
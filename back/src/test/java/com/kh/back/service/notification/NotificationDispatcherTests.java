@@ -0,0 +1,392 @@
+package com.kh.back.service.notification;
+
+import com.kh.back.constant.NotificationStatus;
+import com.kh.back.entity.NotificationOutbox;
+import com.kh.back.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NotificationDispatcher의 선점(claim) → 발송 → 결과 반영 흐름 확인
+ * - notification_outbox는 MySQL 전용 native 쿼리(UPDATE ... ORDER BY ... LIMIT)로 선점하므로
+ *   여기서는 같은 조건으로 동작하는 메모리 저장소(Proxy)로 대신함
+ * - 발송 풀은 호출한 스레드에서 바로 실행하거나(순서가 정해진 확인용) 항상 거절하는 ThreadPoolTaskExecutor로 대신함
+ */
+class NotificationDispatcherTests {
+	private final InMemoryOutbox outbox = new InMemoryOutbox();
+	private final FakeNotificationSender sender = new FakeNotificationSender();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void claimedNotificationsAreSentAndMarkedSent() {
+		NotificationDispatcher dispatcher = dispatcher(callerRuns(), 2);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]");
+		dispatcher.enqueueMail("user@example.com", "비밀번호 찾기", "인증번호 [654321]");
+		dispatcher.enqueueSms("01087654321", "인증번호 [111111]");
+
+		dispatcher.dispatch();
+
+		assertThat(outbox.claims.get()).as("batch-size(2)씩 나눠서 선점").isEqualTo(2);
+		assertThat(sender.lastMessage("01012345678")).isEqualTo("인증번호 [123456]");
+		assertThat(sender.lastMessage("user@example.com")).isEqualTo("인증번호 [654321]");
+		assertThat(sender.lastMessage("01087654321")).isEqualTo("인증번호 [111111]");
+		for (NotificationOutbox notification : outbox.rows.values()) {
+			assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SENT);
+			assertThat(notification.getSentAt()).isNotNull();
+			assertThat(notification.getClaimToken()).isNull();
+			assertThat(notification.getBody()).as("보낸 뒤 본문(인증번호)은 지움").isEmpty();
+		}
+		assertThat(meterRegistry.get("notification.result").tag("result", "sent").tag("channel", "sms").counter().count()).isEqualTo(2);
+	}
+
+	@Test
+	void failedNotificationIsRetriedAfterBackoff() {
+		NotificationDispatcher dispatcher = dispatcher(callerRuns(), 50);
+		sender.failNext(1);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]");
+		LocalDateTime failedAt = LocalDateTime.now();
+
+		dispatcher.dispatch();
+
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+		assertThat(notification.getAttempts()).isEqualTo(1);
+		assertThat(notification.getLastError()).isEqualTo("가짜 발송 실패");
+		assertThat(notification.getClaimToken()).isNull();
+		// 첫 재시도는 base(5초) ±20%
+		assertThat(Duration.between(failedAt, notification.getNextAttemptAt()).toMillis()).isBetween(3900L, 6100L);
+
+		// backoff가 끝나기 전에는 다시 선점하지 않음
+		dispatcher.dispatch();
+		assertThat(sender.lastMessage("01012345678")).isNull();
+		assertThat(notification.getAttempts()).isEqualTo(1);
+
+		// 재시도 시각이 지나면 다시 보내고 SENT
+		notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		dispatcher.dispatch();
+		assertThat(sender.lastMessage("01012345678")).isEqualTo("인증번호 [123456]");
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SENT);
+	}
+
+	@Test
+	void notificationBecomesDeadAfterMaxAttempts() {
+		NotificationDispatcher dispatcher = dispatcher(callerRuns(), 50);
+		sender.failNext(3);
+		dispatcher.enqueueMail("user@example.com", "제목", "본문");
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+
+		for (int attempt = 0; attempt < 3; attempt++) {
+			notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+			dispatcher.dispatch();
+		}
+
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.DEAD);
+		assertThat(notification.getAttempts()).isEqualTo(3);
+		assertThat(notification.getBody()).isEmpty();
+		notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		dispatcher.dispatch();
+		assertThat(sender.lastMessage("user@example.com")).as("DEAD는 더 보내지 않음").isNull();
+	}
+
+	@Test
+	void retryAfterValidityIsDeadInsteadOfSent() {
+		NotificationDispatcher dispatcher = dispatcher(callerRuns(), 50);
+		sender.failNext(1);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]", Duration.ofMinutes(5));
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+		assertThat(Duration.between(notification.getCreatedAt(), notification.getExpiresAt())).isEqualTo(Duration.ofMinutes(5));
+
+		dispatcher.dispatch();
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+
+		// 인증번호 유효 시간이 지난 뒤 재시도 차례가 옴 → 보내지 않고 DEAD
+		notification.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+		notification.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+		dispatcher.dispatch();
+
+		assertThat(sender.lastMessage("01012345678")).isNull();
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.DEAD);
+		assertThat(notification.getBody()).isEmpty();
+		assertThat(notification.getClaimToken()).isNull();
+		assertThat(meterRegistry.get("notification.result").tag("result", "expired").tag("channel", "sms").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void finishedNotificationsArePurgedAfterRetention() {
+		NotificationDispatcher dispatcher = dispatcher(callerRuns(), 50);
+		dispatcher.enqueueSms("01011111111", "인증번호 [111111]");
+		dispatcher.enqueueSms("01022222222", "인증번호 [222222]");
+		dispatcher.enqueueMail("user@example.com", "제목", "본문");
+		dispatcher.dispatch();
+		dispatcher.enqueueSms("01033333333", "인증번호 [333333]"); // 아직 대기 중
+		for (NotificationOutbox notification : outbox.rows.values()) {
+			notification.setCreatedAt(LocalDateTime.now().minusMinutes(61)); // retention-minutes(60) 지남
+		}
+		outbox.rows.get(2L).setCreatedAt(LocalDateTime.now().minusMinutes(59));
+
+		dispatcher.purge();
+
+		assertThat(outbox.rows.keySet()).as("보관 기간 안의 SENT와 PENDING은 남김").containsExactlyInAnyOrder(2L, 4L);
+	}
+
+	@Test
+	void claimsOnlyWhenDeliveryThreadIsFree() {
+		DeferredExecutor executor = new DeferredExecutor(2); // 선점 스레드 몫을 빼면 발송 스레드 1개
+		NotificationDispatcher dispatcher = dispatcher(executor, 1);
+		dispatcher.enqueueSms("01011111111", "인증번호 [111111]");
+		dispatcher.enqueueSms("01022222222", "인증번호 [222222]");
+		dispatcher.enqueueSms("01033333333", "인증번호 [333333]");
+
+		dispatcher.dispatch();
+
+		assertThat(outbox.claims.get()).as("발송 스레드가 비어 있지 않으면 더 선점하지 않음").isEqualTo(1);
+		assertThat(outbox.rows.values().stream().filter(n -> n.getClaimToken() != null).count()).isEqualTo(1);
+
+		// 발송이 끝나면 다음 선점을 다시 요청 → 차례로 모두 발송
+		executor.runAll();
+		for (NotificationOutbox notification : outbox.rows.values()) {
+			assertThat(notification.getStatus()).isEqualTo(NotificationStatus.SENT);
+		}
+		assertThat(outbox.claims.get()).isEqualTo(4); // 3건 + 빈 선점 1번
+	}
+
+	@Test
+	void reclaimedNotificationIsNotSentOrOverwritten() {
+		DeferredExecutor executor = new DeferredExecutor(4);
+		NotificationDispatcher dispatcher = dispatcher(executor, 50);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]");
+		dispatcher.dispatch();
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+
+		// 발송 작업이 시작되기 전에 선점이 만료되어 다른 작업이 다시 선점
+		notification.setClaimToken("other-worker");
+		executor.runAll();
+
+		assertThat(sender.lastMessage("01012345678")).as("다른 작업이 보낼 알림은 보내지 않음").isNull();
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+		assertThat(notification.getClaimToken()).isEqualTo("other-worker");
+	}
+
+	@Test
+	void resultIsNotRecordedWhenClaimWasLostDuringSend() {
+		FakeNotificationSender slowSender = new FakeNotificationSender() {
+			@Override
+			public Map<Long, String> sendSms(List<NotificationOutbox> batch) {
+				Map<Long, String> failed = super.sendSms(batch);
+				batch.forEach(n -> outbox.rows.get(n.getId()).setClaimToken("other-worker")); // 발송 중 선점 만료 → 재선점
+				return failed;
+			}
+		};
+		NotificationDispatcher dispatcher = new NotificationDispatcher(outbox.repository(), slowSender, event -> { }, callerRuns(),
+				meterRegistry, 50, 3, 5, 600, 120, 60);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]");
+
+		dispatcher.dispatch();
+
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+		assertThat(notification.getStatus()).as("다시 선점한 작업의 결과를 덮어쓰지 않음").isEqualTo(NotificationStatus.PENDING);
+		assertThat(notification.getClaimToken()).isEqualTo("other-worker");
+		assertThat(notification.getBody()).isEqualTo("인증번호 [123456]");
+	}
+
+	@Test
+	void claimIsReleasedWhenSendPoolRejects() {
+		AtomicInteger rejected = new AtomicInteger();
+		ThreadPoolTaskExecutor saturated = new ThreadPoolTaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				rejected.incrementAndGet();
+				throw new TaskRejectedException("발송 풀 포화");
+			}
+		};
+		NotificationDispatcher dispatcher = dispatcher(saturated, 50);
+		dispatcher.enqueueSms("01012345678", "인증번호 [123456]");
+		dispatcher.onEnqueued(new NotificationEnqueuedEvent(1L, null)); // 풀이 가득 차도 예외 없이 다음 poll로 넘김
+
+		dispatcher.dispatch();
+
+		assertThat(rejected.get()).isEqualTo(2);
+		NotificationOutbox notification = outbox.rows.values().iterator().next();
+		assertThat(outbox.releases.get()).isEqualTo(1);
+		assertThat(notification.getClaimToken()).as("선점 해제 → 다음 확인 때 다시 선점").isNull();
+		assertThat(notification.getClaimedUntil()).isNull();
+		assertThat(notification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+		assertThat(notification.getAttempts()).as("거절은 발송 실패로 세지 않음").isZero();
+	}
+
+	private NotificationDispatcher dispatcher(ThreadPoolTaskExecutor executor, int batchSize) {
+		return new NotificationDispatcher(outbox.repository(), sender, event -> { }, executor, meterRegistry,
+				batchSize, 3, 5, 600, 120, 60);
+	}
+
+	// 발송 작업을 호출한 스레드에서 바로 실행
+	private static ThreadPoolTaskExecutor callerRuns() {
+		return new ThreadPoolTaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				task.run();
+			}
+		};
+	}
+
+	// 실행 요청을 모아 두었다가 runAll()에서 차례로 실행 (발송 작업이 시작되기 전 상태를 확인하기 위함)
+	private static final class DeferredExecutor extends ThreadPoolTaskExecutor {
+		private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+		private DeferredExecutor(int maxPoolSize) {
+			setMaxPoolSize(maxPoolSize);
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+		private void runAll() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+	}
+
+	// NotificationOutboxRepository 중 NotificationDispatcher가 쓰는 메서드만 같은 조건으로 흉내 낸 메모리 저장소
+	private static final class InMemoryOutbox {
+		private final Map<Long, NotificationOutbox> rows = new ConcurrentHashMap<>();
+		private final AtomicLong ids = new AtomicLong();
+		private final AtomicInteger claims = new AtomicInteger();
+		private final AtomicInteger releases = new AtomicInteger();
+
+		@SuppressWarnings("unchecked")
+		private NotificationOutboxRepository repository() {
+			return (NotificationOutboxRepository) Proxy.newProxyInstance(
+					NotificationOutboxRepository.class.getClassLoader(),
+					new Class<?>[]{NotificationOutboxRepository.class},
+					(proxy, method, args) -> switch (method.getName()) {
+						case "save" -> save((NotificationOutbox) args[0]);
+						case "claim" -> claim((String) args[0], (LocalDateTime) args[1], (LocalDateTime) args[2], (Integer) args[3]);
+						case "findByClaimToken" -> rows.values().stream()
+								.filter(n -> args[0].equals(n.getClaimToken()))
+								.sorted(Comparator.comparing(NotificationOutbox::getId))
+								.toList();
+						case "renewClaim" -> {
+							int renewed = 0;
+							for (NotificationOutbox notification : rows.values()) {
+								if (args[0].equals(notification.getClaimToken())) {
+									notification.setClaimedUntil((LocalDateTime) args[1]);
+									renewed++;
+								}
+							}
+							yield renewed;
+						}
+						case "markSent" -> {
+							int updated = 0;
+							for (Long id : (Collection<Long>) args[0]) {
+								NotificationOutbox notification = rows.get(id);
+								if (!args[1].equals(notification.getClaimToken())) {
+									continue;
+								}
+								notification.setStatus(NotificationStatus.SENT);
+								notification.setSentAt((LocalDateTime) args[2]);
+								notification.setBody("");
+								notification.setClaimToken(null);
+								notification.setClaimedUntil(null);
+								updated++;
+							}
+							yield updated;
+						}
+						case "markRetry" -> {
+							NotificationOutbox notification = rows.get((Long) args[0]);
+							if (!args[1].equals(notification.getClaimToken())) {
+								yield 0;
+							}
+							notification.setAttempts((Integer) args[2]);
+							notification.setLastError((String) args[3]);
+							notification.setNextAttemptAt((LocalDateTime) args[4]);
+							notification.setClaimToken(null);
+							notification.setClaimedUntil(null);
+							yield 1;
+						}
+						case "markDead" -> {
+							NotificationOutbox notification = rows.get((Long) args[0]);
+							if (!args[1].equals(notification.getClaimToken())) {
+								yield 0;
+							}
+							notification.setStatus(NotificationStatus.DEAD);
+							notification.setAttempts((Integer) args[2]);
+							notification.setLastError((String) args[3]);
+							notification.setBody("");
+							notification.setClaimToken(null);
+							notification.setClaimedUntil(null);
+							yield 1;
+						}
+						case "release" -> {
+							releases.incrementAndGet();
+							int released = 0;
+							for (NotificationOutbox notification : rows.values()) {
+								if (args[0].equals(notification.getClaimToken())) {
+									notification.setClaimToken(null);
+									notification.setClaimedUntil(null);
+									released++;
+								}
+							}
+							yield released;
+						}
+						case "deleteByStatusInAndCreatedAtBefore" -> {
+							Collection<NotificationStatus> statuses = (Collection<NotificationStatus>) args[0];
+							LocalDateTime before = (LocalDateTime) args[1];
+							int size = rows.size();
+							rows.values().removeIf(n -> statuses.contains(n.getStatus()) && n.getCreatedAt().isBefore(before));
+							yield size - rows.size();
+						}
+						case "countByStatus" -> rows.values().stream().filter(n -> n.getStatus() == args[0]).count();
+						case "hashCode" -> System.identityHashCode(proxy);
+						case "equals" -> proxy == args[0];
+						case "toString" -> "InMemoryOutbox";
+						default -> throw new UnsupportedOperationException(method.getName());
+					});
+		}
+
+		private NotificationOutbox save(NotificationOutbox notification) {
+			if (notification.getId() == null) {
+				notification.setId(ids.incrementAndGet());
+			}
+			rows.put(notification.getId(), notification);
+			return notification;
+		}
+
+		// WHERE status = 'PENDING' AND next_attempt_at <= :now AND (claimed_until IS NULL OR claimed_until < :now) ORDER BY outbox_id LIMIT :limit
+		private synchronized int claim(String token, LocalDateTime now, LocalDateTime until, int limit) {
+			claims.incrementAndGet();
+			List<NotificationOutbox> claimable = rows.values().stream()
+					.filter(n -> n.getStatus() == NotificationStatus.PENDING)
+					.filter(n -> !n.getNextAttemptAt().isAfter(now))
+					.filter(n -> n.getClaimedUntil() == null || n.getClaimedUntil().isBefore(now))
+					.sorted(Comparator.comparing(NotificationOutbox::getId))
+					.limit(limit)
+					.toList();
+			for (NotificationOutbox notification : claimable) {
+				notification.setClaimToken(token);
+				notification.setClaimedUntil(until);
+			}
+			return claimable.size();
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.kh.back.service.python;
+
+import com.kh.back.dto.python.SearchListResDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AsyncSearchClient deadline 처리 확인
+ * - deadline이 지나면 null로 완료하고, 실행 중인 작업은 interrupt, 큐에서 기다리던 작업은 실행하지 않음
+ * - 작업 안에서는 FlaskDeadline으로 남은 시간을 알 수 있음 (RestTemplate read timeout 제한용)
+ */
+class AsyncSearchClientTests {
+	private static final long DEADLINE_MS = 100;
+
+	private final ElasticService elasticService = Mockito.mock(ElasticService.class);
+	private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+	private final AsyncSearchClient client;
+
+	AsyncSearchClientTests() {
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(10);
+		executor.initialize();
+		client = new AsyncSearchClient(elasticService, null, executor, DEADLINE_MS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void deadlineCancelsRunningAndQueuedCalls() throws Exception {
+		CountDownLatch calling = new CountDownLatch(1);
+		AtomicBoolean interrupted = new AtomicBoolean();
+		when(elasticService.search(eq("slow"), anyString(), anyString(), anyString(), anyInt(), anyInt())).thenAnswer(inv -> {
+			calling.countDown();
+			// interrupt로 멈추지 않는 블로킹 소켓 읽기처럼 300ms 동안 붙잡고 있음
+			long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+			while (System.nanoTime() < until) {
+				if (Thread.interrupted()) {
+					interrupted.set(true);
+				}
+				Thread.onSpinWait();
+			}
+			return List.of();
+		});
+
+		CompletableFuture<List<SearchListResDto>> slow = client.search("slow", "cocktail", "", "", 1, 20);
+		assertThat(calling.await(1, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<List<SearchListResDto>> queued = client.search("queued", "cocktail", "", "", 1, 20);
+
+		assertThat(slow.get(1, TimeUnit.SECONDS)).isNull();
+		assertThat(queued.get(1, TimeUnit.SECONDS)).isNull();
+		Thread.sleep(400); // slow 작업이 끝난 뒤에도 queued는 이미 취소되어 실행되지 않음
+		assertThat(interrupted).as("deadline이 지난 호출은 interrupt").isTrue();
+		verify(elasticService, never()).search(eq("queued"), anyString(), anyString(), anyString(), anyInt(), anyInt());
+	}
+
+	@Test
+	void taskSeesRemainingTimeUntilDeadline() throws Exception {
+		AtomicLong remaining = new AtomicLong();
+		when(elasticService.search(anyString(), anyString(), anyString(), anyString(), anyInt(), anyInt())).thenAnswer(inv -> {
+			remaining.set(FlaskDeadline.remainingMillis());
+			return List.of();
+		});
+
+		assertThat(client.search("q", "cocktail", "", "", 1, 20).get(1, TimeUnit.SECONDS)).isEmpty();
+
+		assertThat(remaining.get()).isBetween(1L, DEADLINE_MS);
+		assertThat(FlaskDeadline.remainingMillis()).as("풀 밖의 호출은 deadline 없음").isEqualTo(-1);
+	}
+}
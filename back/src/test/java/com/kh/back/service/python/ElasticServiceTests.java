@@ -0,0 +1,77 @@
+package com.kh.back.service.python;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kh.back.dto.python.SearchListResDto;
+import com.kh.back.dto.python.SearchResDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Flask가 실패하거나 서킷이 열렸을 때 ElasticService가 마지막 성공 결과(stale 캐시)로 응답하는지 확인
+ * - Flask는 MockRestServiceServer로 대신하고, 캐시 TTL은 0초로 두어 매번 Flask를 호출하게 함
+ */
+class ElasticServiceTests {
+	private static final String DETAIL_URL = "http://localhost:5001/detail/";
+	private static final String SEARCH_URL = "http://localhost:5001/search";
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RestTemplate searchRestTemplate = new RestTemplate();
+	private final RestTemplate detailRestTemplate = new RestTemplate();
+	private final MockRestServiceServer searchFlask = MockRestServiceServer.bindTo(searchRestTemplate).build();
+	private final MockRestServiceServer detailFlask = MockRestServiceServer.bindTo(detailRestTemplate).build();
+	// open 상태 유지 60초, 검색/상세/쓰기 동시 호출 30/30/10
+	private final FlaskResilience flaskResilience = new FlaskResilience(meterRegistry, 50, 2000, 60_000, 3, 30, 30, 10);
+	private final ElasticService elasticService = new ElasticService(searchRestTemplate, detailRestTemplate, new RestTemplate(),
+			objectMapper, null,
+			new RecipeDetailCache(null, null, meterRegistry, 100, 0, false, 1800, 3600, 60),
+			new SearchResultCache(meterRegistry, 100, 0, 600, 200),
+			flaskResilience, new FlaskJsonReader(objectMapper), meterRegistry);
+
+	@Test
+	void detailFallsBackToLastSuccessWhenFlaskFailsAndCircuitOpens() {
+		detailFlask.expect(ExpectedCount.once(), requestTo(startsWith(DETAIL_URL)))
+				.andRespond(withSuccess("{\"id\":\"c-1\",\"name\":\"모히토\",\"glass\":\"Highball glass\"}", MediaType.APPLICATION_JSON));
+		detailFlask.expect(ExpectedCount.manyTimes(), requestTo(startsWith(DETAIL_URL)))
+				.andRespond(withServerError());
+
+		assertThat(elasticService.detail("c-1", "cocktail").getName()).isEqualTo("모히토");
+		for (int i = 0; i < 12; i++) { // 10건 실패 후 서킷 open, 이후는 Flask 호출 없이 거절
+			SearchResDto detail = elasticService.detail("c-1", "cocktail");
+			assertThat(detail).isNotNull();
+			assertThat(detail.getName()).isEqualTo("모히토");
+		}
+
+		assertThat(flaskResilience.isOpen(FlaskResilience.Family.DETAIL)).isTrue();
+		assertThat(meterRegistry.get("recipe.detail.cache.stale_served").counter().count()).isEqualTo(12);
+		assertThat(elasticService.detail("c-2", "cocktail")).as("이전 결과가 없는 레시피").isNull();
+	}
+
+	@Test
+	void searchFallsBackToLastSuccessWhenFlaskFails() {
+		searchFlask.expect(ExpectedCount.once(), requestTo(startsWith(SEARCH_URL)))
+				.andRespond(withSuccess("[{\"id\":\"c-1\",\"name\":\"모히토\"}]", MediaType.APPLICATION_JSON));
+		searchFlask.expect(ExpectedCount.manyTimes(), requestTo(startsWith(SEARCH_URL)))
+				.andRespond(withServerError());
+
+		assertThat(elasticService.search("", "cocktail", "", "", 1, 20)).extracting(SearchListResDto::getId).containsExactly("c-1");
+		List<SearchListResDto> stale = elasticService.search("", "cocktail", "", "", 1, 20);
+
+		assertThat(stale).extracting(SearchListResDto::getId).containsExactly("c-1");
+		assertThat(elasticService.search("다른 검색어", "cocktail", "", "", 1, 20)).isNull();
+		searchFlask.verify();
+	}
+}
@@ -0,0 +1,123 @@
+package com.kh.back.service.python;
+
+import com.kh.back.service.python.FlaskResilience.Family;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * FlaskResilience 서킷 브레이커/bulkhead 설정 확인
+ * - 최근 20건 중 최소 10건을 보고 실패율 또는 느린 호출 비율이 failure-rate-threshold(50%) 이상이면 open
+ * - 4xx(HttpClientErrorException)는 실패로 세지 않음
+ * - 동시 호출 한도를 넘으면 기다리지 않고 바로 거절 (maxWaitDuration 0)
+ */
+class FlaskResilienceTests {
+	private static final int MINIMUM_CALLS = 10;
+
+	@Test
+	void circuitOpensAfterFailureRateThreshold() {
+		FlaskResilience resilience = resilience(2000, 10);
+		for (int i = 0; i < MINIMUM_CALLS; i++) {
+			assertThatThrownBy(() -> resilience.search(() -> {
+				throw new ResourceAccessException("Connection refused");
+			})).isInstanceOf(ResourceAccessException.class);
+		}
+
+		assertThat(resilience.isOpen(Family.SEARCH)).isTrue();
+		AtomicInteger calls = new AtomicInteger();
+		assertThatThrownBy(() -> resilience.search(calls::incrementAndGet)).isInstanceOf(CallNotPermittedException.class);
+		assertThat(calls).as("open 상태에서는 Flask를 호출하지 않음").hasValue(0);
+		assertThat(resilience.isOpen(Family.DETAIL)).as("호출 종류별로 서킷이 따로").isFalse();
+		assertThat(resilience.detail(() -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void circuitOpensAfterSlowCallThreshold() {
+		FlaskResilience resilience = resilience(20, 10);
+		for (int i = 0; i < MINIMUM_CALLS; i++) {
+			assertThat(resilience.detail(() -> {
+				sleep(40);
+				return "느린 응답";
+			})).isEqualTo("느린 응답");
+		}
+
+		assertThat(resilience.isOpen(Family.DETAIL)).as("성공했더라도 느린 호출 비율로 open").isTrue();
+		assertThatThrownBy(() -> resilience.detail(() -> "ok")).isInstanceOf(CallNotPermittedException.class);
+	}
+
+	@Test
+	void clientErrorsAreNotCountedAsFailures() {
+		FlaskResilience resilience = resilience(2000, 10);
+		for (int i = 0; i < MINIMUM_CALLS * 2; i++) {
+			assertThatThrownBy(() -> resilience.detail(() -> {
+				throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+			})).as("4xx는 그대로 호출한 쪽에 전달").isInstanceOf(HttpClientErrorException.class);
+		}
+
+		assertThat(resilience.isOpen(Family.DETAIL)).isFalse();
+		assertThat(resilience.detail(() -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void bulkheadRejectsWithoutWaitingWhenFull() throws Exception {
+		FlaskResilience resilience = resilience(2000, 1);
+		CountDownLatch calling = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> first = executor.submit(() -> resilience.write(() -> {
+				calling.countDown();
+				await(release);
+				return "첫 번째";
+			}));
+			assertThat(calling.await(1, TimeUnit.SECONDS)).isTrue();
+
+			long start = System.nanoTime();
+			assertThatThrownBy(() -> resilience.write(() -> "두 번째")).isInstanceOf(BulkheadFullException.class);
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).as("자리가 날 때까지 기다리지 않음").isLessThan(500);
+
+			release.countDown();
+			assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("첫 번째");
+			assertThat(resilience.write(() -> "세 번째")).isEqualTo("세 번째");
+			assertThat(resilience.isOpen(Family.WRITE)).as("거절은 서킷 실패로 세지 않음").isFalse();
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	// open 상태 유지 60초(테스트 중 half-open으로 넘어가지 않도록), 검색/상세 동시 호출 30
+	private static FlaskResilience resilience(long slowCallMillis, int writeConcurrent) {
+		return new FlaskResilience(new SimpleMeterRegistry(), 50, slowCallMillis, 60_000, 3, 30, 30, writeConcurrent);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
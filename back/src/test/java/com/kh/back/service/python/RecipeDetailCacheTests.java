@@ -0,0 +1,85 @@
+package com.kh.back.service.python;
+
+import com.kh.back.config.RedisConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 한 노드에서 evict 한 레시피 상세 캐시가 다른 노드의 1차(Guava) 캐시에서도 지워지는지 확인
+ * - 로컬 Redis(localhost:6379)의 15번 DB를 사용하고, Redis가 떠 있지 않으면 테스트를 건너뜀
+ */
+class RecipeDetailCacheTests {
+	private LettuceConnectionFactory connectionFactory;
+	private RedisTemplate<String, Object> redisTemplate;
+	private RedisMessageListenerContainer listenerContainer;
+	private final String recipeId = "detailtest-" + UUID.randomUUID().toString().substring(0, 8);
+
+	@BeforeEach
+	void setUp() {
+		RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+		configuration.setDatabase(15);
+		connectionFactory = new LettuceConnectionFactory(configuration);
+		connectionFactory.afterPropertiesSet();
+		assumeTrue(redisAvailable(), "로컬 Redis 없음");
+		redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+		redisTemplate.afterPropertiesSet();
+		listenerContainer = new RedisConfig().redisMessageListenerContainer(connectionFactory);
+		listenerContainer.afterPropertiesSet();
+		listenerContainer.start();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (redisTemplate != null) {
+			Set<String> keys = redisTemplate.keys("cache:recipe:detail:*" + recipeId);
+			if (keys != null && !keys.isEmpty()) redisTemplate.delete(keys);
+		}
+		if (listenerContainer != null) listenerContainer.destroy();
+		if (connectionFactory != null) connectionFactory.destroy();
+	}
+
+	@Test
+	void evictOnOneNodeInvalidatesOtherNodesLocalCache() throws Exception {
+		RecipeDetailCache node1 = node();
+		RecipeDetailCache node2 = node();
+		assertThat(node2.get("cocktail", recipeId, () -> "수정 전")).isEqualTo("수정 전");
+		assertThat(node2.get("cocktail", recipeId, () -> "호출되면 안 됨")).as("1차 캐시").isEqualTo("수정 전");
+
+		// 구독이 붙는 시점이 비동기라서 반영될 때까지 반복
+		String detail = null;
+		for (int i = 0; i < 20 && !"수정 후".equals(detail); i++) {
+			node1.evict("cocktail", recipeId);
+			Thread.sleep(100);
+			detail = node2.get("cocktail", recipeId, () -> "수정 후");
+		}
+
+		assertThat(detail).isEqualTo("수정 후");
+	}
+
+	private RecipeDetailCache node() {
+		RecipeDetailCache cache = new RecipeDetailCache(redisTemplate, listenerContainer, new SimpleMeterRegistry(),
+				100, 600, true, 1800, 3600, 60);
+		cache.subscribeEvictions(); // @PostConstruct 대신
+		return cache;
+	}
+
+	private boolean redisAvailable() {
+		try {
+			return "PONG".equals(connectionFactory.getConnection().ping());
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.kh.back.service.python;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * SearchResultCache single-flight에서 같은 키를 기다리는 요청이 묶이지 않는지 확인
+ * - 먼저 시작한 조회가 Error로 끝나도, wait-timeout-ms 를 넘겨도 마지막 성공 결과(없으면 null)로 응답
+ */
+class SearchResultCacheTests {
+	private static final SearchResultCache.SearchKey KEY = SearchResultCache.SearchKey.of("", "cocktail", "", "", 1, 20);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	// 캐시 TTL 0초 → 매번 loader 호출, 마지막 성공 결과는 10분 보관, 대기 200ms
+	private final SearchResultCache cache = new SearchResultCache(meterRegistry, 100, 0, 600, 200);
+	private final ExecutorService leaders = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void tearDown() {
+		leaders.shutdownNow();
+	}
+
+	@Test
+	void waiterGetsStaleResultWhenLeaderThrowsError() throws Exception {
+		cache.get(KEY, () -> "이전 결과");
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<Throwable> leader = leaders.submit(() -> catchThrowable(() -> cache.get(KEY, () -> {
+			loading.countDown();
+			await(release);
+			throw new OutOfMemoryError("loader 실패");
+		})));
+		assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+		ExecutorService waiter = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> waited = waiter.submit(() -> cache.get(KEY, () -> "호출되면 안 됨"));
+			Thread.sleep(50); // waiter가 먼저 시작된 조회를 기다리는 중
+			release.countDown();
+
+			assertThat(leader.get(1, TimeUnit.SECONDS)).isInstanceOf(OutOfMemoryError.class);
+			assertThat(waited.get(1, TimeUnit.SECONDS)).isEqualTo("이전 결과");
+		} finally {
+			waiter.shutdownNow();
+		}
+		// 실패한 조회가 in-flight에 남지 않음 → 다음 요청은 새로 조회
+		assertThat(cache.get(KEY, () -> "새 결과")).isEqualTo("새 결과");
+	}
+
+	@Test
+	void waiterStopsWaitingAfterTimeout() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		leaders.submit(() -> cache.get(KEY, () -> {
+			loading.countDown();
+			await(release);
+			return "늦은 결과";
+		}));
+		assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+		long start = System.nanoTime();
+		String waited = cache.get(KEY, () -> "호출되면 안 됨");
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		release.countDown();
+
+		assertThat(waited).as("마지막 성공 결과가 없으면 null").isNull();
+		assertThat(elapsedMillis).isBetween(200L, 900L);
+		assertThat(meterRegistry.get("search.result.cache.wait_timeout").counter().count()).isEqualTo(1);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package com.kh.back.service.redis;
+
+import com.kh.back.config.RedisConfig;
+import com.kh.back.service.action.ReActionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 좋아요/신고 증감(updateRecipeCount)과 flush(drainCounters → Flask → completeBatch)가 동시에 돌아도
+ * 증감이 유실되거나 두 번 반영되지 않는지 확인
+ * - 로컬 Redis(localhost:6379)의 15번 DB를 사용하고, Redis가 떠 있지 않으면 테스트를 건너뜀
+ * - Flask/ES는 batch id를 문서별로 기억해서 같은 batch를 다시 받으면 건너뛰는 FakeFlask로 대신함
+ */
+class RedisCounterFlushTests {
+	private static final int POSTS = 5;
+	private LettuceConnectionFactory connectionFactory;
+	private RedisTemplate<String, Object> redisTemplate;
+	private RedisService redisService;
+	private String type;
+
+	@BeforeEach
+	void setUp() {
+		RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+		configuration.setDatabase(15);
+		connectionFactory = new LettuceConnectionFactory(configuration);
+		connectionFactory.afterPropertiesSet();
+		assumeTrue(redisAvailable(), "로컬 Redis 없음");
+		redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+		redisTemplate.afterPropertiesSet();
+		redisService = new RedisService(redisTemplate, null, Mockito.mock(ReActionService.class));
+		type = "flushtest" + UUID.randomUUID().toString().substring(0, 8); // 다른 테스트 데이터와 섞이지 않도록
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (redisTemplate != null) {
+			Set<String> keys = redisTemplate.keys("*:" + type);
+			if (keys != null && !keys.isEmpty()) redisTemplate.delete(keys);
+			Set<String> flushKeys = redisTemplate.keys("likes-reports:*");
+			if (flushKeys != null && !flushKeys.isEmpty()) redisTemplate.delete(flushKeys);
+		}
+		if (connectionFactory != null) connectionFactory.destroy();
+	}
+
+	@Test
+	void concurrentIncrementsDuringDrainAreNeitherLostNorDoubled() throws Exception {
+		Map<String, AtomicLong> expected = new ConcurrentHashMap<>();
+		FakeFlask flask = new FakeFlask();
+		ExecutorService writers = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			futures.add(writers.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < 300; i++) {
+					String action = random.nextBoolean() ? "likes" : "reports";
+					String postId = String.valueOf(random.nextInt(POSTS));
+					boolean increase = random.nextInt(4) != 0; // 감소도 섞어서 음수 변화량까지 확인
+					assertThat(redisService.updateRecipeCount(null, action, postId, type, increase)).isTrue();
+					expected.computeIfAbsent(action + ":" + postId, k -> new AtomicLong()).addAndGet(increase ? 1 : -1);
+				}
+				return null;
+			}));
+		}
+
+		AtomicBoolean writing = new AtomicBoolean(true);
+		ExecutorService flusher = Executors.newSingleThreadExecutor();
+		Future<?> flushing = flusher.submit(() -> {
+			int round = 0;
+			while (writing.get()) {
+				if (flushOnce(flask, round)) round++;
+			}
+			return null;
+		});
+
+		start.countDown();
+		for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+		writing.set(false);
+		flushing.get(30, TimeUnit.SECONDS);
+		writers.shutdown();
+		flusher.shutdown();
+
+		// 남은 증감과 응답을 못 받은 batch를 모두 반영
+		for (int round = 0; round < 10; round++) {
+			flushOnce(flask, -1);
+		}
+
+		assertThat(redisService.stalePendingBatches(0, 100)).isEmpty();
+		for (int post = 0; post < POSTS; post++) {
+			String postId = String.valueOf(post);
+			assertThat(flask.value(postId, "like")).as("likes of %s", postId)
+					.isEqualTo(expected.getOrDefault("likes:" + postId, new AtomicLong()).get());
+			assertThat(flask.value(postId, "report")).as("reports of %s", postId)
+					.isEqualTo(expected.getOrDefault("reports:" + postId, new AtomicLong()).get());
+		}
+		assertThat(flask.duplicates).as("재전송된 batch가 실제로 있었는지").isGreaterThan(0);
+	}
+
+	@Test
+	void batchWithoutResponseStaysPendingAndIsResentWithSameId() {
+		redisService.updateRecipeCount(null, "likes", "1", type, true);
+		redisService.updateRecipeCount(null, "likes", "1", type, true);
+		String batchId = UUID.randomUUID().toString();
+		List<Map<String, Object>> deltas = redisService.drainCounters(batchId, redisService.popDirtyCounterKeys(100));
+		assertThat(deltas).hasSize(1);
+
+		// Flask가 반영은 했지만 응답이 timeout → 카운터로 되돌리지 않고 pending에 그대로 남아야 함
+		assertThat(redisService.getValue("likes:1:" + type)).isNull();
+		assertThat(redisService.stalePendingBatches(0, 100)).containsExactly(batchId);
+		assertThat(redisService.pendingDeltas(batchId)).isEqualTo(deltas);
+
+		assertThat(redisService.completeBatch(batchId)).isTrue();
+		assertThat(redisService.completeBatch(batchId)).as("다른 서버가 같은 batch를 완료하려 하면 false").isFalse();
+		assertThat(redisService.stalePendingBatches(0, 100)).isEmpty();
+	}
+
+	// ElasticService.updateLikesAndReports와 같은 순서: 재전송 → 새 batch 꺼내기 → 전송 → 완료 (새 batch를 꺼냈으면 true)
+	private boolean flushOnce(FakeFlask flask, int round) {
+		for (String batchId : redisService.stalePendingBatches(0, 100)) {
+			flask.apply(batchId, redisService.pendingDeltas(batchId));
+			redisService.completeBatch(batchId);
+		}
+		List<String> keys = redisService.popDirtyCounterKeys(3);
+		if (keys.isEmpty()) return false;
+		String batchId = UUID.randomUUID().toString();
+		List<Map<String, Object>> deltas = redisService.drainCounters(batchId, keys);
+		if (deltas.isEmpty()) return false;
+		if (round >= 0 && round % 3 == 1) {
+			flask.apply(batchId, deltas); // 반영됐지만 응답 timeout → 다음 주기에 재전송
+		} else if (round >= 0 && round % 3 == 2) {
+			// 전송 실패 (Flask까지 가지 못함) → 다음 주기에 재전송
+		} else {
+			flask.apply(batchId, deltas);
+			redisService.completeBatch(batchId);
+		}
+		return true;
+	}
+
+	// Flask /update/likes-reports/bulk + ES painless 스크립트 흉내 (문서별로 반영한 batch id를 기억)
+	private static class FakeFlask {
+		private final Map<String, Long> values = new ConcurrentHashMap<>();
+		private final Set<String> applied = new HashSet<>();
+		private int duplicates;
+
+		synchronized void apply(String batchId, List<Map<String, Object>> deltas) {
+			for (Map<String, Object> delta : deltas) {
+				String id = (String) delta.get("id");
+				if (!applied.add(batchId + ":" + id)) {
+					duplicates++;
+					continue;
+				}
+				values.merge(id + ":like", ((Number) delta.get("like")).longValue(), Long::sum);
+				values.merge(id + ":report", ((Number) delta.get("report")).longValue(), Long::sum);
+			}
+		}
+
+		long value(String id, String field) {
+			return values.getOrDefault(id + ":" + field, 0L);
+		}
+	}
+
+	private boolean redisAvailable() {
+		try {
+			return "PONG".equals(connectionFactory.getConnection().ping());
+		} catch (Exception e) {
+			return false;
+		}
+	}
+}
@@ -160,6 +160,105 @@ def update_likes_reports():
         return jsonify({"error": str(e)}), 500
 
 
+# 좋아요/신고 변화량을 더하는 painless 스크립트 (문서를 읽지 않고 ES 안에서 바로 증가)
+# KR: 문서마다 최근에 반영한 batch id를 LIKE_REPORT_BATCH_HISTORY개까지 기억해서,
+#     Java가 응답을 못 받아 같은 batch를 다시 보내도 이미 반영된 문서는 noop으로 건너뜀 (두 번 더해지지 않음)
+LIKE_REPORT_BATCH_HISTORY = 32
+LIKE_REPORT_DELTA_SCRIPT = (
+    "if (params.batch != null) { "
+    "  if (ctx._source.like_report_batches == null) { ctx._source.like_report_batches = []; } "
+    "  if (ctx._source.like_report_batches.contains(params.batch)) { ctx.op = 'noop'; return; } "
+    "  ctx._source.like_report_batches.add(params.batch); "
+    "  while (ctx._source.like_report_batches.size() > params.history) { ctx._source.like_report_batches.remove(0); } "
+    "} "
+    "if (params.like != 0) { ctx._source.like = (ctx._source.like == null ? 0 : ctx._source.like) + params.like; } "
+    "if (params.report != 0) { ctx._source.report = (ctx._source.report == null ? 0 : ctx._source.report) + params.report; }"
+)
+# 재시도해도 의미 없는 실패 (문서 없음, 잘못된 요청)
+NON_RETRYABLE_BULK_STATUS = {400, 404}
+
+
+@app.route("/update/likes-reports/bulk", methods=["POST"])
+def update_likes_reports_bulk():
+    """
+    좋아요/신고 변화량(delta) 묶음을 _bulk scripted update 한 번으로 반영하는 엔드포인트
+    KR: 요청 형식 {"batchId": "...", "deltas": [{"id": "...", "type": "cocktail", "like": 3, "report": 0}, ...]}
+        - batchId는 Java가 재전송할 때도 같은 값 → 이미 반영된 문서는 건너뛰고 duplicates로 집계 (batch 단위 멱등)
+        - 문서마다 es.get + es.update 하던 기존 방식(2N 왕복) 대신 묶음 하나당 _bulk 요청 한 번
+        - 버전 충돌은 retry_on_conflict로 ES 안에서 재시도하고, 일시적인 실패(429 등)는 한 번 더 재시도
+        - 항목별 결과를 report로 돌려줘서 Java 쪽에서 재시도할 항목(retryable)을 다시 쌓아둘 수 있게 함
+    """
+    try:
+        data = request.json
+        if not data:
+            return jsonify({"error": "No data provided"}), 400
+
+        deltas = data.get("deltas", [])
+        if not deltas:
+            return jsonify({"error": "No deltas provided"}), 400
+        batch_id = data.get("batchId")
+
+        items = []
+        skipped = []
+        for delta in deltas:
+            index_name, _ = get_index_and_mapping(delta.get("type"))
+            if not delta.get("id") or not index_name:
+                app.logger.warning(f"Skipping delta due to missing fields: {delta}")
+                skipped.append(delta)
+                continue
+            items.append((index_name, delta))
+
+        failed = []
+        not_found = []
+        updated = 0
+        duplicates = 0
+        attempt = 0
+        pending = items
+        while pending and attempt < 2:
+            attempt += 1
+            operations = []
+            for index_name, delta in pending:
+                operations.append({"update": {"_index": index_name, "_id": delta["id"], "retry_on_conflict": 3}})
+                operations.append({"script": {
+                    "source": LIKE_REPORT_DELTA_SCRIPT,
+                    "lang": "painless",
+                    "params": {"like": int(delta.get("like", 0)), "report": int(delta.get("report", 0)),
+                               "batch": batch_id, "history": LIKE_REPORT_BATCH_HISTORY}
+                }})
+
+            response = es.bulk(body=operations)
+            retry = []
+            for (index_name, delta), result in zip(pending, response["items"]):
+                status = result["update"].get("status", 500)
+                if status < 300 and result["update"].get("result") == "noop":
+                    duplicates += 1
+                elif status < 300:
+                    updated += 1
+                elif status == 404:
+                    not_found.append(delta)
+                elif status in NON_RETRYABLE_BULK_STATUS or attempt >= 2:
+                    failed.append({**delta, "status": status,
+                                   "retryable": status not in NON_RETRYABLE_BULK_STATUS,
+                                   "error": str(result["update"].get("error"))})
+                else:
+                    retry.append((index_name, delta))
+            pending = retry
+
+        app.logger.info(f"Bulk likes/reports: batch={batch_id}, updated={updated}, duplicates={duplicates}, "
+                        f"failed={len(failed)}, notFound={len(not_found)}, skipped={len(skipped)}")
+        return jsonify({
+            "updated": updated,
+            "duplicates": duplicates,
+            "failed": failed,
+            "notFound": not_found,
+            "skipped": skipped
+        }), 200
+    except Exception as e:
+        error_message = traceback.format_exc()  # 전체 에러 스택 트레이스
+        app.logger.error(f"Unhandled error in /update/likes-reports/bulk:\n{error_message}")
+        return jsonify({"error": str(e)}), 500
+
+
 @app.route("/upload/json", methods=["POST"])
 def upload_json():
     try:
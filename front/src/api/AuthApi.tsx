@@ -43,20 +43,25 @@ const AuthApi = {
     console.log(phone);
     return await axios.get<string>(Commons.BASE_URL + `/auth/sendSms/${phone}`);
   },
-  changePassword: async (pwd: string) => {
+  // 이메일 인증 때 받은 비밀번호 변경 티켓을 X-Password-Ticket 헤더로 전달 (서버는 세션을 쓰지 않음)
+  changePassword: async (pwd: string, ticket: string) => {
     return await axios.post<boolean>(
       Commons.BASE_URL + "/auth/change/password",
-      pwd
+      pwd,
+      {headers: {"X-Password-Ticket": ticket}}
     );
   },
   sendPw: async (email: string) => {
     return await axios.post<boolean>(Commons.BASE_URL + "/auth/sendPw", {email});
   },
+  // 인증 성공 시 비밀번호 변경 티켓(응답 헤더 X-Password-Ticket) 반환, 실패하면 null
   verifyEmailToken: async (request: EmailTokenVerificationDto) => {
-    return await axios.post<boolean>(
-      Commons.BASE_URL + "/auth/verify/emailToken",
+    const rsp = await axios.post<boolean>(
+      Commons.BASE_URL + "/auth/verify/email",
       request
     );
+    const ticket = rsp.headers["x-password-ticket"];
+    return rsp.data && ticket ? (ticket as string) : null;
   },
   findEmailByPhone: async (phone: string) => {
     return await axios.get<string>(
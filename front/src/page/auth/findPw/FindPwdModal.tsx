@@ -60,6 +60,7 @@ const FindPwdModal = () => {
   const [isSendingCode, setIsSendingCode] = useState(false);
   const [countdown, setCountdown] = useState<number>(0);
   const [isPasswordModalOpen, setIsPasswordModalOpen] = useState(false);
+  const [passwordTicket, setPasswordTicket] = useState("");
   const dispatch = useDispatch<AppDispatch>();
   const findPw = useSelector((state: RootState) => state.modal.findPwModal);
   const [isValid, setValid] = useState(false);
@@ -136,8 +137,9 @@ const FindPwdModal = () => {
     }
     try {
       const req : EmailTokenVerificationDto = {inputToken : inputCode, email : inputEmail};
-      const rsp = await AuthApi.verifyEmailToken(req);
-      if (rsp) {
+      const ticket = await AuthApi.verifyEmailToken(req);
+      if (ticket) {
+        setPasswordTicket(ticket);
         setIsCodeSent(false);
         setIsPasswordModalOpen(true);
       } else {
@@ -183,9 +185,10 @@ const FindPwdModal = () => {
             {countdown === 0 && <Button onClick={handleSendVerificationCode}>인증번호 재전송</Button>}
           </>
         )}
-        <PasswordModal open={isPasswordModalOpen} onClose={() => {
+        <PasswordModal open={isPasswordModalOpen} ticket={passwordTicket} onClose={() => {
           dispatch(closeModal("findPw"));
           setIsPasswordModalOpen(false);
+          setPasswordTicket("");
         }} />
       </Container>
     </Dialog>
@@ -7,7 +7,7 @@ import {Dialog, DialogTitle} from "@mui/material";
 import {ChangeWithSetter} from "../../../context/types";
 import {closeModal, setRejectModal} from "../../../context/redux/ModalReducer";
 
-const PasswordModal = ({open, onClose} : {open: boolean, onClose: () => void}) => {
+const PasswordModal = ({open, ticket, onClose} : {open: boolean, ticket: string, onClose: () => void}) => {
   const findPw = useSelector((state : RootState) => state.modal.findPwModal)
   const [newPassword, setNewPassword] = useState<string>("");
   const [confirmPassword, setConfirmPassword] = useState<string>("");
@@ -27,8 +27,8 @@ const PasswordModal = ({open, onClose} : {open: boolean, onClose: () => void}) =
       return;
     }
     try {
-      const response = await AuthApi.changePassword(newPassword); // 비밀번호 변경 API 호출
-      if (response) {
+      const response = await AuthApi.changePassword(newPassword, ticket); // 비밀번호 변경 API 호출 (이메일 인증 티켓 포함)
+      if (response.data) {
         dispatch(setRejectModal({message: "비밀번호가 성공적으로 바뀌었습니다.", onCancel: null}))
         setTimeout(() => {
           dispatch(closeModal("findPw"))